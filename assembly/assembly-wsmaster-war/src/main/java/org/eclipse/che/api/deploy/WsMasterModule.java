@@ -192,6 +192,22 @@ public class WsMasterModule extends AbstractModule {
         .asEagerSingleton();
     bind(org.eclipse.che.api.workspace.server.event.MachineLogJsonRpcMessenger.class)
         .asEagerSingleton();
+    bind(org.eclipse.che.api.workspace.server.event.RuntimeLogsAggregator.class)
+        .asEagerSingleton();
+    bind(org.eclipse.che.api.workspace.server.event.RuntimeLogsJsonRpcMessenger.class)
+        .asEagerSingleton();
+    Multibinder<String> droppableMethods =
+        Multibinder.newSetBinder(
+            binder(), String.class, Names.named("che.websocket.transmit.droppable_methods"));
+    droppableMethods
+        .addBinding()
+        .toInstance(org.eclipse.che.api.workspace.shared.Constants.MACHINE_LOG_METHOD);
+    droppableMethods
+        .addBinding()
+        .toInstance(org.eclipse.che.api.workspace.shared.Constants.INSTALLER_LOG_METHOD);
+    droppableMethods
+        .addBinding()
+        .toInstance(org.eclipse.che.api.workspace.shared.Constants.RUNTIME_LOGS_METHOD);
 
     bind(org.eclipse.che.security.oauth.OAuthAuthenticatorProvider.class)
         .to(org.eclipse.che.security.oauth.OAuthAuthenticatorProviderImpl.class);
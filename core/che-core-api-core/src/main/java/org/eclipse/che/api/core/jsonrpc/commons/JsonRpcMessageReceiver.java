@@ -61,6 +61,18 @@ public class JsonRpcMessageReceiver implements WebSocketMessageReceiver {
     checkArgument(!message.isEmpty(), "Message must not be empty");
 
     LOGGER.debug("Receiving message: " + message + ", from endpoint: " + endpointId);
+    try {
+      if (jsonRpcUnmarshaller.unmarshal(
+          message,
+          request -> processRequest(endpointId, request),
+          response -> responseDispatcher.dispatch(endpointId, response))) {
+        return;
+      }
+    } catch (JsonRpcException e) {
+      errorTransmitter.transmit(endpointId, e);
+      return;
+    }
+
     if (!jsonRpcQualifier.isValidJson(message)) {
       String error = "An error occurred on the server while parsing the JSON text";
       errorTransmitter.transmit(endpointId, new JsonRpcException(-32700, error));
@@ -69,7 +81,9 @@ public class JsonRpcMessageReceiver implements WebSocketMessageReceiver {
     List<String> messages = jsonRpcUnmarshaller.unmarshalArray(message);
     for (String innerMessage : messages) {
       if (jsonRpcQualifier.isJsonRpcRequest(innerMessage)) {
-        requestProcessor.process(() -> processRequest(endpointId, innerMessage));
+        if (!requestProcessor.process(endpointId, () -> processRequest(endpointId, innerMessage))) {
+          processRejectedRequest(endpointId, innerMessage);
+        }
       } else if (jsonRpcQualifier.isJsonRpcResponse(innerMessage)) {
         processResponse(endpointId, innerMessage);
       } else {
@@ -90,10 +104,45 @@ public class JsonRpcMessageReceiver implements WebSocketMessageReceiver {
     responseDispatcher.dispatch(endpointId, response);
   }
 
+  private void processRejectedRequest(String endpointId, String innerMessage) {
+    JsonRpcRequest request;
+    try {
+      request = jsonRpcUnmarshaller.unmarshalRequest(innerMessage);
+    } catch (JsonRpcException e) {
+      errorTransmitter.transmit(endpointId, e);
+      return;
+    }
+    rejectRequest(endpointId, request);
+  }
+
+  private void rejectRequest(String endpointId, JsonRpcRequest request) {
+    String error = "Too many requests from endpoint, try again later";
+    if (request == null || request.getId() == null) {
+      LOGGER.warn("{}, notification is skipped, endpoint: {}", error, endpointId);
+    } else {
+      errorTransmitter.transmit(endpointId, new JsonRpcException(-32000, error, request.getId()));
+    }
+  }
+
   private void processRequest(String endpointId, String innerMessage) {
-    JsonRpcRequest request = null;
+    JsonRpcRequest request;
     try {
       request = jsonRpcUnmarshaller.unmarshalRequest(innerMessage);
+    } catch (JsonRpcException e) {
+      errorTransmitter.transmit(endpointId, e);
+      return;
+    }
+    dispatchRequest(endpointId, request);
+  }
+
+  private void processRequest(String endpointId, JsonRpcRequest request) {
+    if (!requestProcessor.process(endpointId, () -> dispatchRequest(endpointId, request))) {
+      rejectRequest(endpointId, request);
+    }
+  }
+
+  private void dispatchRequest(String endpointId, JsonRpcRequest request) {
+    try {
       requestDispatcher.dispatch(endpointId, request);
     } catch (JsonRpcException e) {
       if (request == null || request.getId() == null) {
@@ -11,6 +11,7 @@
 package org.eclipse.che.api.core.jsonrpc.commons;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /** Transforms plain text messages into JSON RPC structures. */
 public interface JsonRpcUnmarshaller {
@@ -38,4 +39,24 @@ public interface JsonRpcUnmarshaller {
    * @return JSON RPC response entity
    */
   JsonRpcResponse unmarshalResponse(String message);
+
+  /**
+   * Unmarshals a message, which is either a single JSON RPC structure or an array of them, in a
+   * single pass and passes each request or response to a corresponding consumer in order of
+   * appearance.
+   *
+   * @param message incoming message
+   * @param requestConsumer consumer of requests
+   * @param responseConsumer consumer of responses
+   * @return {@code false} if single pass unmarshalling is not supported by implementation and the
+   *     message must be unmarshalled with {@link #unmarshalArray(String)}, {@code true} otherwise
+   * @throws JsonRpcException if the message is not a valid JSON or contains a structure that is
+   *     neither a request nor a response
+   */
+  default boolean unmarshal(
+      String message,
+      Consumer<JsonRpcRequest> requestConsumer,
+      Consumer<JsonRpcResponse> responseConsumer) {
+    return false;
+  }
 }
@@ -18,4 +18,19 @@ public interface RequestProcessor {
    * @param runnable runnable to be called for processing of a request
    */
   void process(Runnable runnable);
+
+  /**
+   * Process a runnable interface on behalf of a specific endpoint. Implementations may limit the
+   * number of requests processed simultaneously for an endpoint and refuse to process a request
+   * when the limit is exceeded.
+   *
+   * @param endpointId identifier of an endpoint the request came from
+   * @param runnable runnable to be called for processing of a request
+   * @return {@code true} if the runnable is accepted for processing, {@code false} if it is
+   *     rejected and will never be called
+   */
+  default boolean process(String endpointId, Runnable runnable) {
+    process(runnable);
+    return true;
+  }
 }
@@ -16,6 +16,7 @@ import static org.eclipse.che.api.core.jsonrpc.commons.JsonRpcUtils.cast;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.inject.Singleton;
+import java.util.ArrayList;
 import java.util.List;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcComposer;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcParams;
@@ -47,7 +48,12 @@ public class GsonJsonRpcComposer implements JsonRpcComposer {
   private <T> T composeOne(Class<T> type, Object paramObject) {
     if (paramObject instanceof JsonElement) {
       JsonElement jsonElement = (JsonElement) paramObject;
-      return DtoFactory.getInstance().createDtoFromJson(jsonElement.toString(), type);
+      DtoFactory dtoFactory = DtoFactory.getInstance();
+      if (dtoFactory.hasProvider(type)) {
+        // read the tree directly instead of serializing it to be parsed once again
+        return dtoFactory.getGson().fromJson(jsonElement, type);
+      }
+      return dtoFactory.createDtoFromJson(jsonElement.toString(), type);
     }
 
     return cast(paramObject);
@@ -59,12 +65,19 @@ public class GsonJsonRpcComposer implements JsonRpcComposer {
     }
 
     if (paramsList.get(0) instanceof JsonElement) {
+      DtoFactory dtoFactory = DtoFactory.getInstance();
+      if (dtoFactory.hasProvider(type)) {
+        List<T> dtos = new ArrayList<>(paramsList.size());
+        for (Object param : paramsList) {
+          dtos.add(dtoFactory.getGson().fromJson((JsonElement) param, type));
+        }
+        return dtos;
+      }
       JsonArray jsonArray = new JsonArray();
-      for (int i = 0; i < paramsList.size(); i++) {
-        JsonElement jsonElement = (JsonElement) paramsList.get(i);
-        jsonArray.set(i, jsonElement);
+      for (Object param : paramsList) {
+        jsonArray.add((JsonElement) param);
       }
-      return DtoFactory.getInstance().createListDtoFromJson(jsonArray.toString(), type);
+      return dtoFactory.createListDtoFromJson(jsonArray.toString(), type);
     }
 
     return cast(paramsList);
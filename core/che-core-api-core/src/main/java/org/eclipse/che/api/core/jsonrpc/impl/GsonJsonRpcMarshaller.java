@@ -17,7 +17,6 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonNull;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 import com.google.gson.JsonPrimitive;
 import com.google.inject.Inject;
 import java.util.List;
@@ -30,12 +29,10 @@ import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcResult;
 import org.eclipse.che.dto.server.DtoFactory;
 
 public class GsonJsonRpcMarshaller implements JsonRpcMarshaller {
-  private final JsonParser jsonParser;
   private final Gson gson;
 
   @Inject
-  public GsonJsonRpcMarshaller(JsonParser jsonParser, Gson gson) {
-    this.jsonParser = jsonParser;
+  public GsonJsonRpcMarshaller(Gson gson) {
     this.gson = gson;
   }
 
@@ -165,7 +162,8 @@ public class GsonJsonRpcMarshaller implements JsonRpcMarshaller {
       return new JsonPrimitive((Double) param);
     }
     try {
-      return jsonParser.parse(DtoFactory.getInstance().toJson(param));
+      // DTOs build their trees directly, without printing and parsing them back
+      return DtoFactory.getInstance().toJsonElement(param);
     } catch (IllegalArgumentException e) {
       return gson.toJsonTree(param);
     }
@@ -17,21 +17,43 @@ import static java.util.Collections.singletonList;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
 import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcError;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcException;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcParams;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcRequest;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcResponse;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcResult;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcUnmarshaller;
 
+/**
+ * Unmarshals JSON RPC messages with Gson.
+ *
+ * <p>{@link #unmarshal(String, Consumer, Consumer)} reads a message with {@link JsonReader} in a
+ * single pass: only params, result and error values are turned into JSON trees, other members are
+ * read as plain values and unknown members are skipped. Items of params and result arrays are
+ * converted to java objects on access, JSON objects are kept as trees until they are composed into
+ * DTOs.
+ */
 @Singleton
 public class GsonJsonRpcUnmarshaller implements JsonRpcUnmarshaller {
+  private static final String PARSE_ERROR =
+      "An error occurred on the server while parsing the JSON text";
+  private static final String INVALID_REQUEST =
+      "The JSON sent is neither a valid request nor a response object";
+
   private final JsonParser jsonParser;
 
   @Inject
@@ -53,7 +75,7 @@ public class GsonJsonRpcUnmarshaller implements JsonRpcUnmarshaller {
 
     String method = getMethod(request);
     String id = getId(request);
-    JsonRpcParams params = getParams(request);
+    JsonRpcParams params = request.has("params") ? toParams(request.get("params")) : null;
 
     return new JsonRpcRequest(id, method, params);
   }
@@ -66,62 +88,142 @@ public class GsonJsonRpcUnmarshaller implements JsonRpcUnmarshaller {
     JsonObject response = jsonParser.parse(message).getAsJsonObject();
 
     String id = getId(response);
-    JsonRpcResult result = getResult(response);
-    JsonRpcError error = getError(response);
+    JsonRpcResult result = response.has("result") ? toResult(response.get("result")) : null;
+    JsonRpcError error = response.has("error") ? toError(response.get("error")) : null;
 
     return new JsonRpcResponse(id, result, error);
   }
 
-  private JsonRpcError getError(JsonObject response) {
-    if (!response.has("error")) {
-      return null;
+  @Override
+  public boolean unmarshal(
+      String message,
+      Consumer<JsonRpcRequest> requestConsumer,
+      Consumer<JsonRpcResponse> responseConsumer) {
+    checkNotNull(message, "Message must not be null");
+    checkArgument(!message.isEmpty(), "Message must not be empty");
+
+    JsonReader reader = new JsonReader(new StringReader(message));
+    // consistent with JsonParser which is used to unmarshal separate structures
+    reader.setLenient(true);
+    boolean batch = beginMessage(reader);
+    Object structure = readNext(reader, batch, true);
+    while (structure != null) {
+      // consumers are called outside of reading so their failures are not taken for parse errors
+      if (structure instanceof JsonRpcRequest) {
+        requestConsumer.accept((JsonRpcRequest) structure);
+      } else {
+        responseConsumer.accept((JsonRpcResponse) structure);
+      }
+      structure = readNext(reader, batch, false);
     }
+    return true;
+  }
 
-    int code = response.get("error").getAsJsonObject().get("code").getAsInt();
-    String errorMessage = response.get("error").getAsJsonObject().get("message").getAsString();
-    return new JsonRpcError(code, errorMessage);
+  /** Returns {@code true} if the message is an array of structures. */
+  private static boolean beginMessage(JsonReader reader) {
+    try {
+      if (reader.peek() == JsonToken.BEGIN_ARRAY) {
+        reader.beginArray();
+        return true;
+      }
+      return false;
+    } catch (IOException | IllegalStateException e) {
+      throw new JsonRpcException(-32700, PARSE_ERROR);
+    }
   }
 
-  private JsonRpcResult getResult(JsonObject response) {
-    if (!response.has("result")) {
+  /** Returns next request or response of the message or null if there are no more structures. */
+  private Object readNext(JsonReader reader, boolean batch, boolean first) {
+    try {
+      if (batch ? reader.hasNext() : first) {
+        return readStructure(reader);
+      }
+      if (batch) {
+        reader.endArray();
+      }
+      if (reader.peek() != JsonToken.END_DOCUMENT) {
+        throw new JsonRpcException(-32700, PARSE_ERROR);
+      }
       return null;
+    } catch (IOException | JsonParseException | IllegalStateException | NumberFormatException e) {
+      throw new JsonRpcException(-32700, PARSE_ERROR);
     }
+  }
 
-    JsonElement jsonElement = response.get("result");
-    if (!jsonElement.isJsonArray()) {
-      return new JsonRpcResult(getInnerItem(jsonElement));
-    }
+  /** Reads a single request or response object. */
+  private Object readStructure(JsonReader reader) throws IOException {
+    String id = null;
+    String method = null;
+    JsonElement params = null;
+    JsonElement result = null;
+    JsonElement error = null;
 
-    JsonArray jsonArray = jsonElement.getAsJsonArray();
-    int size = jsonArray.size();
-    List<Object> innerResults = new ArrayList<>(size);
-    for (int i = 0; i < size; i++) {
-      JsonElement innerJsonElement = jsonArray.get(i);
-      innerResults.add(getInnerItem(innerJsonElement));
+    reader.beginObject();
+    while (reader.hasNext()) {
+      switch (reader.nextName()) {
+        case "id":
+          id = readId(reader);
+          break;
+        case "method":
+          method = reader.nextString();
+          break;
+        case "params":
+          params = jsonParser.parse(reader);
+          break;
+        case "result":
+          result = jsonParser.parse(reader);
+          break;
+        case "error":
+          error = jsonParser.parse(reader);
+          break;
+        default:
+          reader.skipValue();
+      }
     }
+    reader.endObject();
 
-    return new JsonRpcResult(innerResults);
+    if (method != null) {
+      return new JsonRpcRequest(id, method, params == null ? null : toParams(params));
+    }
+    if ((result == null) == (error == null)) {
+      throw new JsonRpcException(-32600, INVALID_REQUEST);
+    }
+    return new JsonRpcResponse(
+        id, result == null ? null : toResult(result), error == null ? null : toError(error));
   }
 
-  private JsonRpcParams getParams(JsonObject jsonObject) {
-    if (!jsonObject.has("params")) {
-      return null;
+  private static String readId(JsonReader reader) throws IOException {
+    switch (reader.peek()) {
+      case NULL:
+        reader.nextNull();
+        return null;
+      case BOOLEAN:
+        return String.valueOf(reader.nextBoolean());
+      default:
+        // numbers are returned as they are written
+        return reader.nextString();
     }
+  }
+
+  private static JsonRpcError toError(JsonElement jsonElement) {
+    JsonObject error = jsonElement.getAsJsonObject();
+    int code = error.get("code").getAsInt();
+    String errorMessage = error.get("message").getAsString();
+    return new JsonRpcError(code, errorMessage);
+  }
 
-    JsonElement jsonElement = jsonObject.get("params");
+  private static JsonRpcResult toResult(JsonElement jsonElement) {
     if (!jsonElement.isJsonArray()) {
-      return new JsonRpcParams(getInnerItem(jsonElement));
+      return new JsonRpcResult(getInnerItem(jsonElement));
     }
+    return new JsonRpcResult(new InnerItems(jsonElement.getAsJsonArray()));
+  }
 
-    JsonArray jsonArray = jsonElement.getAsJsonArray();
-    int size = jsonArray.size();
-    List<Object> innerParameters = new ArrayList<>(size);
-    for (int i = 0; i < size; i++) {
-      JsonElement innerJsonElement = jsonArray.get(i);
-      innerParameters.add(getInnerItem(innerJsonElement));
+  private static JsonRpcParams toParams(JsonElement jsonElement) {
+    if (!jsonElement.isJsonArray()) {
+      return new JsonRpcParams(getInnerItem(jsonElement));
     }
-
-    return new JsonRpcParams(innerParameters);
+    return new JsonRpcParams(new InnerItems(jsonElement.getAsJsonArray()));
   }
 
   private String getId(JsonObject jsonObject) {
@@ -147,7 +249,7 @@ public class GsonJsonRpcUnmarshaller implements JsonRpcUnmarshaller {
     return result;
   }
 
-  private Object getInnerItem(JsonElement jsonElement) {
+  private static Object getInnerItem(JsonElement jsonElement) {
     if (jsonElement.isJsonNull()) {
       return null;
     }
@@ -169,4 +271,23 @@ public class GsonJsonRpcUnmarshaller implements JsonRpcUnmarshaller {
 
     throw new IllegalStateException("Unexpected json element type");
   }
+
+  /** Read-only view of JSON array items that converts each item when it is accessed. */
+  private static class InnerItems extends AbstractList<Object> {
+    private final JsonArray jsonArray;
+
+    InnerItems(JsonArray jsonArray) {
+      this.jsonArray = jsonArray;
+    }
+
+    @Override
+    public Object get(int index) {
+      return getInnerItem(jsonArray.get(index));
+    }
+
+    @Override
+    public int size() {
+      return jsonArray.size();
+    }
+  }
 }
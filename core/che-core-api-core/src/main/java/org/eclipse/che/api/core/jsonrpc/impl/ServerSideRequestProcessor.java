@@ -10,39 +10,80 @@
  */
 package org.eclipse.che.api.core.jsonrpc.impl;
 
-import static java.util.concurrent.Executors.newCachedThreadPool;
 import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Singleton;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadFactory;
-import javax.annotation.PostConstruct;
+import java.util.concurrent.ThreadPoolExecutor;
 import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestProcessor;
 import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.slf4j.Logger;
 
+/**
+ * Processes JSON-RPC requests with a bounded number of workers.
+ *
+ * <p>Each endpoint has its own queue of requests and may have a limited number of requests being
+ * processed simultaneously, so a single chatty client can not occupy all the workers. Free workers
+ * take requests from endpoint queues in a round-robin manner. When the queue of an endpoint is
+ * full, new requests of the endpoint are rejected.
+ *
+ * <p>If {@code che.core.jsonrpc.processor_virtual_threads} is enabled and JVM supports virtual
+ * threads each request is processed in a new virtual thread, otherwise a pool of platform threads
+ * is used. In both cases the number of simultaneously processed requests is limited with {@code
+ * che.core.jsonrpc.processor_max_pool_size}.
+ */
 @Singleton
 public class ServerSideRequestProcessor implements RequestProcessor {
-  private ExecutorService executorService;
+  private static final Logger LOG = getLogger(ServerSideRequestProcessor.class);
 
-  @PostConstruct
-  private void postConstruct() {
-    ThreadFactory factory =
-        new ThreadFactoryBuilder()
-            .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
-            .setNameFormat(ServerSideRequestProcessor.class.getSimpleName())
-            .setDaemon(true)
-            .build();
+  /** Used for requests that are processed without specifying an endpoint. */
+  private static final String UNKNOWN_ENDPOINT = "";
+
+  private final int maxPoolSize;
+  private final int maxInFlightPerEndpoint;
+  private final int maxQueueSizePerEndpoint;
+  private final ExecutorService executorService;
+
+  private final Object lock = new Object();
+  /** Guarded by lock. */
+  private final Map<String, EndpointQueue> endpoints = new HashMap<>();
+  /** Endpoints that have requests to process and are under the limit, guarded by lock. */
+  private final ArrayDeque<EndpointQueue> ready = new ArrayDeque<>();
+  /** Guarded by lock. */
+  private int running;
 
-    executorService = newCachedThreadPool(factory);
+  @Inject
+  public ServerSideRequestProcessor(
+      @Named("che.core.jsonrpc.processor_max_pool_size") int maxPoolSize,
+      @Named("che.core.jsonrpc.processor_max_in_flight_per_endpoint") int maxInFlightPerEndpoint,
+      @Named("che.core.jsonrpc.processor_max_queue_size_per_endpoint") int maxQueueSizePerEndpoint,
+      @Named("che.core.jsonrpc.processor_virtual_threads") boolean virtualThreads) {
+    this.maxPoolSize = maxPoolSize;
+    this.maxInFlightPerEndpoint = maxInFlightPerEndpoint;
+    this.maxQueueSizePerEndpoint = maxQueueSizePerEndpoint;
+
+    ExecutorService virtualThreadExecutor = virtualThreads ? newVirtualThreadExecutor() : null;
+    this.executorService =
+        virtualThreadExecutor != null ? virtualThreadExecutor : newPlatformThreadExecutor();
   }
 
   @PreDestroy
   private void preDestroy() {
     executorService.shutdown();
     try {
-      if (executorService.awaitTermination(5, SECONDS)) {
+      if (!executorService.awaitTermination(5, SECONDS)) {
         executorService.shutdownNow();
         executorService.awaitTermination(5, SECONDS);
       }
@@ -54,6 +95,132 @@ public class ServerSideRequestProcessor implements RequestProcessor {
 
   @Override
   public void process(Runnable runnable) {
-    executorService.execute(runnable);
+    if (!process(UNKNOWN_ENDPOINT, runnable)) {
+      throw new RejectedExecutionException("Too many requests are waiting for processing");
+    }
+  }
+
+  @Override
+  public boolean process(String endpointId, Runnable runnable) {
+    synchronized (lock) {
+      EndpointQueue queue = endpoints.computeIfAbsent(endpointId, EndpointQueue::new);
+      if (queue.tasks.size() >= maxQueueSizePerEndpoint) {
+        LOG.debug("Request queue of endpoint '{}' is full, request is rejected", endpointId);
+        return false;
+      }
+      queue.tasks.add(runnable);
+      scheduleIfReady(queue);
+    }
+    drain();
+    return true;
+  }
+
+  /** Returns number of requests that are being processed at the moment. */
+  int getRunning() {
+    synchronized (lock) {
+      return running;
+    }
+  }
+
+  /** Returns number of requests of the endpoint that wait for a free worker. */
+  int getQueued(String endpointId) {
+    synchronized (lock) {
+      EndpointQueue queue = endpoints.get(endpointId);
+      return queue == null ? 0 : queue.tasks.size();
+    }
+  }
+
+  /** Starts as many queued requests as there are free workers. */
+  private void drain() {
+    while (true) {
+      EndpointQueue queue;
+      Runnable task;
+      synchronized (lock) {
+        if (running >= maxPoolSize || ready.isEmpty()) {
+          return;
+        }
+        queue = ready.poll();
+        queue.scheduled = false;
+        task = queue.tasks.poll();
+        queue.inFlight++;
+        running++;
+        // put endpoint to the end of the line to give way to others
+        scheduleIfReady(queue);
+      }
+
+      EndpointQueue owner = queue;
+      try {
+        executorService.execute(
+            () -> {
+              try {
+                task.run();
+              } finally {
+                complete(owner);
+              }
+            });
+      } catch (RejectedExecutionException e) {
+        LOG.warn("Request of endpoint '{}' is not processed, processor is shut down", owner.id);
+        complete(owner);
+        return;
+      }
+    }
+  }
+
+  private void complete(EndpointQueue queue) {
+    synchronized (lock) {
+      running--;
+      queue.inFlight--;
+      if (queue.inFlight == 0 && queue.tasks.isEmpty()) {
+        endpoints.remove(queue.id, queue);
+      } else {
+        scheduleIfReady(queue);
+      }
+    }
+    drain();
+  }
+
+  /** Must be called while holding the lock. */
+  private void scheduleIfReady(EndpointQueue queue) {
+    if (!queue.scheduled && !queue.tasks.isEmpty() && queue.inFlight < maxInFlightPerEndpoint) {
+      queue.scheduled = true;
+      ready.add(queue);
+    }
+  }
+
+  private ExecutorService newPlatformThreadExecutor() {
+    ThreadFactory factory =
+        new ThreadFactoryBuilder()
+            .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+            .setNameFormat(ServerSideRequestProcessor.class.getSimpleName() + "-%d")
+            .setDaemon(true)
+            .build();
+    // the number of tasks is limited by the processor, so the pool never has to queue them
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            maxPoolSize, maxPoolSize, 60, SECONDS, new LinkedBlockingQueue<>(), factory);
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /** Returns executor that starts a new virtual thread for each task or null if not supported. */
+  private static ExecutorService newVirtualThreadExecutor() {
+    try {
+      return (ExecutorService)
+          Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException e) {
+      LOG.warn("Virtual threads are not supported by JVM, pool of platform threads is used");
+      return null;
+    }
+  }
+
+  private static class EndpointQueue {
+    final String id;
+    final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+    int inFlight;
+    boolean scheduled;
+
+    EndpointQueue(String id) {
+      this.id = id;
+    }
   }
 }
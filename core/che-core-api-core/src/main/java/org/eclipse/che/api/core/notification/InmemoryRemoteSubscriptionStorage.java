@@ -20,32 +20,110 @@ import javax.inject.Singleton;
 /**
  * Imnemory implementation of {@link RemoteSubscriptionStorage}
  *
+ * <p>Subscriptions of each method are indexed by all the entries of their scopes, so {@link
+ * #getByScope(String, String, String)} is a couple of map lookups.
+ *
  * @author Max Shaposhnik (mshaposh@redhat.com)
  */
 @Singleton
 public class InmemoryRemoteSubscriptionStorage implements RemoteSubscriptionStorage {
 
-  private final Map<String, Set<RemoteSubscriptionContext>> subscriptions =
-      new ConcurrentHashMap<>();
+  private final Map<String, MethodSubscriptions> subscriptions = new ConcurrentHashMap<>();
 
   @Override
   public Set<RemoteSubscriptionContext> getByMethod(String method) {
-    return subscriptions.getOrDefault(method, Collections.emptySet());
+    MethodSubscriptions methodSubscriptions = subscriptions.get(method);
+    return methodSubscriptions == null ? Collections.emptySet() : methodSubscriptions.all;
+  }
+
+  @Override
+  public Set<RemoteSubscriptionContext> getByScope(
+      String method, String scopeKey, String scopeValue) {
+    MethodSubscriptions methodSubscriptions = subscriptions.get(method);
+    return methodSubscriptions == null || scopeKey == null || scopeValue == null
+        ? Collections.emptySet()
+        : methodSubscriptions.get(scopeKey, scopeValue);
   }
 
   @Override
   public void addSubscription(String method, RemoteSubscriptionContext remoteSubscriptionContext) {
     subscriptions
-        .computeIfAbsent(method, k -> ConcurrentHashMap.newKeySet(1))
+        .computeIfAbsent(method, k -> new MethodSubscriptions())
         .add(remoteSubscriptionContext);
   }
 
   @Override
   public void removeSubscription(String method, String endpointId) {
-    subscriptions
-        .getOrDefault(method, Collections.emptySet())
-        .removeIf(
-            remoteSubscriptionContext ->
-                Objects.equals(remoteSubscriptionContext.getEndpointId(), endpointId));
+    MethodSubscriptions methodSubscriptions = subscriptions.get(method);
+    if (methodSubscriptions != null) {
+      methodSubscriptions.remove(endpointId);
+    }
+  }
+
+  /**
+   * Subscriptions of a single method along with the index by scope entries. Reads are lock free,
+   * modifications are serialized to keep the index consistent with the set of all subscriptions.
+   */
+  private static class MethodSubscriptions {
+    final Set<RemoteSubscriptionContext> all = ConcurrentHashMap.newKeySet(1);
+    final Map<String, Map<String, Set<RemoteSubscriptionContext>>> index =
+        new ConcurrentHashMap<>();
+
+    Set<RemoteSubscriptionContext> get(String scopeKey, String scopeValue) {
+      Map<String, Set<RemoteSubscriptionContext>> byValue = index.get(scopeKey);
+      if (byValue == null) {
+        return Collections.emptySet();
+      }
+      return byValue.getOrDefault(scopeValue, Collections.emptySet());
+    }
+
+    synchronized void add(RemoteSubscriptionContext context) {
+      all.add(context);
+      for (Map.Entry<String, String> entry : scope(context).entrySet()) {
+        if (entry.getKey() != null && entry.getValue() != null) {
+          index
+              .computeIfAbsent(entry.getKey(), k -> new ConcurrentHashMap<>())
+              .computeIfAbsent(entry.getValue(), v -> ConcurrentHashMap.newKeySet(1))
+              .add(context);
+        }
+      }
+    }
+
+    synchronized void remove(String endpointId) {
+      all.removeIf(
+          context -> {
+            if (!Objects.equals(context.getEndpointId(), endpointId)) {
+              return false;
+            }
+            unindex(context);
+            return true;
+          });
+    }
+
+    private void unindex(RemoteSubscriptionContext context) {
+      for (Map.Entry<String, String> entry : scope(context).entrySet()) {
+        if (entry.getKey() == null || entry.getValue() == null) {
+          continue;
+        }
+        Map<String, Set<RemoteSubscriptionContext>> byValue = index.get(entry.getKey());
+        if (byValue == null) {
+          continue;
+        }
+        Set<RemoteSubscriptionContext> contexts = byValue.get(entry.getValue());
+        if (contexts != null) {
+          contexts.remove(context);
+          if (contexts.isEmpty()) {
+            byValue.remove(entry.getValue());
+          }
+        }
+        if (byValue.isEmpty()) {
+          index.remove(entry.getKey());
+        }
+      }
+    }
+
+    private static Map<String, String> scope(RemoteSubscriptionContext context) {
+      return context.getScope() == null ? Collections.emptyMap() : context.getScope();
+    }
   }
 }
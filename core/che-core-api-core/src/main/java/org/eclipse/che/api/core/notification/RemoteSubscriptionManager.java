@@ -10,28 +10,44 @@
  */
 package org.eclipse.che.api.core.notification;
 
+import static java.util.stream.Collectors.toList;
+
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.function.BiPredicate;
+import java.util.function.Function;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcMarshaller;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcParams;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcRequest;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
-import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
 import org.eclipse.che.api.core.notification.dto.EventSubscription;
+import org.eclipse.che.api.core.websocket.commons.WebSocketMessageTransmitter;
 
+/**
+ * Resends events published in {@link EventService} to remote endpoints subscribed to them via
+ * JSON-RPC. Each event is marshalled to a notification once and the same message is transmitted to
+ * all the matching endpoints.
+ */
 @Singleton
 public class RemoteSubscriptionManager {
 
   private final EventService eventService;
-  private final RequestTransmitter requestTransmitter;
+  private final JsonRpcMarshaller marshaller;
+  private final WebSocketMessageTransmitter transmitter;
   private final RemoteSubscriptionStorage remoteSubscriptionStorage;
 
   @Inject
   public RemoteSubscriptionManager(
       EventService eventService,
-      RequestTransmitter requestTransmitter,
+      JsonRpcMarshaller marshaller,
+      WebSocketMessageTransmitter transmitter,
       RemoteSubscriptionStorage remoteSubscriptionStorage) {
     this.eventService = eventService;
-    this.requestTransmitter = requestTransmitter;
+    this.marshaller = marshaller;
+    this.transmitter = transmitter;
     this.remoteSubscriptionStorage = remoteSubscriptionStorage;
   }
 
@@ -52,18 +68,57 @@ public class RemoteSubscriptionManager {
         .withBiConsumer(this::consumeUnSubscriptionRequest);
   }
 
+  /**
+   * Resends events of the given type to endpoints subscribed to the method which scopes are
+   * accepted by the predicate. Each subscription of the method is tested for every event, prefer
+   * {@link #register(String, Class, String, Function)} when events are limited by a single scope
+   * key.
+   */
   public <T> void register(
       String method, Class<T> eventType, BiPredicate<T, Map<String, String>> biPredicate) {
+    eventService.subscribe(
+        event -> {
+          List<RemoteSubscriptionContext> contexts =
+              remoteSubscriptionStorage
+                  .getByMethod(method)
+                  .stream()
+                  .filter(context -> biPredicate.test(event, context.getScope()))
+                  .collect(toList());
+          transmit(method, event, contexts);
+        },
+        eventType);
+  }
+
+  /**
+   * Resends events of the given type to endpoints subscribed to the method with the scope key equal
+   * to the value of the event, e.g. to endpoints subscribed to events of a particular workspace.
+   * Subscriptions are looked up by the scope with {@link RemoteSubscriptionStorage#getByScope}.
+   *
+   * @param method Method name
+   * @param eventType type of the events
+   * @param scopeKey scope key, e.g. {@code workspaceId}
+   * @param scopeValue provides value of the scope key for the event
+   */
+  public <T> void register(
+      String method, Class<T> eventType, String scopeKey, Function<T, String> scopeValue) {
     eventService.subscribe(
         event ->
-            remoteSubscriptionStorage
-                .getByMethod(method)
-                .stream()
-                .filter(context -> biPredicate.test(event, context.getScope()))
-                .forEach(context -> transmit(context.getEndpointId(), method, event)),
+            transmit(
+                method,
+                event,
+                remoteSubscriptionStorage.getByScope(method, scopeKey, scopeValue.apply(event))),
         eventType);
   }
 
+  /**
+   * Transmits the event to endpoints subscribed to the method with the scope key equal to the given
+   * value. Used for events that are filtered before they are resent, so they can't be registered
+   * with {@link #register(String, Class, String, Function)}.
+   */
+  public <T> void transmit(String method, T event, String scopeKey, String scopeValue) {
+    transmit(method, event, remoteSubscriptionStorage.getByScope(method, scopeKey, scopeValue));
+  }
+
   private void consumeSubscriptionRequest(String endpointId, EventSubscription eventSubscription) {
     remoteSubscriptionStorage.addSubscription(
         eventSubscription.getMethod(),
@@ -75,12 +130,15 @@ public class RemoteSubscriptionManager {
     remoteSubscriptionStorage.removeSubscription(eventSubscription.getMethod(), endpointId);
   }
 
-  private <T> void transmit(String endpointId, String method, T event) {
-    requestTransmitter
-        .newRequest()
-        .endpointId(endpointId)
-        .methodName(method)
-        .paramsAsDto(event)
-        .sendAndSkipResult();
+  private <T> void transmit(
+      String method, T event, Collection<RemoteSubscriptionContext> contexts) {
+    if (contexts.isEmpty()) {
+      return;
+    }
+    JsonRpcRequest notification = new JsonRpcRequest(null, method, new JsonRpcParams(event));
+    String message = marshaller.marshall(notification);
+    for (RemoteSubscriptionContext context : contexts) {
+      transmitter.transmit(context.getEndpointId(), message);
+    }
   }
 }
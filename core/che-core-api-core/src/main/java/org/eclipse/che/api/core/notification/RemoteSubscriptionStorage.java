@@ -10,6 +10,10 @@
  */
 package org.eclipse.che.api.core.notification;
 
+import static java.util.stream.Collectors.toSet;
+
+import java.util.Collections;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -28,6 +32,31 @@ public interface RemoteSubscriptionStorage {
    */
   Set<RemoteSubscriptionContext> getByMethod(String method);
 
+  /**
+   * Returns active subscriptions for the given method which scope contains the given key with the
+   * given value. Implementations may index subscriptions by well-known scope keys, such as {@code
+   * workspaceId}, so events are routed without visiting every subscription of the method.
+   *
+   * @param method Method name
+   * @param scopeKey scope key, e.g. {@code workspaceId}
+   * @param scopeValue expected value of the scope key
+   * @return active subscriptions to this method limited by the given scope
+   */
+  default Set<RemoteSubscriptionContext> getByScope(
+      String method, String scopeKey, String scopeValue) {
+    if (scopeValue == null) {
+      return Collections.emptySet();
+    }
+    return getByMethod(method)
+        .stream()
+        .filter(
+            context -> {
+              Map<String, String> scope = context.getScope();
+              return scope != null && scopeValue.equals(scope.get(scopeKey));
+            })
+        .collect(toSet());
+  }
+
   /**
    * Adds new subscription to the given method subscriptions list
    *
@@ -11,6 +11,7 @@
 package org.eclipse.che.api.core.rest;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.io.CharStreams;
@@ -198,32 +199,18 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
       throws IOException, ServerException, ForbiddenException, NotFoundException,
           UnauthorizedException, ConflictException, BadRequestException {
     final String authToken = EnvironmentContext.getCurrent().getSubject().getToken();
-    final boolean hasQueryParams = parameters != null && !parameters.isEmpty();
-    if (hasQueryParams || authToken != null) {
-      final UriBuilder ub = UriBuilder.fromUri(url);
-      // remove sensitive information from url.
-      ub.replaceQueryParam("token", EMPTY_ARRAY);
-
-      if (hasQueryParams) {
-        for (Pair<String, ?> parameter : parameters) {
-          ub.queryParam(parameter.first, parameter.second);
+    url = buildUrl(url, parameters, authToken);
+    final URL target = new URL(url);
+    final HttpURLConnection conn = openConnection(target, timeout > 0 ? timeout : 60000);
+    try {
+      boolean conditional = false;
+      if (headers != null) {
+        for (Pair<String, String> header : headers) {
+          conn.setRequestProperty(header.first, header.second);
+          conditional |= HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(header.first);
         }
       }
-      url = ub.build().toString();
-    }
-    final HttpURLConnection conn = (HttpURLConnection) new URL(url).openConnection();
-    conn.setConnectTimeout(timeout > 0 ? timeout : 60000);
-    conn.setReadTimeout(timeout > 0 ? timeout : 60000);
-
-    final boolean hasHeaders = headers != null && !headers.isEmpty();
-
-    if (hasHeaders) {
-      for (Pair<String, String> header : headers) {
-        conn.setRequestProperty(header.first, header.second);
-      }
-    }
 
-    try {
       conn.setRequestMethod(method);
       // drop a hint for server side that we want to receive application/json
       conn.addRequestProperty(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON);
@@ -243,63 +230,127 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
         }
 
         try (OutputStream output = conn.getOutputStream()) {
-          output.write(DtoFactory.getInstance().toJson(body).getBytes());
+          output.write(DtoFactory.getInstance().toJson(body).getBytes(UTF_8));
         }
       }
       final int responseCode = conn.getResponseCode();
-      if ((responseCode / 100) != 2) {
+      // not modified response to a conditional request is not an error, it has no body
+      if ((responseCode / 100) != 2
+          && !(conditional && responseCode == HttpURLConnection.HTTP_NOT_MODIFIED)) {
         InputStream in = conn.getErrorStream();
         if (in == null) {
           in = conn.getInputStream();
         }
         final String str;
-        try (Reader reader = new InputStreamReader(in)) {
+        try (Reader reader = new InputStreamReader(in, UTF_8)) {
           str = CharStreams.toString(reader);
         }
-        final String contentType = conn.getContentType();
-        if (contentType != null
-            && (contentType.startsWith(MediaType.APPLICATION_JSON)
-                || contentType.startsWith("application/vnd.api+json"))) {
-          final ServiceError serviceError =
-              DtoFactory.getInstance().createDtoFromJson(str, ServiceError.class);
-          if (serviceError.getMessage() != null) {
-            if (responseCode == Response.Status.FORBIDDEN.getStatusCode()) {
-              throw new ForbiddenException(serviceError);
-            } else if (responseCode == Response.Status.NOT_FOUND.getStatusCode()) {
-              throw new NotFoundException(serviceError);
-            } else if (responseCode == Response.Status.UNAUTHORIZED.getStatusCode()) {
-              throw new UnauthorizedException(serviceError);
-            } else if (responseCode == Response.Status.CONFLICT.getStatusCode()) {
-              throw new ConflictException(serviceError);
-            } else if (responseCode == Response.Status.INTERNAL_SERVER_ERROR.getStatusCode()) {
-              throw new ServerException(serviceError);
-            } else if (responseCode == Response.Status.BAD_REQUEST.getStatusCode()) {
-              throw new BadRequestException(serviceError);
-            }
-            throw new ServerException(serviceError);
-          }
-        }
-        // Can't parse content as json or content has format other we expect for error.
-        throw new IOException(
-            String.format(
-                "Failed access: %s, method: %s, response code: %d, message: %s",
-                UriBuilder.fromUri(url).replaceQuery("token").build(), method, responseCode, str));
+        throwResponseError(responseCode, conn.getContentType(), str, url, method);
       }
       final String contentType = conn.getContentType();
       if (responseCode != HttpURLConnection.HTTP_NO_CONTENT
           && contentType != null
-          && !(contentType.startsWith(MediaType.APPLICATION_JSON)
-              || contentType.startsWith("application/vnd.api+json"))) {
+          && !isJson(contentType)) {
+        conn.getInputStream().close();
         throw new IOException(conn.getResponseMessage());
       }
 
-      try (Reader reader = new InputStreamReader(conn.getInputStream())) {
-        return new DefaultHttpJsonResponse(
-            CharStreams.toString(reader), responseCode, conn.getHeaderFields());
-      }
+      return readResponse(conn, responseCode);
     } finally {
-      conn.disconnect();
+      releaseConnection(target, conn);
+    }
+  }
+
+  /**
+   * Opens connection to the url, the connection is passed to {@link #releaseConnection} once the
+   * request is completed.
+   *
+   * @param url request url
+   * @param timeout connect and read timeout
+   */
+  protected HttpURLConnection openConnection(URL url, int timeout) throws IOException {
+    final HttpURLConnection conn = (HttpURLConnection) url.openConnection();
+    conn.setConnectTimeout(timeout);
+    conn.setReadTimeout(timeout);
+    return conn;
+  }
+
+  /** Releases the connection opened by {@link #openConnection}, disconnects it by default. */
+  protected void releaseConnection(URL url, HttpURLConnection conn) {
+    conn.disconnect();
+  }
+
+  /**
+   * Reads body of successful response from the connection, the body is kept as is and parsed when
+   * it is requested from the response.
+   */
+  protected DefaultHttpJsonResponse readResponse(HttpURLConnection conn, int responseCode)
+      throws IOException {
+    try (Reader reader = new InputStreamReader(conn.getInputStream(), UTF_8)) {
+      return new DefaultHttpJsonResponse(
+          CharStreams.toString(reader), responseCode, conn.getHeaderFields());
+    }
+  }
+
+  /**
+   * Adds query parameters to the url, removes token query parameter from the url if there are
+   * query parameters or the request is made on behalf of a subject with token.
+   */
+  static String buildUrl(String url, List<Pair<String, ?>> parameters, String authToken) {
+    final boolean hasQueryParams = parameters != null && !parameters.isEmpty();
+    if (hasQueryParams || authToken != null) {
+      final UriBuilder ub = UriBuilder.fromUri(url);
+      // remove sensitive information from url.
+      ub.replaceQueryParam("token", EMPTY_ARRAY);
+
+      if (hasQueryParams) {
+        for (Pair<String, ?> parameter : parameters) {
+          ub.queryParam(parameter.first, parameter.second);
+        }
+      }
+      url = ub.build().toString();
+    }
+    return url;
+  }
+
+  static boolean isJson(String contentType) {
+    return contentType.startsWith(MediaType.APPLICATION_JSON)
+        || contentType.startsWith("application/vnd.api+json");
+  }
+
+  /**
+   * Throws an exception that corresponds to unsuccessful response, {@link ServiceError} responses
+   * are converted to corresponding api exceptions, other responses to {@link IOException}.
+   */
+  static void throwResponseError(
+      int responseCode, String contentType, String body, String url, String method)
+      throws IOException, ServerException, ForbiddenException, NotFoundException,
+          UnauthorizedException, ConflictException, BadRequestException {
+    if (contentType != null && isJson(contentType)) {
+      final ServiceError serviceError =
+          DtoFactory.getInstance().createDtoFromJson(body, ServiceError.class);
+      if (serviceError.getMessage() != null) {
+        if (responseCode == Response.Status.FORBIDDEN.getStatusCode()) {
+          throw new ForbiddenException(serviceError);
+        } else if (responseCode == Response.Status.NOT_FOUND.getStatusCode()) {
+          throw new NotFoundException(serviceError);
+        } else if (responseCode == Response.Status.UNAUTHORIZED.getStatusCode()) {
+          throw new UnauthorizedException(serviceError);
+        } else if (responseCode == Response.Status.CONFLICT.getStatusCode()) {
+          throw new ConflictException(serviceError);
+        } else if (responseCode == Response.Status.INTERNAL_SERVER_ERROR.getStatusCode()) {
+          throw new ServerException(serviceError);
+        } else if (responseCode == Response.Status.BAD_REQUEST.getStatusCode()) {
+          throw new BadRequestException(serviceError);
+        }
+        throw new ServerException(serviceError);
+      }
     }
+    // Can't parse content as json or content has format other we expect for error.
+    throw new IOException(
+        String.format(
+            "Failed access: %s, method: %s, response code: %d, message: %s",
+            UriBuilder.fromUri(url).replaceQuery("token").build(), method, responseCode, body));
   }
 
   @Override
@@ -83,7 +83,7 @@ public class DefaultHttpJsonResponse implements HttpJsonResponse {
   public <T> T as(Class<T> clazz, Type genericType) throws IOException {
     requireNonNull(clazz, "Required non-null class");
     try {
-      return JsonHelper.fromJson(responseBody, clazz, genericType);
+      return JsonHelper.fromJson(asString(), clazz, genericType);
     } catch (JsonParseException jsonEx) {
       throw new IOException(jsonEx.getLocalizedMessage(), jsonEx);
     }
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.rest;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.dto.server.JsonArrayImpl;
+
+/**
+ * Response which body is parsed from the response stream into a JSON tree. DTOs are created from
+ * the tree directly, without printing it, so the body is never kept as a string. Responses are
+ * immutable and may be shared, e.g. returned from cache for conditional requests.
+ *
+ * @see PooledHttpJsonRequest
+ */
+class JsonTreeHttpJsonResponse extends DefaultHttpJsonResponse {
+
+  private final JsonElement body;
+
+  /**
+   * @param body parsed response body or null if the response has no body
+   * @param responseCode response code
+   * @param headers response headers
+   */
+  JsonTreeHttpJsonResponse(JsonElement body, int responseCode, Map<String, List<String>> headers) {
+    super(null, responseCode, headers);
+    this.body = body;
+  }
+
+  @Override
+  public String asString() {
+    return body == null ? "" : body.toString();
+  }
+
+  @Override
+  public <T> T asDto(Class<T> dtoInterface) {
+    requireNonNull(dtoInterface, "Required non-null dto interface");
+    if (body == null) {
+      return null;
+    }
+    return DtoFactory.getInstance().createDtoFromJson(body, dtoInterface);
+  }
+
+  @Override
+  public <T> List<T> asList(Class<T> dtoInterface) {
+    requireNonNull(dtoInterface, "Required non-null dto interface");
+    if (body == null || !body.isJsonArray()) {
+      // same as if the body was parsed as a list by dto factory
+      return DtoFactory.getInstance().createListDtoFromJson(asString(), dtoInterface);
+    }
+    JsonArray array = body.getAsJsonArray();
+    List<T> list = new ArrayList<>(array.size());
+    for (JsonElement element : array) {
+      list.add(
+          element.isJsonNull()
+              ? null
+              : DtoFactory.getInstance().createDtoFromJson(element, dtoInterface));
+    }
+    return new JsonArrayImpl<>(list);
+  }
+}
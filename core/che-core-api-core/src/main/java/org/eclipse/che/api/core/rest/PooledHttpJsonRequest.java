@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.rest;
+
+import static com.google.common.base.Strings.isNullOrEmpty;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.core.HttpHeaders;
+import org.eclipse.che.api.core.BadRequestException;
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.ForbiddenException;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.UnauthorizedException;
+import org.eclipse.che.api.core.rest.PooledHttpJsonRequestFactory.CachedResponse;
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.commons.lang.Pair;
+
+/**
+ * Implementation of {@link HttpJsonRequest} which reuses persistent connections.
+ *
+ * <p>Unlike {@link DefaultHttpJsonRequest} it never disconnects {@link HttpURLConnection}, response
+ * streams are always read to the end and closed, which returns connections to the keep-alive cache
+ * of the JDK, so subsequent requests to the same host don't open new connections. The number of
+ * concurrent connections to each host is limited by the factory.
+ *
+ * <p>Requests are made the same way {@link DefaultHttpJsonRequest} makes them. JSON response bodies
+ * are parsed from the response stream into JSON trees which are converted to DTOs on demand, see
+ * {@link JsonTreeHttpJsonResponse}.
+ *
+ * <p>GET requests without body are conditional: if a response has {@code ETag} header it is cached
+ * by the factory and the next request to the same url on behalf of the same user is sent with
+ * {@code If-None-Match} header, if the server responds with 304 the cached response is returned.
+ *
+ * @see PooledHttpJsonRequestFactory
+ */
+public class PooledHttpJsonRequest extends DefaultHttpJsonRequest {
+
+  private static final JsonParser JSON_PARSER = new JsonParser();
+
+  private final PooledHttpJsonRequestFactory factory;
+
+  protected PooledHttpJsonRequest(PooledHttpJsonRequestFactory factory, String url) {
+    super(url);
+    this.factory = factory;
+  }
+
+  protected PooledHttpJsonRequest(PooledHttpJsonRequestFactory factory, Link link) {
+    super(link);
+    this.factory = factory;
+  }
+
+  @Override
+  protected DefaultHttpJsonResponse doRequest(
+      int timeout,
+      String url,
+      String method,
+      Object body,
+      List<Pair<String, ?>> parameters,
+      String authorizationHeaderValue,
+      List<Pair<String, String>> headers)
+      throws IOException, ServerException, ForbiddenException, NotFoundException,
+          UnauthorizedException, ConflictException, BadRequestException {
+    if (!HttpMethod.GET.equals(method) || body != null) {
+      return super.doRequest(
+          timeout, url, method, body, parameters, authorizationHeaderValue, headers);
+    }
+
+    // responses depend on the user, so they are cached for each authorization separately
+    final String authToken = EnvironmentContext.getCurrent().getSubject().getToken();
+    final String authorization =
+        isNullOrEmpty(authorizationHeaderValue) ? authToken : authorizationHeaderValue;
+    final String cacheKey = buildUrl(url, parameters, authToken) + '\n' + authorization;
+    final CachedResponse cached = factory.getCachedResponse(cacheKey);
+
+    List<Pair<String, String>> actualHeaders = headers;
+    if (cached != null) {
+      actualHeaders = headers == null ? new ArrayList<>() : new ArrayList<>(headers);
+      actualHeaders.add(Pair.of(HttpHeaders.IF_NONE_MATCH, cached.getETag()));
+    }
+    final DefaultHttpJsonResponse response =
+        super.doRequest(
+            timeout, url, method, null, parameters, authorizationHeaderValue, actualHeaders);
+    if (response.getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED && cached != null) {
+      return cached.getResponse();
+    }
+
+    final String eTag = getHeader(response, HttpHeaders.ETAG);
+    if (eTag != null && response.getResponseCode() == HttpURLConnection.HTTP_OK) {
+      factory.cacheResponse(cacheKey, new CachedResponse(eTag, response));
+    } else if (cached != null) {
+      factory.invalidateCachedResponse(cacheKey);
+    }
+    return response;
+  }
+
+  /** Waits for a free connection to the host before opening a new one. */
+  @Override
+  protected HttpURLConnection openConnection(URL url, int timeout) throws IOException {
+    factory.acquireConnection(url, timeout);
+    try {
+      return super.openConnection(url, timeout);
+    } catch (IOException | RuntimeException e) {
+      factory.releaseConnection(url);
+      throw e;
+    }
+  }
+
+  /**
+   * Returns the connection to the pool without disconnecting it, the response stream is already
+   * read to the end and closed, so the JDK keeps the connection alive.
+   */
+  @Override
+  protected void releaseConnection(URL url, HttpURLConnection conn) {
+    factory.releaseConnection(url);
+  }
+
+  /**
+   * Parses JSON body into a tree. Bodies of responses without content type are kept as is, the
+   * same way {@link DefaultHttpJsonRequest} keeps them, so they are parsed only when requested.
+   */
+  @Override
+  protected DefaultHttpJsonResponse readResponse(HttpURLConnection conn, int responseCode)
+      throws IOException {
+    if (conn.getContentType() == null || responseCode == HttpURLConnection.HTTP_NO_CONTENT) {
+      final DefaultHttpJsonResponse response = super.readResponse(conn, responseCode);
+      if (!response.asString().isEmpty()) {
+        return response;
+      }
+      return new JsonTreeHttpJsonResponse(null, responseCode, response.getHeaders());
+    }
+    return new JsonTreeHttpJsonResponse(
+        parse(conn.getInputStream()), responseCode, conn.getHeaderFields());
+  }
+
+  /** Returns the first value of the header, header names are case insensitive. */
+  private static String getHeader(HttpJsonResponse response, String name) {
+    for (Map.Entry<String, List<String>> header : response.getHeaders().entrySet()) {
+      if (name.equalsIgnoreCase(header.getKey()) && !header.getValue().isEmpty()) {
+        return header.getValue().get(0);
+      }
+    }
+    return null;
+  }
+
+  /** Parses the stream into a JSON tree, returns null if the stream is empty. */
+  private static JsonElement parse(InputStream in) throws IOException {
+    try (InputStream stream = in) {
+      final JsonReader reader = new JsonReader(new InputStreamReader(stream, UTF_8));
+      reader.setLenient(true);
+      if (reader.peek() == JsonToken.END_DOCUMENT) {
+        return null;
+      }
+      final JsonElement element = JSON_PARSER.parse(reader);
+      // the rest of the body must be read to reuse the connection
+      exhaust(stream);
+      return element;
+    } catch (JsonParseException | IllegalStateException e) {
+      throw new IOException("Response body is not a valid JSON", e);
+    }
+  }
+
+  private static void exhaust(InputStream in) throws IOException {
+    final byte[] buf = new byte[4096];
+    while (in.read(buf) != -1) {
+      // skip
+    }
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.rest;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import javax.validation.constraints.NotNull;
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+
+/**
+ * Creates {@link PooledHttpJsonRequest} instances.
+ *
+ * <p>Requests created by the same factory share persistent connections, the number of concurrent
+ * connections to a single host is limited, requests wait for a free connection no longer than
+ * their timeout. Idle connections are kept by the JDK, up to {@code http.maxConnections} (5 by
+ * default) idle connections are kept for each host, so the limit shouldn't be greater than this
+ * value for all the connections to be reused.
+ *
+ * <p>The factory also keeps responses with {@code ETag} header for conditional GET requests.
+ *
+ * @see PooledHttpJsonRequest
+ */
+@Singleton
+public class PooledHttpJsonRequestFactory implements HttpJsonRequestFactory {
+
+  private final int maxConnectionsPerHost;
+  private final Map<String, Semaphore> connections = new ConcurrentHashMap<>();
+  private final Cache<String, CachedResponse> responses;
+
+  @Inject
+  public PooledHttpJsonRequestFactory(
+      @Named("che.core.http.max_connections_per_host") int maxConnectionsPerHost,
+      @Named("che.core.http.etag_cache_size") int eTagCacheSize) {
+    this.maxConnectionsPerHost = maxConnectionsPerHost;
+    this.responses = CacheBuilder.newBuilder().maximumSize(eTagCacheSize).build();
+  }
+
+  @Override
+  public HttpJsonRequest fromUrl(@NotNull String url) {
+    return new PooledHttpJsonRequest(this, url);
+  }
+
+  @Override
+  public HttpJsonRequest fromLink(@NotNull Link link) {
+    return new PooledHttpJsonRequest(this, link);
+  }
+
+  /** Waits for a free connection to the host of the url. */
+  void acquireConnection(URL url, int timeoutMillis) throws IOException {
+    Semaphore hostConnections =
+        connections.computeIfAbsent(
+            url.getAuthority(), host -> new Semaphore(maxConnectionsPerHost, true));
+    try {
+      if (!hostConnections.tryAcquire(timeoutMillis, MILLISECONDS)) {
+        throw new IOException(
+            String.format(
+                "Timed out waiting for a connection to '%s', all %d connections are in use",
+                url.getAuthority(), maxConnectionsPerHost));
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for a connection");
+    }
+  }
+
+  void releaseConnection(URL url) {
+    connections.get(url.getAuthority()).release();
+  }
+
+  CachedResponse getCachedResponse(String key) {
+    return responses.getIfPresent(key);
+  }
+
+  void cacheResponse(String key, CachedResponse response) {
+    responses.put(key, response);
+  }
+
+  void invalidateCachedResponse(String key) {
+    responses.invalidate(key);
+  }
+
+  /** Response along with its entity tag. */
+  static class CachedResponse {
+    private final String eTag;
+    private final DefaultHttpJsonResponse response;
+
+    CachedResponse(String eTag, DefaultHttpJsonResponse response) {
+      this.eTag = eTag;
+      this.response = response;
+    }
+
+    String getETag() {
+      return eTag;
+    }
+
+    DefaultHttpJsonResponse getResponse() {
+      return response;
+    }
+  }
+}
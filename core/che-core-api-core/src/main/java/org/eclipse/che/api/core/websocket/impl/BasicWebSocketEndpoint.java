@@ -64,7 +64,7 @@ public abstract class BasicWebSocketEndpoint {
     session.setMaxIdleTimeout(0);
 
     registry.add(combinedEndpointId, session);
-    reSender.resend(combinedEndpointId);
+    resend(combinedEndpointId, session);
     sessionMessagesBuffer.put(session, new StringBuffer());
   }
 
@@ -147,6 +147,27 @@ public abstract class BasicWebSocketEndpoint {
         .orElse(identificationService.getCombinedId(getEndpointId(), clientId));
   }
 
+  /**
+   * Re-sends pending messages, clients that track re-sent messages pass the sequence number of the
+   * last received one as the {@code lastAck} query parameter to resume from it.
+   */
+  private void resend(String combinedEndpointId, Session session) {
+    String lastAck = getQueryParamsMap(session.getQueryString()).get("lastAck");
+    if (lastAck == null) {
+      reSender.resend(combinedEndpointId);
+      return;
+    }
+    long lastAckSeq;
+    try {
+      lastAckSeq = Long.parseLong(lastAck);
+    } catch (NumberFormatException e) {
+      LOG.debug("Illegal last acknowledged sequence number '{}'", lastAck);
+      reSender.resend(combinedEndpointId);
+      return;
+    }
+    reSender.resend(combinedEndpointId, lastAckSeq);
+  }
+
   private Map<String, String> getQueryParamsMap(String queryParamsString) {
     Map<String, String> queryParamsMap = new HashMap<>();
 
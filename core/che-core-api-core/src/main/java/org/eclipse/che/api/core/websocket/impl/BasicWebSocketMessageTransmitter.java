@@ -10,14 +10,31 @@
  */
 package org.eclipse.che.api.core.websocket.impl;
 
+import static java.util.stream.Collectors.toSet;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.websocket.CloseReason;
+import javax.websocket.CloseReason.CloseCodes;
 import javax.websocket.Session;
 import org.eclipse.che.api.core.websocket.commons.WebSocketMessageTransmitter;
+import org.eclipse.che.commons.schedule.ScheduleRate;
 import org.slf4j.Logger;
 
 /**
@@ -25,27 +42,60 @@ import org.slf4j.Logger;
  * session is not opened adds messages to re-sender to try to send them when session will be opened
  * again.
  *
+ * <p>Each session has its own bounded queue of outgoing messages that is drained asynchronously,
+ * so a slow client does not delay messages of other clients. JSON-RPC notifications with methods
+ * bound to {@code che.websocket.transmit.droppable_methods} set (e.g. log streams) are dropped,
+ * oldest first, when the queue is full. Other messages wait for free space, if the client doesn't
+ * receive messages for too long, its session is closed and pending messages are passed to
+ * re-sender. While re-sender has messages of the endpoint, new messages are passed to it as well to
+ * keep the order. Queue of a session lives until the session is closed.
+ *
+ * <p>Sizes of the queues and numbers of dropped messages are logged periodically and exposed over
+ * JMX as {@value #OBJECT_NAME}, both in total and by endpoint.
+ *
  * @author Dmitry Kuleshov
  */
 @Singleton
-public class BasicWebSocketMessageTransmitter implements WebSocketMessageTransmitter {
+public class BasicWebSocketMessageTransmitter
+    implements WebSocketMessageTransmitter, WebSocketMessageQueuesMXBean {
   private static final Logger LOG = getLogger(BasicWebSocketMessageTransmitter.class);
 
+  static final String OBJECT_NAME = "org.eclipse.che:type=WebSocketMessageQueues";
+
+  private static final int QUEUE_CAPACITY = 1_000;
+  private static final long OFFER_TIMEOUT_MS = 10_000;
+
+  /** Serialized JSON-RPC request starts with this prefix followed by the method name. */
+  private static final String REQUEST_PREFIX = "{\"jsonrpc\":\"2.0\",\"method\":\"";
+
   private final WebSocketSessionRegistry registry;
   private final MessagesReSender reSender;
+  private final Set<String> droppableMethods;
+
+  private final Map<Session, SessionMessageQueue> queues = new ConcurrentHashMap<>();
+  /** Numbers of messages dropped since start, by endpoint id. */
+  private final Map<String, AtomicLong> droppedMessages = new ConcurrentHashMap<>();
+  /** Numbers of dropped messages reported by the last {@link #reportQueueMetrics()}. */
+  private final Map<String, Long> reportedDroppedMessages = new ConcurrentHashMap<>();
+  /** Number of messages dropped for endpoints which are no longer tracked. */
+  private final AtomicLong forgottenDroppedMessages = new AtomicLong();
 
   @Inject
   public BasicWebSocketMessageTransmitter(
-      WebSocketSessionRegistry registry, MessagesReSender reSender) {
+      WebSocketSessionRegistry registry,
+      MessagesReSender reSender,
+      @Named("che.websocket.transmit.droppable_methods") Set<String> droppableMethods) {
     this.registry = registry;
     this.reSender = reSender;
+    this.droppableMethods = droppableMethods;
   }
 
   @Override
-  public synchronized void transmit(String endpointId, String message) {
+  public void transmit(String endpointId, String message) {
     Optional<Session> sessionOptional = registry.get(endpointId);
+    boolean registered = sessionOptional.isPresent();
 
-    if (!sessionOptional.isPresent()) {
+    if (!registered) {
       sessionOptional = registry.getByPartialMatch(endpointId).stream().findFirst();
     }
 
@@ -53,14 +103,168 @@ public class BasicWebSocketMessageTransmitter implements WebSocketMessageTransmi
       LOG.debug("Session is not registered or closed, adding message to pending");
 
       reSender.add(endpointId, message);
+    } else if (registered && reSender.hasPending(endpointId)) {
+      LOG.debug("Session has messages to re-send, adding message after them");
+
+      reSender.add(endpointId, message);
+      reSender.resend(endpointId);
     } else {
       LOG.debug("Session registered and open, sending message");
 
+      enqueue(endpointId, sessionOptional.get(), message);
+    }
+  }
+
+  /** Adds a message to the queue of the session, waits for free space if the queue is full. */
+  void enqueue(String endpointId, Session session, String message) {
+    boolean droppable = isDroppable(message);
+    SessionMessageQueue queue;
+    do {
+      queue =
+          queues.compute(
+              session,
+              (key, current) ->
+                  current == null || current.isRetired() ? newQueue(endpointId, key) : current);
+    } while (!queue.offer(message, droppable));
+  }
+
+  @Override
+  public Map<String, Long> getQueueDepths() {
+    Map<String, Long> depths = new HashMap<>();
+    for (SessionMessageQueue queue : queues.values()) {
+      long size = queue.size();
+      if (size > 0) {
+        depths.merge(queue.getEndpointId(), size, Long::sum);
+      }
+    }
+    return depths;
+  }
+
+  @Override
+  public Map<String, Long> getDroppedMessagesByEndpoint() {
+    Map<String, Long> dropped = new HashMap<>();
+    droppedMessages.forEach((endpointId, counter) -> dropped.put(endpointId, counter.get()));
+    return dropped;
+  }
+
+  @Override
+  public int getSessions() {
+    return queues.size();
+  }
+
+  @Override
+  public long getQueuedMessages() {
+    long queued = 0;
+    for (SessionMessageQueue queue : queues.values()) {
+      queued += queue.size();
+    }
+    return queued;
+  }
+
+  @Override
+  public long getDroppedMessages() {
+    long dropped = forgottenDroppedMessages.get();
+    for (AtomicLong counter : droppedMessages.values()) {
+      dropped += counter.get();
+    }
+    return dropped;
+  }
+
+  @PostConstruct
+  void registerMXBean() {
+    try {
+      ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+    } catch (JMException e) {
+      LOG.warn("Can't expose websocket message queues over JMX: {}", e.getMessage());
+    }
+  }
+
+  @PreDestroy
+  void unregisterMXBean() {
+    try {
+      ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(OBJECT_NAME));
+    } catch (JMException e) {
+      LOG.debug("Can't unregister websocket message queues MXBean: {}", e.getMessage());
+    }
+  }
+
+  @ScheduleRate(initialDelay = 60, period = 60)
+  void reportQueueMetrics() {
+    // queues of sessions closed while they were idle are not retired by sending
+    for (SessionMessageQueue queue : queues.values()) {
+      if (!queue.getSession().isOpen()) {
+        queue.close();
+      }
+    }
+
+    if (LOG.isDebugEnabled()) {
+      getQueueDepths().forEach((id, size) -> LOG.debug("Endpoint '{}' queue size: {}", id, size));
+    }
+
+    droppedMessages.forEach(
+        (endpointId, counter) -> {
+          long dropped = counter.get();
+          Long reported = reportedDroppedMessages.put(endpointId, dropped);
+          long recent = reported == null ? dropped : dropped - reported;
+          if (recent > 0) {
+            LOG.warn(
+                "Endpoint '{}' doesn't keep up with messages, {} messages dropped in last minute",
+                endpointId,
+                recent);
+          }
+        });
+
+    // counters of endpoints without sessions are kept until their drops are reported
+    Set<String> active =
+        queues.values().stream().map(SessionMessageQueue::getEndpointId).collect(toSet());
+    Iterator<Map.Entry<String, AtomicLong>> it = droppedMessages.entrySet().iterator();
+    while (it.hasNext()) {
+      Map.Entry<String, AtomicLong> entry = it.next();
+      long dropped = entry.getValue().get();
+      if (!active.contains(entry.getKey())
+          && dropped == reportedDroppedMessages.getOrDefault(entry.getKey(), 0L)) {
+        it.remove();
+        reportedDroppedMessages.remove(entry.getKey());
+        forgottenDroppedMessages.addAndGet(dropped);
+      }
+    }
+  }
+
+  private SessionMessageQueue newQueue(String endpointId, Session session) {
+    return new SessionMessageQueue(
+        endpointId,
+        session,
+        QUEUE_CAPACITY,
+        OFFER_TIMEOUT_MS,
+        droppedMessages.computeIfAbsent(endpointId, k -> new AtomicLong()),
+        this::onQueueRetired);
+  }
+
+  private void onQueueRetired(SessionMessageQueue queue, List<String> pending) {
+    queues.remove(queue.getSession(), queue);
+    if (pending.isEmpty()) {
+      return;
+    }
+
+    reSender.putBack(queue.getEndpointId(), pending);
+    Session session = queue.getSession();
+    if (session.isOpen()) {
       try {
-        sessionOptional.get().getBasicRemote().sendText(message);
+        session.close(new CloseReason(CloseCodes.TRY_AGAIN_LATER, "Messages are not received"));
       } catch (IOException e) {
-        LOG.error("Error while trying to send a message to a basic websocket remote endpoint", e);
+        LOG.error("Error while closing stalled session of endpoint '{}'", queue.getEndpointId(), e);
       }
     }
   }
+
+  private boolean isDroppable(String message) {
+    if (droppableMethods.isEmpty() || !message.startsWith(REQUEST_PREFIX)) {
+      return false;
+    }
+    int end = message.indexOf('"', REQUEST_PREFIX.length());
+    // requests that expect a response have an id which goes right after the method
+    return end > 0
+        && droppableMethods.contains(message.substring(REQUEST_PREFIX.length(), end))
+        && !message.startsWith(",\"id\":", end + 1);
+  }
 }
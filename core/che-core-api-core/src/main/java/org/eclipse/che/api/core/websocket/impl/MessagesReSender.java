@@ -10,60 +10,179 @@
  */
 package org.eclipse.che.api.core.websocket.impl;
 
-import com.google.common.collect.EvictingQueue;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
 import javax.inject.Inject;
+import javax.inject.Provider;
 import javax.inject.Singleton;
 import javax.websocket.Session;
-import org.eclipse.che.commons.schedule.ScheduleDelay;
+import org.eclipse.che.commons.schedule.ScheduleRate;
+import org.slf4j.Logger;
 
 /**
  * Instance is responsible for re-sending messages that were not sent during the period when WEB
  * SOCKET session was closed. If session is closed during re-send process it stops and left messages
  * will be re-sent as WEB SOCKET session becomes open again.
  *
+ * <p>Messages of each endpoint are kept in a replay log in the order they are added. The log is
+ * limited by the total size of messages, the oldest messages are evicted when the limit is
+ * exceeded, and messages expire when they are not re-sent for too long. Messages are re-sent
+ * through the message queue of the session of {@link BasicWebSocketMessageTransmitter}, so they
+ * are never written to the session concurrently with other messages. Messages that the queue
+ * fails to send because the session is closed are put back to the head of the log.
+ *
+ * <p>Each re-sent message gets a monotonically increasing sequence number. Clients that pass the
+ * sequence number of the last re-sent message they received on reconnect, see {@link
+ * #resend(String, long)}, resume from it: re-sent messages are kept until acknowledged this way,
+ * messages up to the acknowledged one are trimmed and only the ones after it are re-sent again.
+ * The sequence number of the last passed message is reported to such clients with the {@value
+ * #REPLAYED_METHOD} notification after each re-send.
+ *
+ * <p>Expiration is driven by a timer wheel, each slot of the wheel holds endpoints whose oldest
+ * messages expire during the corresponding tick, so only those logs are checked on each tick.
+ *
  * @author Dmitry Kuleshov
  */
 @Singleton
 public class MessagesReSender {
+  private static final Logger LOG = getLogger(MessagesReSender.class);
+
+  /** Method of JSON RPC notification with the sequence number of the last re-sent message. */
+  public static final String REPLAYED_METHOD = "websocket/replayed";
+
+  private static final String REPLAYED_NOTIFICATION_PREFIX =
+      "{\"jsonrpc\":\"2.0\",\"method\":\"" + REPLAYED_METHOD + "\"";
 
-  private static final int MAX_MESSAGES = 100;
+  private static final long MAX_BYTES_PER_ENDPOINT = 1024 * 1024;
+  private static final long MESSAGE_TTL_MS = 60_000;
+  private static final long TICK_MS = 1_000;
 
   private final WebSocketSessionRegistry registry;
+  private final Provider<BasicWebSocketMessageTransmitter> transmitterProvider;
+  private final long maxBytesPerEndpoint;
+  private final long messageTtlMillis;
+  private final LongSupplier clock;
 
-  private final Map<String, Queue<DelayedMessage>> delayedMessageRegistry =
-      new ConcurrentHashMap<>();
+  private final Map<String, ReplayLog> logs = new ConcurrentHashMap<>();
+  private final AtomicLong sequence = new AtomicLong();
+  private final TimerWheel wheel;
 
   @Inject
-  public MessagesReSender(WebSocketSessionRegistry registry) {
-    this.registry = registry;
+  public MessagesReSender(
+      WebSocketSessionRegistry registry,
+      Provider<BasicWebSocketMessageTransmitter> transmitterProvider) {
+    this(
+        registry,
+        transmitterProvider,
+        MAX_BYTES_PER_ENDPOINT,
+        MESSAGE_TTL_MS,
+        System::currentTimeMillis);
   }
 
-  @ScheduleDelay(initialDelay = 60, delay = 60)
-  void cleanStaleMessages() {
-    long currentTimeMillis = System.currentTimeMillis();
+  MessagesReSender(
+      WebSocketSessionRegistry registry,
+      Provider<BasicWebSocketMessageTransmitter> transmitterProvider,
+      long maxBytesPerEndpoint,
+      long messageTtlMillis,
+      LongSupplier clock) {
+    this.registry = registry;
+    this.transmitterProvider = transmitterProvider;
+    this.maxBytesPerEndpoint = maxBytesPerEndpoint;
+    this.messageTtlMillis = messageTtlMillis;
+    this.clock = clock;
+    this.wheel =
+        new TimerWheel((int) (messageTtlMillis / TICK_MS) + 2, clock.getAsLong() / TICK_MS);
+  }
 
-    delayedMessageRegistry
-        .values()
-        .forEach(it -> it.removeIf(m -> currentTimeMillis - m.timeMillis > 60_000));
+  /** Adds a message to the end of the replay log of the endpoint. */
+  public void add(String endpointId, String message) {
+    long now = clock.getAsLong();
+    logs.compute(
+        endpointId,
+        (id, log) -> {
+          if (log == null) {
+            log = new ReplayLog(id);
+          }
+          synchronized (log) {
+            log.append(message, now);
+            scheduleExpiration(log);
+          }
+          return log;
+        });
+  }
 
-    delayedMessageRegistry.values().removeIf(Queue::isEmpty);
+  /**
+   * Puts messages that were not sent back to the head of the replay log of the endpoint, so they
+   * are re-sent before the messages added after them.
+   */
+  void putBack(String endpointId, List<String> messages) {
+    if (messages.isEmpty()) {
+      return;
+    }
+    long now = clock.getAsLong();
+    logs.compute(
+        endpointId,
+        (id, log) -> {
+          if (log == null) {
+            log = new ReplayLog(id);
+          }
+          synchronized (log) {
+            log.prepend(messages, now);
+            scheduleExpiration(log);
+          }
+          return log;
+        });
   }
 
-  public void add(String endpointId, String message) {
+  /** Returns {@code true} if there are messages of the endpoint that are not re-sent yet. */
+  public boolean hasPending(String endpointId) {
+    ReplayLog log = logs.get(endpointId);
+    if (log == null) {
+      return false;
+    }
+    synchronized (log) {
+      return log.replaying || !log.pending.isEmpty();
+    }
+  }
 
-    delayedMessageRegistry
-        .computeIfAbsent(endpointId, k -> EvictingQueue.create(MAX_MESSAGES))
-        .offer(new DelayedMessage(message));
+  /**
+   * Re-sends the messages of the endpoint that follow the last acknowledged one. Messages up to
+   * the acknowledged sequence number are removed, the re-sent ones are kept until the client
+   * acknowledges them on the next reconnect.
+   *
+   * @param endpointId identifier of the endpoint
+   * @param lastAcknowledgedSeq sequence number of the last re-sent message the client received, 0
+   *     if none
+   */
+  public void resend(String endpointId, long lastAcknowledgedSeq) {
+    ReplayLog log = logs.get(endpointId);
+    if (log != null) {
+      synchronized (log) {
+        log.resumable = true;
+        log.acknowledge(lastAcknowledgedSeq);
+        log.rewind();
+      }
+      removeIfEmpty(log);
+    }
+    resend(endpointId);
   }
 
+  /** Re-sends the messages of the endpoint that are not re-sent yet in the order of addition. */
   public void resend(String endpointId) {
-    Queue<DelayedMessage> delayedMessages = delayedMessageRegistry.remove(endpointId);
+    ReplayLog log = logs.get(endpointId);
 
-    if (delayedMessages == null || delayedMessages.isEmpty()) {
+    if (log == null) {
       return;
     }
 
@@ -73,33 +192,267 @@ public class MessagesReSender {
       return;
     }
 
-    Queue<DelayedMessage> backingQueue = EvictingQueue.create(delayedMessages.size());
-    while (!delayedMessages.isEmpty()) {
-      backingQueue.offer(delayedMessages.poll());
+    Session session = sessionOptional.get();
+    if (!session.isOpen()) {
+      return;
     }
 
-    Session session = sessionOptional.get();
-    for (DelayedMessage delayedMessage : backingQueue) {
-      if (session.isOpen()) {
-        session.getAsyncRemote().sendText(delayedMessage.message);
-      } else {
-        delayedMessages.add(delayedMessage);
+    synchronized (log) {
+      if (log.replaying) {
+        return;
       }
+      log.replaying = true;
     }
 
-    if (!delayedMessages.isEmpty()) {
-      delayedMessageRegistry.put(endpointId, delayedMessages);
+    // messages added while replaying go to the log and are passed to the queue after the older ones
+    BasicWebSocketMessageTransmitter transmitter = transmitterProvider.get();
+    long lastSeq = 0;
+    boolean resumable;
+    while (true) {
+      Entry next;
+      synchronized (log) {
+        next = session.isOpen() ? log.next() : null;
+        if (next == null) {
+          log.replaying = false;
+          resumable = log.resumable;
+          break;
+        }
+      }
+      transmitter.enqueue(endpointId, session, next.message);
+      lastSeq = next.seq;
+    }
+    if (resumable && lastSeq > 0 && session.isOpen()) {
+      transmitter.enqueue(endpointId, session, replayedNotification(lastSeq));
     }
+    removeIfEmpty(log);
   }
 
-  private static class DelayedMessage {
+  private static String replayedNotification(long seq) {
+    return REPLAYED_NOTIFICATION_PREFIX + ",\"params\":{\"seq\":" + seq + "}}";
+  }
+
+  /** Removes expired messages of endpoints that are scheduled for the past ticks. */
+  @ScheduleRate(initialDelay = 1, period = 1)
+  void expireStaleMessages() {
+    long now = clock.getAsLong();
+    for (String endpointId : wheel.advance(now / TICK_MS)) {
+      ReplayLog log = logs.get(endpointId);
+      if (log == null) {
+        continue;
+      }
+      synchronized (log) {
+        int expired = log.expire(now - messageTtlMillis);
+        if (expired > 0) {
+          LOG.debug("{} messages of endpoint '{}' expired", expired, endpointId);
+        }
+        log.expirationScheduled = false;
+        scheduleExpiration(log);
+      }
+      removeIfEmpty(log);
+    }
+  }
+
+  /** Must be called while holding the lock of the log. */
+  private void scheduleExpiration(ReplayLog log) {
+    if (!log.expirationScheduled && !log.isEmpty()) {
+      log.expirationScheduled = true;
+      wheel.schedule(log.endpointId, log.oldestTime() + messageTtlMillis);
+    }
+  }
+
+  private void removeIfEmpty(ReplayLog log) {
+    logs.computeIfPresent(
+        log.endpointId,
+        (id, current) -> {
+          if (current != log) {
+            return current;
+          }
+          synchronized (log) {
+            return log.isEmpty() && !log.replaying ? null : log;
+          }
+        });
+  }
+
+  /** Messages of a single endpoint, guarded by the log itself. */
+  private class ReplayLog {
+    final String endpointId;
+    /** Messages that are not re-sent yet, in the order they must be re-sent. */
+    final ArrayDeque<Entry> pending = new ArrayDeque<>();
+    /** Re-sent messages kept until the client acknowledges them, ordered by sequence number. */
+    final ArrayDeque<Entry> unacknowledged = new ArrayDeque<>();
+    /** Messages of unacknowledged entries by identity, the queue puts back the same instances. */
+    final Set<String> unacknowledgedMessages = Collections.newSetFromMap(new IdentityHashMap<>());
+    long bytes;
+    long evicted;
+    boolean replaying;
+    boolean expirationScheduled;
+    /** Whether the client acknowledges re-sent messages, so they must be kept until then. */
+    boolean resumable;
+
+    ReplayLog(String endpointId) {
+      this.endpointId = endpointId;
+    }
+
+    void append(String message, long timeMillis) {
+      add(new Entry(message, timeMillis), false);
+    }
+
+    /**
+     * Adds messages before the not re-sent ones, they are considered as old as the oldest message.
+     * Unacknowledged messages and sequence notifications are skipped, the former are re-sent on
+     * resume anyway and the latter are outdated.
+     */
+    void prepend(List<String> messages, long timeMillis) {
+      long time = isEmpty() ? timeMillis : Math.min(timeMillis, oldestTime());
+      for (int i = messages.size() - 1; i >= 0; i--) {
+        String message = messages.get(i);
+        if (!unacknowledgedMessages.contains(message)
+            && !message.startsWith(REPLAYED_NOTIFICATION_PREFIX)) {
+          add(new Entry(message, time), true);
+        }
+      }
+    }
+
+    /** Removes re-sent messages with sequence numbers up to the specified one inclusive. */
+    void acknowledge(long seq) {
+      while (!unacknowledged.isEmpty() && unacknowledged.peek().seq <= seq) {
+        remove(unacknowledged.poll());
+      }
+    }
+
+    /** Moves unacknowledged messages back to the head of the log, so they are re-sent again. */
+    void rewind() {
+      while (!unacknowledged.isEmpty()) {
+        pending.addFirst(unacknowledged.pollLast());
+      }
+      unacknowledgedMessages.clear();
+    }
+
+    /** Removes messages added before the specified time, returns number of removed messages. */
+    int expire(long addedBeforeMillis) {
+      return expire(unacknowledged, addedBeforeMillis) + expire(pending, addedBeforeMillis);
+    }
+
+    /**
+     * Takes the next message to re-send and assigns it a sequence number, the message is kept until
+     * acknowledged if the log is resumable.
+     */
+    Entry next() {
+      Entry entry = pending.poll();
+      if (entry == null) {
+        return null;
+      }
+      entry.seq = sequence.incrementAndGet();
+      if (resumable) {
+        unacknowledged.add(entry);
+        unacknowledgedMessages.add(entry.message);
+      } else {
+        bytes -= entry.size();
+      }
+      return entry;
+    }
+
+    long oldestTime() {
+      if (unacknowledged.isEmpty()) {
+        return pending.peek().timeMillis;
+      }
+      if (pending.isEmpty()) {
+        return unacknowledged.peek().timeMillis;
+      }
+      return Math.min(unacknowledged.peek().timeMillis, pending.peek().timeMillis);
+    }
+
+    boolean isEmpty() {
+      return pending.isEmpty() && unacknowledged.isEmpty();
+    }
 
-    private final long timeMillis;
-    private final String message;
+    private int expire(ArrayDeque<Entry> entries, long addedBeforeMillis) {
+      int expired = 0;
+      while (!entries.isEmpty() && entries.peek().timeMillis <= addedBeforeMillis) {
+        remove(entries.poll());
+        expired++;
+      }
+      return expired;
+    }
 
-    private DelayedMessage(String message) {
+    private void remove(Entry entry) {
+      bytes -= entry.size();
+      unacknowledgedMessages.remove(entry.message);
+    }
+
+    private void add(Entry entry, boolean first) {
+      if (first) {
+        pending.addFirst(entry);
+      } else {
+        pending.addLast(entry);
+      }
+      bytes += entry.size();
+      // evict already re-sent messages first and keep at least the newest message
+      while (bytes > maxBytesPerEndpoint && unacknowledged.size() + pending.size() > 1) {
+        if (evicted++ == 0) {
+          LOG.warn(
+              "Messages of endpoint '{}' exceed {} bytes, the oldest ones are dropped",
+              endpointId,
+              maxBytesPerEndpoint);
+        }
+        remove(unacknowledged.isEmpty() ? pending.poll() : unacknowledged.poll());
+      }
+    }
+  }
+
+  private static class Entry {
+    final String message;
+    final long timeMillis;
+    /** Sequence number assigned when the message is re-sent, 0 if it is not re-sent yet. */
+    long seq;
+
+    Entry(String message, long timeMillis) {
       this.message = message;
-      this.timeMillis = System.currentTimeMillis();
+      this.timeMillis = timeMillis;
+    }
+
+    /** Approximate size of the message, most of the messages are ASCII encoded JSON. */
+    long size() {
+      return message.length();
+    }
+  }
+
+  /**
+   * Hashed wheel of endpoint identifiers. Deadlines must not be more than the size of the wheel
+   * ticks ahead of the current tick.
+   */
+  private static class TimerWheel {
+    final Set<String>[] slots;
+    long currentTick;
+
+    @SuppressWarnings("unchecked")
+    TimerWheel(int size, long currentTick) {
+      this.slots = new Set[size];
+      for (int i = 0; i < size; i++) {
+        slots[i] = ConcurrentHashMap.newKeySet();
+      }
+      this.currentTick = currentTick;
+    }
+
+    void schedule(String endpointId, long deadlineMillis) {
+      // round up so the endpoint is checked when its messages are already expired
+      long tick = (deadlineMillis + TICK_MS - 1) / TICK_MS;
+      slots[(int) (tick % slots.length)].add(endpointId);
+    }
+
+    /** Moves the wheel to the specified tick and returns endpoints from the passed slots. */
+    synchronized Set<String> advance(long tick) {
+      Set<String> due = new HashSet<>();
+      long from = Math.max(currentTick + 1, tick - slots.length + 1);
+      for (long t = from; t <= tick; t++) {
+        Set<String> slot = slots[(int) (t % slots.length)];
+        for (String endpointId : slot) {
+          slot.remove(endpointId);
+          due.add(endpointId);
+        }
+      }
+      currentTick = Math.max(currentTick, tick);
+      return due;
     }
   }
 }
@@ -0,0 +1,304 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.websocket.impl;
+
+import static java.util.Collections.emptyList;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.websocket.SendResult;
+import javax.websocket.Session;
+import org.slf4j.Logger;
+
+/**
+ * Bounded queue of outgoing messages of a single WEB SOCKET session. Messages are sent one by one
+ * with asynchronous remote of the session, so the caller does not wait for the network.
+ *
+ * <p>When queue is full, the oldest droppable message (e.g. a log line) is dropped to free space.
+ * If there are no droppable messages in the queue, a new droppable message is dropped itself, while
+ * other messages wait for free space for a limited time, after that the queue is considered
+ * stalled. Waiting doesn't hold the lock of the queue, so messages are still sent and droppable
+ * messages are still accepted meanwhile.
+ *
+ * <p>Queue lives while its session is open. It is retired when it is stalled, when session is
+ * found closed or when it is closed explicitly. Retired queue does not accept messages anymore, the
+ * listener is notified with messages that were not sent.
+ */
+class SessionMessageQueue {
+  private static final Logger LOG = getLogger(SessionMessageQueue.class);
+
+  private static final int ADDED = 0;
+  private static final int SKIPPED = 1;
+  private static final int STALLED = 2;
+  private static final int REJECTED = 3;
+
+  private final String endpointId;
+  private final Session session;
+  private final long offerTimeoutNanos;
+  private final AtomicLong dropped;
+  private final Listener listener;
+  /** Free places in the queue, a place is taken before a message is added. */
+  private final Semaphore space;
+
+  /** Guarded by this. */
+  private final ArrayDeque<Message> messages = new ArrayDeque<>();
+  /** Guarded by this. */
+  private int droppableMessages;
+  /** Guarded by this. */
+  private boolean sending;
+  /** Guarded by this. */
+  private boolean retired;
+
+  SessionMessageQueue(
+      String endpointId,
+      Session session,
+      int capacity,
+      long offerTimeoutMillis,
+      AtomicLong dropped,
+      Listener listener) {
+    this.endpointId = endpointId;
+    this.session = session;
+    this.offerTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(offerTimeoutMillis);
+    this.dropped = dropped;
+    this.listener = listener;
+    this.space = new Semaphore(capacity);
+  }
+
+  /**
+   * Adds message to the queue and starts sending if it is not started yet. May block if the queue
+   * is full and the message is not droppable.
+   *
+   * @return {@code false} if queue is retired and message is not accepted, {@code true} otherwise,
+   *     even if the message is dropped
+   */
+  boolean offer(String text, boolean droppable) {
+    int result = space.tryAcquire() ? ADDED : makeRoom(droppable);
+    if (result == SKIPPED) {
+      return true;
+    } else if (result == REJECTED) {
+      return false;
+    }
+
+    Message toSend = null;
+    List<String> pending = null;
+    synchronized (this) {
+      if (retired) {
+        if (result == ADDED) {
+          space.release();
+        }
+        return false;
+      }
+
+      messages.add(new Message(text, droppable));
+      if (droppable) {
+        droppableMessages++;
+      }
+      if (result == STALLED) {
+        LOG.warn(
+            "Endpoint '{}' doesn't receive messages for too long, {} messages are pending",
+            endpointId,
+            messages.size());
+        pending = retire();
+      } else if (!sending) {
+        sending = true;
+        toSend = poll();
+      }
+    }
+
+    if (pending != null) {
+      listener.onRetired(this, pending);
+    } else if (toSend != null) {
+      send(toSend);
+    }
+    return true;
+  }
+
+  /**
+   * Retires the queue, e.g. when its session is closed. Messages that are not sent yet are passed
+   * to the listener.
+   */
+  void close() {
+    List<String> pending;
+    synchronized (this) {
+      if (retired) {
+        return;
+      }
+      pending = retire();
+    }
+    listener.onRetired(this, pending);
+  }
+
+  /** Returns number of messages waiting to be sent. */
+  synchronized int size() {
+    return messages.size();
+  }
+
+  synchronized boolean isRetired() {
+    return retired;
+  }
+
+  String getEndpointId() {
+    return endpointId;
+  }
+
+  Session getSession() {
+    return session;
+  }
+
+  /**
+   * Frees space for a message when queue is full, must be called without holding the lock.
+   *
+   * @return {@link #ADDED} if a place for the message is taken, {@link #SKIPPED} if the message
+   *     must be dropped, {@link #STALLED} if waiting for space timed out, or {@link #REJECTED} if
+   *     queue is retired
+   */
+  private int makeRoom(boolean droppable) {
+    while (true) {
+      synchronized (this) {
+        if (retired) {
+          return REJECTED;
+        }
+        if (!dropOldestDroppable()) {
+          break;
+        }
+      }
+      // place of the dropped message may be taken by a concurrent sender
+      if (space.tryAcquire()) {
+        return ADDED;
+      }
+    }
+
+    if (droppable) {
+      dropped.incrementAndGet();
+      return SKIPPED;
+    }
+    try {
+      return space.tryAcquire(offerTimeoutNanos, TimeUnit.NANOSECONDS) ? ADDED : STALLED;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOG.debug("Interrupted while waiting for free space in the queue of '{}'", endpointId);
+      return SKIPPED;
+    }
+  }
+
+  /** Must be called while holding the lock, returns {@code true} if a message is dropped. */
+  private boolean dropOldestDroppable() {
+    if (droppableMessages == 0) {
+      return false;
+    }
+    Iterator<Message> it = messages.iterator();
+    while (it.hasNext()) {
+      if (it.next().droppable) {
+        it.remove();
+        droppableMessages--;
+        dropped.incrementAndGet();
+        space.release();
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void send(Message message) {
+    try {
+      session.getAsyncRemote().sendText(message.text, this::onResult);
+    } catch (RuntimeException e) {
+      // e.g. session is closed concurrently
+      onResult(new SendResult(e));
+    }
+  }
+
+  private void onResult(SendResult result) {
+    Message next;
+    List<String> pending = null;
+    synchronized (this) {
+      if (!result.isOK()) {
+        LOG.debug(
+            "Error while sending a message to endpoint '{}'", endpointId, result.getException());
+      }
+      if (retired) {
+        sending = false;
+        return;
+      }
+      if (!result.isOK() && !session.isOpen()) {
+        next = null;
+        pending = retire();
+      } else {
+        next = poll();
+        sending = next != null;
+      }
+    }
+
+    if (pending != null) {
+      listener.onRetired(this, pending);
+    } else if (next != null) {
+      send(next);
+    }
+  }
+
+  /** Must be called while holding the lock. */
+  private Message poll() {
+    Message message = messages.poll();
+    if (message != null) {
+      space.release();
+      if (message.droppable) {
+        droppableMessages--;
+      }
+    }
+    return message;
+  }
+
+  /** Must be called while holding the lock, returns messages that are not sent. */
+  private List<String> retire() {
+    retired = true;
+    sending = false;
+    // wakes up a sender waiting for space, it passes the place on to the next one
+    space.release();
+    if (messages.isEmpty()) {
+      return emptyList();
+    }
+    List<String> pending = new ArrayList<>(messages.size());
+    for (Message message : messages) {
+      pending.add(message.text);
+    }
+    messages.clear();
+    droppableMessages = 0;
+    return pending;
+  }
+
+  /** Listener of queue retirement. */
+  interface Listener {
+
+    /**
+     * Called once when queue is retired, not while holding the lock of the queue.
+     *
+     * @param queue retired queue
+     * @param pending messages that were not sent
+     */
+    void onRetired(SessionMessageQueue queue, List<String> pending);
+  }
+
+  private static class Message {
+    final String text;
+    final boolean droppable;
+
+    Message(String text, boolean droppable) {
+      this.text = text;
+      this.droppable = droppable;
+    }
+  }
+}
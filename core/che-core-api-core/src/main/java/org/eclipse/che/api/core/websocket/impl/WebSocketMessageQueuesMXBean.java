@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.websocket.impl;
+
+import java.util.Map;
+
+/** Metrics of the outgoing WEB SOCKET message queues, exposed over JMX. */
+public interface WebSocketMessageQueuesMXBean {
+
+  /** Returns number of sessions that have a message queue. */
+  int getSessions();
+
+  /** Returns number of messages waiting to be sent over all the sessions. */
+  long getQueuedMessages();
+
+  /** Returns number of messages dropped since start because clients didn't keep up with them. */
+  long getDroppedMessages();
+
+  /** Returns number of messages waiting to be sent by id of endpoint, for non-empty queues. */
+  Map<String, Long> getQueueDepths();
+
+  /**
+   * Returns number of messages dropped since start by id of endpoint, for endpoints which have
+   * sessions or dropped messages since the previous periodic report.
+   */
+  Map<String, Long> getDroppedMessagesByEndpoint();
+}
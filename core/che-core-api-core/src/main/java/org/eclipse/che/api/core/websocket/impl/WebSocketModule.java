@@ -10,7 +10,10 @@
  */
 package org.eclipse.che.api.core.websocket.impl;
 
+import static com.google.inject.multibindings.Multibinder.newSetBinder;
+
 import com.google.inject.AbstractModule;
+import com.google.inject.name.Names;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcMessageReceiver;
 import org.eclipse.che.api.core.websocket.commons.WebSocketMessageReceiver;
 import org.eclipse.che.api.core.websocket.commons.WebSocketMessageTransmitter;
@@ -22,5 +25,7 @@ public class WebSocketModule extends AbstractModule {
 
     bind(WebSocketMessageReceiver.class).to(JsonRpcMessageReceiver.class);
     bind(WebSocketMessageTransmitter.class).to(BasicWebSocketMessageTransmitter.class);
+
+    newSetBinder(binder(), String.class, Names.named("che.websocket.transmit.droppable_methods"));
   }
 }
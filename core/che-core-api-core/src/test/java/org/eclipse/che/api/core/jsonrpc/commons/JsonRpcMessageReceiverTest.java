@@ -13,10 +13,13 @@ package org.eclipse.che.api.core.jsonrpc.commons;
 import static java.util.Collections.singletonList;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.function.Consumer;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -92,6 +95,76 @@ public class JsonRpcMessageReceiverTest {
 
     jsonRpcMessageReceiver.receive(ENDPOINT_ID, MESSAGE);
 
-    verify(requestProcessor).process(any());
+    verify(requestProcessor).process(eq(ENDPOINT_ID), any(Runnable.class));
+  }
+
+  @Test
+  public void shouldTransmitErrorWhenRequestIsRejected() throws Exception {
+    when(jsonRpcQualifier.isJsonRpcRequest(MESSAGE)).thenReturn(true);
+    when(jsonRpcUnmarshaller.unmarshalArray(any())).thenReturn(singletonList(MESSAGE));
+    JsonRpcRequest jsonRpcRequest = Mockito.mock(JsonRpcRequest.class);
+    when(jsonRpcUnmarshaller.unmarshalRequest(MESSAGE)).thenReturn(jsonRpcRequest);
+    when(jsonRpcRequest.getId()).thenReturn("request-id");
+    when(requestProcessor.process(eq(ENDPOINT_ID), any(Runnable.class))).thenReturn(false);
+
+    jsonRpcMessageReceiver.receive(ENDPOINT_ID, MESSAGE);
+
+    verify(errorTransmitter).transmit(eq(ENDPOINT_ID), any(JsonRpcException.class));
+    verify(requestDispatcher, never()).dispatch(any(), any());
+  }
+
+  @Test
+  public void shouldDispatchResponseUnmarshalledInSinglePass() throws Exception {
+    JsonRpcResponse jsonRpcResponse = Mockito.mock(JsonRpcResponse.class);
+    doAnswer(
+            invocation -> {
+              Consumer<JsonRpcResponse> responseConsumer = invocation.getArgument(2);
+              responseConsumer.accept(jsonRpcResponse);
+              return true;
+            })
+        .when(jsonRpcUnmarshaller)
+        .unmarshal(eq(MESSAGE), any(), any());
+
+    jsonRpcMessageReceiver.receive(ENDPOINT_ID, MESSAGE);
+
+    verify(responseDispatcher).dispatch(ENDPOINT_ID, jsonRpcResponse);
+    verify(jsonRpcQualifier, never()).isValidJson(any());
+    verify(jsonRpcUnmarshaller, never()).unmarshalArray(any());
+  }
+
+  @Test
+  public void shouldProcessRequestUnmarshalledInSinglePass() throws Exception {
+    JsonRpcRequest jsonRpcRequest = Mockito.mock(JsonRpcRequest.class);
+    doAnswer(
+            invocation -> {
+              Consumer<JsonRpcRequest> requestConsumer = invocation.getArgument(1);
+              requestConsumer.accept(jsonRpcRequest);
+              return true;
+            })
+        .when(jsonRpcUnmarshaller)
+        .unmarshal(eq(MESSAGE), any(), any());
+    when(requestProcessor.process(eq(ENDPOINT_ID), any(Runnable.class)))
+        .thenAnswer(
+            invocation -> {
+              invocation.<Runnable>getArgument(1).run();
+              return true;
+            });
+
+    jsonRpcMessageReceiver.receive(ENDPOINT_ID, MESSAGE);
+
+    verify(requestDispatcher).dispatch(ENDPOINT_ID, jsonRpcRequest);
+    verify(jsonRpcUnmarshaller, never()).unmarshalRequest(any());
+  }
+
+  @Test
+  public void shouldTransmitErrorWhenSinglePassUnmarshallingFailed() throws Exception {
+    doThrow(new JsonRpcException(-32700, "error"))
+        .when(jsonRpcUnmarshaller)
+        .unmarshal(eq(MESSAGE), any(), any());
+
+    jsonRpcMessageReceiver.receive(ENDPOINT_ID, MESSAGE);
+
+    verify(errorTransmitter).transmit(eq(ENDPOINT_ID), any(JsonRpcException.class));
+    verify(jsonRpcUnmarshaller, never()).unmarshalArray(any());
   }
 }
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.jsonrpc.impl;
+
+import static java.util.Arrays.asList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcException;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcRequest;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcResponse;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests for {@link GsonJsonRpcUnmarshaller} */
+public class GsonJsonRpcUnmarshallerTest {
+
+  private GsonJsonRpcUnmarshaller unmarshaller;
+  private List<JsonRpcRequest> requests;
+  private List<JsonRpcResponse> responses;
+
+  @BeforeMethod
+  public void setUp() {
+    unmarshaller = new GsonJsonRpcUnmarshaller(new JsonParser());
+    requests = new ArrayList<>();
+    responses = new ArrayList<>();
+  }
+
+  @Test
+  public void shouldUnmarshalRequest() {
+    String message =
+        "{\"jsonrpc\":\"2.0\",\"id\":7,\"method\":\"textDocument/completion\","
+            + "\"params\":{\"position\":{\"line\":1,\"character\":2}}}";
+
+    assertTrue(unmarshaller.unmarshal(message, requests::add, responses::add));
+
+    assertEquals(requests.size(), 1);
+    assertTrue(responses.isEmpty());
+    JsonRpcRequest request = requests.get(0);
+    assertEquals(request.getId(), "7");
+    assertEquals(request.getMethod(), "textDocument/completion");
+    assertTrue(request.getParams().isSingle());
+    JsonObject params = (JsonObject) request.getParams().getOne();
+    assertEquals(params.getAsJsonObject("position").get("line").getAsInt(), 1);
+  }
+
+  @Test
+  public void shouldUnmarshalNotificationWithArrayParams() {
+    String message =
+        "{\"jsonrpc\":\"2.0\",\"method\":\"notify\",\"params\":[\"text\",1,true,null,{\"a\":1}]}";
+
+    unmarshaller.unmarshal(message, requests::add, responses::add);
+
+    JsonRpcRequest request = requests.get(0);
+    assertFalse(request.hasId());
+    assertFalse(request.getParams().isSingle());
+    List<?> params = request.getParams().getMany();
+    assertEquals(params.subList(0, 4), asList("text", 1.0, true, null));
+    assertEquals(((JsonObject) params.get(4)).get("a").getAsInt(), 1);
+  }
+
+  @Test
+  public void shouldUnmarshalResultAndErrorResponses() {
+    String message =
+        "[{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"result\":[\"a\",\"b\"]},"
+            + "{\"jsonrpc\":\"2.0\",\"id\":\"2\",\"error\":{\"code\":-32601,\"message\":\"no\"}}]";
+
+    unmarshaller.unmarshal(message, requests::add, responses::add);
+
+    assertEquals(responses.size(), 2);
+    assertEquals(responses.get(0).getId(), "1");
+    assertEquals(responses.get(0).getResult().getMany(), asList("a", "b"));
+    assertEquals(responses.get(1).getId(), "2");
+    assertEquals(responses.get(1).getError().getCode(), -32601);
+    assertEquals(responses.get(1).getError().getMessage(), "no");
+  }
+
+  @Test
+  public void shouldPassBatchStructuresInOrderOfAppearance() {
+    List<String> order = new ArrayList<>();
+    String message =
+        "[{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"method\":\"first\"},"
+            + "{\"jsonrpc\":\"2.0\",\"id\":\"2\",\"result\":null},"
+            + "{\"jsonrpc\":\"2.0\",\"method\":\"third\"}]";
+
+    unmarshaller.unmarshal(
+        message, request -> order.add(request.getMethod()), response -> order.add("response"));
+
+    assertEquals(order, asList("first", "response", "third"));
+  }
+
+  @Test
+  public void shouldKeepNullResult() {
+    unmarshaller.unmarshal(
+        "{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"result\":null}", requests::add, responses::add);
+
+    assertTrue(responses.get(0).hasResult());
+    assertNull(responses.get(0).getResult().getOne());
+  }
+
+  @Test(expectedExceptions = JsonRpcException.class)
+  public void shouldFailOnInvalidJson() {
+    unmarshaller.unmarshal("{\"jsonrpc\":\"2.0\",\"method\":", requests::add, responses::add);
+  }
+
+  @Test(expectedExceptions = JsonRpcException.class)
+  public void shouldFailOnStructureThatIsNeitherRequestNorResponse() {
+    unmarshaller.unmarshal("{\"jsonrpc\":\"2.0\",\"id\":\"1\"}", requests::add, responses::add);
+  }
+
+  @Test
+  public void shouldUnmarshalSameRequestAsSeparateUnmarshalling() {
+    String message =
+        "{\"jsonrpc\":\"2.0\",\"id\":\"3\",\"method\":\"m\",\"params\":{\"uri\":\"file:///a\"}}";
+
+    unmarshaller.unmarshal(message, requests::add, responses::add);
+    JsonRpcRequest expected = unmarshaller.unmarshalRequest(message);
+
+    JsonRpcRequest actual = requests.get(0);
+    assertEquals(actual.getId(), expected.getId());
+    assertEquals(actual.getMethod(), expected.getMethod());
+    assertEquals(actual.getParams().getOne(), expected.getParams().getOne());
+  }
+}
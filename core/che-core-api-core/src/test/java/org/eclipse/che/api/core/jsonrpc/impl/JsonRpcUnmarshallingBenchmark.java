@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.jsonrpc.impl;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares single pass unmarshalling of {@link GsonJsonRpcUnmarshaller} with unmarshalling of
+ * separate structures, as it was done by the message receiver, on language server completion
+ * payloads: a response with a list of completion items and a batch of completion requests.
+ *
+ * <p>Not executed as part of the build, run it from IDE or with {@link #main(String[])} from the
+ * test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonRpcUnmarshallingBenchmark {
+
+  @Param({"50", "500"})
+  private int completionItems;
+
+  private GsonJsonRpcUnmarshaller unmarshaller;
+  private GsonJsonRpcQualifier qualifier;
+  private String completionResponse;
+  private String completionRequests;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    JsonParser jsonParser = new JsonParser();
+    unmarshaller = new GsonJsonRpcUnmarshaller(jsonParser);
+    qualifier = new GsonJsonRpcQualifier(jsonParser);
+
+    JsonArray items = new JsonArray();
+    for (int i = 0; i < completionItems; i++) {
+      items.add(completionItem(i));
+    }
+    JsonObject result = new JsonObject();
+    result.addProperty("isIncomplete", false);
+    result.add("items", items);
+    JsonObject response = new JsonObject();
+    response.addProperty("jsonrpc", "2.0");
+    response.addProperty("id", "42");
+    response.add("result", result);
+    completionResponse = response.toString();
+
+    JsonArray requests = new JsonArray();
+    for (int i = 0; i < 10; i++) {
+      requests.add(completionRequest(i));
+    }
+    completionRequests = requests.toString();
+  }
+
+  @Benchmark
+  public void singlePassResponse(Blackhole blackhole) {
+    unmarshaller.unmarshal(completionResponse, blackhole::consume, blackhole::consume);
+  }
+
+  @Benchmark
+  public void separateResponse(Blackhole blackhole) {
+    unmarshalSeparately(completionResponse, blackhole);
+  }
+
+  @Benchmark
+  public void singlePassRequestBatch(Blackhole blackhole) {
+    unmarshaller.unmarshal(completionRequests, blackhole::consume, blackhole::consume);
+  }
+
+  @Benchmark
+  public void separateRequestBatch(Blackhole blackhole) {
+    unmarshalSeparately(completionRequests, blackhole);
+  }
+
+  /** Repeats the steps that were made by the message receiver for each incoming message. */
+  private void unmarshalSeparately(String message, Blackhole blackhole) {
+    blackhole.consume(qualifier.isValidJson(message));
+    for (String innerMessage : unmarshaller.unmarshalArray(message)) {
+      if (qualifier.isJsonRpcRequest(innerMessage)) {
+        blackhole.consume(unmarshaller.unmarshalRequest(innerMessage));
+      } else if (qualifier.isJsonRpcResponse(innerMessage)) {
+        blackhole.consume(unmarshaller.unmarshalResponse(innerMessage));
+      }
+    }
+  }
+
+  private static JsonObject completionItem(int i) {
+    JsonObject start = new JsonObject();
+    start.addProperty("line", 120);
+    start.addProperty("character", 8);
+    JsonObject end = new JsonObject();
+    end.addProperty("line", 120);
+    end.addProperty("character", 12);
+    JsonObject range = new JsonObject();
+    range.add("start", start);
+    range.add("end", end);
+    JsonObject textEdit = new JsonObject();
+    textEdit.add("range", range);
+    textEdit.addProperty("newText", "getValue" + i + "()");
+
+    JsonObject item = new JsonObject();
+    item.addProperty("label", "getValue" + i + "() : String");
+    item.addProperty("kind", 2);
+    item.addProperty("detail", "org.eclipse.che.sample.Value" + i);
+    item.addProperty("documentation", "Returns the value number " + i + " of the sample.");
+    item.addProperty("sortText", String.format("%08d", i));
+    item.addProperty("filterText", "getValue" + i);
+    item.addProperty("insertTextFormat", 2);
+    item.add("textEdit", textEdit);
+    JsonObject data = new JsonObject();
+    data.addProperty("uri", "file:///projects/sample/src/main/java/org/eclipse/che/Sample.java");
+    data.addProperty("pid", "12");
+    data.addProperty("rid", String.valueOf(i));
+    item.add("data", data);
+    return item;
+  }
+
+  private static JsonObject completionRequest(int i) {
+    JsonObject textDocument = new JsonObject();
+    textDocument.addProperty(
+        "uri", "file:///projects/sample/src/main/java/org/eclipse/che/Sample" + i + ".java");
+    JsonObject position = new JsonObject();
+    position.addProperty("line", 120);
+    position.addProperty("character", 12);
+    JsonObject params = new JsonObject();
+    params.add("textDocument", textDocument);
+    params.add("position", position);
+
+    JsonObject request = new JsonObject();
+    request.addProperty("jsonrpc", "2.0");
+    request.addProperty("id", String.valueOf(i));
+    request.addProperty("method", "textDocument/completion");
+    request.add("params", params);
+    return request;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(JsonRpcUnmarshallingBenchmark.class.getSimpleName())
+                .build())
+        .run();
+  }
+}
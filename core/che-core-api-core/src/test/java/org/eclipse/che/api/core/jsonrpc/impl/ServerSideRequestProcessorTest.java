@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.jsonrpc.impl;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests for {@link ServerSideRequestProcessor} */
+public class ServerSideRequestProcessorTest {
+
+  private CountDownLatch release;
+  private CountDownLatch started;
+
+  @BeforeMethod
+  public void setUp() {
+    release = new CountDownLatch(1);
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    release.countDown();
+  }
+
+  @Test
+  public void shouldLimitRequestsInFlightPerEndpoint() throws Exception {
+    ServerSideRequestProcessor processor = new ServerSideRequestProcessor(4, 2, 10, false);
+    started = new CountDownLatch(3);
+
+    processor.process("a", this::block);
+    processor.process("a", this::block);
+    processor.process("a", this::block);
+    processor.process("b", this::block);
+
+    assertTrue(started.await(5, SECONDS));
+    assertEquals(processor.getRunning(), 3);
+    assertEquals(processor.getQueued("a"), 1);
+    assertEquals(processor.getQueued("b"), 0);
+  }
+
+  @Test
+  public void shouldServeEndpointsInRoundRobinOrder() throws Exception {
+    ServerSideRequestProcessor processor = new ServerSideRequestProcessor(1, 4, 10, false);
+    List<String> processed = new CopyOnWriteArrayList<>();
+    CountDownLatch done = new CountDownLatch(3);
+    started = new CountDownLatch(1);
+
+    processor.process("a", this::block);
+    assertTrue(started.await(5, SECONDS));
+    processor.process("a", () -> record(processed, "a1", done));
+    processor.process("a", () -> record(processed, "a2", done));
+    processor.process("b", () -> record(processed, "b1", done));
+    release.countDown();
+
+    assertTrue(done.await(5, SECONDS));
+    assertEquals(processed, asList("a1", "b1", "a2"));
+  }
+
+  @Test
+  public void shouldRejectRequestWhenEndpointQueueIsFull() throws Exception {
+    ServerSideRequestProcessor processor = new ServerSideRequestProcessor(1, 1, 1, false);
+    started = new CountDownLatch(1);
+
+    assertTrue(processor.process("a", this::block));
+    assertTrue(started.await(5, SECONDS));
+    assertTrue(processor.process("a", this::block));
+
+    assertFalse(processor.process("a", this::block));
+    assertTrue(processor.process("b", this::block));
+  }
+
+  @Test
+  public void shouldProcessRequestsWhenVirtualThreadsAreRequested() throws Exception {
+    ServerSideRequestProcessor processor = new ServerSideRequestProcessor(2, 2, 10, true);
+    CountDownLatch done = new CountDownLatch(1);
+
+    processor.process("a", done::countDown);
+
+    assertTrue(done.await(5, SECONDS));
+  }
+
+  private void block() {
+    started.countDown();
+    try {
+      release.await(10, SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void record(List<String> processed, String name, CountDownLatch done) {
+    processed.add(name);
+    done.countDown();
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.notification;
+
+import static java.util.Collections.singletonMap;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.Set;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests for {@link InmemoryRemoteSubscriptionStorage} */
+public class InmemoryRemoteSubscriptionStorageTest {
+  private static final String METHOD = "event/changed";
+
+  private InmemoryRemoteSubscriptionStorage storage;
+
+  @BeforeMethod
+  public void setUp() {
+    storage = new InmemoryRemoteSubscriptionStorage();
+  }
+
+  @Test
+  public void shouldReturnSubscriptionsByScope() {
+    RemoteSubscriptionContext first = context("endpoint1", "ws1");
+    RemoteSubscriptionContext second = context("endpoint2", "ws1");
+    RemoteSubscriptionContext third = context("endpoint3", "ws2");
+    storage.addSubscription(METHOD, first);
+    storage.addSubscription(METHOD, second);
+    storage.addSubscription(METHOD, third);
+
+    Set<RemoteSubscriptionContext> contexts = storage.getByScope(METHOD, "workspaceId", "ws1");
+
+    assertEquals(contexts.size(), 2);
+    assertTrue(contexts.contains(first));
+    assertTrue(contexts.contains(second));
+    assertEquals(storage.getByMethod(METHOD).size(), 3);
+  }
+
+  @Test
+  public void shouldIndexSubscriptionByAllScopeEntries() {
+    RemoteSubscriptionContext context =
+        new RemoteSubscriptionContext(
+            "endpoint1", ImmutableMap.of("workspaceId", "ws1", "userId", "user1"));
+    storage.addSubscription(METHOD, context);
+
+    assertTrue(storage.getByScope(METHOD, "workspaceId", "ws1").contains(context));
+    assertTrue(storage.getByScope(METHOD, "userId", "user1").contains(context));
+  }
+
+  @Test
+  public void shouldRemoveSubscriptionFromScopeIndex() {
+    storage.addSubscription(METHOD, context("endpoint1", "ws1"));
+    storage.addSubscription(METHOD, context("endpoint2", "ws1"));
+
+    storage.removeSubscription(METHOD, "endpoint1");
+
+    Set<RemoteSubscriptionContext> contexts = storage.getByScope(METHOD, "workspaceId", "ws1");
+    assertEquals(contexts.size(), 1);
+    assertEquals(contexts.iterator().next().getEndpointId(), "endpoint2");
+    assertEquals(storage.getByMethod(METHOD).size(), 1);
+  }
+
+  @Test
+  public void shouldReturnEmptySetForUnknownScopeOrMethod() {
+    storage.addSubscription(METHOD, context("endpoint1", "ws1"));
+    storage.addSubscription(METHOD, new RemoteSubscriptionContext("endpoint2", null));
+
+    assertTrue(storage.getByScope(METHOD, "workspaceId", "ws2").isEmpty());
+    assertTrue(storage.getByScope(METHOD, "userId", "ws1").isEmpty());
+    assertTrue(storage.getByScope(METHOD, "workspaceId", null).isEmpty());
+    assertTrue(storage.getByScope("unknown", "workspaceId", "ws1").isEmpty());
+  }
+
+  private static RemoteSubscriptionContext context(String endpointId, String workspaceId) {
+    return new RemoteSubscriptionContext(endpointId, singletonMap("workspaceId", workspaceId));
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.notification;
+
+import static java.util.Collections.singletonMap;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcMarshaller;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcRequest;
+import org.eclipse.che.api.core.websocket.commons.WebSocketMessageTransmitter;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests for {@link RemoteSubscriptionManager} */
+@Listeners(MockitoTestNGListener.class)
+public class RemoteSubscriptionManagerTest {
+  private static final String METHOD = "event/changed";
+
+  @Mock private JsonRpcMarshaller marshaller;
+  @Mock private WebSocketMessageTransmitter transmitter;
+
+  private EventService eventService;
+  private InmemoryRemoteSubscriptionStorage storage;
+  private RemoteSubscriptionManager manager;
+
+  @BeforeMethod
+  public void setUp() {
+    eventService = new EventService();
+    storage = new InmemoryRemoteSubscriptionStorage();
+    manager = new RemoteSubscriptionManager(eventService, marshaller, transmitter, storage);
+    when(marshaller.marshall(any(JsonRpcRequest.class))).thenReturn("message");
+  }
+
+  @Test
+  public void shouldMarshalEventOnceForAllEndpointsOfScope() {
+    subscribe("endpoint1", "ws1");
+    subscribe("endpoint2", "ws1");
+    subscribe("endpoint3", "ws2");
+    manager.register(METHOD, String.class, "workspaceId", event -> event);
+
+    eventService.publish("ws1");
+
+    verify(marshaller, times(1)).marshall(any(JsonRpcRequest.class));
+    verify(transmitter).transmit("endpoint1", "message");
+    verify(transmitter).transmit("endpoint2", "message");
+    verify(transmitter, never()).transmit("endpoint3", "message");
+  }
+
+  @Test
+  public void shouldNotMarshalEventWhenThereAreNoSubscriptionsInScope() {
+    subscribe("endpoint1", "ws1");
+    manager.register(METHOD, String.class, "workspaceId", event -> event);
+
+    eventService.publish("ws2");
+
+    verify(marshaller, never()).marshall(any(JsonRpcRequest.class));
+    verify(transmitter, never()).transmit(anyString(), anyString());
+  }
+
+  @Test
+  public void shouldMarshalEventOnceForAllEndpointsAcceptedByPredicate() {
+    subscribe("endpoint1", "ws1");
+    subscribe("endpoint2", "ws2");
+    manager.register(METHOD, String.class, (event, scope) -> true);
+
+    eventService.publish("ws1");
+
+    verify(marshaller, times(1)).marshall(any(JsonRpcRequest.class));
+    verify(transmitter).transmit("endpoint1", "message");
+    verify(transmitter).transmit("endpoint2", "message");
+  }
+
+  @Test
+  public void shouldStopTransmittingEventsAfterUnsubscription() {
+    subscribe("endpoint1", "ws1");
+    manager.register(METHOD, String.class, "workspaceId", event -> event);
+
+    storage.removeSubscription(METHOD, "endpoint1");
+    eventService.publish("ws1");
+
+    verify(transmitter, never()).transmit(anyString(), anyString());
+  }
+
+  private void subscribe(String endpointId, String workspaceId) {
+    storage.addSubscription(
+        METHOD,
+        new RemoteSubscriptionContext(endpointId, singletonMap("workspaceId", workspaceId)));
+  }
+}
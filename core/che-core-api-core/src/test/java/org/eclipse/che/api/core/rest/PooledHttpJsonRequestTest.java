@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.rest;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+import com.google.common.io.ByteStreams;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests of {@link PooledHttpJsonRequest}. */
+public class PooledHttpJsonRequestTest {
+
+  private static final String LINK = "{\"href\":\"http://localhost/ws\",\"rel\":\"self\"}";
+  private static final String ETAG = "\"v1\"";
+
+  private HttpServer server;
+  private String baseUrl;
+  private Set<Integer> clientPorts;
+  private List<String> ifNoneMatchHeaders;
+  private PooledHttpJsonRequestFactory factory;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    clientPorts = ConcurrentHashMap.newKeySet();
+    ifNoneMatchHeaders = new CopyOnWriteArrayList<>();
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/link", exchange -> respond(exchange, 200, LINK));
+    server.createContext(
+        "/links", exchange -> respond(exchange, 200, "[" + LINK + "," + LINK + "]"));
+    server.createContext("/empty", exchange -> respond(exchange, 204, null));
+    server.createContext(
+        "/plain",
+        exchange -> {
+          clientPorts.add(exchange.getRemoteAddress().getPort());
+          byte[] bytes = "OK".getBytes(UTF_8);
+          exchange.sendResponseHeaders(200, bytes.length);
+          try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+          }
+          exchange.close();
+        });
+    server.createContext(
+        "/missing", exchange -> respond(exchange, 404, "{\"message\":\"not found\"}"));
+    server.createContext(
+        "/tagged",
+        exchange -> {
+          String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+          ifNoneMatchHeaders.add(String.valueOf(ifNoneMatch));
+          exchange.getResponseHeaders().add("ETag", ETAG);
+          if (ETAG.equals(ifNoneMatch)) {
+            respond(exchange, 304, null);
+          } else {
+            respond(exchange, 200, LINK);
+          }
+        });
+    server.start();
+    baseUrl = "http://localhost:" + server.getAddress().getPort();
+    factory = new PooledHttpJsonRequestFactory(2, 10);
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    server.stop(0);
+  }
+
+  @Test
+  public void shouldDecodeResponseIntoDto() throws Exception {
+    HttpJsonResponse response = factory.fromUrl(baseUrl + "/link").request();
+
+    Link link = response.asDto(Link.class);
+    assertEquals(link.getHref(), "http://localhost/ws");
+    assertEquals(link.getRel(), "self");
+    assertEquals(response.getResponseCode(), 200);
+  }
+
+  @Test
+  public void shouldDecodeResponseIntoListOfDtos() throws Exception {
+    List<Link> links = factory.fromUrl(baseUrl + "/links").request().asList(Link.class);
+
+    assertEquals(links.size(), 2);
+    assertEquals(links.get(1).getRel(), "self");
+  }
+
+  @Test
+  public void shouldReturnEmptyBodyForNoContentResponse() throws Exception {
+    HttpJsonResponse response = factory.fromUrl(baseUrl + "/empty").request();
+
+    assertEquals(response.getResponseCode(), 204);
+    assertEquals(response.asString(), "");
+    assertNull(response.asDto(Link.class));
+  }
+
+  @Test
+  public void shouldKeepBodyOfResponseWithoutContentType() throws Exception {
+    HttpJsonResponse response = factory.fromUrl(baseUrl + "/plain").request();
+
+    assertEquals(response.getResponseCode(), 200);
+    assertEquals(response.asString(), "OK");
+  }
+
+  @Test(expectedExceptions = NotFoundException.class)
+  public void shouldThrowApiExceptionForServiceError() throws Exception {
+    factory.fromUrl(baseUrl + "/missing").request();
+  }
+
+  @Test
+  public void shouldReuseConnections() throws Exception {
+    for (int i = 0; i < 5; i++) {
+      factory.fromUrl(baseUrl + "/link").request();
+      factory.fromUrl(baseUrl + "/empty").request();
+    }
+
+    assertEquals(clientPorts.size(), 1);
+  }
+
+  @Test
+  public void shouldReturnCachedResponseWhenResourceIsNotModified() throws Exception {
+    HttpJsonResponse first = factory.fromUrl(baseUrl + "/tagged").request();
+    HttpJsonResponse second = factory.fromUrl(baseUrl + "/tagged").request();
+
+    assertEquals(ifNoneMatchHeaders, asList("null", ETAG));
+    assertSame(second, first);
+    assertEquals(second.getResponseCode(), 200);
+    assertEquals(second.asDto(Link.class).getRel(), "self");
+  }
+
+  @Test
+  public void shouldNotMakeConditionalRequestsWithBody() throws Exception {
+    factory.fromUrl(baseUrl + "/tagged").request();
+    factory.fromUrl(baseUrl + "/tagged").setMethod("POST").setBody(emptyMap()).request();
+
+    assertEquals(ifNoneMatchHeaders, asList("null", "null"));
+  }
+
+  private void respond(HttpExchange exchange, int code, String body) throws IOException {
+    clientPorts.add(exchange.getRemoteAddress().getPort());
+    ByteStreams.toByteArray(exchange.getRequestBody());
+    if (body == null) {
+      exchange.sendResponseHeaders(code, -1);
+    } else {
+      byte[] bytes = body.getBytes(UTF_8);
+      exchange.getResponseHeaders().add("Content-Type", "application/json");
+      exchange.sendResponseHeaders(code, bytes.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(bytes);
+      }
+    }
+    exchange.close();
+  }
+}
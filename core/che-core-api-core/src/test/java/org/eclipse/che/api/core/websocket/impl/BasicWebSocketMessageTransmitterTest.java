@@ -11,17 +11,25 @@
 package org.eclipse.che.api.core.websocket.impl;
 
 import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonList;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import java.io.IOException;
 import java.util.Optional;
 import javax.websocket.RemoteEndpoint;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
 import javax.websocket.Session;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
@@ -40,14 +48,17 @@ public class BasicWebSocketMessageTransmitterTest {
 
   @Mock private WebSocketSessionRegistry registry;
   @Mock private MessagesReSender reSender;
-  @InjectMocks private BasicWebSocketMessageTransmitter transmitter;
+  private BasicWebSocketMessageTransmitter transmitter;
 
   @Mock private Session session;
-  @Mock private RemoteEndpoint.Basic remote;
+  @Mock private RemoteEndpoint.Async remote;
 
   @BeforeMethod
   public void setUp() throws Exception {
-    when(session.getBasicRemote()).thenReturn(remote);
+    transmitter =
+        new BasicWebSocketMessageTransmitter(registry, reSender, ImmutableSet.of("log/method"));
+
+    when(session.getAsyncRemote()).thenReturn(remote);
     when(session.isOpen()).thenReturn(true);
 
     when(registry.get(ENDPOINT_ID)).thenReturn(Optional.of(session));
@@ -58,8 +69,8 @@ public class BasicWebSocketMessageTransmitterTest {
   public void shouldSendDirectMessageIfSessionIsOpenAndEndpointIsSet() throws IOException {
     transmitter.transmit(ENDPOINT_ID, MESSAGE);
 
-    verify(session).getBasicRemote();
-    verify(remote).sendText(MESSAGE);
+    verify(session).getAsyncRemote();
+    verify(remote).sendText(eq(MESSAGE), any(SendHandler.class));
     verify(reSender, never()).add(eq(ENDPOINT_ID), anyString());
   }
 
@@ -69,8 +80,105 @@ public class BasicWebSocketMessageTransmitterTest {
 
     transmitter.transmit(ENDPOINT_ID, MESSAGE);
 
-    verify(session, never()).getBasicRemote();
-    verify(remote, never()).sendText(MESSAGE);
+    verify(session, never()).getAsyncRemote();
+    verify(remote, never()).sendText(eq(MESSAGE), any(SendHandler.class));
     verify(reSender).add(ENDPOINT_ID, MESSAGE);
   }
+
+  @Test
+  public void shouldPassMessageToReSenderIfItHasPendingMessagesOfEndpoint() throws IOException {
+    when(reSender.hasPending(ENDPOINT_ID)).thenReturn(true);
+
+    transmitter.transmit(ENDPOINT_ID, MESSAGE);
+
+    verify(remote, never()).sendText(eq(MESSAGE), any(SendHandler.class));
+    verify(reSender).add(ENDPOINT_ID, MESSAGE);
+    verify(reSender).resend(ENDPOINT_ID);
+  }
+
+  @Test
+  public void shouldNotSendNextMessageUntilPreviousIsSent() throws IOException {
+    transmitter.transmit(ENDPOINT_ID, "first");
+    transmitter.transmit(ENDPOINT_ID, "second");
+
+    verify(remote).sendText(eq("first"), any(SendHandler.class));
+    verify(remote, never()).sendText(eq("second"), any(SendHandler.class));
+    assertEquals(transmitter.getQueueDepths(), ImmutableMap.of(ENDPOINT_ID, 1L));
+  }
+
+  @Test
+  public void shouldSendNextMessageWhenPreviousIsSent() throws IOException {
+    ArgumentCaptor<SendHandler> handlerCaptor = ArgumentCaptor.forClass(SendHandler.class);
+    transmitter.transmit(ENDPOINT_ID, "first");
+    transmitter.transmit(ENDPOINT_ID, "second");
+    verify(remote).sendText(eq("first"), handlerCaptor.capture());
+
+    handlerCaptor.getValue().onResult(new SendResult());
+
+    verify(remote).sendText(eq("second"), any(SendHandler.class));
+    assertTrue(transmitter.getQueueDepths().isEmpty());
+  }
+
+  @Test
+  public void shouldExposeQueueDepthAndDroppedMessagesByEndpoint() throws IOException {
+    String notification = "{\"jsonrpc\":\"2.0\",\"method\":\"log/method\",\"params\":{}}";
+    // the first message is being sent, the next ones fill the queue and push out the oldest
+    transmitter.transmit(ENDPOINT_ID, "first");
+    for (int i = 0; i < 1_003; i++) {
+      transmitter.transmit(ENDPOINT_ID, notification);
+    }
+
+    assertEquals(transmitter.getQueueDepths(), ImmutableMap.of(ENDPOINT_ID, 1_000L));
+    assertEquals(transmitter.getDroppedMessagesByEndpoint(), ImmutableMap.of(ENDPOINT_ID, 3L));
+    assertEquals(transmitter.getQueuedMessages(), 1_000L);
+    assertEquals(transmitter.getDroppedMessages(), 3L);
+
+    transmitter.reportQueueMetrics();
+
+    assertEquals(transmitter.getDroppedMessagesByEndpoint(), ImmutableMap.of(ENDPOINT_ID, 3L));
+    assertEquals(transmitter.getDroppedMessages(), 3L);
+  }
+
+  @Test
+  public void shouldKeepTotalOfDroppedMessagesWhenEndpointIsNoLongerTracked() throws IOException {
+    String notification = "{\"jsonrpc\":\"2.0\",\"method\":\"log/method\",\"params\":{}}";
+    transmitter.transmit(ENDPOINT_ID, "first");
+    for (int i = 0; i < 1_001; i++) {
+      transmitter.transmit(ENDPOINT_ID, notification);
+    }
+    when(session.isOpen()).thenReturn(false);
+
+    transmitter.reportQueueMetrics();
+
+    assertTrue(transmitter.getDroppedMessagesByEndpoint().isEmpty());
+    assertEquals(transmitter.getDroppedMessages(), 1L);
+  }
+
+  @Test
+  public void shouldPassNotSentMessagesToReSenderWhenSessionIsClosed() throws IOException {
+    ArgumentCaptor<SendHandler> handlerCaptor = ArgumentCaptor.forClass(SendHandler.class);
+    transmitter.transmit(ENDPOINT_ID, "first");
+    transmitter.transmit(ENDPOINT_ID, "second");
+    verify(remote).sendText(eq("first"), handlerCaptor.capture());
+    when(session.isOpen()).thenReturn(false);
+
+    handlerCaptor.getValue().onResult(new SendResult(new IOException("closed")));
+
+    verify(reSender).putBack(ENDPOINT_ID, singletonList("second"));
+    verify(remote, never()).sendText(eq("second"), any(SendHandler.class));
+  }
+
+  @Test
+  public void shouldRemoveQueueOfClosedSession() throws IOException {
+    ArgumentCaptor<SendHandler> handlerCaptor = ArgumentCaptor.forClass(SendHandler.class);
+    transmitter.transmit(ENDPOINT_ID, MESSAGE);
+    verify(remote).sendText(eq(MESSAGE), handlerCaptor.capture());
+    handlerCaptor.getValue().onResult(new SendResult());
+    assertEquals(transmitter.getSessions(), 1);
+    when(session.isOpen()).thenReturn(false);
+
+    transmitter.reportQueueMetrics();
+
+    assertEquals(transmitter.getSessions(), 0);
+  }
 }
@@ -10,16 +10,22 @@
  */
 package org.eclipse.che.api.core.websocket.impl;
 
+import static java.util.Arrays.asList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
-import javax.websocket.RemoteEndpoint;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.websocket.Session;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
@@ -37,21 +43,24 @@ public class MessagesReSenderTest {
   private static final String ENDPOINT_ID = "id";
 
   @Mock private WebSocketSessionRegistry sessionRegistry;
-  @InjectMocks private MessagesReSender reSender;
-
+  @Mock private BasicWebSocketMessageTransmitter transmitter;
   @Mock private Session session;
-  @Mock private RemoteEndpoint.Async endpoint;
+
+  private MessagesReSender reSender;
+  private AtomicLong clock;
+  private List<String> sent;
 
   @BeforeMethod
   public void beforeMethod() {
     when(sessionRegistry.get(anyString())).thenReturn(Optional.of(session));
-    when(session.getAsyncRemote()).thenReturn(endpoint);
     when(session.isOpen()).thenReturn(true);
-  }
 
-  @BeforeMethod
-  public void before() {
-    reSender = new MessagesReSender(sessionRegistry);
+    clock = new AtomicLong(1_000_000);
+    sent = new ArrayList<>();
+    doAnswer(invocation -> sent.add(invocation.getArgument(2)))
+        .when(transmitter)
+        .enqueue(anyString(), eq(session), anyString());
+    reSender = new MessagesReSender(sessionRegistry, () -> transmitter, 100, 60_000, clock::get);
   }
 
   @Test
@@ -63,8 +72,8 @@ public class MessagesReSenderTest {
     reSender.resend(ENDPOINT_ID);
 
     verify(sessionRegistry).get(ENDPOINT_ID);
-    verify(session, never()).getAsyncRemote();
-    verify(endpoint, never()).sendText(MESSAGE);
+    verify(transmitter, never()).enqueue(ENDPOINT_ID, session, MESSAGE);
+    assertTrue(reSender.hasPending(ENDPOINT_ID));
   }
 
   @Test
@@ -74,14 +83,12 @@ public class MessagesReSenderTest {
     when(session.isOpen()).thenReturn(false);
     reSender.resend(ENDPOINT_ID);
 
-    verify(session, never()).getAsyncRemote();
-    verify(endpoint, never()).sendText(MESSAGE);
+    verify(transmitter, never()).enqueue(ENDPOINT_ID, session, MESSAGE);
 
     when(session.isOpen()).thenReturn(true);
     reSender.resend(ENDPOINT_ID);
 
-    verify(session).getAsyncRemote();
-    verify(endpoint).sendText(MESSAGE);
+    verify(transmitter).enqueue(ENDPOINT_ID, session, MESSAGE);
   }
 
   @Test
@@ -91,8 +98,7 @@ public class MessagesReSenderTest {
     reSender.resend(ENDPOINT_ID);
 
     verify(sessionRegistry).get(ENDPOINT_ID);
-    verify(session).getAsyncRemote();
-    verify(endpoint).sendText(MESSAGE);
+    verify(transmitter).enqueue(ENDPOINT_ID, session, MESSAGE);
   }
 
   @Test
@@ -105,8 +111,8 @@ public class MessagesReSenderTest {
 
     verify(sessionRegistry).get(ENDPOINT_ID);
     verify(sessionRegistry).get("1");
-    verify(session, times(2)).getAsyncRemote();
-    verify(endpoint, times(2)).sendText(MESSAGE);
+    verify(transmitter).enqueue(ENDPOINT_ID, session, MESSAGE);
+    verify(transmitter).enqueue("1", session, MESSAGE);
   }
 
   @Test
@@ -114,14 +120,10 @@ public class MessagesReSenderTest {
     reSender.add(ENDPOINT_ID, MESSAGE);
 
     reSender.resend(ENDPOINT_ID);
-    verify(sessionRegistry).get(ENDPOINT_ID);
-    verify(session).getAsyncRemote();
-    verify(endpoint).sendText(MESSAGE);
-
     reSender.resend(ENDPOINT_ID);
-    verify(sessionRegistry).get(ENDPOINT_ID);
-    verify(session).getAsyncRemote();
-    verify(endpoint).sendText(MESSAGE);
+
+    verify(transmitter).enqueue(ENDPOINT_ID, session, MESSAGE);
+    assertFalse(reSender.hasPending(ENDPOINT_ID));
   }
 
   @Test
@@ -129,20 +131,175 @@ public class MessagesReSenderTest {
     reSender.add(ENDPOINT_ID, MESSAGE);
     reSender.add("1", MESSAGE);
 
+    reSender.resend(ENDPOINT_ID);
+    reSender.resend("1");
     reSender.resend(ENDPOINT_ID);
     reSender.resend("1");
 
-    verify(sessionRegistry).get(ENDPOINT_ID);
-    verify(sessionRegistry).get("1");
-    verify(session, times(2)).getAsyncRemote();
-    verify(endpoint, times(2)).sendText(MESSAGE);
+    verify(transmitter).enqueue(ENDPOINT_ID, session, MESSAGE);
+    verify(transmitter).enqueue("1", session, MESSAGE);
+    assertFalse(reSender.hasPending(ENDPOINT_ID));
+    assertFalse(reSender.hasPending("1"));
+  }
+
+  @Test
+  public void shouldResendMessagesInOrderOfAddition() {
+    reSender.add(ENDPOINT_ID, "first");
+    reSender.add(ENDPOINT_ID, "second");
+    reSender.add(ENDPOINT_ID, "third");
 
     reSender.resend(ENDPOINT_ID);
-    reSender.resend("1");
 
-    verify(sessionRegistry).get(ENDPOINT_ID);
-    verify(sessionRegistry).get("1");
-    verify(session, times(2)).getAsyncRemote();
-    verify(endpoint, times(2)).sendText(MESSAGE);
+    assertEquals(sent, asList("first", "second", "third"));
+  }
+
+  @Test
+  public void shouldResendMessagesPutBackBeforeMessagesAddedLater() {
+    reSender.add(ENDPOINT_ID, "third");
+    reSender.putBack(ENDPOINT_ID, asList("first", "second"));
+
+    reSender.resend(ENDPOINT_ID);
+
+    assertEquals(sent, asList("first", "second", "third"));
+  }
+
+  @Test
+  public void shouldResendMessagesAddedWhileResending() {
+    doAnswer(
+            invocation -> {
+              String message = invocation.getArgument(2);
+              sent.add(message);
+              if ("first".equals(message)) {
+                reSender.add(ENDPOINT_ID, "third");
+              }
+              return null;
+            })
+        .when(transmitter)
+        .enqueue(anyString(), eq(session), anyString());
+    reSender.add(ENDPOINT_ID, "first");
+    reSender.add(ENDPOINT_ID, "second");
+
+    reSender.resend(ENDPOINT_ID);
+
+    assertEquals(sent, asList("first", "second", "third"));
+    assertFalse(reSender.hasPending(ENDPOINT_ID));
+  }
+
+  @Test
+  public void shouldStopResendingWhenSessionIsClosed() {
+    doAnswer(
+            invocation -> {
+              sent.add(invocation.getArgument(2));
+              when(session.isOpen()).thenReturn(false);
+              return null;
+            })
+        .when(transmitter)
+        .enqueue(anyString(), eq(session), anyString());
+    reSender.add(ENDPOINT_ID, "first");
+    reSender.add(ENDPOINT_ID, "second");
+
+    reSender.resend(ENDPOINT_ID);
+
+    assertEquals(sent, asList("first"));
+    assertTrue(reSender.hasPending(ENDPOINT_ID));
+  }
+
+  @Test
+  public void shouldEvictOldestMessagesWhenSizeLimitIsExceeded() {
+    reSender.add(ENDPOINT_ID, repeat('a', 40));
+    reSender.add(ENDPOINT_ID, repeat('b', 40));
+    reSender.add(ENDPOINT_ID, repeat('c', 40));
+
+    reSender.resend(ENDPOINT_ID);
+
+    assertEquals(sent, asList(repeat('b', 40), repeat('c', 40)));
+  }
+
+  @Test
+  public void shouldExpireStaleMessages() {
+    reSender.add(ENDPOINT_ID, "stale");
+    clock.addAndGet(30_000);
+    reSender.add(ENDPOINT_ID, "fresh");
+
+    clock.addAndGet(31_000);
+    reSender.expireStaleMessages();
+    reSender.resend(ENDPOINT_ID);
+
+    assertEquals(sent, asList("fresh"));
+  }
+
+  @Test
+  public void shouldRemoveEndpointWhenAllItsMessagesExpired() {
+    reSender.add(ENDPOINT_ID, MESSAGE);
+
+    clock.addAndGet(61_000);
+    reSender.expireStaleMessages();
+
+    assertFalse(reSender.hasPending(ENDPOINT_ID));
+  }
+
+  @Test
+  public void shouldResumeFromLastAcknowledgedMessage() {
+    reSender.add(ENDPOINT_ID, "first");
+    reSender.add(ENDPOINT_ID, "second");
+
+    reSender.resend(ENDPOINT_ID, 0);
+    assertEquals(sent, asList("first", "second", replayed(2)));
+    assertFalse(reSender.hasPending(ENDPOINT_ID));
+
+    sent.clear();
+    reSender.resend(ENDPOINT_ID, 1);
+
+    assertEquals(sent, asList("second", replayed(3)));
+  }
+
+  @Test
+  public void shouldTrimAcknowledgedMessages() {
+    reSender.add(ENDPOINT_ID, "first");
+    reSender.add(ENDPOINT_ID, "second");
+    reSender.resend(ENDPOINT_ID, 0);
+
+    sent.clear();
+    reSender.resend(ENDPOINT_ID, 2);
+    reSender.resend(ENDPOINT_ID, 0);
+
+    assertTrue(sent.isEmpty());
+  }
+
+  @Test
+  public void shouldEvictUnacknowledgedMessagesFirstWhenSizeLimitIsExceeded() {
+    reSender.add(ENDPOINT_ID, repeat('a', 40));
+    reSender.resend(ENDPOINT_ID, 0);
+    when(session.isOpen()).thenReturn(false);
+    reSender.add(ENDPOINT_ID, repeat('b', 40));
+    reSender.add(ENDPOINT_ID, repeat('c', 40));
+
+    sent.clear();
+    when(session.isOpen()).thenReturn(true);
+    reSender.resend(ENDPOINT_ID, 0);
+
+    assertEquals(sent, asList(repeat('b', 40), repeat('c', 40), replayed(3)));
+  }
+
+  @Test
+  public void shouldNotPutBackCopiesOfUnacknowledgedMessages() {
+    reSender.add(ENDPOINT_ID, "first");
+    reSender.resend(ENDPOINT_ID, 0);
+
+    reSender.putBack(ENDPOINT_ID, new ArrayList<>(sent));
+    sent.clear();
+    reSender.resend(ENDPOINT_ID, 0);
+
+    assertEquals(sent, asList("first", replayed(2)));
+  }
+
+  private static String replayed(long seq) {
+    return "{\"jsonrpc\":\"2.0\",\"method\":\"websocket/replayed\",\"params\":{\"seq\":"
+        + seq
+        + "}}";
+  }
+
+  private static String repeat(char c, int count) {
+    return new String(new char[count]).replace('\0', c);
   }
 }
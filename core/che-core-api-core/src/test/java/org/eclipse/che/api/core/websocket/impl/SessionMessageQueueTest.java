@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.websocket.impl;
+
+import static java.util.Arrays.asList;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
+import javax.websocket.Session;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Test for {@link SessionMessageQueue} */
+@Listeners(MockitoTestNGListener.class)
+public class SessionMessageQueueTest {
+  private static final String ENDPOINT_ID = "id";
+  private static final int CAPACITY = 2;
+
+  @Mock private Session session;
+  @Mock private RemoteEndpoint.Async remote;
+  @Mock private SessionMessageQueue.Listener listener;
+
+  private AtomicLong dropped;
+  private SessionMessageQueue queue;
+
+  @BeforeMethod
+  public void setUp() {
+    when(session.getAsyncRemote()).thenReturn(remote);
+    when(session.isOpen()).thenReturn(true);
+
+    dropped = new AtomicLong();
+    queue = new SessionMessageQueue(ENDPOINT_ID, session, CAPACITY, 100, dropped, listener);
+  }
+
+  @Test
+  public void shouldDropOldestDroppableMessageWhenQueueIsFull() {
+    ArgumentCaptor<SendHandler> handlerCaptor = ArgumentCaptor.forClass(SendHandler.class);
+    queue.offer("sent", false);
+    queue.offer("log-1", true);
+    queue.offer("response", false);
+
+    queue.offer("log-2", true);
+
+    assertEquals(queue.size(), CAPACITY);
+    assertEquals(dropped.get(), 1);
+    verify(remote).sendText(eq("sent"), handlerCaptor.capture());
+    handlerCaptor.getValue().onResult(new SendResult());
+    verify(remote).sendText(eq("response"), any(SendHandler.class));
+    verify(remote, never()).sendText(eq("log-1"), any(SendHandler.class));
+  }
+
+  @Test
+  public void shouldDropNewDroppableMessageWhenQueueIsFullOfNotDroppableMessages() {
+    queue.offer("sent", false);
+    queue.offer("response-1", false);
+    queue.offer("response-2", false);
+
+    assertTrue(queue.offer("log", true));
+
+    assertEquals(queue.size(), CAPACITY);
+    assertEquals(dropped.get(), 1);
+  }
+
+  @Test
+  public void shouldRetireStalledQueueAndPassPendingMessagesToListener() {
+    queue.offer("sent", false);
+    queue.offer("response-1", false);
+    queue.offer("response-2", false);
+
+    assertTrue(queue.offer("response-3", false));
+
+    assertTrue(queue.isRetired());
+    verify(listener).onRetired(queue, asList("response-1", "response-2", "response-3"));
+    assertFalse(queue.offer("response-4", false));
+  }
+
+  @Test
+  public void shouldKeepQueueWhenAllMessagesAreSent() {
+    ArgumentCaptor<SendHandler> handlerCaptor = ArgumentCaptor.forClass(SendHandler.class);
+    queue.offer("first", false);
+    verify(remote).sendText(eq("first"), handlerCaptor.capture());
+
+    handlerCaptor.getValue().onResult(new SendResult());
+    assertTrue(queue.offer("second", false));
+
+    assertFalse(queue.isRetired());
+    verify(remote).sendText(eq("second"), any(SendHandler.class));
+    verify(listener, never()).onRetired(any(), any());
+  }
+
+  @Test
+  public void shouldPassPendingMessagesToListenerWhenQueueIsClosed() {
+    queue.offer("sent", false);
+    queue.offer("response", false);
+
+    queue.close();
+
+    assertTrue(queue.isRetired());
+    verify(listener).onRetired(queue, asList("response"));
+    assertFalse(queue.offer("another", false));
+  }
+
+  @Test
+  public void shouldAcceptDroppableMessagesWhileSenderWaitsForSpace() throws Exception {
+    queue = new SessionMessageQueue(ENDPOINT_ID, session, CAPACITY, 10_000, dropped, listener);
+    queue.offer("sent", false);
+    queue.offer("response-1", false);
+    queue.offer("response-2", false);
+    Thread waiting = new Thread(() -> queue.offer("response-3", false));
+    waiting.start();
+
+    assertTrue(queue.offer("log", true));
+    assertEquals(dropped.get(), 1);
+
+    queue.close();
+    waiting.join(TimeUnit.SECONDS.toMillis(5));
+    assertFalse(waiting.isAlive());
+  }
+}
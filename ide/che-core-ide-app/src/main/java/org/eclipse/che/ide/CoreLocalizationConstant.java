@@ -803,6 +803,15 @@ public interface CoreLocalizationConstant extends Messages {
   @Key("text.search.directory")
   String textSearchDirectory();
 
+  @Key("text.search.indexing.title")
+  String searchIndexingTitle(int percent);
+
+  @Key("text.search.indexing.progress")
+  String searchIndexingProgress(long indexedFiles, long discoveredFiles);
+
+  @Key("text.search.indexing.complete")
+  String searchIndexingComplete();
+
   @Key("select.path.window.title")
   String selectPathWindowTitle();
 
@@ -1277,6 +1286,9 @@ public interface CoreLocalizationConstant extends Messages {
   @Key("consoles.autoScrollButton.tooltip")
   String consolesAutoScrollButtonTooltip();
 
+  @Key("consoles.linesSkipped")
+  String consolesLinesSkipped(int lines);
+
   @Key("view.processes.command.title")
   String viewProcessesCommandTitle();
 
@@ -59,6 +59,7 @@ import org.eclipse.che.ide.processes.ProcessesGinModule;
 import org.eclipse.che.ide.processes.runtime.RuntimeInfoGinModule;
 import org.eclipse.che.ide.project.ProjectApiModule;
 import org.eclipse.che.ide.resources.ResourceApiModule;
+import org.eclipse.che.ide.search.IndexingProgressNotifier;
 import org.eclipse.che.ide.search.factory.FindResultNodeFactory;
 import org.eclipse.che.ide.selection.SelectionAgentImpl;
 import org.eclipse.che.ide.ssh.SshServiceClientImpl;
@@ -141,6 +142,7 @@ public class CoreGinModule extends AbstractGinModule {
     bind(AppContext.class).to(AppContextImpl.class);
 
     install(new GinFactoryModuleBuilder().build(FindResultNodeFactory.class));
+    bind(IndexingProgressNotifier.class).asEagerSingleton();
     install(new GinFactoryModuleBuilder().build(TerminalFactory.class));
 
     // clients for the REST services
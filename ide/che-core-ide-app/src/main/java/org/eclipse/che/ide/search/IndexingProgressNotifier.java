@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.ide.search;
+
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
+import static org.eclipse.che.api.project.shared.Constants.EVENT_SEARCH_INDEXING_PROGRESS;
+import static org.eclipse.che.api.project.shared.Constants.SEARCH_INDEXING_PROGRESS_SUBSCRIBE;
+import static org.eclipse.che.api.project.shared.Constants.SEARCH_INDEXING_PROGRESS_UNSUBSCRIBE;
+import static org.eclipse.che.ide.api.jsonrpc.Constants.WS_AGENT_JSON_RPC_ENDPOINT_ID;
+import static org.eclipse.che.ide.api.notification.StatusNotification.DisplayMode.FLOAT_MODE;
+import static org.eclipse.che.ide.api.notification.StatusNotification.Status.PROGRESS;
+import static org.eclipse.che.ide.api.notification.StatusNotification.Status.SUCCESS;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.web.bindery.event.shared.EventBus;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
+import org.eclipse.che.api.project.shared.dto.event.IndexingProgressDto;
+import org.eclipse.che.ide.CoreLocalizationConstant;
+import org.eclipse.che.ide.api.app.AppContext;
+import org.eclipse.che.ide.api.notification.NotificationManager;
+import org.eclipse.che.ide.api.notification.StatusNotification;
+import org.eclipse.che.ide.api.workspace.event.WsAgentServerRunningEvent;
+import org.eclipse.che.ide.api.workspace.event.WsAgentServerStoppedEvent;
+import org.eclipse.che.ide.bootstrap.BasicIDEInitializedEvent;
+
+/**
+ * Shows progress of the initial full-text search indexing of the workspace, so the user knows that
+ * search results may be incomplete until it is finished.
+ */
+@Singleton
+public class IndexingProgressNotifier {
+
+  private final RequestTransmitter requestTransmitter;
+  private final NotificationManager notificationManager;
+  private final CoreLocalizationConstant locale;
+
+  private StatusNotification notification;
+
+  @Inject
+  public IndexingProgressNotifier(
+      EventBus eventBus,
+      AppContext appContext,
+      RequestTransmitter requestTransmitter,
+      RequestHandlerConfigurator configurator,
+      NotificationManager notificationManager,
+      CoreLocalizationConstant locale) {
+    this.requestTransmitter = requestTransmitter;
+    this.notificationManager = notificationManager;
+    this.locale = locale;
+
+    configurator
+        .newConfiguration()
+        .methodName(EVENT_SEARCH_INDEXING_PROGRESS)
+        .paramsAsDto(IndexingProgressDto.class)
+        .noResult()
+        .withConsumer(this::onProgress);
+
+    eventBus.addHandler(WsAgentServerRunningEvent.TYPE, event -> subscribe());
+    eventBus.addHandler(WsAgentServerStoppedEvent.TYPE, event -> notification = null);
+
+    // in case ws-agent is already running
+    eventBus.addHandler(
+        BasicIDEInitializedEvent.TYPE,
+        event -> {
+          if (appContext.getWorkspace().getStatus() == RUNNING) {
+            subscribe();
+          }
+        });
+  }
+
+  private void subscribe() {
+    requestTransmitter
+        .newRequest()
+        .endpointId(WS_AGENT_JSON_RPC_ENDPOINT_ID)
+        .methodName(SEARCH_INDEXING_PROGRESS_SUBSCRIBE)
+        .noParams()
+        .sendAndSkipResult();
+  }
+
+  private void onProgress(IndexingProgressDto progress) {
+    if (progress.isComplete()) {
+      requestTransmitter
+          .newRequest()
+          .endpointId(WS_AGENT_JSON_RPC_ENDPOINT_ID)
+          .methodName(SEARCH_INDEXING_PROGRESS_UNSUBSCRIBE)
+          .noParams()
+          .sendAndSkipResult();
+      // nothing to report if indexing is already complete when the IDE is opened
+      if (notification != null) {
+        notification.setStatus(SUCCESS);
+        notification.setTitle(locale.searchIndexingComplete());
+        notification.setContent("");
+        notification = null;
+      }
+      return;
+    }
+
+    final String content =
+        locale.searchIndexingProgress(progress.getIndexedFiles(), progress.getDiscoveredFiles());
+    if (notification == null) {
+      notification =
+          notificationManager.notify(
+              locale.searchIndexingTitle(progress.getPercent()), content, PROGRESS, FLOAT_MODE);
+    } else {
+      notification.setTitle(locale.searchIndexingTitle(progress.getPercent()));
+      notification.setContent(content);
+    }
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.ide.workspace.events;
+
+import static org.eclipse.che.api.workspace.shared.Constants.RUNTIME_LOGS_METHOD;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.web.bindery.event.shared.EventBus;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
+import org.eclipse.che.api.workspace.shared.dto.event.RuntimeLogEntry;
+import org.eclipse.che.api.workspace.shared.dto.event.RuntimeLogsEvent;
+import org.eclipse.che.ide.CoreLocalizationConstant;
+import org.eclipse.che.ide.processes.panel.EnvironmentOutputEvent;
+
+/**
+ * Fires {@link EnvironmentOutputEvent} for each line of machine and installer logs batches in the
+ * order the lines were produced, and for each notice about dropped lines of a machine.
+ */
+@Singleton
+class RuntimeLogsHandler {
+
+  private final EventBus eventBus;
+  private final CoreLocalizationConstant messages;
+
+  @Inject
+  RuntimeLogsHandler(
+      RequestHandlerConfigurator configurator,
+      EventBus eventBus,
+      CoreLocalizationConstant messages) {
+    this.eventBus = eventBus;
+    this.messages = messages;
+
+    configurator
+        .newConfiguration()
+        .methodName(RUNTIME_LOGS_METHOD)
+        .paramsAsDto(RuntimeLogsEvent.class)
+        .noResult()
+        .withBiConsumer((endpointId, logs) -> onLogs(logs));
+  }
+
+  private void onLogs(RuntimeLogsEvent logs) {
+    for (RuntimeLogEntry entry : logs.getLogs()) {
+      String text =
+          entry.getDropped() > 0
+              ? messages.consolesLinesSkipped(entry.getDropped())
+              : entry.getText();
+      eventBus.fireEvent(new EnvironmentOutputEvent(text, entry.getMachineName()));
+    }
+  }
+}
@@ -20,8 +20,7 @@ public class WorkspaceEventsModule extends AbstractGinModule {
     bind(MachineStatusEventHandler.class).asEagerSingleton();
     bind(ServerStatusEventHandler.class).asEagerSingleton();
 
-    bind(InstallerLogHandler.class).asEagerSingleton();
     bind(InstallerStatusEventHandler.class).asEagerSingleton();
-    bind(MachineLogHandler.class).asEagerSingleton();
+    bind(RuntimeLogsHandler.class).asEagerSingleton();
   }
 }
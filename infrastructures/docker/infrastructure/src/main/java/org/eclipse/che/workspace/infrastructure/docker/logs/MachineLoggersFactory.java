@@ -20,6 +20,7 @@ import javax.inject.Singleton;
 import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.workspace.server.DtoConverter;
+import org.eclipse.che.api.workspace.shared.dto.RuntimeIdentityDto;
 import org.eclipse.che.api.workspace.shared.dto.event.MachineLogEvent;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.eclipse.che.infrastructure.docker.client.LogMessage;
@@ -31,6 +32,9 @@ import org.eclipse.che.infrastructure.docker.client.json.ProgressStatus;
 /**
  * Produces machine logs publishers.
  *
+ * <p>Each log line is published as a separate {@link MachineLogEvent}, lines are delivered to the
+ * IDE in batches built by {@code RuntimeLogsAggregator}.
+ *
  * @author Anton Korneta
  */
 @Singleton
@@ -105,18 +109,19 @@ public class MachineLoggersFactory {
   private class MachineLogsBiConsumer implements BiConsumer<String, String> {
 
     private final String machineName;
-    private final RuntimeIdentity runtime;
+    private final RuntimeIdentityDto runtimeId;
 
     public MachineLogsBiConsumer(String machineName, RuntimeIdentity runtime) {
       this.machineName = machineName;
-      this.runtime = runtime;
+      // converted once, the same identity is shared by all the events of the machine
+      this.runtimeId = DtoConverter.asDto(runtime);
     }
 
     @Override
     public void accept(String stream, String text) {
       eventService.publish(
           DtoFactory.newDto(MachineLogEvent.class)
-              .withRuntimeId(DtoConverter.asDto(runtime))
+              .withRuntimeId(runtimeId)
               .withStream(stream)
               .withText(text)
               .withTime(ZonedDateTime.now().format(ISO_OFFSET_DATE_TIME))
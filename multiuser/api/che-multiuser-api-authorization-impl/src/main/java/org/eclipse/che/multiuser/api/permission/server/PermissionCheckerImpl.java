@@ -10,28 +10,132 @@
  */
 package org.eclipse.che.multiuser.api.permission.server;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.inject.Singleton;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.multiuser.api.permission.server.event.PermissionsChangedEvent;
 
 /**
  * Implementation of {@link PermissionChecker} that use {@link PermissionsManager} for checking.
  *
+ * <p>It also caches decisions to avoid querying the same permissions on each request. Cached
+ * decisions are dropped when {@link PermissionsChangedEvent} is published for the same domain and
+ * instance.
+ *
  * @author Sergii Leschenko
  */
+@Singleton
 public class PermissionCheckerImpl implements PermissionChecker {
   private final PermissionsManager permissionsManager;
+  private final EventService eventService;
+  private final EventSubscriber<PermissionsChangedEvent> permissionsChangedSubscriber;
+  private final Cache<Key, Boolean> decisions;
+  /** Incremented on each invalidation, so decisions loaded concurrently with it aren't kept. */
+  private final AtomicLong invalidations = new AtomicLong();
 
   @Inject
-  public PermissionCheckerImpl(PermissionsManager permissionsManager) {
+  public PermissionCheckerImpl(PermissionsManager permissionsManager, EventService eventService) {
     this.permissionsManager = permissionsManager;
+    this.eventService = eventService;
+    this.permissionsChangedSubscriber = this::invalidate;
+    // expiration covers permissions changed bypassing permissions storage, e.g. by database
+    this.decisions =
+        CacheBuilder.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(10, TimeUnit.MINUTES)
+            .build();
+  }
+
+  @PostConstruct
+  public void subscribe() {
+    eventService.subscribe(permissionsChangedSubscriber, PermissionsChangedEvent.class);
+  }
+
+  @PreDestroy
+  public void unsubscribe() {
+    eventService.unsubscribe(permissionsChangedSubscriber, PermissionsChangedEvent.class);
   }
 
   @Override
   public boolean hasPermission(String user, String domain, String instance, String action)
       throws ServerException, NotFoundException, ConflictException {
-    return permissionsManager.exists(user, domain, instance, action)
-        || permissionsManager.exists("*", domain, instance, action);
+    final Key key = new Key(user, domain, instance, action);
+    final Boolean cached = decisions.getIfPresent(key);
+    if (cached != null) {
+      return cached;
+    }
+
+    final long invalidationsBefore = invalidations.get();
+    final boolean decision =
+        permissionsManager.exists(user, domain, instance, action)
+            || permissionsManager.exists("*", domain, instance, action);
+    decisions.put(key, decision);
+    if (invalidations.get() != invalidationsBefore) {
+      // permissions might be changed after they are read
+      decisions.invalidate(key);
+    }
+    return decision;
+  }
+
+  private void invalidate(PermissionsChangedEvent event) {
+    invalidations.incrementAndGet();
+    decisions.asMap().keySet().removeIf(key -> key.isAffectedBy(event));
+  }
+
+  private static final class Key {
+    private final String user;
+    private final String domain;
+    private final String instance;
+    private final String action;
+
+    private Key(String user, String domain, String instance, String action) {
+      this.user = user;
+      this.domain = domain;
+      this.instance = instance;
+      this.action = action;
+    }
+
+    /** Public permissions affect decisions of all the users. */
+    private boolean isAffectedBy(PermissionsChangedEvent event) {
+      return Objects.equals(domain, event.getDomainId())
+          && Objects.equals(instance, event.getInstanceId())
+          && ("*".equals(event.getUserId()) || Objects.equals(user, event.getUserId()));
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      final Key other = (Key) obj;
+      return Objects.equals(user, other.user)
+          && Objects.equals(domain, other.domain)
+          && Objects.equals(instance, other.instance)
+          && Objects.equals(action, other.action);
+    }
+
+    @Override
+    public int hashCode() {
+      int hash = 7;
+      hash = hash * 31 + Objects.hashCode(user);
+      hash = hash * 31 + Objects.hashCode(domain);
+      hash = hash * 31 + Objects.hashCode(instance);
+      hash = hash * 31 + Objects.hashCode(action);
+      return hash;
+    }
   }
 }
@@ -12,10 +12,17 @@ package org.eclipse.che.multiuser.api.permission.server;
 
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.multiuser.api.permission.server.event.PermissionsChangedEvent;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
@@ -25,6 +32,7 @@ import org.testng.annotations.Test;
 @Listeners(MockitoTestNGListener.class)
 public class PermissionCheckerImplTest {
   @Mock private PermissionsManager permissionsManager;
+  @Mock private EventService eventService;
 
   @InjectMocks private PermissionCheckerImpl permissionChecker;
 
@@ -55,4 +63,55 @@ public class PermissionCheckerImplTest {
     verify(permissionsManager).exists("user123", "domain123", "instance123", "test");
     verify(permissionsManager).exists("*", "domain123", "instance123", "test");
   }
+
+  @Test
+  public void shouldReuseDecisionUntilPermissionsOfInstanceAreChanged() throws Exception {
+    when(permissionsManager.exists(anyString(), anyString(), anyString(), anyString()))
+        .thenReturn(true);
+    EventSubscriber<PermissionsChangedEvent> subscriber = subscribe();
+
+    assertTrue(permissionChecker.hasPermission("user123", "domain123", "instance123", "test"));
+    assertTrue(permissionChecker.hasPermission("user123", "domain123", "instance123", "test"));
+    verify(permissionsManager).exists("user123", "domain123", "instance123", "test");
+
+    subscriber.onEvent(new PermissionsChangedEvent("domain123", "user123", "instance123"));
+
+    assertTrue(permissionChecker.hasPermission("user123", "domain123", "instance123", "test"));
+    verify(permissionsManager, times(2)).exists("user123", "domain123", "instance123", "test");
+  }
+
+  @Test
+  public void shouldKeepDecisionsOfOtherUsersAndInstances() throws Exception {
+    when(permissionsManager.exists(anyString(), anyString(), anyString(), anyString()))
+        .thenReturn(true);
+    EventSubscriber<PermissionsChangedEvent> subscriber = subscribe();
+    permissionChecker.hasPermission("user123", "domain123", "instance123", "test");
+
+    subscriber.onEvent(new PermissionsChangedEvent("domain123", "user234", "instance123"));
+    subscriber.onEvent(new PermissionsChangedEvent("domain123", "user123", "instance234"));
+    permissionChecker.hasPermission("user123", "domain123", "instance123", "test");
+
+    verify(permissionsManager).exists("user123", "domain123", "instance123", "test");
+  }
+
+  @Test
+  public void shouldDropDecisionsOfAllUsersWhenPublicPermissionsAreChanged() throws Exception {
+    when(permissionsManager.exists(anyString(), anyString(), anyString(), anyString()))
+        .thenReturn(false);
+    EventSubscriber<PermissionsChangedEvent> subscriber = subscribe();
+    assertFalse(permissionChecker.hasPermission("user123", "domain123", "instance123", "test"));
+
+    subscriber.onEvent(new PermissionsChangedEvent("domain123", "*", "instance123"));
+    permissionChecker.hasPermission("user123", "domain123", "instance123", "test");
+
+    verify(permissionsManager, times(2)).exists("*", "domain123", "instance123", "test");
+  }
+
+  @SuppressWarnings("unchecked")
+  private EventSubscriber<PermissionsChangedEvent> subscribe() {
+    permissionChecker.subscribe();
+    ArgumentCaptor<EventSubscriber> captor = ArgumentCaptor.forClass(EventSubscriber.class);
+    verify(eventService).subscribe(captor.capture(), eq(PermissionsChangedEvent.class));
+    return captor.getValue();
+  }
 }
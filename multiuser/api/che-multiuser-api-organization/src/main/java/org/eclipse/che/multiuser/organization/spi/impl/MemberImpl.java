@@ -39,6 +39,14 @@ import org.eclipse.che.multiuser.organization.shared.model.Member;
             + "FROM Member m "
             + "WHERE m.userId = :userId AND m.organizationId = :organizationId"
   ),
+  @NamedQuery(
+    name = "Member.getCountByUserAndOrganizationIdAndAction",
+    query =
+        "SELECT COUNT(m) "
+            + "FROM Member m "
+            + "WHERE m.userId = :userId AND m.organizationId = :organizationId "
+            + "AND :action MEMBER OF m.actions"
+  ),
   @NamedQuery(
     name = "Member.getByOrganization",
     query = "SELECT m " + "FROM Member m " + "WHERE m.organizationId = :organizationId"
@@ -69,6 +69,7 @@ public class JpaMemberDao extends AbstractJpaPermissionsDao<MemberImpl> implemen
     } catch (RuntimeException e) {
       throw new ServerException(e.getLocalizedMessage(), e);
     }
+    firePermissionsChanged(userId, organizationId);
   }
 
   @Override
@@ -188,6 +189,19 @@ public class JpaMemberDao extends AbstractJpaPermissionsDao<MemberImpl> implemen
     }
   }
 
+  @Override
+  @Transactional
+  protected boolean doExists(String userId, String instanceId, String action) {
+    return managerProvider
+            .get()
+            .createNamedQuery("Member.getCountByUserAndOrganizationIdAndAction", Long.class)
+            .setParameter("userId", userId)
+            .setParameter("organizationId", instanceId)
+            .setParameter("action", action)
+            .getSingleResult()
+        > 0;
+  }
+
   @Transactional
   protected MemberImpl doGet(String userId, String instanceId) {
     return managerProvider
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.permission.server.event;
+
+import org.eclipse.che.commons.annotation.Nullable;
+
+/**
+ * Published by permissions storage after permissions of a user to an instance are stored or
+ * removed, no matter whether they are changed through {@link
+ * org.eclipse.che.multiuser.api.permission.server.PermissionsManager} or directly.
+ */
+public class PermissionsChangedEvent {
+
+  private final String domainId;
+  private final String userId;
+  private final String instanceId;
+
+  public PermissionsChangedEvent(String domainId, String userId, String instanceId) {
+    this.domainId = domainId;
+    this.userId = userId;
+    this.instanceId = instanceId;
+  }
+
+  /** Returns id of the domain of changed permissions. */
+  public String getDomainId() {
+    return domainId;
+  }
+
+  /** Returns id of the user whose permissions are changed or '*' for public permissions. */
+  public String getUserId() {
+    return userId;
+  }
+
+  /** Returns id of the instance or {@code null} if the domain doesn't require instances. */
+  @Nullable
+  public String getInstanceId() {
+    return instanceId;
+  }
+
+  @Override
+  public String toString() {
+    return "PermissionsChangedEvent{"
+        + "domainId='"
+        + domainId
+        + '\''
+        + ", userId='"
+        + userId
+        + '\''
+        + ", instanceId='"
+        + instanceId
+        + '\''
+        + '}';
+  }
+}
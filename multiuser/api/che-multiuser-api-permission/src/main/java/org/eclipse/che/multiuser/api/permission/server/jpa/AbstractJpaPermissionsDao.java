@@ -21,7 +21,9 @@ import javax.persistence.EntityManager;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.multiuser.api.permission.server.AbstractPermissionsDomain;
+import org.eclipse.che.multiuser.api.permission.server.event.PermissionsChangedEvent;
 import org.eclipse.che.multiuser.api.permission.server.model.impl.AbstractPermissions;
 import org.eclipse.che.multiuser.api.permission.server.spi.PermissionsDao;
 
@@ -37,6 +39,8 @@ public abstract class AbstractJpaPermissionsDao<T extends AbstractPermissions>
 
   @Inject protected Provider<EntityManager> managerProvider;
 
+  @Inject protected EventService eventService;
+
   public AbstractJpaPermissionsDao(AbstractPermissionsDomain<T> supportedDomain) {
     this.supportedDomain = supportedDomain;
   }
@@ -49,25 +53,25 @@ public abstract class AbstractJpaPermissionsDao<T extends AbstractPermissions>
   @Override
   public Optional<T> store(T permissions) throws ServerException {
     requireNonNull(permissions, "Permissions instance required");
+    final Optional<T> existing;
     try {
-      return doCreate(permissions);
+      existing = doCreate(permissions);
     } catch (RuntimeException e) {
       throw new ServerException(e.getMessage(), e);
     }
+    firePermissionsChanged(permissions.getUserId(), permissions.getInstanceId());
+    return existing;
   }
 
   @Override
-  @Transactional
   public boolean exists(String userId, String instanceId, String action) throws ServerException {
     requireNonNull(userId, "User identifier required");
     requireNonNull(action, "Action name required");
-    T permissions;
     try {
-      permissions = get(userId, instanceId);
-    } catch (NotFoundException e) {
-      return false;
+      return doExists(wildcardToNull(userId), instanceId, action);
+    } catch (RuntimeException e) {
+      throw new ServerException(e.getLocalizedMessage(), e);
     }
-    return permissions.getActions().contains(action);
   }
 
   @Override
@@ -79,6 +83,7 @@ public abstract class AbstractJpaPermissionsDao<T extends AbstractPermissions>
     } catch (RuntimeException x) {
       throw new ServerException(x.getLocalizedMessage(), x);
     }
+    firePermissionsChanged(userId, instanceId);
   }
 
   @Override
@@ -98,6 +103,21 @@ public abstract class AbstractJpaPermissionsDao<T extends AbstractPermissions>
    */
   protected abstract T getEntity(String userId, String instanceId) throws NotFoundException;
 
+  /**
+   * Must return whether permissions contain the action, preferably with a count query instead of
+   * loading jpa managed entity. Parameters {@code userId} and {@code instanceId} are the same to
+   * {@link #getEntity(String, String)} method parameters.
+   */
+  protected abstract boolean doExists(String userId, String instanceId, String action);
+
+  /**
+   * Publishes {@link PermissionsChangedEvent}, must be called after permissions are stored or
+   * removed by overridden methods.
+   */
+  protected void firePermissionsChanged(String userId, String instanceId) {
+    eventService.publish(new PermissionsChangedEvent(getDomain().getId(), userId, instanceId));
+  }
+
   @Transactional
   protected Optional<T> doCreate(T permissions) throws ServerException {
     EntityManager manager = managerProvider.get();
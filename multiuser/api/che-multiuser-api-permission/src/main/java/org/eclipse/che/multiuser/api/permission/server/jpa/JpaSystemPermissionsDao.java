@@ -107,6 +107,18 @@ public class JpaSystemPermissionsDao extends AbstractJpaPermissionsDao<SystemPer
     return existent.get(0);
   }
 
+  @Override
+  @Transactional
+  protected boolean doExists(String userId, String instanceId, String action) {
+    return managerProvider
+            .get()
+            .createNamedQuery("SystemPermissions.getCountByUserIdAndAction", Long.class)
+            .setParameter("userId", userId)
+            .setParameter("action", action)
+            .getSingleResult()
+        > 0;
+  }
+
   @Transactional
   protected List<SystemPermissionsImpl> doGetByUser(String userId) {
     return managerProvider
@@ -124,6 +136,7 @@ public class JpaSystemPermissionsDao extends AbstractJpaPermissionsDao<SystemPer
     } catch (RuntimeException x) {
       throw new ServerException(x.getLocalizedMessage(), x);
     }
+    firePermissionsChanged(userId, instanceId);
   }
 
   @Singleton
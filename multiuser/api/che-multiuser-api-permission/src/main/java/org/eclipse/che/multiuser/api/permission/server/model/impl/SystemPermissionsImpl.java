@@ -37,6 +37,14 @@ import org.eclipse.che.multiuser.api.permission.server.SystemDomain;
             + "FROM SystemPermissions permissions "
             + "WHERE permissions.userId = :userId "
   ),
+  @NamedQuery(
+    name = "SystemPermissions.getCountByUserIdAndAction",
+    query =
+        "SELECT COUNT(permissions) "
+            + "FROM SystemPermissions permissions "
+            + "WHERE permissions.userId = :userId "
+            + "AND :action MEMBER OF permissions.actions "
+  ),
   @NamedQuery(
     name = "SystemPermissions.getAll",
     query = "SELECT permissions " + "FROM SystemPermissions permissions "
@@ -0,0 +1,334 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.resource.api.usage.tracker;
+
+import static org.eclipse.che.api.core.Pages.DEFAULT_PAGE_SIZE;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STARTING;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STOPPED;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STOPPING;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.model.workspace.Workspace;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.workspace.server.WorkspaceManager;
+import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.spi.WorkspaceSummary;
+import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
+import org.eclipse.che.api.workspace.shared.event.WorkspaceCreatedEvent;
+import org.eclipse.che.api.workspace.shared.event.WorkspaceRemovedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps resources used by workspaces of each namespace, so usage trackers don't go through all
+ * the workspaces of an account on each check.
+ *
+ * <p>Usage of a namespace is reconciled with workspaces storage and runtimes the first time it is
+ * requested, then it is updated by workspace creation, removal and status events. When an event
+ * can't be applied or comes while usage of its namespace is reconciled, the namespace is reconciled
+ * again on the next request.
+ */
+@Singleton
+public class ResourceUsageLedger {
+  private static final Logger LOG = LoggerFactory.getLogger(ResourceUsageLedger.class);
+
+  private final Provider<WorkspaceManager> workspaceManagerProvider;
+  private final EnvironmentRamCalculator environmentRamCalculator;
+  private final EventService eventService;
+  private final EventSubscriber<WorkspaceCreatedEvent> createdSubscriber;
+  private final EventSubscriber<WorkspaceRemovedEvent> removedSubscriber;
+  private final EventSubscriber<WorkspaceStatusEvent> statusSubscriber;
+
+  /** Namespace -> usage */
+  private final Map<String, NamespaceUsage> usages = new ConcurrentHashMap<>();
+  /** Workspace id -> namespace, contains workspaces of reconciled namespaces only */
+  private final Map<String, String> namespaces = new ConcurrentHashMap<>();
+  /** Namespaces which workspaces are being read */
+  private final Set<String> reconciling = ConcurrentHashMap.newKeySet();
+
+  @Inject
+  public ResourceUsageLedger(
+      Provider<WorkspaceManager> workspaceManagerProvider,
+      EnvironmentRamCalculator environmentRamCalculator,
+      EventService eventService) {
+    this.workspaceManagerProvider = workspaceManagerProvider;
+    this.environmentRamCalculator = environmentRamCalculator;
+    this.eventService = eventService;
+    this.createdSubscriber = event -> onCreated(event.getWorkspace());
+    this.removedSubscriber = event -> onRemoved(event.getWorkspace());
+    this.statusSubscriber = this::onStatusChanged;
+  }
+
+  @PostConstruct
+  public void subscribe() {
+    eventService.subscribe(createdSubscriber, WorkspaceCreatedEvent.class);
+    eventService.subscribe(removedSubscriber, WorkspaceRemovedEvent.class);
+    eventService.subscribe(statusSubscriber, WorkspaceStatusEvent.class);
+  }
+
+  @PreDestroy
+  public void unsubscribe() {
+    eventService.unsubscribe(createdSubscriber, WorkspaceCreatedEvent.class);
+    eventService.unsubscribe(removedSubscriber, WorkspaceRemovedEvent.class);
+    eventService.unsubscribe(statusSubscriber, WorkspaceStatusEvent.class);
+  }
+
+  /**
+   * Returns resources used by workspaces of the given namespace.
+   *
+   * @param namespace namespace of workspaces, which is the name of their account
+   * @return usage of the namespace
+   * @throws ServerException when usage of the namespace can't be reconciled
+   */
+  public Usage getUsage(String namespace) throws ServerException {
+    final NamespaceUsage usage = usages.computeIfAbsent(namespace, NamespaceUsage::new);
+    synchronized (usage) {
+      if (!usage.reconciled) {
+        reconcile(usage);
+      }
+      return new Usage(usage.ramMb, usage.runningWorkspaces, usage.workspaces.size());
+    }
+  }
+
+  private void reconcile(NamespaceUsage usage) throws ServerException {
+    final long changesBefore = usage.changes.get();
+    reconciling.add(usage.namespace);
+    try {
+      readWorkspaces(usage);
+    } finally {
+      reconciling.remove(usage.namespace);
+    }
+    // workspaces might be changed after they are read, so the namespace is read again next time
+    usage.reconciled = usage.changes.get() == changesBefore;
+  }
+
+  private void readWorkspaces(NamespaceUsage usage) throws ServerException {
+    final WorkspaceManager workspaceManager = workspaceManagerProvider.get();
+    final Map<String, WorkspaceUsage> workspaces = new HashMap<>();
+    List<WorkspaceSummary> summaries;
+    String afterId = null;
+    do {
+      summaries =
+          workspaceManager.getSummariesByNamespace(usage.namespace, afterId, DEFAULT_PAGE_SIZE);
+      for (WorkspaceSummary summary : summaries) {
+        afterId = summary.getId();
+        if (summary.getStatus() == STOPPED) {
+          workspaces.put(summary.getId(), new WorkspaceUsage(STOPPED, 0));
+          continue;
+        }
+        // only workspaces which are not stopped are fully loaded to calculate their RAM
+        final WorkspaceImpl workspace;
+        try {
+          workspace = workspaceManager.getWorkspace(summary.getId());
+        } catch (NotFoundException x) {
+          // removed after summaries are fetched, so the namespace is read again next time
+          continue;
+        }
+        workspaces.put(
+            workspace.getId(), new WorkspaceUsage(workspace.getStatus(), ram(workspace)));
+      }
+    } while (summaries.size() == DEFAULT_PAGE_SIZE);
+    usage.reset(workspaces);
+    workspaces.keySet().forEach(id -> namespaces.put(id, usage.namespace));
+  }
+
+  private void onCreated(Workspace workspace) {
+    final NamespaceUsage usage = usages.get(workspace.getNamespace());
+    if (usage != null) {
+      usage.changes.incrementAndGet();
+      synchronized (usage) {
+        namespaces.put(workspace.getId(), usage.namespace);
+        usage.put(workspace.getId(), new WorkspaceUsage(STOPPED, 0));
+      }
+    }
+  }
+
+  private void onRemoved(Workspace workspace) {
+    namespaces.remove(workspace.getId());
+    final NamespaceUsage usage = usages.get(workspace.getNamespace());
+    if (usage != null) {
+      usage.changes.incrementAndGet();
+      synchronized (usage) {
+        usage.remove(workspace.getId());
+      }
+    }
+  }
+
+  private void onStatusChanged(WorkspaceStatusEvent event) {
+    final NamespaceUsage usage = usageOf(event.getWorkspaceId());
+    if (usage == null) {
+      return;
+    }
+    usage.changes.incrementAndGet();
+
+    WorkspaceUsage workspaceUsage = null;
+    try {
+      switch (event.getStatus()) {
+        case STOPPED:
+          workspaceUsage = new WorkspaceUsage(STOPPED, 0);
+          break;
+        case STARTING:
+        case RUNNING:
+          final WorkspaceImpl workspace =
+              workspaceManagerProvider.get().getWorkspace(event.getWorkspaceId());
+          workspaceUsage = new WorkspaceUsage(event.getStatus(), ram(workspace));
+          break;
+        default:
+          // stopping workspace keeps its resources until it is stopped
+      }
+    } catch (NotFoundException | ServerException | RuntimeException x) {
+      LOG.warn(
+          "Failed to update resources used by workspace '{}'. Cause: {}",
+          event.getWorkspaceId(),
+          x.getMessage());
+    }
+
+    synchronized (usage) {
+      if (workspaceUsage != null) {
+        usage.put(event.getWorkspaceId(), workspaceUsage);
+      } else if (event.getStatus() != STOPPING) {
+        usage.reconciled = false;
+      }
+    }
+  }
+
+  /**
+   * Returns usage of the namespace of the workspace. Namespace of a workspace which is not known
+   * yet is looked up only while some namespace is reconciled, as the workspace may be one of those
+   * which are being read.
+   */
+  private NamespaceUsage usageOf(String workspaceId) {
+    String namespace = namespaces.get(workspaceId);
+    if (namespace == null && !reconciling.isEmpty()) {
+      try {
+        namespace = workspaceManagerProvider.get().getWorkspace(workspaceId).getNamespace();
+      } catch (NotFoundException x) {
+        return null;
+      } catch (ServerException | RuntimeException x) {
+        // the workspace may belong to any of them, so all of them are read again next time
+        for (String reconciled : reconciling) {
+          final NamespaceUsage usage = usages.get(reconciled);
+          if (usage != null) {
+            usage.changes.incrementAndGet();
+          }
+        }
+        return null;
+      }
+    }
+    return namespace == null ? null : usages.get(namespace);
+  }
+
+  private long ram(WorkspaceImpl workspace) throws ServerException {
+    if (workspace.getStatus() == STOPPED || workspace.getRuntime() == null) {
+      return 0;
+    }
+    if (workspace.getStatus() == STARTING) {
+      // starting workspace may not have all machine in runtime
+      // it is need to calculate ram from environment config
+      final EnvironmentImpl startingEnvironment =
+          workspace.getConfig().getEnvironments().get(workspace.getRuntime().getActiveEnv());
+      return environmentRamCalculator.calculate(startingEnvironment);
+    }
+    return environmentRamCalculator.calculate(workspace.getRuntime());
+  }
+
+  /** Resources used by workspaces of a namespace at the moment it is requested. */
+  public static final class Usage {
+    private final long ramMb;
+    private final long runningWorkspaces;
+    private final long workspaces;
+
+    private Usage(long ramMb, long runningWorkspaces, long workspaces) {
+      this.ramMb = ramMb;
+      this.runningWorkspaces = runningWorkspaces;
+      this.workspaces = workspaces;
+    }
+
+    /** Returns RAM used by workspaces which are not stopped, in megabytes. */
+    public long getRamMb() {
+      return ramMb;
+    }
+
+    /** Returns the number of workspaces which are not stopped. */
+    public long getRunningWorkspaces() {
+      return runningWorkspaces;
+    }
+
+    /** Returns the number of all the workspaces. */
+    public long getWorkspaces() {
+      return workspaces;
+    }
+  }
+
+  private static final class WorkspaceUsage {
+    private final WorkspaceStatus status;
+    private final long ramMb;
+
+    private WorkspaceUsage(WorkspaceStatus status, long ramMb) {
+      this.status = status;
+      this.ramMb = ramMb;
+    }
+  }
+
+  /** Totals of a namespace, guarded by its monitor except for the changes counter. */
+  private static final class NamespaceUsage {
+    private final String namespace;
+    private final Map<String, WorkspaceUsage> workspaces = new HashMap<>();
+    /** Incremented on each event of the namespace, so usage read concurrently isn't trusted. */
+    private final AtomicLong changes = new AtomicLong();
+    private long ramMb;
+    private long runningWorkspaces;
+    private boolean reconciled;
+
+    private NamespaceUsage(String namespace) {
+      this.namespace = namespace;
+    }
+
+    private void reset(Map<String, WorkspaceUsage> newWorkspaces) {
+      workspaces.clear();
+      ramMb = 0;
+      runningWorkspaces = 0;
+      newWorkspaces.forEach(this::put);
+    }
+
+    private void put(String workspaceId, WorkspaceUsage workspaceUsage) {
+      remove(workspaceId);
+      workspaces.put(workspaceId, workspaceUsage);
+      if (workspaceUsage.status != STOPPED) {
+        ramMb += workspaceUsage.ramMb;
+        runningWorkspaces++;
+      }
+    }
+
+    private void remove(String workspaceId) {
+      final WorkspaceUsage removed = workspaces.remove(workspaceId);
+      if (removed != null && removed.status != STOPPED) {
+        ramMb -= removed.ramMb;
+        runningWorkspaces--;
+      }
+    }
+  }
+}
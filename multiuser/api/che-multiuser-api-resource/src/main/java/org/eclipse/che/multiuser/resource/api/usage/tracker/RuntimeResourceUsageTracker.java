@@ -10,18 +10,13 @@
  */
 package org.eclipse.che.multiuser.resource.api.usage.tracker;
 
-import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STOPPED;
-
 import java.util.Optional;
 import javax.inject.Inject;
-import javax.inject.Provider;
 import javax.inject.Singleton;
 import org.eclipse.che.account.api.AccountManager;
 import org.eclipse.che.account.shared.model.Account;
 import org.eclipse.che.api.core.NotFoundException;
-import org.eclipse.che.api.core.Pages;
 import org.eclipse.che.api.core.ServerException;
-import org.eclipse.che.api.workspace.server.WorkspaceManager;
 import org.eclipse.che.multiuser.resource.api.ResourceUsageTracker;
 import org.eclipse.che.multiuser.resource.api.type.RuntimeResourceType;
 import org.eclipse.che.multiuser.resource.model.Resource;
@@ -34,14 +29,14 @@ import org.eclipse.che.multiuser.resource.spi.impl.ResourceImpl;
  */
 @Singleton
 public class RuntimeResourceUsageTracker implements ResourceUsageTracker {
-  private final Provider<WorkspaceManager> workspaceManagerProvider;
   private final AccountManager accountManager;
+  private final ResourceUsageLedger resourceUsageLedger;
 
   @Inject
   public RuntimeResourceUsageTracker(
-      Provider<WorkspaceManager> workspaceManagerProvider, AccountManager accountManager) {
-    this.workspaceManagerProvider = workspaceManagerProvider;
+      AccountManager accountManager, ResourceUsageLedger resourceUsageLedger) {
     this.accountManager = accountManager;
+    this.resourceUsageLedger = resourceUsageLedger;
   }
 
   @Override
@@ -49,13 +44,7 @@ public class RuntimeResourceUsageTracker implements ResourceUsageTracker {
       throws NotFoundException, ServerException {
     final Account account = accountManager.getById(accountId);
     final long currentlyUsedRuntimes =
-        Pages.stream(
-                (maxItems, skipCount) ->
-                    workspaceManagerProvider
-                        .get()
-                        .getByNamespace(account.getName(), false, maxItems, skipCount))
-            .filter(ws -> STOPPED != ws.getStatus())
-            .count();
+        resourceUsageLedger.getUsage(account.getName()).getRunningWorkspaces();
     if (currentlyUsedRuntimes > 0) {
       return Optional.of(
           new ResourceImpl(
@@ -10,19 +10,13 @@
  */
 package org.eclipse.che.multiuser.resource.api.usage.tracker;
 
-import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import javax.inject.Inject;
-import javax.inject.Provider;
 import javax.inject.Singleton;
 import org.eclipse.che.account.api.AccountManager;
 import org.eclipse.che.account.shared.model.Account;
 import org.eclipse.che.api.core.NotFoundException;
-import org.eclipse.che.api.core.Pages;
 import org.eclipse.che.api.core.ServerException;
-import org.eclipse.che.api.workspace.server.WorkspaceManager;
-import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.multiuser.resource.api.ResourceUsageTracker;
 import org.eclipse.che.multiuser.resource.api.type.WorkspaceResourceType;
 import org.eclipse.che.multiuser.resource.model.Resource;
@@ -35,31 +29,26 @@ import org.eclipse.che.multiuser.resource.spi.impl.ResourceImpl;
  */
 @Singleton
 public class WorkspaceResourceUsageTracker implements ResourceUsageTracker {
-  private final Provider<WorkspaceManager> workspaceManagerProvider;
   private final AccountManager accountManager;
+  private final ResourceUsageLedger resourceUsageLedger;
 
   @Inject
   public WorkspaceResourceUsageTracker(
-      Provider<WorkspaceManager> workspaceManagerProvider, AccountManager accountManager) {
-    this.workspaceManagerProvider = workspaceManagerProvider;
+      AccountManager accountManager, ResourceUsageLedger resourceUsageLedger) {
     this.accountManager = accountManager;
+    this.resourceUsageLedger = resourceUsageLedger;
   }
 
   @Override
   public Optional<Resource> getUsedResource(String accountId)
       throws NotFoundException, ServerException {
     final Account account = accountManager.getById(accountId);
-    final List<WorkspaceImpl> accountWorkspaces =
-        Pages.stream(
-                (maxItems, skipCount) ->
-                    workspaceManagerProvider
-                        .get()
-                        .getByNamespace(account.getName(), false, maxItems, skipCount))
-            .collect(Collectors.toList());
-    if (!accountWorkspaces.isEmpty()) {
+    final long accountWorkspaces =
+        resourceUsageLedger.getUsage(account.getName()).getWorkspaces();
+    if (accountWorkspaces > 0) {
       return Optional.of(
           new ResourceImpl(
-              WorkspaceResourceType.ID, accountWorkspaces.size(), WorkspaceResourceType.UNIT));
+              WorkspaceResourceType.ID, accountWorkspaces, WorkspaceResourceType.UNIT));
     } else {
       return Optional.empty();
     }
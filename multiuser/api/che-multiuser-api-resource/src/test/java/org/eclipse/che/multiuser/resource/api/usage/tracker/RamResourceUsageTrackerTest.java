@@ -11,12 +11,9 @@
 package org.eclipse.che.multiuser.resource.api.usage.tracker;
 
 import static java.lang.String.valueOf;
-import static java.util.Arrays.asList;
 import static org.eclipse.che.api.core.model.workspace.config.MachineConfig.MEMORY_LIMIT_ATTRIBUTE;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -26,18 +23,19 @@ import static org.testng.Assert.assertTrue;
 
 import com.google.common.collect.ImmutableBiMap;
 import com.google.common.collect.ImmutableMap;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import javax.inject.Provider;
 import org.eclipse.che.account.api.AccountManager;
 import org.eclipse.che.account.shared.model.Account;
 import org.eclipse.che.api.core.NotFoundException;
-import org.eclipse.che.api.core.Page;
-import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.workspace.Runtime;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.core.model.workspace.config.Environment;
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.workspace.server.WorkspaceManager;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
 import org.eclipse.che.api.workspace.server.model.impl.MachineConfigImpl;
@@ -45,9 +43,10 @@ import org.eclipse.che.api.workspace.server.model.impl.MachineImpl;
 import org.eclipse.che.api.workspace.server.model.impl.RuntimeImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.spi.WorkspaceSummary;
+import org.eclipse.che.commons.lang.NameGenerator;
 import org.eclipse.che.multiuser.resource.api.type.RamResourceType;
 import org.eclipse.che.multiuser.resource.model.Resource;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
@@ -72,11 +71,16 @@ public class RamResourceUsageTrackerTest {
   @Mock private WorkspaceManager workspaceManager;
   @Mock private AccountManager accountManager;
   @Mock private EnvironmentRamCalculator envRamCalculator;
+  @Mock private EventService eventService;
 
-  @InjectMocks private RamResourceUsageTracker ramUsageTracker;
+  private RamResourceUsageTracker ramUsageTracker;
 
   @BeforeMethod
   public void setUp() throws Exception {
+    ramUsageTracker =
+        new RamResourceUsageTracker(
+            accountManager,
+            new ResourceUsageLedger(workspaceManagerProvider, envRamCalculator, eventService));
     when(workspaceManagerProvider.get()).thenReturn(workspaceManager);
     when(accountManager.getById(ACCOUNT_ID)).thenReturn(account);
     when(account.getName()).thenReturn(ACCOUNT_NAME);
@@ -115,7 +119,7 @@ public class RamResourceUsageTrackerTest {
     assertEquals(usedRam.getAmount(), 2000L);
     assertEquals(usedRam.getUnit(), RamResourceType.UNIT);
     verify(accountManager).getById(ACCOUNT_ID);
-    verify(workspaceManager).getByNamespace(anyString(), anyBoolean(), anyInt(), anyLong());
+    verify(workspaceManager).getSummariesByNamespace(anyString(), any(), anyInt());
   }
 
   @Test
@@ -134,7 +138,7 @@ public class RamResourceUsageTrackerTest {
     assertEquals(usedRam.getAmount(), 2500L);
     assertEquals(usedRam.getUnit(), RamResourceType.UNIT);
     verify(accountManager).getById(ACCOUNT_ID);
-    verify(workspaceManager).getByNamespace(anyString(), anyBoolean(), anyInt(), anyLong());
+    verify(workspaceManager).getSummariesByNamespace(anyString(), any(), anyInt());
   }
 
   @Test
@@ -150,12 +154,22 @@ public class RamResourceUsageTrackerTest {
     assertEquals(usedRam.getAmount(), 2000L);
     assertEquals(usedRam.getUnit(), RamResourceType.UNIT);
     verify(accountManager).getById(ACCOUNT_ID);
-    verify(workspaceManager).getByNamespace(anyString(), anyBoolean(), anyInt(), anyLong());
+    verify(workspaceManager).getSummariesByNamespace(anyString(), any(), anyInt());
   }
 
-  private void mockWorkspaces(WorkspaceImpl... workspaces) throws ServerException {
-    when(workspaceManager.getByNamespace(anyString(), anyBoolean(), anyInt(), anyLong()))
-        .thenReturn(new Page<>(asList(workspaces), 0, workspaces.length, workspaces.length));
+  private void mockWorkspaces(WorkspaceImpl... workspaces) throws Exception {
+    final List<WorkspaceSummary> summaries = new ArrayList<>();
+    for (WorkspaceImpl workspace : workspaces) {
+      final WorkspaceSummary summary =
+          new WorkspaceSummary(workspace.getId(), workspace.getId(), ACCOUNT_NAME, false);
+      summary.setStatus(workspace.getStatus());
+      summaries.add(summary);
+      if (workspace.getStatus() != WorkspaceStatus.STOPPED) {
+        when(workspaceManager.getWorkspace(workspace.getId())).thenReturn(workspace);
+      }
+    }
+    when(workspaceManager.getSummariesByNamespace(anyString(), any(), anyInt()))
+        .thenReturn(summaries);
   }
 
   /** Creates users workspace object based on the status and machines RAM. */
@@ -169,6 +183,7 @@ public class RamResourceUsageTrackerTest {
       machineConfigs.put(machineName, createMachineConfig(machineRam));
     }
     return WorkspaceImpl.builder()
+        .setId(NameGenerator.generate("workspace", 16))
         .setConfig(
             WorkspaceConfigImpl.builder()
                 .setEnvironments(
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.resource.api.usage.tracker;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STARTING;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STOPPED;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.HashMap;
+import javax.inject.Provider;
+import org.eclipse.che.account.spi.AccountImpl;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.model.workspace.Runtime;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.core.model.workspace.config.Environment;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.workspace.server.WorkspaceManager;
+import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
+import org.eclipse.che.api.workspace.server.model.impl.RuntimeImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.spi.WorkspaceSummary;
+import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
+import org.eclipse.che.api.workspace.shared.event.WorkspaceCreatedEvent;
+import org.eclipse.che.api.workspace.shared.event.WorkspaceRemovedEvent;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests for {@link ResourceUsageLedger} */
+@Listeners(MockitoTestNGListener.class)
+public class ResourceUsageLedgerTest {
+
+  private static final String NAMESPACE = "testAccount";
+  private static final String ENV_NAME = "default";
+
+  @Mock private Provider<WorkspaceManager> workspaceManagerProvider;
+  @Mock private WorkspaceManager workspaceManager;
+  @Mock private EnvironmentRamCalculator envRamCalculator;
+  @Mock private EventService eventService;
+
+  private ResourceUsageLedger ledger;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    when(workspaceManagerProvider.get()).thenReturn(workspaceManager);
+    ledger = new ResourceUsageLedger(workspaceManagerProvider, envRamCalculator, eventService);
+    ledger.subscribe();
+  }
+
+  @Test
+  public void shouldReconcileNamespaceOnlyOnce() throws Exception {
+    mockWorkspaces(createSummary("workspace1", STOPPED));
+
+    assertUsage(0, 0, 1);
+    assertUsage(0, 0, 1);
+
+    verify(workspaceManager).getSummariesByNamespace(eq(NAMESPACE), any(), anyInt());
+  }
+
+  @Test
+  public void shouldUpdateUsageOnWorkspaceEvents() throws Exception {
+    mockWorkspaces(createSummary("workspace1", STOPPED));
+    assertUsage(0, 0, 1);
+
+    subscriber(WorkspaceCreatedEvent.class)
+        .onEvent(new WorkspaceCreatedEvent(createWorkspace("workspace2", STOPPED)));
+    assertUsage(0, 0, 2);
+
+    when(workspaceManager.getWorkspace("workspace1"))
+        .thenReturn(
+            createWorkspace("workspace1", STARTING), createWorkspace("workspace1", RUNNING));
+    when(envRamCalculator.calculate(any(Environment.class))).thenReturn(2000L);
+    when(envRamCalculator.calculate(any(Runtime.class))).thenReturn(1500L);
+    subscriber(WorkspaceStatusEvent.class).onEvent(statusEvent("workspace1", STARTING));
+    assertUsage(2000, 1, 2);
+    subscriber(WorkspaceStatusEvent.class).onEvent(statusEvent("workspace1", RUNNING));
+    assertUsage(1500, 1, 2);
+    subscriber(WorkspaceStatusEvent.class).onEvent(statusEvent("workspace1", STOPPED));
+    assertUsage(0, 0, 2);
+
+    subscriber(WorkspaceRemovedEvent.class)
+        .onEvent(new WorkspaceRemovedEvent(createWorkspace("workspace2", STOPPED)));
+    assertUsage(0, 0, 1);
+    verify(workspaceManager).getSummariesByNamespace(eq(NAMESPACE), any(), anyInt());
+  }
+
+  @Test
+  public void shouldReconcileNamespaceAgainWhenEventCanNotBeApplied() throws Exception {
+    mockWorkspaces(createSummary("workspace1", STOPPED));
+    assertUsage(0, 0, 1);
+    when(workspaceManager.getWorkspace("workspace1")).thenThrow(new ServerException("error"));
+
+    subscriber(WorkspaceStatusEvent.class).onEvent(statusEvent("workspace1", RUNNING));
+    assertUsage(0, 0, 1);
+
+    verify(workspaceManager, times(2)).getSummariesByNamespace(eq(NAMESPACE), any(), anyInt());
+  }
+
+  @Test
+  public void shouldReconcileNamespaceAgainWhenWorkspacesAreChangedWhileTheyAreRead()
+      throws Exception {
+    WorkspaceSummary summary = createSummary("workspace1", STOPPED);
+    when(workspaceManager.getSummariesByNamespace(eq(NAMESPACE), any(), anyInt()))
+        .thenAnswer(
+            invocation -> {
+              subscriber(WorkspaceCreatedEvent.class)
+                  .onEvent(new WorkspaceCreatedEvent(createWorkspace("workspace2", STOPPED)));
+              return singletonList(summary);
+            })
+        .thenReturn(singletonList(summary));
+
+    assertUsage(0, 0, 1);
+    assertUsage(0, 0, 1);
+    assertUsage(0, 0, 1);
+
+    verify(workspaceManager, times(2)).getSummariesByNamespace(eq(NAMESPACE), any(), anyInt());
+  }
+
+  @Test
+  public void shouldNotReconcileNamespaceAgainWhenWorkspacesOfAnotherNamespaceAreChanged()
+      throws Exception {
+    WorkspaceSummary summary = createSummary("workspace1", STOPPED);
+    when(workspaceManager.getWorkspace("other1"))
+        .thenReturn(createWorkspace("other1", "otherAccount", RUNNING));
+    when(workspaceManager.getSummariesByNamespace(eq(NAMESPACE), any(), anyInt()))
+        .thenAnswer(
+            invocation -> {
+              subscriber(WorkspaceCreatedEvent.class)
+                  .onEvent(
+                      new WorkspaceCreatedEvent(
+                          createWorkspace("other2", "otherAccount", STOPPED)));
+              subscriber(WorkspaceStatusEvent.class).onEvent(statusEvent("other1", RUNNING));
+              return singletonList(summary);
+            });
+
+    assertUsage(0, 0, 1);
+    assertUsage(0, 0, 1);
+
+    verify(workspaceManager).getSummariesByNamespace(eq(NAMESPACE), any(), anyInt());
+  }
+
+  @Test
+  public void shouldReconcileNamespaceAgainWhenItsNewWorkspaceIsChangedWhileItIsRead()
+      throws Exception {
+    WorkspaceSummary summary = createSummary("workspace1", STOPPED);
+    when(workspaceManager.getWorkspace("workspace1"))
+        .thenReturn(createWorkspace("workspace1", STOPPED));
+    when(workspaceManager.getSummariesByNamespace(eq(NAMESPACE), any(), anyInt()))
+        .thenAnswer(
+            invocation -> {
+              subscriber(WorkspaceStatusEvent.class).onEvent(statusEvent("workspace1", STOPPED));
+              return singletonList(summary);
+            })
+        .thenReturn(singletonList(summary));
+
+    assertUsage(0, 0, 1);
+    assertUsage(0, 0, 1);
+    assertUsage(0, 0, 1);
+
+    verify(workspaceManager, times(2)).getSummariesByNamespace(eq(NAMESPACE), any(), anyInt());
+  }
+
+  private void assertUsage(long ramMb, long runningWorkspaces, long workspaces) throws Exception {
+    ResourceUsageLedger.Usage usage = ledger.getUsage(NAMESPACE);
+    assertEquals(usage.getRamMb(), ramMb);
+    assertEquals(usage.getRunningWorkspaces(), runningWorkspaces);
+    assertEquals(usage.getWorkspaces(), workspaces);
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> EventSubscriber<T> subscriber(Class<T> eventType) {
+    ArgumentCaptor<EventSubscriber<T>> captor = ArgumentCaptor.forClass(EventSubscriber.class);
+    verify(eventService).subscribe(captor.capture(), eq(eventType));
+    return captor.getValue();
+  }
+
+  private void mockWorkspaces(WorkspaceSummary... summaries) throws Exception {
+    when(workspaceManager.getSummariesByNamespace(eq(NAMESPACE), any(), anyInt()))
+        .thenReturn(asList(summaries));
+  }
+
+  private static WorkspaceStatusEvent statusEvent(String workspaceId, WorkspaceStatus status) {
+    WorkspaceStatusEvent event = mock(WorkspaceStatusEvent.class);
+    when(event.getWorkspaceId()).thenReturn(workspaceId);
+    when(event.getStatus()).thenReturn(status);
+    return event;
+  }
+
+  private static WorkspaceSummary createSummary(String id, WorkspaceStatus status) {
+    WorkspaceSummary summary = new WorkspaceSummary(id, id, NAMESPACE, false);
+    summary.setStatus(status);
+    return summary;
+  }
+
+  private static WorkspaceImpl createWorkspace(String id, WorkspaceStatus status) {
+    return createWorkspace(id, NAMESPACE, status);
+  }
+
+  private static WorkspaceImpl createWorkspace(
+      String id, String namespace, WorkspaceStatus status) {
+    return WorkspaceImpl.builder()
+        .setId(id)
+        .setAccount(new AccountImpl("account123", namespace, "test"))
+        .setConfig(
+            WorkspaceConfigImpl.builder()
+                .setEnvironments(ImmutableMap.of(ENV_NAME, new EnvironmentImpl()))
+                .build())
+        .setRuntime(status == STOPPED ? null : new RuntimeImpl(ENV_NAME, new HashMap<>(), null))
+        .setStatus(status)
+        .build();
+  }
+}
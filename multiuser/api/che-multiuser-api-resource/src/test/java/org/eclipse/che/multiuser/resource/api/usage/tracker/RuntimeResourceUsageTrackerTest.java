@@ -12,9 +12,7 @@ package org.eclipse.che.multiuser.resource.api.usage.tracker;
 
 import static java.util.Collections.singletonList;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
@@ -31,13 +29,13 @@ import javax.inject.Provider;
 import org.eclipse.che.account.api.AccountManager;
 import org.eclipse.che.account.shared.model.Account;
 import org.eclipse.che.api.core.NotFoundException;
-import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.workspace.server.WorkspaceManager;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.spi.WorkspaceSummary;
 import org.eclipse.che.multiuser.resource.api.type.RuntimeResourceType;
 import org.eclipse.che.multiuser.resource.model.Resource;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
@@ -55,11 +53,17 @@ public class RuntimeResourceUsageTrackerTest {
   @Mock private WorkspaceManager workspaceManager;
   @Mock private AccountManager accountManager;
   @Mock private Account account;
+  @Mock private EnvironmentRamCalculator envRamCalculator;
+  @Mock private EventService eventService;
 
-  @InjectMocks private RuntimeResourceUsageTracker runtimeResourceUsageTracker;
+  private RuntimeResourceUsageTracker runtimeResourceUsageTracker;
 
   @BeforeMethod
   public void setUp() throws Exception {
+    runtimeResourceUsageTracker =
+        new RuntimeResourceUsageTracker(
+            accountManager,
+            new ResourceUsageLedger(workspaceManagerProvider, envRamCalculator, eventService));
     when(workspaceManagerProvider.get()).thenReturn(workspaceManager);
   }
 
@@ -79,8 +83,8 @@ public class RuntimeResourceUsageTrackerTest {
     when(accountManager.getById(any())).thenReturn(account);
     when(account.getName()).thenReturn("testAccount");
 
-    when(workspaceManager.getByNamespace(anyString(), anyBoolean(), anyInt(), anyLong()))
-        .thenReturn(new Page<>(singletonList(createWorkspace(WorkspaceStatus.STOPPED)), 0, 1, 1));
+    when(workspaceManager.getSummariesByNamespace(anyString(), any(), anyInt()))
+        .thenReturn(singletonList(createSummary(createWorkspace(WorkspaceStatus.STOPPED))));
 
     Optional<Resource> usedRuntimesOpt = runtimeResourceUsageTracker.getUsedResource("account123");
 
@@ -96,8 +100,17 @@ public class RuntimeResourceUsageTrackerTest {
         Stream.of(WorkspaceStatus.values())
             .map(RuntimeResourceUsageTrackerTest::createWorkspace)
             .collect(Collectors.toList());
-    when(workspaceManager.getByNamespace(anyString(), anyBoolean(), anyInt(), anyLong()))
-        .thenReturn(new Page<>(runtimes, 0, runtimes.size(), runtimes.size()));
+    when(workspaceManager.getSummariesByNamespace(anyString(), any(), anyInt()))
+        .thenReturn(
+            runtimes
+                .stream()
+                .map(RuntimeResourceUsageTrackerTest::createSummary)
+                .collect(Collectors.toList()));
+    for (WorkspaceImpl runtime : runtimes) {
+      if (runtime.getStatus() != WorkspaceStatus.STOPPED) {
+        when(workspaceManager.getWorkspace(runtime.getId())).thenReturn(runtime);
+      }
+    }
 
     Optional<Resource> usedRuntimesOpt = runtimeResourceUsageTracker.getUsedResource("account123");
 
@@ -108,11 +121,18 @@ public class RuntimeResourceUsageTrackerTest {
         usedRuntimes.getAmount(), WorkspaceStatus.values().length - 1); // except stopped workspaces
     assertEquals(usedRuntimes.getUnit(), RuntimeResourceType.UNIT);
     verify(accountManager).getById(eq("account123"));
-    verify(workspaceManager).getByNamespace(eq("testAccount"), eq(false), anyInt(), anyLong());
+    verify(workspaceManager).getSummariesByNamespace(eq("testAccount"), any(), anyInt());
   }
 
   /** Creates users workspace object based on the status. */
   public static WorkspaceImpl createWorkspace(WorkspaceStatus status) {
-    return WorkspaceImpl.builder().setStatus(status).build();
+    return WorkspaceImpl.builder().setId("workspace_" + status).setStatus(status).build();
+  }
+
+  private static WorkspaceSummary createSummary(WorkspaceImpl workspace) {
+    final WorkspaceSummary summary =
+        new WorkspaceSummary(workspace.getId(), workspace.getId(), "testAccount", false);
+    summary.setStatus(workspace.getStatus());
+    return summary;
   }
 }
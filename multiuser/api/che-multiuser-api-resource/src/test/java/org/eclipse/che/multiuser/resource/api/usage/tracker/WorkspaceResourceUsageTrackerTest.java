@@ -11,9 +11,7 @@
 package org.eclipse.che.multiuser.resource.api.usage.tracker;
 
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
@@ -29,12 +27,12 @@ import javax.inject.Provider;
 import org.eclipse.che.account.api.AccountManager;
 import org.eclipse.che.account.shared.model.Account;
 import org.eclipse.che.api.core.NotFoundException;
-import org.eclipse.che.api.core.Page;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.workspace.server.WorkspaceManager;
-import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.spi.WorkspaceSummary;
 import org.eclipse.che.multiuser.resource.api.type.WorkspaceResourceType;
 import org.eclipse.che.multiuser.resource.model.Resource;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
@@ -51,11 +49,17 @@ public class WorkspaceResourceUsageTrackerTest {
   @Mock private WorkspaceManager workspaceManager;
   @Mock private AccountManager accountManager;
   @Mock private Account account;
+  @Mock private EnvironmentRamCalculator envRamCalculator;
+  @Mock private EventService eventService;
 
-  @InjectMocks private WorkspaceResourceUsageTracker workspaceResourceUsageTracker;
+  private WorkspaceResourceUsageTracker workspaceResourceUsageTracker;
 
   @BeforeMethod
   public void setUp() throws Exception {
+    workspaceResourceUsageTracker =
+        new WorkspaceResourceUsageTracker(
+            accountManager,
+            new ResourceUsageLedger(workspaceManagerProvider, envRamCalculator, eventService));
     when(workspaceManagerProvider.get()).thenReturn(workspaceManager);
   }
 
@@ -75,8 +79,8 @@ public class WorkspaceResourceUsageTrackerTest {
     when(accountManager.getById(any())).thenReturn(account);
     when(account.getName()).thenReturn("testAccount");
 
-    when(workspaceManager.getByNamespace(anyString(), anyBoolean(), anyInt(), anyLong()))
-        .thenReturn(new Page<>(Collections.emptyList(), 0, 1, 0));
+    when(workspaceManager.getSummariesByNamespace(anyString(), any(), anyInt()))
+        .thenReturn(Collections.emptyList());
 
     Optional<Resource> usedWorkspacesOpt =
         workspaceResourceUsageTracker.getUsedResource("account123");
@@ -89,13 +93,12 @@ public class WorkspaceResourceUsageTrackerTest {
     when(accountManager.getById(any())).thenReturn(account);
     when(account.getName()).thenReturn("testAccount");
 
-    when(workspaceManager.getByNamespace(anyString(), anyBoolean(), anyInt(), anyLong()))
+    when(workspaceManager.getSummariesByNamespace(anyString(), any(), anyInt()))
         .thenReturn(
-            new Page<>(
-                Arrays.asList(new WorkspaceImpl(), new WorkspaceImpl(), new WorkspaceImpl()),
-                0,
-                3,
-                3));
+            Arrays.asList(
+                createWorkspace("workspace1"),
+                createWorkspace("workspace2"),
+                createWorkspace("workspace3")));
 
     Optional<Resource> usedWorkspacesOpt =
         workspaceResourceUsageTracker.getUsedResource("account123");
@@ -106,6 +109,12 @@ public class WorkspaceResourceUsageTrackerTest {
     assertEquals(usedWorkspaces.getAmount(), 3);
     assertEquals(usedWorkspaces.getUnit(), WorkspaceResourceType.UNIT);
     verify(accountManager).getById(eq("account123"));
-    verify(workspaceManager).getByNamespace(eq("testAccount"), eq(false), anyInt(), anyLong());
+    verify(workspaceManager).getSummariesByNamespace(eq("testAccount"), any(), anyInt());
+  }
+
+  private static WorkspaceSummary createWorkspace(String id) {
+    final WorkspaceSummary summary = new WorkspaceSummary(id, id, "testAccount", false);
+    summary.setStatus(WorkspaceStatus.STOPPED);
+    return summary;
   }
 }
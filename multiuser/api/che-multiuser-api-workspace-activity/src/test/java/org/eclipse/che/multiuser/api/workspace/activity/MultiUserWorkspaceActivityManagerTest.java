@@ -88,9 +88,10 @@ public class MultiUserWorkspaceActivityManagerTest {
         .getAvailableResources(anyString());
 
     activityManager.update(wsId, activityTime);
+    activityManager.flush();
 
     WorkspaceExpiration expected = new WorkspaceExpiration(wsId, activityTime + USER_LIMIT_TIMEOUT);
-    verify(workspaceActivityDao, times(1)).setExpiration(eq(expected));
+    verify(workspaceActivityDao, times(1)).setExpirations(eq(singletonList(expected)));
     verify(resourceManager).getAvailableResources(eq("account123"));
   }
 
@@ -101,9 +102,10 @@ public class MultiUserWorkspaceActivityManagerTest {
     final long activityTime = 1000L;
 
     activityManager.update(wsId, activityTime);
+    activityManager.flush();
 
     WorkspaceExpiration expected = new WorkspaceExpiration(wsId, activityTime + DEFAULT_TIMEOUT);
-    verify(workspaceActivityDao, times(1)).setExpiration(eq(expected));
+    verify(workspaceActivityDao, times(1)).setExpirations(eq(singletonList(expected)));
     verify(resourceManager).getAvailableResources(eq("account123"));
   }
 }
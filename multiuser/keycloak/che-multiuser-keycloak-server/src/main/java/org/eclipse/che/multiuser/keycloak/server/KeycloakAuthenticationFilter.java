@@ -10,12 +10,23 @@
  */
 package org.eclipse.che.multiuser.keycloak.server;
 
-import com.auth0.jwk.GuavaCachedJwkProvider;
-import com.auth0.jwk.Jwk;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 import com.auth0.jwk.JwkException;
 import com.auth0.jwk.JwkProvider;
 import com.auth0.jwk.UrlJwkProvider;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Clock;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwsHeader;
@@ -25,11 +36,17 @@ import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureException;
 import io.jsonwebtoken.SigningKeyResolverAdapter;
 import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.impl.DefaultClock;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.security.Key;
 import java.security.PublicKey;
+import java.util.Date;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -44,14 +61,26 @@ import org.eclipse.che.multiuser.keycloak.shared.KeycloakConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Authenticates requests with the bearer JWT issued by Keycloak.
+ *
+ * <p>Verification of the token signature is the most expensive part of the request authentication,
+ * so tokens that are already verified are kept by their hashes until they expire, and public keys
+ * of the Keycloak realm are kept in a concurrent store that is refreshed in background.
+ */
 @Singleton
 public class KeycloakAuthenticationFilter extends AbstractKeycloakFilter {
   private static final Logger LOG = LoggerFactory.getLogger(KeycloakAuthenticationFilter.class);
 
-  private String jwksUrl;
-  private long allowedClockSkewSec;
-  private RequestTokenExtractor tokenExtractor;
-  private JwkProvider jwkProvider;
+  private static final long VERIFIED_TOKENS_CACHE_SIZE = 10_000;
+
+  private final long allowedClockSkewSec;
+  private final RequestTokenExtractor tokenExtractor;
+  private final JwkProvider jwkProvider;
+  private final Clock clock;
+  private final ExecutorService keysRefresher;
+  private final LoadingCache<String, PublicKey> publicKeys;
+  private final Cache<HashCode, Jws<Claims>> verifiedTokens;
 
   @Inject
   public KeycloakAuthenticationFilter(
@@ -59,12 +88,64 @@ public class KeycloakAuthenticationFilter extends AbstractKeycloakFilter {
       @Named(KeycloakConstants.ALLOWED_CLOCK_SKEW_SEC) long allowedClockSkewSec,
       RequestTokenExtractor tokenExtractor)
       throws MalformedURLException {
-    this.jwksUrl = keycloakSettings.get().get(KeycloakConstants.JWKS_ENDPOINT_SETTING);
+    this(
+        allowedClockSkewSec,
+        tokenExtractor,
+        createJwkProvider(keycloakSettings.get().get(KeycloakConstants.JWKS_ENDPOINT_SETTING)),
+        VERIFIED_TOKENS_CACHE_SIZE,
+        DefaultClock.INSTANCE,
+        Ticker.systemTicker(),
+        Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("KeycloakPublicKeysRefresher-%s")
+                .build()));
+  }
+
+  /**
+   * Creates the filter that checks expiration of tokens with the given {@code clock}, expires and
+   * refreshes cached entries with the given {@code ticker} and reloads public keys with the given
+   * {@code keysRefresher}.
+   */
+  @VisibleForTesting
+  KeycloakAuthenticationFilter(
+      long allowedClockSkewSec,
+      RequestTokenExtractor tokenExtractor,
+      JwkProvider jwkProvider,
+      long verifiedTokensCacheSize,
+      Clock clock,
+      Ticker ticker,
+      ExecutorService keysRefresher) {
     this.allowedClockSkewSec = allowedClockSkewSec;
     this.tokenExtractor = tokenExtractor;
-    if (jwksUrl != null) {
-      this.jwkProvider = new GuavaCachedJwkProvider(new UrlJwkProvider(new URL(jwksUrl)));
-    }
+    this.jwkProvider = jwkProvider;
+    this.clock = clock;
+    this.keysRefresher = keysRefresher;
+    // keys are served from the store while they are reloaded, so rotated keys are picked up
+    // without blocking request threads
+    this.publicKeys =
+        CacheBuilder.newBuilder()
+            .maximumSize(10)
+            .ticker(ticker)
+            .refreshAfterWrite(1, TimeUnit.HOURS)
+            .expireAfterWrite(10, TimeUnit.HOURS)
+            .build(
+                CacheLoader.asyncReloading(
+                    new CacheLoader<String, PublicKey>() {
+                      @Override
+                      public PublicKey load(String kid) throws JwkException {
+                        return jwkProvider.get(kid).getPublicKey();
+                      }
+                    },
+                    keysRefresher));
+    // tokens are checked to be unexpired on each use, expiration limits the time tokens verified
+    // with a key are trusted after the key is rotated
+    this.verifiedTokens =
+        CacheBuilder.newBuilder()
+            .maximumSize(verifiedTokensCacheSize)
+            .ticker(ticker)
+            .expireAfterWrite(5, TimeUnit.MINUTES)
+            .build();
   }
 
   @Override
@@ -73,6 +154,15 @@ public class KeycloakAuthenticationFilter extends AbstractKeycloakFilter {
     HttpServletRequest request = (HttpServletRequest) req;
 
     final String token = tokenExtractor.getToken(request);
+    // verified tokens are issued by Keycloak, so they can't be machine tokens
+    final HashCode tokenHash = token == null ? null : Hashing.sha256().hashString(token, UTF_8);
+    Jws<Claims> jwt = tokenHash == null ? null : getVerified(tokenHash);
+    if (jwt != null) {
+      request.setAttribute("token", jwt);
+      chain.doFilter(req, res);
+      return;
+    }
+
     if (shouldSkipAuthentication(request, token)) {
       chain.doFilter(req, res);
       return;
@@ -83,10 +173,10 @@ public class KeycloakAuthenticationFilter extends AbstractKeycloakFilter {
       return;
     }
 
-    Jws<Claims> jwt;
     try {
       jwt =
           Jwts.parser()
+              .setClock(clock)
               .setAllowedClockSkewSeconds(allowedClockSkewSec)
               .setSigningKeyResolver(
                   new SigningKeyResolverAdapter() {
@@ -116,11 +206,37 @@ public class KeycloakAuthenticationFilter extends AbstractKeycloakFilter {
       return;
     }
 
+    if (jwt.getBody().getExpiration() != null) {
+      verifiedTokens.put(tokenHash, jwt);
+    }
     request.setAttribute("token", jwt);
     chain.doFilter(req, res);
   }
 
-  private synchronized PublicKey getJwtPublicKey(JwsHeader<?> header) throws JwkException {
+  @Override
+  public void destroy() {
+    keysRefresher.shutdownNow();
+  }
+
+  /**
+   * Returns the verified token if it is not expired yet, expired tokens are dropped, so they are
+   * parsed again and rejected with the corresponding message.
+   */
+  private Jws<Claims> getVerified(HashCode tokenHash) {
+    Jws<Claims> jwt = verifiedTokens.getIfPresent(tokenHash);
+    if (jwt == null) {
+      return null;
+    }
+    Date expiration = jwt.getBody().getExpiration();
+    if (expiration.getTime() + TimeUnit.SECONDS.toMillis(allowedClockSkewSec)
+        <= clock.now().getTime()) {
+      verifiedTokens.invalidate(tokenHash);
+      return null;
+    }
+    return jwt;
+  }
+
+  private PublicKey getJwtPublicKey(JwsHeader<?> header) throws JwkException {
     String kid = header.getKeyId();
     if (kid == null) {
       LOG.warn(
@@ -140,8 +256,18 @@ public class KeycloakAuthenticationFilter extends AbstractKeycloakFilter {
               + "Please look into the startup logs to find out the root cause");
       return null;
     }
-    Jwk jwk = jwkProvider.get(kid);
-    return jwk.getPublicKey();
+    try {
+      return publicKeys.get(kid);
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      if (e.getCause() instanceof JwkException) {
+        throw (JwkException) e.getCause();
+      }
+      throw new JwkException("Failed to load the public key with id " + kid, e.getCause());
+    }
+  }
+
+  private static JwkProvider createJwkProvider(String jwksUrl) throws MalformedURLException {
+    return jwksUrl == null ? null : new UrlJwkProvider(new URL(jwksUrl));
   }
 
   private void send403(ServletResponse res, String message) throws IOException {
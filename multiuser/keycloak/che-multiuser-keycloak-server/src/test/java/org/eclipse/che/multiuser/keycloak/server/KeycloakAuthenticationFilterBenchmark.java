@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.keycloak.server;
+
+import static com.google.common.util.concurrent.MoreExecutors.newDirectExecutorService;
+import static io.jsonwebtoken.SignatureAlgorithm.RS256;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.auth0.jwk.Jwk;
+import com.auth0.jwk.JwkProvider;
+import com.google.common.base.Ticker;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.impl.DefaultClock;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.FilterChain;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.eclipse.che.commons.auth.token.RequestTokenExtractor;
+import org.eclipse.che.multiuser.machine.authentication.server.signature.SignatureKeyManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures throughput of {@link KeycloakAuthenticationFilter} authenticating requests of a number
+ * of users concurrently, with and without cache of verified tokens. Tokens are signed with a
+ * locally generated 2048 bit RSA key, as realm keys of Keycloak are.
+ *
+ * <p>Not executed as part of the build, run it from IDE or with {@link #main(String[])} from the
+ * test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class KeycloakAuthenticationFilterBenchmark {
+
+  private static final String KEY_ID = "realm-key";
+
+  @Param({"true", "false"})
+  private boolean cacheVerifiedTokens;
+
+  @Param({"100"})
+  private int users;
+
+  private KeycloakAuthenticationFilter filter;
+  private HttpServletRequest[] requests;
+  private HttpServletResponse response;
+  private FilterChain chain;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    KeyPairGenerator kpg = KeyPairGenerator.getInstance("RSA");
+    kpg.initialize(2048);
+    KeyPair keycloakKeyPair = kpg.generateKeyPair();
+    Jwk jwk = mock(Jwk.class);
+    when(jwk.getPublicKey()).thenReturn(keycloakKeyPair.getPublic());
+    JwkProvider jwkProvider = kid -> jwk;
+    // mocks that are called by the benchmark don't record invocations
+    SignatureKeyManager signatureKeyManager =
+        mock(SignatureKeyManager.class, withSettings().stubOnly());
+    when(signatureKeyManager.getKeyPair()).thenReturn(kpg.generateKeyPair());
+
+    requests = new HttpServletRequest[users];
+    RequestTokenExtractor tokenExtractor = request -> request.getHeader("Authorization");
+    for (int i = 0; i < users; i++) {
+      requests[i] = mock(HttpServletRequest.class, withSettings().stubOnly());
+      String token =
+          Jwts.builder()
+              .setHeaderParam("kid", KEY_ID)
+              .setSubject("user" + i)
+              .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+              .signWith(RS256, keycloakKeyPair.getPrivate())
+              .compact();
+      when(requests[i].getHeader("Authorization")).thenReturn(token);
+    }
+    response = mock(HttpServletResponse.class, withSettings().stubOnly());
+    chain = mock(FilterChain.class, withSettings().stubOnly());
+
+    filter =
+        new KeycloakAuthenticationFilter(
+            0,
+            tokenExtractor,
+            jwkProvider,
+            cacheVerifiedTokens ? users : 0,
+            DefaultClock.INSTANCE,
+            Ticker.systemTicker(),
+            newDirectExecutorService());
+    filter.signatureKeyManager = signatureKeyManager;
+  }
+
+  @Benchmark
+  public void authenticate() throws Exception {
+    filter.doFilter(requests[ThreadLocalRandom.current().nextInt(users)], response, chain);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(KeycloakAuthenticationFilterBenchmark.class.getSimpleName())
+                .build())
+        .run();
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.keycloak.server;
+
+import static com.google.common.util.concurrent.MoreExecutors.newDirectExecutorService;
+import static io.jsonwebtoken.SignatureAlgorithm.RS256;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import com.auth0.jwk.Jwk;
+import com.auth0.jwk.JwkProvider;
+import com.google.common.base.Ticker;
+import io.jsonwebtoken.Clock;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.Jwts;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.eclipse.che.commons.auth.token.RequestTokenExtractor;
+import org.eclipse.che.multiuser.machine.authentication.server.signature.SignatureKeyManager;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link KeycloakAuthenticationFilter}. */
+@Listeners(MockitoTestNGListener.class)
+public class KeycloakAuthenticationFilterTest {
+
+  private static final String KEY_ID = "realm-key";
+
+  @Mock private RequestTokenExtractor tokenExtractor;
+  @Mock private JwkProvider jwkProvider;
+  @Mock private Jwk jwk;
+  @Mock private SignatureKeyManager signatureKeyManager;
+  @Mock private HttpServletRequest request;
+  @Mock private HttpServletResponse response;
+  @Mock private ServletOutputStream outputStream;
+  @Mock private FilterChain chain;
+
+  private FakeTime time;
+  private KeyPair keycloakKeyPair;
+  private KeycloakAuthenticationFilter filter;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    KeyPairGenerator kpg = KeyPairGenerator.getInstance("RSA");
+    kpg.initialize(512);
+    keycloakKeyPair = kpg.generateKeyPair();
+    when(jwkProvider.get(KEY_ID)).thenReturn(jwk);
+    when(jwk.getPublicKey()).thenReturn(keycloakKeyPair.getPublic());
+    when(signatureKeyManager.getKeyPair()).thenReturn(kpg.generateKeyPair());
+
+    time = new FakeTime();
+    filter =
+        new KeycloakAuthenticationFilter(
+            0, tokenExtractor, jwkProvider, 100, time, time, newDirectExecutorService());
+    filter.signatureKeyManager = signatureKeyManager;
+  }
+
+  @Test
+  public void shouldVerifyTokenOnceWhileItIsNotExpired() throws Exception {
+    when(tokenExtractor.getToken(request)).thenReturn(token(60_000));
+
+    filter.doFilter(request, response, chain);
+    filter.doFilter(request, response, chain);
+
+    List<Object> jwts = verifyTokenAttributes(2);
+    assertSame(jwts.get(0), jwts.get(1));
+    verify(signatureKeyManager).getKeyPair();
+    verify(chain, times(2)).doFilter(request, response);
+  }
+
+  @Test
+  public void shouldLoadPublicKeyOnceForTokensSignedWithIt() throws Exception {
+    when(tokenExtractor.getToken(request)).thenReturn(token(60_000), token(120_000));
+
+    filter.doFilter(request, response, chain);
+    filter.doFilter(request, response, chain);
+
+    verify(jwkProvider).get(KEY_ID);
+    verify(chain, times(2)).doFilter(request, response);
+  }
+
+  @Test
+  public void shouldRejectVerifiedTokenWhenItExpires() throws Exception {
+    when(tokenExtractor.getToken(request)).thenReturn(token(2_000));
+    when(response.getOutputStream()).thenReturn(outputStream);
+
+    filter.doFilter(request, response, chain);
+    time.advance(2_500);
+    filter.doFilter(request, response, chain);
+
+    verify(chain).doFilter(request, response);
+    verify(outputStream).write("The specified token is expired".getBytes());
+    verify(response).setStatus(403);
+  }
+
+  @Test
+  public void shouldReloadPublicKeyAnHourAfterItIsLoaded() throws Exception {
+    when(tokenExtractor.getToken(request))
+        .thenReturn(token(TimeUnit.HOURS.toMillis(2)), token(TimeUnit.HOURS.toMillis(2)));
+
+    filter.doFilter(request, response, chain);
+    time.advance(TimeUnit.HOURS.toMillis(1));
+    filter.doFilter(request, response, chain);
+
+    verify(jwkProvider, times(2)).get(KEY_ID);
+    verify(chain, times(2)).doFilter(request, response);
+  }
+
+  private List<Object> verifyTokenAttributes(int times) {
+    ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+    verify(request, times(times)).setAttribute(eq("token"), captor.capture());
+    captor.getAllValues().forEach(it -> assertTrue(it instanceof Jws));
+    return captor.getAllValues();
+  }
+
+  private String token(long expiresInMillis) {
+    return Jwts.builder()
+        .setHeaderParam("kid", KEY_ID)
+        .setSubject("user123")
+        .setExpiration(new Date(time.now().getTime() + expiresInMillis))
+        .signWith(RS256, keycloakKeyPair.getPrivate())
+        .compact();
+  }
+
+  /** Time of both the token expiration checks and the caches, which is moved by tests. */
+  private static class FakeTime extends Ticker implements Clock {
+    private long millis = System.currentTimeMillis();
+
+    void advance(long millis) {
+      this.millis += millis;
+    }
+
+    @Override
+    public Date now() {
+      return new Date(millis);
+    }
+
+    @Override
+    public long read() {
+      return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+  }
+}
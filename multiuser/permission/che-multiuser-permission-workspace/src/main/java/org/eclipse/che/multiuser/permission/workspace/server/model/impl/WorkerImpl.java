@@ -54,6 +54,15 @@ import org.eclipse.che.multiuser.permission.workspace.server.model.Worker;
             + "FROM Worker worker "
             + "WHERE worker.userId = :userId "
             + "AND worker.workspaceId = :workspaceId "
+  ),
+  @NamedQuery(
+    name = "Worker.getCountByUserAndWorkspaceIdAndAction",
+    query =
+        "SELECT COUNT(worker) "
+            + "FROM Worker worker "
+            + "WHERE worker.userId = :userId "
+            + "AND worker.workspaceId = :workspaceId "
+            + "AND :action MEMBER OF worker.actions "
   )
 })
 @Table(name = "che_worker")
@@ -24,6 +24,7 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
+import javax.persistence.TypedQuery;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
@@ -131,6 +132,29 @@ public class JpaStackPermissionsDao extends AbstractJpaPermissionsDao<StackPermi
     }
   }
 
+  @Override
+  @Transactional
+  protected boolean doExists(String userId, String instanceId, String action) {
+    final TypedQuery<Long> query;
+    if (userId == null) {
+      query =
+          managerProvider
+              .get()
+              .createNamedQuery("StackPermissions.getCountByStackIdPublicAndAction", Long.class);
+    } else {
+      query =
+          managerProvider
+              .get()
+              .createNamedQuery("StackPermissions.getCountByUserAndStackIdAndAction", Long.class)
+              .setParameter("userId", userId);
+    }
+    return query
+            .setParameter("stackId", instanceId)
+            .setParameter("action", action)
+            .getSingleResult()
+        > 0;
+  }
+
   @Transactional
   protected List<StackPermissionsImpl> doGetByUser(@Nullable String userId) throws ServerException {
     try {
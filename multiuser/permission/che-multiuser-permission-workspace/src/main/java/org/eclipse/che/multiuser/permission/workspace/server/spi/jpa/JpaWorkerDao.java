@@ -136,6 +136,19 @@ public class JpaWorkerDao extends AbstractJpaPermissionsDao<WorkerImpl> implemen
     }
   }
 
+  @Override
+  @Transactional
+  protected boolean doExists(String userId, String instanceId, String action) {
+    return managerProvider
+            .get()
+            .createNamedQuery("Worker.getCountByUserAndWorkspaceIdAndAction", Long.class)
+            .setParameter("workspaceId", instanceId)
+            .setParameter("userId", userId)
+            .setParameter("action", action)
+            .getSingleResult()
+        > 0;
+  }
+
   @Transactional
   protected WorkerImpl doGet(String userId, String instanceId) {
     return managerProvider
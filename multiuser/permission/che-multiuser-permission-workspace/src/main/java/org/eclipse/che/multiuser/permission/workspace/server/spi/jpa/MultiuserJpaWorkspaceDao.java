@@ -14,32 +14,30 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
-import static org.eclipse.che.api.core.Pages.iterate;
+import static org.eclipse.che.api.workspace.server.jpa.JpaWorkspaceDao.fetchTimestamps;
 
 import com.google.inject.persist.Transactional;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
-import javax.annotation.PostConstruct;
-import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Provider;
 import javax.inject.Singleton;
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
-import org.eclipse.che.account.event.BeforeAccountRemovedEvent;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.notification.EventService;
-import org.eclipse.che.api.workspace.server.WorkspaceManager;
 import org.eclipse.che.api.workspace.server.event.BeforeWorkspaceRemovedEvent;
+import org.eclipse.che.api.workspace.server.jpa.JpaWorkspaceDao;
 import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
+import org.eclipse.che.api.workspace.server.spi.WorkspaceSummary;
 import org.eclipse.che.api.workspace.shared.event.WorkspaceRemovedEvent;
-import org.eclipse.che.core.db.cascade.CascadeEventSubscriber;
+import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
 
 /**
@@ -63,6 +61,15 @@ public class MultiuserJpaWorkspaceDao implements WorkspaceDao {
           + "          LEFT JOIN worker.workspace ws "
           + "          WHERE worker.userId = :userId "
           + "          AND 'read' MEMBER OF worker.actions";
+  private static final String findSummariesByWorkerQuery =
+      "SELECT NEW org.eclipse.che.api.workspace.server.spi.WorkspaceSummary("
+          + "            ws.id, ws.name, ws.account.name, ws.isTemporary) "
+          + "          FROM Worker worker  "
+          + "          LEFT JOIN worker.workspace ws "
+          + "          WHERE worker.userId = :userId "
+          + "          AND 'read' MEMBER OF worker.actions "
+          + "          AND ws.id > :afterId "
+          + "          ORDER BY ws.id";
 
   @Override
   public WorkspaceImpl create(WorkspaceImpl workspace) throws ConflictException, ServerException {
@@ -232,6 +239,48 @@ public class MultiuserJpaWorkspaceDao implements WorkspaceDao {
     }
   }
 
+  @Override
+  @Transactional
+  public List<WorkspaceSummary> getSummariesByNamespace(
+      String namespace, @Nullable String afterId, int maxItems) throws ServerException {
+    requireNonNull(namespace, "Required non-null namespace");
+    checkArgument(maxItems >= 0, "The number of items to return can't be negative.");
+    try {
+      final List<WorkspaceSummary> summaries =
+          managerProvider
+              .get()
+              .createNamedQuery("Workspace.getSummariesByNamespace", WorkspaceSummary.class)
+              .setParameter("namespace", namespace)
+              .setParameter("afterId", afterId == null ? "" : afterId)
+              .setMaxResults(maxItems)
+              .getResultList();
+      return fetchTimestamps(managerProvider.get(), summaries);
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
+  @Override
+  @Transactional
+  public List<WorkspaceSummary> getSummaries(String userId, @Nullable String afterId, int maxItems)
+      throws ServerException {
+    requireNonNull(userId, "Required non-null user id");
+    checkArgument(maxItems >= 0, "The number of items to return can't be negative.");
+    try {
+      final List<WorkspaceSummary> summaries =
+          managerProvider
+              .get()
+              .createQuery(findSummariesByWorkerQuery, WorkspaceSummary.class)
+              .setParameter("userId", userId)
+              .setParameter("afterId", afterId == null ? "" : afterId)
+              .setMaxResults(maxItems)
+              .getResultList();
+      return fetchTimestamps(managerProvider.get(), summaries);
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
   @Transactional
   protected void doCreate(WorkspaceImpl workspace) {
     if (workspace.getConfig() != null) {
@@ -273,30 +322,5 @@ public class MultiuserJpaWorkspaceDao implements WorkspaceDao {
 
   @Singleton
   public static class RemoveWorkspaceBeforeAccountRemovedEventSubscriber
-      extends CascadeEventSubscriber<BeforeAccountRemovedEvent> {
-
-    @Inject private EventService eventService;
-    @Inject private WorkspaceManager workspaceManager;
-
-    @PostConstruct
-    public void subscribe() {
-      eventService.subscribe(this, BeforeAccountRemovedEvent.class);
-    }
-
-    @PreDestroy
-    public void unsubscribe() {
-      eventService.unsubscribe(this, BeforeAccountRemovedEvent.class);
-    }
-
-    @Override
-    public void onCascadeEvent(BeforeAccountRemovedEvent event) throws Exception {
-      for (WorkspaceImpl workspace :
-          iterate(
-              (maxItems, skipCount) ->
-                  workspaceManager.getByNamespace(
-                      event.getAccount().getName(), false, maxItems, skipCount))) {
-        workspaceManager.removeWorkspace(workspace.getId());
-      }
-    }
-  }
+      extends JpaWorkspaceDao.RemoveWorkspaceBeforeAccountRemovedEventSubscriber {}
 }
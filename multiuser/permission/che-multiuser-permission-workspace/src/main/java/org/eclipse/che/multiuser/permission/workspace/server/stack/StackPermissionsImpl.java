@@ -61,6 +61,24 @@ import org.eclipse.che.multiuser.api.permission.shared.model.Permissions;
             + "FROM StackPermissions stack "
             + "WHERE stack.stackId = :stackId "
             + "AND stack.userId IS NULL "
+  ),
+  @NamedQuery(
+    name = "StackPermissions.getCountByUserAndStackIdAndAction",
+    query =
+        "SELECT COUNT(stack) "
+            + "FROM StackPermissions stack "
+            + "WHERE stack.stackId = :stackId "
+            + "AND stack.userId = :userId "
+            + "AND :action MEMBER OF stack.actions "
+  ),
+  @NamedQuery(
+    name = "StackPermissions.getCountByStackIdPublicAndAction",
+    query =
+        "SELECT COUNT(stack) "
+            + "FROM StackPermissions stack "
+            + "WHERE stack.stackId = :stackId "
+            + "AND stack.userId IS NULL "
+            + "AND :action MEMBER OF stack.actions "
   )
 })
 @Table(name = "che_stack_permissions")
@@ -226,7 +226,8 @@ public class WorkspacePermissionsFilterTest {
             .get(SECURE_PATH + "/workspace");
 
     assertEquals(response.getStatusCode(), 200);
-    verify(workspaceService).getWorkspaces(any(), anyInt(), nullable(String.class));
+    verify(workspaceService)
+        .getWorkspaces(any(), anyInt(), nullable(String.class), nullable(String.class));
     verify(permissionsFilter, never()).checkAccountPermissions(anyString(), any());
     verifyZeroInteractions(subject);
   }
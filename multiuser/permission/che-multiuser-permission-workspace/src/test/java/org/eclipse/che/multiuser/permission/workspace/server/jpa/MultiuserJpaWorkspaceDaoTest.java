@@ -16,12 +16,14 @@ import static org.testng.Assert.assertTrue;
 import com.google.inject.Guice;
 import com.google.inject.Injector;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import javax.persistence.EntityManager;
 import org.eclipse.che.account.spi.AccountImpl;
 import org.eclipse.che.api.user.server.model.impl.UserImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.spi.WorkspaceSummary;
 import org.eclipse.che.commons.test.tck.TckResourcesCleaner;
 import org.eclipse.che.multiuser.permission.workspace.server.model.impl.WorkerImpl;
 import org.eclipse.che.multiuser.permission.workspace.server.spi.jpa.MultiuserJpaWorkspaceDao;
@@ -133,4 +135,17 @@ public class MultiuserJpaWorkspaceDaoTest {
     assertTrue(results.contains(workspaces[0]));
     assertTrue(results.contains(workspaces[1]));
   }
+
+  @Test
+  public void shouldFindSummariesByPermissions() throws Exception {
+    List<WorkspaceSummary> firstPage = dao.getSummaries(users[0].getId(), null, 1);
+    List<WorkspaceSummary> secondPage = dao.getSummaries(users[0].getId(), "ws1", 30);
+
+    assertEquals(
+        firstPage,
+        Collections.singletonList(new WorkspaceSummary("ws1", "wrksp1", "accountName", false)));
+    assertEquals(
+        secondPage,
+        Collections.singletonList(new WorkspaceSummary("ws2", "wrksp2", "accountName", false)));
+  }
 }
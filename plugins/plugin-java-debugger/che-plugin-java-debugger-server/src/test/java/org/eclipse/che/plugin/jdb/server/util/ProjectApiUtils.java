@@ -83,6 +83,20 @@ public class ProjectApiUtils {
                     .annotatedWith(Names.named("vfs.local.fs_index_root_dir"))
                     .toInstance(indexDir);
                 bind(String.class).annotatedWith(Names.named("che.api")).toInstance("api-endpoint");
+                bindConstant()
+                    .annotatedWith(Names.named("che.core.jsonrpc.processor_max_pool_size"))
+                    .to(10);
+                bindConstant()
+                    .annotatedWith(
+                        Names.named("che.core.jsonrpc.processor_max_in_flight_per_endpoint"))
+                    .to(10);
+                bindConstant()
+                    .annotatedWith(
+                        Names.named("che.core.jsonrpc.processor_max_queue_size_per_endpoint"))
+                    .to(100);
+                bindConstant()
+                    .annotatedWith(Names.named("che.core.jsonrpc.processor_virtual_threads"))
+                    .to(false);
                 bind(String.class)
                     .annotatedWith(Names.named("project.importer.default_importer_id"))
                     .toInstance("git");
@@ -29,6 +29,7 @@ import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.editor.server.impl.EditorWorkingCopy;
 import org.eclipse.che.api.editor.server.impl.EditorWorkingCopyManager;
 import org.eclipse.che.api.editor.server.impl.EditorWorkingCopyUpdatedEvent;
+import org.eclipse.che.api.editor.server.impl.Rope;
 import org.eclipse.che.api.project.server.ProjectManager;
 import org.eclipse.che.api.project.server.impl.RegisteredProject;
 import org.eclipse.che.api.project.shared.dto.EditorChangesDto;
@@ -187,9 +188,21 @@ public class JavaReconciler {
     }
 
     String oldContent = workingCopy.getBuffer().getContents();
-    String newContent = editorWorkingCopy.getContentAsString();
+    Rope newContent = editorWorkingCopy.getContentSnapshot();
+
+    // only the changed region is replaced, so the whole content is not copied for each change
+    int oldLength = oldContent.length();
+    int newLength = newContent.length();
+    int start = newContent.commonPrefixLength(oldContent);
+    int suffix = newContent.commonSuffixLength(oldContent, Math.min(oldLength, newLength) - start);
+    int oldEnd = oldLength - suffix;
+    int newEnd = newLength - suffix;
+    if (start == oldEnd && start == newEnd) {
+      return;
+    }
 
-    TextEdit textEdit = new ReplaceEdit(0, oldContent.length(), newContent);
+    TextEdit textEdit =
+        new ReplaceEdit(start, oldEnd - start, newContent.subSequence(start, newEnd).toString());
     workingCopy.applyTextEdit(textEdit, null);
   }
 
@@ -11,6 +11,7 @@
 package org.eclipse.che.plugin.languageserver.ide.editor.codeassist;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static org.eclipse.che.plugin.languageserver.ide.service.TextDocumentServiceClient.isCancelled;
 
 import com.google.inject.Inject;
 import com.google.inject.assistedinject.Assisted;
@@ -95,7 +96,9 @@ public class LanguageServerCodeAssistProcessor implements CodeAssistProcessor {
               })
           .catchError(
               error -> {
-                lastErrorMessage = error.getMessage();
+                if (!isCancelled(error)) {
+                  lastErrorMessage = error.getMessage();
+                }
               });
     }
   }
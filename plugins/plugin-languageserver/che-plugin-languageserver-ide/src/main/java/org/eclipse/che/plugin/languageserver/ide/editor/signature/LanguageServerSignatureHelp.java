@@ -10,6 +10,8 @@
  */
 package org.eclipse.che.plugin.languageserver.ide.editor.signature;
 
+import static org.eclipse.che.plugin.languageserver.ide.service.TextDocumentServiceClient.isCancelled;
+
 import com.google.common.base.Optional;
 import com.google.inject.Inject;
 import com.google.inject.assistedinject.Assisted;
@@ -80,6 +82,9 @@ public class LanguageServerSignatureHelp implements SignatureHelpProvider {
             new Function<PromiseError, Optional<SignatureHelp>>() {
               @Override
               public Optional<SignatureHelp> apply(PromiseError arg) throws FunctionException {
+                if (isCancelled(arg)) {
+                  return Optional.absent();
+                }
                 notificationManager.notify(
                     arg.getMessage(),
                     StatusNotification.Status.FAIL,
@@ -10,6 +10,8 @@
  */
 package org.eclipse.che.plugin.languageserver.ide.location;
 
+import static org.eclipse.che.plugin.languageserver.ide.service.TextDocumentServiceClient.isCancelled;
+
 import com.google.gwt.user.client.ui.AcceptsOneWidget;
 import com.google.gwt.user.client.ui.IsWidget;
 import com.google.inject.Inject;
@@ -81,6 +83,9 @@ public class OpenLocationPresenter extends BasePresenter
   }
 
   public void showError(PromiseError arg) {
+    if (isCancelled(arg)) {
+      return;
+    }
     notificationManager.notify(
         title,
         arg.getMessage(),
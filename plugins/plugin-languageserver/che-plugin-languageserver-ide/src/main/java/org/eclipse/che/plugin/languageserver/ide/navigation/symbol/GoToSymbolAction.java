@@ -12,6 +12,7 @@ package org.eclipse.che.plugin.languageserver.ide.navigation.symbol;
 
 import static java.util.Collections.singletonList;
 import static org.eclipse.che.ide.part.perspectives.project.ProjectPerspective.PROJECT_PERSPECTIVE_ID;
+import static org.eclipse.che.plugin.languageserver.ide.service.TextDocumentServiceClient.isCancelled;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
@@ -115,6 +116,9 @@ public class GoToSymbolAction extends AbstractPerspectiveAction
             })
         .catchError(
             arg -> {
+              if (isCancelled(arg)) {
+                return;
+              }
               notificationManager.notify(
                   "Can't fetch document symbols.",
                   arg.getMessage(),
@@ -49,6 +49,9 @@ import org.eclipse.lsp4j.services.TextDocumentService;
 @Singleton
 public class TextDocumentServiceClient {
 
+  /** Code of the error answered to a request cancelled or superseded by a newer one. */
+  private static final int REQUEST_CANCELLED = -32800;
+
   private final RequestTransmitter requestTransmitter;
 
   @Inject
@@ -264,6 +267,17 @@ public class TextDocumentServiceClient {
         .sendAndSkipResult();
   }
 
+  /**
+   * Checks whether the request is failed because it was cancelled, e.g. a newer request of the
+   * same kind for the same document was sent. Such failures are expected and are not meant to be
+   * shown.
+   */
+  public static boolean isCancelled(PromiseError error) {
+    Throwable cause = error.getCause();
+    return cause instanceof JsonRpcException
+        && ((JsonRpcException) cause).getCode() == REQUEST_CANCELLED;
+  }
+
   private PromiseError getPromiseError(JsonRpcError jsonRpcError) {
     return new PromiseError() {
       @Override
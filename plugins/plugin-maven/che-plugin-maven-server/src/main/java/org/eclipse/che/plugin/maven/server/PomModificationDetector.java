@@ -19,6 +19,7 @@ import javax.annotation.PreDestroy;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.project.shared.dto.event.PomModifiedEventDto;
 import org.eclipse.che.api.watcher.server.FileWatcherManager;
+import org.eclipse.che.api.watcher.server.IndexedPathMatcher;
 
 public class PomModificationDetector {
 
@@ -39,7 +40,7 @@ public class PomModificationDetector {
   public void startWatcher() {
     id =
         manager.registerByMatcher(
-            it -> !isDirectory(it) && POM_XML.equals(it.getFileName().toString()),
+            IndexedPathMatcher.fileName(POM_XML).and(it -> !isDirectory(it)),
             it -> {},
             it -> eventService.publish(newDto(PomModifiedEventDto.class).withPath(it)),
             it -> {});
@@ -26,6 +26,7 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 import org.eclipse.che.maven.data.MavenArtifact;
@@ -68,6 +69,8 @@ public class MavenProjectManager {
   private final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
   private final Lock readLock = readWriteLock.readLock();
   private final Lock writeLock = readWriteLock.writeLock();
+  /** Updates are run one at a time, they share progress notifier and look up projects to add. */
+  private final Lock updateLock = new ReentrantLock();
 
   private final MavenProjectListener dispatcher;
 
@@ -133,20 +136,28 @@ public class MavenProjectManager {
     if (projects.isEmpty()) {
       return;
     }
-    mavenNotifier.start();
-    UpdateState state = new UpdateState();
-    Deque<MavenProject> stack = new LinkedList<>();
-    for (IProject project : projects) {
-      MavenProject mavenProject = findMavenProject(project);
-      if (mavenProject != null) {
-        internalUpdate(
-            mavenProject, findParentProject(mavenProject), false, recursive, state, stack);
-      } else {
-        internalAddMavenProject(project, recursive, state, stack);
+    updateLock.lock();
+    try {
+      mavenNotifier.start();
+      UpdateState state = new UpdateState();
+      Deque<MavenProject> stack = new LinkedList<>();
+      try {
+        for (IProject project : projects) {
+          MavenProject mavenProject = findMavenProject(project);
+          if (mavenProject != null) {
+            internalUpdate(
+                mavenProject, findParentProject(mavenProject), false, recursive, state, stack);
+          } else {
+            internalAddMavenProject(project, recursive, state, stack);
+          }
+        }
+      } finally {
+        mavenNotifier.stop();
       }
+      state.fireUpdate();
+    } finally {
+      updateLock.unlock();
     }
-    mavenNotifier.stop();
-    state.fireUpdate();
   }
 
   public MavenProject findParentProject(MavenProject mavenProject) {
@@ -15,7 +15,6 @@ import static org.eclipse.che.plugin.maven.shared.MavenAttributes.MAVEN_ID;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -33,6 +32,7 @@ import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.project.server.ProjectManager;
 import org.eclipse.che.api.project.server.impl.RegisteredProject;
 import org.eclipse.che.api.project.server.notification.ProjectDeletedEvent;
+import org.eclipse.che.api.project.server.type.ProjectAttributeValueCache;
 import org.eclipse.che.ide.ext.java.shared.Constants;
 import org.eclipse.che.jdt.core.launching.JREContainerInitializer;
 import org.eclipse.che.plugin.maven.server.core.classpath.ClasspathHelper;
@@ -78,7 +78,8 @@ public class MavenWorkspace {
       Provider<ProjectManager> projectManagerProvider,
       ClasspathManager classpathManager,
       EventService eventService,
-      EclipseWorkspaceProvider workspaceProvider) {
+      EclipseWorkspaceProvider workspaceProvider,
+      ProjectAttributeValueCache valueCache) {
     this.projectManagerProvider = projectManagerProvider;
     this.classpathManager = classpathManager;
     this.manager = manager;
@@ -96,6 +97,7 @@ public class MavenWorkspace {
           @Override
           public void projectResolved(
               MavenProject project, MavenProjectModifications modifications) {
+            valueCache.invalidate(project.getProject().getFullPath().toOSString());
             //                communication.sendUpdateMassage(Collections.emptySet(),
             // Collections.emptyList());
           }
@@ -103,6 +105,13 @@ public class MavenWorkspace {
           @Override
           public void projectUpdated(
               Map<MavenProject, MavenProjectModifications> updated, List<MavenProject> removed) {
+            // attributes of maven projects are provided from their models, which are changed now
+            updated
+                .keySet()
+                .forEach(it -> valueCache.invalidate(it.getProject().getFullPath().toOSString()));
+            removed.forEach(
+                it -> valueCache.invalidate(it.getProject().getFullPath().toOSString()));
+
             removeProjects(removed);
             createNewProjects(updated.keySet());
 
@@ -181,12 +190,12 @@ public class MavenWorkspace {
   }
 
   private void runResolve() {
-    // TODO synchronise on projectsToResolve change
-    Set<MavenProject> needResolve = new HashSet<>(projectsToResolve);
-    projectsToResolve.clear();
-
-    for (MavenProject mavenProject : needResolve) {
-
+    for (MavenProject mavenProject : projectsToResolve) {
+      // projects are taken one by one, so concurrent updates don't resolve the same project twice
+      // and projects added concurrently are not lost
+      if (!projectsToResolve.remove(mavenProject)) {
+        continue;
+      }
       resolveExecutor.submitTask(
           new MavenProjectResolveTask(
               mavenProject,
@@ -184,10 +184,12 @@ public class PomReconciler {
       return;
     }
 
-    String newPomContent = workingCopy.getContentAsString();
-    if (isNullOrEmpty(newPomContent)) {
+    // the snapshot is converted outside of the working copy, so editor changes are not blocked
+    CharSequence snapshot = workingCopy.getContentSnapshot();
+    if (snapshot.length() == 0) {
       return;
     }
+    String newPomContent = snapshot.toString();
 
     List<Problem> problems;
     try {
@@ -10,6 +10,9 @@
  */
 package org.eclipse.che.plugin.maven.server.projecttype;
 
+import static java.util.Collections.singleton;
+
+import java.util.Set;
 import javax.inject.Inject;
 import org.eclipse.che.api.fs.server.FsManager;
 import org.eclipse.che.api.project.server.type.ValueProvider;
@@ -22,6 +25,11 @@ public class MavenValueProviderFactory implements ValueProviderFactory {
   @Inject MavenProjectManager mavenProjectManager;
   @Inject FsManager fsManager;
 
+  @Override
+  public Set<String> getWatchedFiles() {
+    return singleton("pom.xml");
+  }
+
   @Override
   public ValueProvider newInstance(String wsPath) {
     return new MavenValueProvider(mavenProjectManager, wsPath, fsManager);
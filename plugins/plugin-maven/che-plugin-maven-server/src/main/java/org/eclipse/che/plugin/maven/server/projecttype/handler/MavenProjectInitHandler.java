@@ -36,6 +36,12 @@ public class MavenProjectInitHandler extends AbstractJavaInitHandler {
     return MAVEN_ID;
   }
 
+  /** Updates of maven projects are serialized by the maven project manager. */
+  @Override
+  public boolean isThreadSafe() {
+    return true;
+  }
+
   @Override
   protected void initializeClasspath(IJavaProject javaProject) {
     mavenWorkspace.get().update(Collections.singletonList(javaProject.getProject()));
@@ -35,9 +35,11 @@ import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
 import org.eclipse.che.api.fs.server.FsManager;
 import org.eclipse.che.api.project.server.ProjectManager;
+import org.eclipse.che.api.project.server.type.ProjectAttributeValueCache;
 import org.eclipse.che.api.project.shared.dto.event.GitCheckoutEventDto;
 import org.eclipse.che.api.project.shared.dto.event.GitCheckoutEventDto.Type;
 import org.eclipse.che.api.watcher.server.FileWatcherManager;
+import org.eclipse.che.api.watcher.server.IndexedPathMatcher;
 import org.slf4j.Logger;
 
 public class GitCheckoutDetector {
@@ -54,6 +56,7 @@ public class GitCheckoutDetector {
   private final FileWatcherManager manager;
   private final FsManager fsManager;
   private final ProjectManager projectManager;
+  private final ProjectAttributeValueCache valueCache;
 
   private final Set<String> endpointIds = newConcurrentHashSet();
 
@@ -64,11 +67,13 @@ public class GitCheckoutDetector {
       RequestTransmitter transmitter,
       FileWatcherManager manager,
       FsManager fsManager,
-      ProjectManager projectManager) {
+      ProjectManager projectManager,
+      ProjectAttributeValueCache valueCache) {
     this.transmitter = transmitter;
     this.manager = manager;
     this.fsManager = fsManager;
     this.projectManager = projectManager;
+    this.valueCache = valueCache;
   }
 
   @Inject
@@ -92,10 +97,7 @@ public class GitCheckoutDetector {
   }
 
   private PathMatcher matcher() {
-    return it ->
-        !isDirectory(it)
-            && HEAD_FILE.equals(it.getFileName().toString())
-            && GIT_DIR.equals(it.getParent().getFileName().toString());
+    return IndexedPathMatcher.fileName(HEAD_FILE, GIT_DIR).and(it -> !isDirectory(it));
   }
 
   private Consumer<String> createConsumer() {
@@ -121,6 +123,7 @@ public class GitCheckoutDetector {
         // Update project attributes with new git values
 
         String wsPath = absolutize(it.split("/")[1]);
+        valueCache.invalidate(wsPath);
         projectManager.setType(wsPath, GitProjectType.TYPE_ID, true);
 
         endpointIds.forEach(transmitConsumer(type, name, project));
@@ -13,7 +13,11 @@ package org.eclipse.che.api.git;
 import static com.google.inject.multibindings.Multibinder.newSetBinder;
 
 import com.google.inject.AbstractModule;
+import com.google.inject.TypeLiteral;
 import com.google.inject.multibindings.Multibinder;
+import com.google.inject.name.Names;
+import java.nio.file.Path;
+import java.util.function.Consumer;
 import org.eclipse.che.api.project.server.ProjectImporter;
 import org.eclipse.che.api.project.server.VcsStatusProvider;
 import org.eclipse.che.api.project.server.type.ProjectTypeDef;
@@ -38,6 +42,23 @@ public class GitModule extends AbstractModule {
     Multibinder<VcsStatusProvider> vcsStatusProviderMultibinder =
         newSetBinder(binder(), VcsStatusProvider.class);
     vcsStatusProviderMultibinder.addBinding().to(GitStatusProvider.class);
+    newSetBinder(binder(), new TypeLiteral<Consumer<Path>>() {}, Names.named("che.fs.file.create"))
+        .addBinding()
+        .to(GitStatusCache.class);
+    newSetBinder(binder(), new TypeLiteral<Consumer<Path>>() {}, Names.named("che.fs.file.update"))
+        .addBinding()
+        .to(GitStatusCache.class);
+    newSetBinder(binder(), new TypeLiteral<Consumer<Path>>() {}, Names.named("che.fs.file.delete"))
+        .addBinding()
+        .to(GitStatusCache.class);
+    newSetBinder(
+            binder(), new TypeLiteral<Consumer<Path>>() {}, Names.named("che.fs.directory.create"))
+        .addBinding()
+        .to(GitStatusCache.class);
+    newSetBinder(
+            binder(), new TypeLiteral<Consumer<Path>>() {}, Names.named("che.fs.directory.delete"))
+        .addBinding()
+        .to(GitStatusCache.class);
 
     Multibinder<ValueProviderFactory> multiBinder =
         Multibinder.newSetBinder(binder(), ValueProviderFactory.class);
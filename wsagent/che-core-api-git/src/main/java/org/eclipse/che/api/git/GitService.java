@@ -115,6 +115,8 @@ public class GitService {
 
   @Inject private PathTransformer pathTransformer;
 
+  @Inject private GitStatusCache gitStatusCache;
+
   @QueryParam("projectPath")
   private String projectPath;
 
@@ -139,6 +141,8 @@ public class GitService {
               .withNoTrack(request.isNoTrack())
               .withTrackBranch(request.getTrackBranch())
               .withStartPoint(request.getStartPoint()));
+    } finally {
+      invalidateStatus();
     }
   }
 
@@ -351,6 +355,8 @@ public class GitService {
   public MergeResult merge(MergeRequest request) throws ApiException {
     try (GitConnection gitConnection = getGitConnection()) {
       return gitConnection.merge(request.getCommit());
+    } finally {
+      invalidateStatus();
     }
   }
 
@@ -361,6 +367,8 @@ public class GitService {
   public RebaseResponse rebase(RebaseRequest request) throws ApiException {
     try (GitConnection gitConnection = getGitConnection()) {
       return gitConnection.rebase(request.getOperation(), request.getBranch());
+    } finally {
+      invalidateStatus();
     }
   }
 
@@ -370,6 +378,8 @@ public class GitService {
   public void move(MoveRequest request) throws ApiException {
     try (GitConnection gitConnection = getGitConnection()) {
       gitConnection.mv(request.getSource(), request.getTarget());
+    } finally {
+      invalidateStatus();
     }
   }
 
@@ -379,6 +389,8 @@ public class GitService {
       throws ApiException {
     try (GitConnection gitConnection = getGitConnection()) {
       gitConnection.rm(RmParams.create(items).withCached(cached));
+    } finally {
+      invalidateStatus();
     }
   }
 
@@ -394,6 +406,8 @@ public class GitService {
               .withTimeout(request.getTimeout())
               .withUsername(request.getUsername())
               .withPassword(request.getPassword()));
+    } finally {
+      invalidateStatus();
     }
   }
 
@@ -466,6 +480,8 @@ public class GitService {
       gitConnection.reset(
           ResetParams.create(request.getCommit(), request.getType())
               .withFilePattern(request.getFilePattern()));
+    } finally {
+      invalidateStatus();
     }
   }
 
@@ -475,6 +491,8 @@ public class GitService {
   public RevertResult revert(RevertRequest request) throws ApiException {
     try (GitConnection gitConnection = getGitConnection()) {
       return gitConnection.revert(request.getCommit());
+    } finally {
+      invalidateStatus();
     }
   }
 
@@ -600,6 +618,11 @@ public class GitService {
     return gitConnectionFactory.getConnection(getAbsoluteProjectPath(projectPath));
   }
 
+  /** Makes the status of the project computed again after an operation changed working tree. */
+  private void invalidateStatus() {
+    gitStatusCache.invalidate(pathTransformer.transform(projectPath).toString());
+  }
+
   /**
    * Checks object reference is not {@code null}
    *
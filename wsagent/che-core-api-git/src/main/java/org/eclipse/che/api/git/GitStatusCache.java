@@ -0,0 +1,292 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.git;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+import static org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus.ADDED;
+import static org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus.MODIFIED;
+import static org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus.NOT_MODIFIED;
+import static org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus.UNTRACKED;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.fs.server.PathTransformer;
+import org.eclipse.che.api.git.exception.GitException;
+import org.eclipse.che.api.git.exception.GitInvalidRepositoryException;
+import org.eclipse.che.api.git.shared.Status;
+import org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus;
+import org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent;
+
+/**
+ * Keeps git status of each project, so tree listings and status change notifications share a
+ * single status instead of running {@code git status} for each request.
+ *
+ * <p>A snapshot is computed in full once and then updated incrementally: file system events
+ * reported by the file tree walker (see {@link #accept(Path)}) and items modified through the
+ * project API, e.g. saved by the editor, mark changed paths, the status of only these paths is
+ * computed on the next request and merged into the snapshot. A snapshot is computed in full again
+ * when the index, {@code HEAD} or its reflog are changed, e.g. after staging, commit or checkout,
+ * or when it is {@link #invalidate(String) invalidated} by git operations that change the working
+ * tree.
+ */
+@Singleton
+public class GitStatusCache implements Consumer<Path> {
+
+  /** When more paths are changed the status is computed in full, it is cheaper than filtering. */
+  static final int MAX_INCREMENTAL_PATHS = 64;
+
+  private static final String GIT_DIR = ".git";
+  private static final List<String> REPOSITORY_STATE_FILES =
+      asList(".git/index", ".git/HEAD", ".git/logs/HEAD");
+
+  private final GitConnectionFactory gitConnectionFactory;
+  private final Map<Path, CachedStatus> statuses = new ConcurrentHashMap<>();
+
+  @Inject
+  public GitStatusCache(GitConnectionFactory gitConnectionFactory) {
+    this.gitConnectionFactory = gitConnectionFactory;
+  }
+
+  @Inject
+  void subscribe(EventService eventService, PathTransformer pathTransformer) {
+    eventService.subscribe(
+        new EventSubscriber<ProjectItemModifiedEvent>() {
+          @Override
+          public void onEvent(ProjectItemModifiedEvent event) {
+            accept(pathTransformer.transform(event.getPath()));
+          }
+        });
+  }
+
+  /**
+   * Returns actual status of the repository of the project.
+   *
+   * @param projectFsPath file system path of the project
+   * @throws GitException if the status can't be computed
+   */
+  public Snapshot getStatus(String projectFsPath) throws GitException {
+    Path projectPath = Paths.get(projectFsPath);
+    CachedStatus cached = statuses.computeIfAbsent(projectPath, CachedStatus::new);
+    try {
+      return cached.refresh();
+    } catch (GitInvalidRepositoryException e) {
+      statuses.remove(projectPath, cached);
+      throw e;
+    }
+  }
+
+  /**
+   * Returns actual status of the repository of the project, status of the given item is always
+   * computed again, so changes that are not reported by file system events yet are also visible.
+   *
+   * @param projectFsPath file system path of the project
+   * @param itemPath path of the item relative to the project
+   * @throws GitException if the status can't be computed
+   */
+  public Snapshot getStatus(String projectFsPath, String itemPath) throws GitException {
+    Path projectPath = Paths.get(projectFsPath);
+    statuses.computeIfAbsent(projectPath, CachedStatus::new).changedPaths.add(itemPath);
+    return getStatus(projectFsPath);
+  }
+
+  /**
+   * Makes the status of the project computed in full on the next request, even if it is being
+   * computed at the moment.
+   *
+   * @param projectFsPath file system path of the project
+   */
+  public void invalidate(String projectFsPath) {
+    CachedStatus cached = statuses.get(Paths.get(projectFsPath));
+    if (cached != null) {
+      cached.invalidations.incrementAndGet();
+    }
+  }
+
+  /** Marks the item of file system as changed, if it belongs to a project which status is kept. */
+  @Override
+  public void accept(Path fsPath) {
+    for (Path parent = fsPath.getParent(); parent != null; parent = parent.getParent()) {
+      CachedStatus cached = statuses.get(parent);
+      if (cached != null) {
+        Path relative = parent.relativize(fsPath);
+        if (!relative.getName(0).toString().equals(GIT_DIR)) {
+          cached.changedPaths.add(relative.toString().replace('\\', '/'));
+        }
+        return;
+      }
+    }
+    // the project itself is created or removed
+    statuses.remove(fsPath);
+  }
+
+  /** Immutable status of a repository. */
+  public static class Snapshot {
+    private final Status status;
+    private final Map<String, VcsStatus> vcsStatuses;
+    private final Object stateId;
+
+    private Snapshot(Status status, Object stateId) {
+      this.status = status;
+      this.stateId = stateId;
+      this.vcsStatuses = new HashMap<>();
+      // the latter has priority, the same order as the one of checks in status provider
+      status.getChanged().forEach(path -> vcsStatuses.put(path, MODIFIED));
+      status.getModified().forEach(path -> vcsStatuses.put(path, MODIFIED));
+      status.getAdded().forEach(path -> vcsStatuses.put(path, ADDED));
+      status.getUntracked().forEach(path -> vcsStatuses.put(path, UNTRACKED));
+    }
+
+    /** Returns status of the repository, it must not be modified. */
+    public Status getStatus() {
+      return status;
+    }
+
+    /** Returns status of the file with the given path relative to the project. */
+    public VcsStatus getVcsStatus(String path) {
+      return vcsStatuses.getOrDefault(path, NOT_MODIFIED);
+    }
+  }
+
+  /** Snapshot of a project along with its pending changes, snapshot is guarded by the instance. */
+  private class CachedStatus {
+    final Path projectPath;
+    final Set<String> changedPaths = ConcurrentHashMap.newKeySet();
+    final AtomicInteger invalidations = new AtomicInteger();
+    volatile Snapshot snapshot;
+
+    CachedStatus(Path projectPath) {
+      this.projectPath = projectPath;
+    }
+
+    synchronized Snapshot refresh() throws GitException {
+      Object stateId = repositoryStateId();
+      Snapshot current = snapshot;
+      if (current != null && !Objects.equals(current.stateId, stateId)) {
+        current = null;
+      }
+      if (current != null && changedPaths.isEmpty()) {
+        return current;
+      }
+
+      Set<String> changed = new HashSet<>(changedPaths);
+      changedPaths.removeAll(changed);
+      try (GitConnection connection =
+          gitConnectionFactory.getConnection(projectPath.toString())) {
+        Status status;
+        if (current == null || changed.size() > MAX_INCREMENTAL_PATHS) {
+          status = copy(connection.status(emptyList()));
+        } else {
+          status = merge(current.status, connection.status(new ArrayList<>(changed)), changed);
+        }
+        current = new Snapshot(status, stateId);
+      } catch (GitException e) {
+        // the paths are not refreshed, keep them for the next attempt
+        changedPaths.addAll(changed);
+        throw e;
+      }
+      snapshot = current;
+      return current;
+    }
+
+    /** Identifies the state of the index and HEAD, changes if any of them is changed. */
+    private Object repositoryStateId() {
+      List<Object> id = new ArrayList<>();
+      id.add(invalidations.get());
+      for (String file : REPOSITORY_STATE_FILES) {
+        try {
+          BasicFileAttributes attributes =
+              Files.readAttributes(projectPath.resolve(file), BasicFileAttributes.class);
+          id.add(asList(attributes.fileKey(), attributes.lastModifiedTime(), attributes.size()));
+        } catch (IOException e) {
+          id.add(null);
+        }
+      }
+      return id;
+    }
+  }
+
+  private static Status copy(Status status) {
+    return merge(status, status, emptyList());
+  }
+
+  /** Replaces status of the changed paths, including items of changed directories, by actual. */
+  private static Status merge(Status base, Status actual, Collection<String> changed) {
+    Status merged = newDto(Status.class);
+    merged.setBranchName(actual.getBranchName());
+    merged.setRepositoryState(actual.getRepositoryState());
+    merged.setAdded(merge(base, actual, changed, Status::getAdded));
+    merged.setChanged(merge(base, actual, changed, Status::getChanged));
+    merged.setRemoved(merge(base, actual, changed, Status::getRemoved));
+    merged.setMissing(merge(base, actual, changed, Status::getMissing));
+    merged.setModified(merge(base, actual, changed, Status::getModified));
+    merged.setUntracked(merge(base, actual, changed, Status::getUntracked));
+    merged.setUntrackedFolders(merge(base, actual, changed, Status::getUntrackedFolders));
+    merged.setConflicting(merge(base, actual, changed, Status::getConflicting));
+    merged.setClean(
+        merged.getAdded().isEmpty()
+            && merged.getChanged().isEmpty()
+            && merged.getRemoved().isEmpty()
+            && merged.getMissing().isEmpty()
+            && merged.getModified().isEmpty()
+            && merged.getUntracked().isEmpty()
+            && merged.getConflicting().isEmpty());
+    return merged;
+  }
+
+  private static List<String> merge(
+      Status base,
+      Status actual,
+      Collection<String> changed,
+      Function<Status, List<String>> paths) {
+    Set<String> merged = new HashSet<>();
+    if (base != actual) {
+      for (String path : paths.apply(base)) {
+        if (!isAffected(path, changed)) {
+          merged.add(path);
+        }
+      }
+    }
+    merged.addAll(paths.apply(actual));
+    return unmodifiableList(new ArrayList<>(merged));
+  }
+
+  private static boolean isAffected(String path, Collection<String> changed) {
+    for (String changedPath : changed) {
+      if (path.equals(changedPath)
+          || (path.startsWith(changedPath) && path.charAt(changedPath.length()) == '/')) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -12,7 +12,6 @@ package org.eclipse.che.api.git;
 
 import static com.google.common.collect.Sets.newConcurrentHashSet;
 import static java.nio.file.Files.isDirectory;
-import static java.util.Collections.emptyList;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -41,6 +40,7 @@ import org.eclipse.che.api.git.shared.StatusChangedEventDto;
 import org.eclipse.che.api.project.server.ProjectManager;
 import org.eclipse.che.api.project.server.impl.RegisteredProject;
 import org.eclipse.che.api.watcher.server.FileWatcherManager;
+import org.eclipse.che.api.watcher.server.IndexedPathMatcher;
 import org.slf4j.Logger;
 
 /**
@@ -63,6 +63,7 @@ public class GitStatusChangedDetector implements EventSubscriber<StatusChangedEv
   private final PathTransformer pathTransformer;
   private final ProjectManager projectManager;
   private final GitConnectionFactory gitConnectionFactory;
+  private final GitStatusCache gitStatusCache;
   private final EventService eventService;
 
   private final Set<String> endpointIds = newConcurrentHashSet();
@@ -77,12 +78,14 @@ public class GitStatusChangedDetector implements EventSubscriber<StatusChangedEv
       PathTransformer pathTransformer,
       ProjectManager projectManager,
       GitConnectionFactory gitConnectionFactory,
+      GitStatusCache gitStatusCache,
       EventService eventService) {
     this.transmitter = transmitter;
     this.manager = manager;
     this.pathTransformer = pathTransformer;
     this.projectManager = projectManager;
     this.gitConnectionFactory = gitConnectionFactory;
+    this.gitStatusCache = gitStatusCache;
     this.eventService = eventService;
   }
 
@@ -117,17 +120,11 @@ public class GitStatusChangedDetector implements EventSubscriber<StatusChangedEv
   }
 
   private PathMatcher origHeadMatcher() {
-    return it ->
-        !isDirectory(it)
-            && ORIG_HEAD_FILE.equals(it.getFileName().toString())
-            && GIT_DIR.equals(it.getParent().getFileName().toString());
+    return IndexedPathMatcher.fileName(ORIG_HEAD_FILE, GIT_DIR).and(it -> !isDirectory(it));
   }
 
   private PathMatcher indexMatcher() {
-    return it ->
-        !isDirectory(it)
-            && INDEX_FILE.equals(it.getFileName().toString())
-            && GIT_DIR.equals(it.getParent().getFileName().toString());
+    return IndexedPathMatcher.fileName(INDEX_FILE, GIT_DIR).and(it -> !isDirectory(it));
   }
 
   private Consumer<String> createConsumer() {
@@ -143,29 +140,28 @@ public class GitStatusChangedDetector implements EventSubscriber<StatusChangedEv
   }
 
   private Consumer<String> fsEventConsumer() {
-    return it -> endpointIds.forEach(transmitConsumer(it));
+    return it -> {
+      if (endpointIds.isEmpty()) {
+        return;
+      }
+      // the same event is sent to all the endpoints, so it is created once
+      StatusChangedEventDto event = createEvent(it);
+      if (event != null) {
+        endpointIds.forEach(id -> transmit(event, id));
+      }
+    };
   }
 
-  private Consumer<String> transmitConsumer(String wsPath) {
-    return id -> {
-      try {
-        RegisteredProject project =
-            projectManager
-                .getClosest(wsPath)
-                .orElseThrow(() -> new NotFoundException("Can't find a project"));
-
-        String projectFsPath = pathTransformer.transform(project.getPath()).toString();
-        GitConnection connection = gitConnectionFactory.getConnection(projectFsPath);
-        Status status = connection.status(emptyList());
-        Status statusDto = newDto(Status.class);
-        statusDto.setAdded(status.getAdded());
-        statusDto.setUntracked(status.getUntracked());
-        statusDto.setChanged(status.getChanged());
-        statusDto.setModified(status.getModified());
-        statusDto.setMissing(status.getMissing());
-        statusDto.setRemoved(status.getRemoved());
-        statusDto.setConflicting(status.getConflicting());
+  private StatusChangedEventDto createEvent(String wsPath) {
+    try {
+      RegisteredProject project =
+          projectManager
+              .getClosest(wsPath)
+              .orElseThrow(() -> new NotFoundException("Can't find a project"));
 
+      String projectFsPath = pathTransformer.transform(project.getPath()).toString();
+      Status status = gitStatusCache.getStatus(projectFsPath).getStatus();
+      try (GitConnection connection = gitConnectionFactory.getConnection(projectFsPath)) {
         Map<String, List<EditedRegion>> modifiedFiles = new HashMap<>();
         for (String file : status.getChanged()) {
           modifiedFiles.put(file, connection.getEditedRegions(file));
@@ -174,21 +170,19 @@ public class GitStatusChangedDetector implements EventSubscriber<StatusChangedEv
           modifiedFiles.put(file, connection.getEditedRegions(file));
         }
 
-        StatusChangedEventDto statusChangeEventDto =
-            newDto(StatusChangedEventDto.class)
-                .withProjectName(connection.getWorkingDir().getName())
-                .withStatus(status)
-                .withModifiedFiles(modifiedFiles);
-
-        transmit(statusChangeEventDto, id);
-      } catch (GitCommitInProgressException
-          | GitCheckoutInProgressException
-          | GitInvalidRepositoryException e) {
-        // Silent ignore
-      } catch (ServerException | NotFoundException e) {
-        LOG.error(e.getMessage());
+        return newDto(StatusChangedEventDto.class)
+            .withProjectName(connection.getWorkingDir().getName())
+            .withStatus(status)
+            .withModifiedFiles(modifiedFiles);
       }
-    };
+    } catch (GitCommitInProgressException
+        | GitCheckoutInProgressException
+        | GitInvalidRepositoryException e) {
+      // Silent ignore
+    } catch (ServerException | NotFoundException e) {
+      LOG.error(e.getMessage());
+    }
+    return null;
   }
 
   @Override
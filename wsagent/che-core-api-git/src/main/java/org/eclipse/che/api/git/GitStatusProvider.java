@@ -10,14 +10,9 @@
  */
 package org.eclipse.che.api.git;
 
-import static java.util.Collections.singletonList;
 import static org.eclipse.che.api.fs.server.WsPathUtils.SEPARATOR;
 import static org.eclipse.che.api.fs.server.WsPathUtils.absolutize;
 import static org.eclipse.che.api.fs.server.WsPathUtils.resolve;
-import static org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus.ADDED;
-import static org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus.MODIFIED;
-import static org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus.NOT_MODIFIED;
-import static org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus.UNTRACKED;
 
 import java.util.HashMap;
 import java.util.List;
@@ -27,28 +22,27 @@ import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.fs.server.PathTransformer;
 import org.eclipse.che.api.git.exception.GitException;
-import org.eclipse.che.api.git.shared.Status;
 import org.eclipse.che.api.project.server.ProjectManager;
 import org.eclipse.che.api.project.server.VcsStatusProvider;
 import org.eclipse.che.api.project.server.impl.RegisteredProject;
 
 /**
- * Git implementation of {@link VcsStatusProvider}.
+ * Git implementation of {@link VcsStatusProvider}, statuses are taken from {@link GitStatusCache}.
  *
  * @author Igor Vinokur
  */
 public class GitStatusProvider implements VcsStatusProvider {
 
-  private final GitConnectionFactory gitConnectionFactory;
+  private final GitStatusCache gitStatusCache;
   private final PathTransformer pathTransformer;
   private final ProjectManager projectManager;
 
   @Inject
   public GitStatusProvider(
-      GitConnectionFactory gitConnectionFactory,
+      GitStatusCache gitStatusCache,
       PathTransformer pathTransformer,
       ProjectManager projectManager) {
-    this.gitConnectionFactory = gitConnectionFactory;
+    this.gitStatusCache = gitStatusCache;
     this.pathTransformer = pathTransformer;
     this.projectManager = projectManager;
   }
@@ -68,18 +62,7 @@ public class GitStatusProvider implements VcsStatusProvider {
       String projectFsPath = pathTransformer.transform(project.getPath()).toString();
       wsPath = wsPath.substring(wsPath.startsWith(SEPARATOR) ? 1 : 0);
       String itemPath = wsPath.substring(wsPath.indexOf(SEPARATOR) + 1);
-      Status status =
-          gitConnectionFactory.getConnection(projectFsPath).status(singletonList(itemPath));
-      if (status.getUntracked().contains(itemPath)) {
-        return UNTRACKED;
-      } else if (status.getAdded().contains(itemPath)) {
-        return ADDED;
-      } else if (status.getModified().contains(itemPath)
-          || status.getChanged().contains(itemPath)) {
-        return MODIFIED;
-      } else {
-        return NOT_MODIFIED;
-      }
+      return gitStatusCache.getStatus(projectFsPath, itemPath).getVcsStatus(itemPath);
     } catch (GitException | NotFoundException e) {
       throw new ServerException(e.getMessage());
     }
@@ -95,21 +78,9 @@ public class GitStatusProvider implements VcsStatusProvider {
               .getClosest(absolutize(wsPath))
               .orElseThrow(() -> new NotFoundException("Can't find project"));
       String projectFsPath = pathTransformer.transform(project.getPath()).toString();
-      Status status = gitConnectionFactory.getConnection(projectFsPath).status(paths);
+      GitStatusCache.Snapshot status = gitStatusCache.getStatus(projectFsPath);
       paths.forEach(
-          path -> {
-            String itemWsPath = resolve(project.getPath(), path);
-            if (status.getUntracked().contains(path)) {
-              statusMap.put(itemWsPath, UNTRACKED);
-            } else if (status.getAdded().contains(path)) {
-              statusMap.put(itemWsPath, ADDED);
-            } else if (status.getModified().contains(path) || status.getChanged().contains(path)) {
-              statusMap.put(itemWsPath, MODIFIED);
-            } else {
-              statusMap.put(itemWsPath, NOT_MODIFIED);
-            }
-          });
-
+          path -> statusMap.put(resolve(project.getPath(), path), status.getVcsStatus(path)));
     } catch (GitException | NotFoundException e) {
       throw new ServerException(e.getMessage());
     }
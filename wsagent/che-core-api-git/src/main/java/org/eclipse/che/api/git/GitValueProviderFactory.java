@@ -17,8 +17,10 @@ import static org.eclipse.che.api.git.GitProjectType.GIT_CURRENT_HEAD_NAME;
 import static org.eclipse.che.api.git.GitProjectType.GIT_REPOSITORY_REMOTES;
 import static org.eclipse.che.api.project.shared.Constants.VCS_PROVIDER_NAME;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.inject.Inject;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.ApiException;
@@ -34,10 +36,18 @@ import org.eclipse.che.api.project.server.type.ValueStorageException;
 @Singleton
 public class GitValueProviderFactory implements ValueProviderFactory {
 
+  /** Current head name depends on HEAD file, remotes on repository configuration. */
+  private static final Set<String> WATCHED_FILES = ImmutableSet.of(".git/HEAD", ".git/config");
+
   @Inject private PathTransformer pathTransformer;
 
   @Inject private GitConnectionFactory gitConnectionFactory;
 
+  @Override
+  public Set<String> getWatchedFiles() {
+    return WATCHED_FILES;
+  }
+
   @Override
   public ValueProvider newInstance(String wsPath) {
     return new ReadonlyValueProvider() {
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.git;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus.ADDED;
+import static org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus.MODIFIED;
+import static org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus.NOT_MODIFIED;
+import static org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus.UNTRACKED;
+import static org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent.EventType.UPDATED;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.fs.server.PathTransformer;
+import org.eclipse.che.api.git.shared.Status;
+import org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+@Listeners(MockitoTestNGListener.class)
+public class GitStatusCacheTest {
+
+  @Mock private GitConnectionFactory gitConnectionFactory;
+  @Mock private GitConnection gitConnection;
+  @Mock private PathTransformer pathTransformer;
+
+  private Path project;
+  private EventService eventService;
+  private GitStatusCache cache;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    project = Files.createTempDirectory("project");
+    Files.createDirectories(project.resolve(".git"));
+    Files.write(project.resolve(".git/index"), new byte[] {1});
+    when(gitConnectionFactory.getConnection(project.toString())).thenReturn(gitConnection);
+    when(gitConnection.status(emptyList()))
+        .thenReturn(
+            status(
+                asList("src/Added.java"), asList("src/Modified.java"), asList("Untracked.txt")));
+    eventService = new EventService();
+    cache = new GitStatusCache(gitConnectionFactory);
+    cache.subscribe(eventService, pathTransformer);
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    IoUtil.deleteRecursive(project.toFile());
+  }
+
+  @Test
+  public void shouldComputeStatusOnceUntilSomethingIsChanged() throws Exception {
+    GitStatusCache.Snapshot first = cache.getStatus(project.toString());
+    GitStatusCache.Snapshot second = cache.getStatus(project.toString());
+
+    assertSame(second, first);
+    assertEquals(first.getVcsStatus("src/Added.java"), ADDED);
+    assertEquals(first.getVcsStatus("src/Modified.java"), MODIFIED);
+    assertEquals(first.getVcsStatus("Untracked.txt"), UNTRACKED);
+    assertEquals(first.getVcsStatus("pom.xml"), NOT_MODIFIED);
+    verify(gitConnection).status(anyList());
+  }
+
+  @Test
+  public void shouldUpdateStatusOfChangedFilesOnly() throws Exception {
+    cache.getStatus(project.toString());
+    when(gitConnection.status(asList("src/Modified.java")))
+        .thenReturn(status(emptyList(), emptyList(), emptyList()));
+
+    cache.accept(project.resolve("src/Modified.java"));
+    GitStatusCache.Snapshot snapshot = cache.getStatus(project.toString());
+
+    assertEquals(snapshot.getVcsStatus("src/Modified.java"), NOT_MODIFIED);
+    assertEquals(snapshot.getVcsStatus("src/Added.java"), ADDED);
+    assertEquals(snapshot.getStatus().getUntracked(), singletonList("Untracked.txt"));
+    verify(gitConnection).status(emptyList());
+  }
+
+  @Test
+  public void shouldUpdateStatusOfItemsOfChangedDirectory() throws Exception {
+    cache.getStatus(project.toString());
+    when(gitConnection.status(asList("src")))
+        .thenReturn(status(emptyList(), asList("src/Added.java"), emptyList()));
+
+    cache.accept(project.resolve("src"));
+    GitStatusCache.Snapshot snapshot = cache.getStatus(project.toString());
+
+    assertEquals(snapshot.getVcsStatus("src/Added.java"), MODIFIED);
+    assertEquals(snapshot.getVcsStatus("src/Modified.java"), NOT_MODIFIED);
+    assertEquals(snapshot.getVcsStatus("Untracked.txt"), UNTRACKED);
+  }
+
+  @Test
+  public void shouldRefreshStatusOfRequestedItem() throws Exception {
+    cache.getStatus(project.toString());
+    when(gitConnection.status(asList("pom.xml")))
+        .thenReturn(status(emptyList(), asList("pom.xml"), emptyList()));
+
+    GitStatusCache.Snapshot snapshot = cache.getStatus(project.toString(), "pom.xml");
+
+    assertEquals(snapshot.getVcsStatus("pom.xml"), MODIFIED);
+  }
+
+  @Test
+  public void shouldIgnoreChangesInsideGitDirectory() throws Exception {
+    GitStatusCache.Snapshot first = cache.getStatus(project.toString());
+
+    cache.accept(project.resolve(".git/objects/ab"));
+
+    assertSame(cache.getStatus(project.toString()), first);
+  }
+
+  @Test
+  public void shouldComputeStatusAgainWhenIndexIsChanged() throws Exception {
+    cache.getStatus(project.toString());
+
+    Files.write(project.resolve(".git/index"), new byte[] {1, 2});
+    cache.getStatus(project.toString());
+
+    verify(gitConnection, times(2)).status(emptyList());
+    verify(gitConnection, never()).status(singletonList(".git/index"));
+  }
+
+  @Test
+  public void shouldUpdateStatusOfItemModifiedThroughProjectApi() throws Exception {
+    cache.getStatus(project.toString());
+    when(pathTransformer.transform("/project/pom.xml")).thenReturn(project.resolve("pom.xml"));
+    when(gitConnection.status(asList("pom.xml")))
+        .thenReturn(status(emptyList(), asList("pom.xml"), emptyList()));
+
+    eventService.publish(
+        new ProjectItemModifiedEvent(UPDATED, "/project", "/project/pom.xml", false));
+    GitStatusCache.Snapshot snapshot = cache.getStatus(project.toString());
+
+    assertEquals(snapshot.getVcsStatus("pom.xml"), MODIFIED);
+    verify(gitConnection).status(emptyList());
+  }
+
+  @Test
+  public void shouldComputeStatusAgainWhenInvalidated() throws Exception {
+    GitStatusCache.Snapshot first = cache.getStatus(project.toString());
+
+    cache.invalidate(project.toString());
+    GitStatusCache.Snapshot second = cache.getStatus(project.toString());
+
+    assertNotSame(second, first);
+    assertSame(cache.getStatus(project.toString()), second);
+    verify(gitConnection, times(2)).status(emptyList());
+  }
+
+  private static Status status(List<String> added, List<String> modified, List<String> untracked) {
+    Status status = newDto(Status.class);
+    status.setAdded(added);
+    status.setModified(modified);
+    status.setUntracked(untracked);
+    return status;
+  }
+}
@@ -29,7 +29,6 @@ import org.eclipse.che.api.git.shared.Status;
 import org.eclipse.che.api.project.server.ProjectManager;
 import org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus;
 import org.eclipse.che.api.project.server.impl.RegisteredProject;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
@@ -48,7 +47,7 @@ public class GitStatusProviderTest {
   private @Mock PathTransformer pathTransformer;
   private @Mock ProjectManager projectManager;
   private @Mock Status statusDto;
-  private @InjectMocks GitStatusProvider gitStatusProvider;
+  private GitStatusProvider gitStatusProvider;
 
   @BeforeMethod
   public void setup() throws Exception {
@@ -58,7 +57,10 @@ public class GitStatusProviderTest {
     when(path.toString()).thenReturn("/fsPath/project");
     when(pathTransformer.transform("/project")).thenReturn(path);
     when(gitConnectionFactory.getConnection("/fsPath/project")).thenReturn(gitConnection);
-    when(gitConnection.status(singletonList(NORMALIZED_PATH))).thenReturn(statusDto);
+    when(gitConnection.status(anyList())).thenReturn(statusDto);
+    gitStatusProvider =
+        new GitStatusProvider(
+            new GitStatusCache(gitConnectionFactory), pathTransformer, projectManager);
   }
 
   @Test
@@ -130,7 +132,6 @@ public class GitStatusProviderTest {
     when(statusDto.getAdded()).thenReturn(singletonList(NORMALIZED_PATH + "2"));
     when(statusDto.getModified()).thenReturn(singletonList(NORMALIZED_PATH + "3"));
     when(statusDto.getChanged()).thenReturn(singletonList(NORMALIZED_PATH + "4"));
-    when(gitConnection.status(anyList())).thenReturn(statusDto);
 
     List<String> paths = new ArrayList<>();
     paths.add(NORMALIZED_PATH + "1");
@@ -13,8 +13,6 @@ package org.eclipse.che.api.languageserver.registry;
 import static org.eclipse.che.api.languageserver.service.LanguageServiceUtils.prefixURI;
 
 import com.google.common.annotations.VisibleForTesting;
-import java.nio.file.FileSystem;
-import java.nio.file.FileSystems;
 import java.nio.file.PathMatcher;
 import java.util.Collections;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -23,6 +21,7 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.eclipse.che.api.languageserver.launcher.LanguageServerLauncher;
 import org.eclipse.che.api.watcher.server.FileWatcherManager;
+import org.eclipse.che.api.watcher.server.IndexedPathMatcher;
 import org.eclipse.lsp4j.DidChangeWatchedFilesParams;
 import org.eclipse.lsp4j.FileChangeType;
 import org.eclipse.lsp4j.FileEvent;
@@ -69,9 +68,8 @@ public class LanguageServerFileWatcher {
       ServerCapabilities capabilities,
       String projectPath) {
     LanguageServerDescription description = launcher.getDescription();
-    FileSystem fileSystem = FileSystems.getDefault();
     for (String pattern : description.getFileWatchPatterns()) {
-      PathMatcher matcher = fileSystem.getPathMatcher(pattern);
+      PathMatcher matcher = IndexedPathMatcher.of(pattern);
       int watcherId =
           watcherManager.registerByMatcher(
               matcher,
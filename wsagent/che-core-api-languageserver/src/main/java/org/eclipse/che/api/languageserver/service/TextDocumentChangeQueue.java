@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.languageserver.service;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.eclipse.che.api.languageserver.service.LanguageServiceUtils.prefixURI;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.api.languageserver.exception.LanguageServerException;
+import org.eclipse.che.api.languageserver.registry.InitializedLanguageServer;
+import org.eclipse.che.api.languageserver.registry.LanguageServerRegistry;
+import org.eclipse.lsp4j.DidChangeTextDocumentParams;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.eclipse.lsp4j.VersionedTextDocumentIdentifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Forwards changes of text documents to language servers.
+ *
+ * <p>Changes of a document are merged into a single {@code textDocument/didChange} notification
+ * with the latest version of the document and forwarded once no more changes come within {@link
+ * #MERGE_WINDOW_MS} after the last one, so fast typing doesn't make each of the language servers
+ * reparse the document on each key stroke.
+ * Pending changes must be flushed with {@link #flush(String)} before sending a request which result
+ * depends on the content of the document.
+ */
+@Singleton
+public class TextDocumentChangeQueue {
+  private static final Logger LOG = LoggerFactory.getLogger(TextDocumentChangeQueue.class);
+
+  /** Time to wait for more changes of a document before forwarding them. */
+  static final long MERGE_WINDOW_MS = 100;
+
+  private final LanguageServerRegistry languageServerRegistry;
+  private final ScheduledExecutorService executor;
+  private final Map<String, PendingChanges> documents = new ConcurrentHashMap<>();
+
+  @Inject
+  public TextDocumentChangeQueue(LanguageServerRegistry languageServerRegistry) {
+    this(languageServerRegistry, newExecutor());
+  }
+
+  TextDocumentChangeQueue(
+      LanguageServerRegistry languageServerRegistry, ScheduledExecutorService executor) {
+    this.languageServerRegistry = languageServerRegistry;
+    this.executor = executor;
+  }
+
+  private static ScheduledExecutorService newExecutor() {
+    ScheduledThreadPoolExecutor executor =
+        new ScheduledThreadPoolExecutor(
+            1,
+            new ThreadFactoryBuilder()
+                .setNameFormat("TextDocumentChangeQueue")
+                .setDaemon(true)
+                .build());
+    // forwarding is rescheduled on each change, cancelled tasks must not pile up in the queue
+    executor.setRemoveOnCancelPolicy(true);
+    return executor;
+  }
+
+  /**
+   * Adds changes of a document, they are forwarded once no more changes come within the merge
+   * window after the last one or the document is flushed.
+   *
+   * @param params changes as they come from the client, with the uri of the client
+   */
+  public void add(DidChangeTextDocumentParams params) {
+    String uri = params.getTextDocument().getUri();
+    documents.computeIfAbsent(uri, PendingChanges::new).add(params);
+  }
+
+  /**
+   * Forwards pending changes of the document, if any, to language servers.
+   *
+   * @param uri uri of the document as the client sends it
+   */
+  public void flush(String uri) {
+    PendingChanges changes = documents.get(uri);
+    if (changes != null) {
+      changes.flush();
+    }
+  }
+
+  /** Forwards pending changes of all the documents. */
+  public void flushAll() {
+    documents.values().forEach(PendingChanges::flush);
+  }
+
+  /**
+   * Forwards pending changes of the document and forgets it, must be called before the document is
+   * closed.
+   *
+   * @param uri uri of the document as the client sends it
+   */
+  public void close(String uri) {
+    PendingChanges changes = documents.remove(uri);
+    if (changes != null) {
+      changes.flush();
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  /** Changes of a document that are not forwarded yet, guarded by the instance. */
+  private class PendingChanges {
+    final String uri;
+    final List<TextDocumentContentChangeEvent> contentChanges = new ArrayList<>();
+    Integer version;
+    ScheduledFuture<?> scheduledFlush;
+
+    PendingChanges(String uri) {
+      this.uri = uri;
+    }
+
+    synchronized void add(DidChangeTextDocumentParams params) {
+      for (TextDocumentContentChangeEvent change : params.getContentChanges()) {
+        if (change.getRange() == null) {
+          // the whole content is replaced, previous changes are not needed anymore
+          contentChanges.clear();
+        }
+        contentChanges.add(change);
+      }
+      version = params.getTextDocument().getVersion();
+      // the merge window is restarted, so the changes are forwarded once typing is paused
+      cancelScheduledFlush();
+      scheduledFlush = executor.schedule(this::flush, MERGE_WINDOW_MS, MILLISECONDS);
+    }
+
+    /** Sends the changes holding the lock, so notifications keep the order of changes. */
+    synchronized void flush() {
+      cancelScheduledFlush();
+      if (contentChanges.isEmpty()) {
+        return;
+      }
+      String prefixedUri = prefixURI(uri);
+      VersionedTextDocumentIdentifier document = new VersionedTextDocumentIdentifier();
+      document.setUri(prefixedUri);
+      document.setVersion(version);
+      DidChangeTextDocumentParams merged = new DidChangeTextDocumentParams();
+      merged.setTextDocument(document);
+      merged.setUri(prefixedUri);
+      merged.setContentChanges(new ArrayList<>(contentChanges));
+      contentChanges.clear();
+      try {
+        languageServerRegistry
+            .getApplicableLanguageServers(prefixedUri)
+            .stream()
+            .flatMap(Collection::stream)
+            .map(InitializedLanguageServer::getServer)
+            .forEach(server -> server.getTextDocumentService().didChange(merged));
+      } catch (LanguageServerException | RuntimeException e) {
+        LOG.error("Error trying to process textDocument/didChange", e);
+      }
+    }
+
+    private void cancelScheduledFlush() {
+      if (scheduledFlush != null) {
+        scheduledFlush.cancel(false);
+        scheduledFlush = null;
+      }
+    }
+  }
+}
@@ -37,6 +37,7 @@ import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcException;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcPromise;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
 import org.eclipse.che.api.languageserver.exception.LanguageServerException;
 import org.eclipse.che.api.languageserver.registry.InitializedLanguageServer;
@@ -58,6 +59,7 @@ import org.eclipse.che.api.languageserver.shared.model.ExtendedTextDocumentEdit;
 import org.eclipse.che.api.languageserver.shared.model.ExtendedTextEdit;
 import org.eclipse.che.api.languageserver.shared.model.ExtendedWorkspaceEdit;
 import org.eclipse.che.api.languageserver.shared.model.RenameResult;
+import org.eclipse.che.api.languageserver.util.FutureJsonRpcPromise;
 import org.eclipse.che.api.languageserver.util.LSOperation;
 import org.eclipse.che.api.languageserver.util.OperationUtil;
 import org.eclipse.jface.text.BadLocationException;
@@ -103,23 +105,39 @@ public class TextDocumentService {
 
   private final LanguageServerRegistry languageServerRegistry;
   private final RequestHandlerConfigurator requestHandler;
+  private final TextDocumentChangeQueue changeQueue;
+  /** Requests in progress by endpoint, method and document, see {@link #startRequest}. */
+  private final Map<String, CompletableFuture<?>> pendingRequests = new ConcurrentHashMap<>();
 
   @Inject
   public TextDocumentService(
-      LanguageServerRegistry languageServerRegistry, RequestHandlerConfigurator requestHandler) {
+      LanguageServerRegistry languageServerRegistry,
+      RequestHandlerConfigurator requestHandler,
+      TextDocumentChangeQueue changeQueue) {
     this.languageServerRegistry = languageServerRegistry;
     this.requestHandler = requestHandler;
+    this.changeQueue = changeQueue;
   }
 
   @PostConstruct
   public void configureMethods() {
-    dtoToDtoList(
-        "definition", TextDocumentPositionParams.class, LocationDto.class, this::definition);
-    dtoToDtoList("codeAction", CodeActionParams.class, CommandDto.class, this::codeAction);
-    dtoToDtoList(
+    dtoToPromiseList(
+        "definition",
+        TextDocumentPositionParams.class,
+        LocationDto.class,
+        TextDocumentPositionParams::getTextDocument,
+        this::definition);
+    dtoToPromiseList(
+        "codeAction",
+        CodeActionParams.class,
+        CommandDto.class,
+        CodeActionParams::getTextDocument,
+        this::codeAction);
+    dtoToPromiseList(
         "documentSymbol",
         DocumentSymbolParams.class,
         SymbolInformationDto.class,
+        DocumentSymbolParams::getTextDocument,
         this::documentSymbol);
     dtoToDtoList("formatting", DocumentFormattingParams.class, TextEditDto.class, this::formatting);
     dtoToDtoList(
@@ -127,36 +145,50 @@ public class TextDocumentService {
         DocumentRangeFormattingParams.class,
         TextEditDto.class,
         this::rangeFormatting);
-    dtoToDtoList("references", ReferenceParams.class, LocationDto.class, this::references);
+    dtoToPromiseList(
+        "references",
+        ReferenceParams.class,
+        LocationDto.class,
+        ReferenceParams::getTextDocument,
+        this::references);
     dtoToDtoList(
         "onTypeFormatting",
         DocumentOnTypeFormattingParams.class,
         TextEditDto.class,
         this::onTypeFormatting);
 
-    dtoToDto(
+    dtoToPromise(
         "completionItem/resolve",
         ExtendedCompletionItem.class,
         ExtendedCompletionItemDto.class,
+        null,
         this::completionItemResolve);
-    dtoToDto(
+    dtoToPromise(
         "documentHighlight",
         TextDocumentPositionParams.class,
-        DocumentHighlight.class,
+        DocumentHighlightDto.class,
+        TextDocumentPositionParams::getTextDocument,
         this::documentHighlight);
-    dtoToDto(
+    dtoToPromise(
         "completion",
         TextDocumentPositionParams.class,
         ExtendedCompletionListDto.class,
+        TextDocumentPositionParams::getTextDocument,
         this::completion);
-    dtoToDto("hover", TextDocumentPositionParams.class, HoverDto.class, this::hover);
-    dtoToDto(
+    dtoToPromise(
+        "hover",
+        TextDocumentPositionParams.class,
+        HoverDto.class,
+        TextDocumentPositionParams::getTextDocument,
+        this::hover);
+    dtoToPromise(
         "signatureHelp",
         TextDocumentPositionParams.class,
         SignatureHelpDto.class,
+        TextDocumentPositionParams::getTextDocument,
         this::signatureHelp);
 
-    dtoToDto("rename", RenameParams.class, RenameResultDto.class, this::rename);
+    dtoToPromise("rename", RenameParams.class, RenameResultDto.class, null, this::rename);
 
     dtoToNothing("didChange", DidChangeTextDocumentParams.class, this::didChange);
     dtoToNothing("didClose", DidCloseTextDocumentParams.class, this::didClose);
@@ -164,7 +196,7 @@ public class TextDocumentService {
     dtoToNothing("didSave", DidSaveTextDocumentParams.class, this::didSave);
   }
 
-  private List<CommandDto> codeAction(CodeActionParams params) {
+  private CompletableFuture<List<CommandDto>> codeAction(CodeActionParams params) {
     TextDocumentIdentifier textDocument = params.getTextDocument();
     String uri = prefixURI(textDocument.getUri());
     textDocument.setUri(uri);
@@ -198,14 +230,13 @@ public class TextDocumentService {
               return false;
             };
           };
-      OperationUtil.doInParallel(servers, op, 10000);
-      return result;
+      return OperationUtil.doInParallelAsync(servers, op, 10000, () -> result);
     } catch (LanguageServerException e) {
       throw new JsonRpcException(-27000, e.getMessage());
     }
   }
 
-  private ExtendedCompletionListDto completion(
+  private CompletableFuture<ExtendedCompletionListDto> completion(
       TextDocumentPositionParams textDocumentPositionParams) {
     try {
       TextDocumentIdentifier textDocument = textDocumentPositionParams.getTextDocument();
@@ -225,63 +256,56 @@ public class TextDocumentService {
             @Override
             public CompletableFuture<ExtendedCompletionListDto> start(
                 Collection<InitializedLanguageServer> element) {
-              return CompletableFuture.supplyAsync(
-                  () -> {
-                    ExtendedCompletionListDto res = new ExtendedCompletionListDto();
-                    List<ExtendedCompletionItem> items = new ArrayList<>();
-                    res.setItems(items);
-                    LSOperation<
-                            InitializedLanguageServer, Either<List<CompletionItem>, CompletionList>>
-                        op2 =
-                            new LSOperation<
-                                InitializedLanguageServer,
-                                Either<List<CompletionItem>, CompletionList>>() {
-
-                              @Override
-                              public boolean canDo(InitializedLanguageServer element) {
-                                return element
-                                        .getInitializeResult()
-                                        .getCapabilities()
-                                        .getCompletionProvider()
-                                    != null;
-                              }
-
-                              @Override
-                              public CompletableFuture<Either<List<CompletionItem>, CompletionList>>
-                                  start(InitializedLanguageServer element) {
-                                return element
-                                    .getServer()
-                                    .getTextDocumentService()
-                                    .completion(textDocumentPositionParams);
-                              }
-
-                              @Override
-                              public boolean handleResult(
-                                  InitializedLanguageServer element,
-                                  Either<List<CompletionItem>, CompletionList> result) {
-                                List<CompletionItem> itemList;
-                                if (result.isRight()) {
-                                  res.setInComplete(
-                                      res.isInComplete() && result.getRight().isIncomplete());
-                                  itemList = result.getRight().getItems();
-                                } else {
-                                  itemList = result.getLeft();
-                                }
-
-                                for (CompletionItem item : itemList) {
-                                  ExtendedCompletionItemDto exItem =
-                                      new ExtendedCompletionItemDto();
-                                  exItem.setItem(new CompletionItemDto(item));
-                                  exItem.setLanguageServerId(element.getId());
-                                  items.add(exItem);
-                                }
-                                return false;
-                              }
-                            };
-                    OperationUtil.doInParallel(element, op2, 30000);
-
-                    return res;
-                  });
+              ExtendedCompletionListDto res = new ExtendedCompletionListDto();
+              List<ExtendedCompletionItem> items = new ArrayList<>();
+              res.setItems(items);
+              LSOperation<InitializedLanguageServer, Either<List<CompletionItem>, CompletionList>>
+                  op2 =
+                      new LSOperation<
+                          InitializedLanguageServer,
+                          Either<List<CompletionItem>, CompletionList>>() {
+
+                        @Override
+                        public boolean canDo(InitializedLanguageServer element) {
+                          return element
+                                  .getInitializeResult()
+                                  .getCapabilities()
+                                  .getCompletionProvider()
+                              != null;
+                        }
+
+                        @Override
+                        public CompletableFuture<Either<List<CompletionItem>, CompletionList>>
+                            start(InitializedLanguageServer element) {
+                          return element
+                              .getServer()
+                              .getTextDocumentService()
+                              .completion(textDocumentPositionParams);
+                        }
+
+                        @Override
+                        public boolean handleResult(
+                            InitializedLanguageServer element,
+                            Either<List<CompletionItem>, CompletionList> result) {
+                          List<CompletionItem> itemList;
+                          if (result.isRight()) {
+                            res.setInComplete(
+                                res.isInComplete() && result.getRight().isIncomplete());
+                            itemList = result.getRight().getItems();
+                          } else {
+                            itemList = result.getLeft();
+                          }
+
+                          for (CompletionItem item : itemList) {
+                            ExtendedCompletionItemDto exItem = new ExtendedCompletionItemDto();
+                            exItem.setItem(new CompletionItemDto(item));
+                            exItem.setLanguageServerId(element.getId());
+                            items.add(exItem);
+                          }
+                          return false;
+                        }
+                      };
+              return OperationUtil.doInParallelAsync(element, op2, 30000, () -> res);
             }
 
             @Override
@@ -291,15 +315,15 @@ public class TextDocumentService {
               return !list.getItems().isEmpty();
             }
           };
-      OperationUtil.doInSequence(
-          languageServerRegistry.getApplicableLanguageServers(uri), op, 10000);
-      return result[0];
+      return OperationUtil.doInSequenceAsync(
+          languageServerRegistry.getApplicableLanguageServers(uri), op, 10000, () -> result[0]);
     } catch (LanguageServerException e) {
       throw new JsonRpcException(-27000, e.getMessage());
     }
   }
 
-  private List<SymbolInformationDto> documentSymbol(DocumentSymbolParams documentSymbolParams) {
+  private CompletableFuture<List<SymbolInformationDto>> documentSymbol(
+      DocumentSymbolParams documentSymbolParams) {
     String uri = prefixURI(documentSymbolParams.getTextDocument().getUri());
     documentSymbolParams.getTextDocument().setUri(uri);
     List<SymbolInformationDto> result = new ArrayList<>();
@@ -310,7 +334,7 @@ public class TextDocumentService {
               .stream()
               .flatMap(Collection::stream)
               .collect(Collectors.toList());
-      OperationUtil.doInParallel(
+      return OperationUtil.doInParallelAsync(
           servers,
           new LSOperation<InitializedLanguageServer, List<? extends SymbolInformation>>() {
 
@@ -340,15 +364,15 @@ public class TextDocumentService {
               return true;
             }
           },
-          10000);
-      return result;
+          10000,
+          () -> result);
 
     } catch (LanguageServerException e) {
       throw new JsonRpcException(-27000, e.getMessage());
     }
   }
 
-  private List<LocationDto> references(ReferenceParams referenceParams) {
+  private CompletableFuture<List<LocationDto>> references(ReferenceParams referenceParams) {
     String uri = prefixURI(referenceParams.getTextDocument().getUri());
     referenceParams.getTextDocument().setUri(uri);
     List<LocationDto> result = new ArrayList<>();
@@ -359,7 +383,7 @@ public class TextDocumentService {
               .stream()
               .flatMap(Collection::stream)
               .collect(Collectors.toList());
-      OperationUtil.doInParallel(
+      return OperationUtil.doInParallelAsync(
           servers,
           new LSOperation<InitializedLanguageServer, List<? extends Location>>() {
 
@@ -386,14 +410,15 @@ public class TextDocumentService {
               return true;
             }
           },
-          30000);
-      return result;
+          30000,
+          () -> result);
     } catch (LanguageServerException e) {
       throw new JsonRpcException(-27000, e.getMessage());
     }
   }
 
-  private List<LocationDto> definition(TextDocumentPositionParams textDocumentPositionParams) {
+  private CompletableFuture<List<LocationDto>> definition(
+      TextDocumentPositionParams textDocumentPositionParams) {
     String uri = prefixURI(textDocumentPositionParams.getTextDocument().getUri());
     textDocumentPositionParams.getTextDocument().setUri(uri);
     try {
@@ -404,7 +429,7 @@ public class TextDocumentService {
               .flatMap(Collection::stream)
               .collect(Collectors.toList());
       List<LocationDto> result = new ArrayList<>();
-      OperationUtil.doInParallel(
+      return OperationUtil.doInParallelAsync(
           servers,
           new LSOperation<InitializedLanguageServer, List<? extends Location>>() {
 
@@ -434,36 +459,35 @@ public class TextDocumentService {
               return true;
             }
           },
-          30000);
-      return result;
+          30000,
+          () -> result);
     } catch (LanguageServerException e) {
       throw new JsonRpcException(-27000, e.getMessage());
     }
   }
 
-  private ExtendedCompletionItemDto completionItemResolve(ExtendedCompletionItem unresolved) {
-    try {
-      InitializedLanguageServer server =
-          languageServerRegistry.getServer(unresolved.getLanguageServerId());
-
-      if (server != null) {
-        ExtendedCompletionItem res = new ExtendedCompletionItem();
-        res.setItem(
-            server
-                .getServer()
-                .getTextDocumentService()
-                .resolveCompletionItem(unresolved.getItem())
-                .get());
-        res.setLanguageServerId(unresolved.getLanguageServerId());
-        return new ExtendedCompletionItemDto(res);
-      }
-      return new ExtendedCompletionItemDto(unresolved);
-    } catch (InterruptedException | ExecutionException e) {
-      throw new JsonRpcException(-27000, e.getMessage());
+  private CompletableFuture<ExtendedCompletionItemDto> completionItemResolve(
+      ExtendedCompletionItem unresolved) {
+    InitializedLanguageServer server =
+        languageServerRegistry.getServer(unresolved.getLanguageServerId());
+
+    if (server != null) {
+      return server
+          .getServer()
+          .getTextDocumentService()
+          .resolveCompletionItem(unresolved.getItem())
+          .thenApply(
+              item -> {
+                ExtendedCompletionItem res = new ExtendedCompletionItem();
+                res.setItem(item);
+                res.setLanguageServerId(unresolved.getLanguageServerId());
+                return new ExtendedCompletionItemDto(res);
+              });
     }
+    return CompletableFuture.completedFuture(new ExtendedCompletionItemDto(unresolved));
   }
 
-  private HoverDto hover(TextDocumentPositionParams positionParams) {
+  private CompletableFuture<HoverDto> hover(TextDocumentPositionParams positionParams) {
     String uri = prefixURI(positionParams.getTextDocument().getUri());
     positionParams.getTextDocument().setUri(uri);
     positionParams.setUri(prefixURI(positionParams.getUri()));
@@ -477,7 +501,7 @@ public class TextDocumentService {
               .stream()
               .flatMap(Collection::stream)
               .collect(Collectors.toList());
-      OperationUtil.doInParallel(
+      return OperationUtil.doInParallelAsync(
           servers,
           new LSOperation<InitializedLanguageServer, Hover>() {
 
@@ -500,14 +524,15 @@ public class TextDocumentService {
               return true;
             }
           },
-          10000);
-      return result;
+          10000,
+          () -> result);
     } catch (LanguageServerException e) {
       throw new JsonRpcException(-27000, e.getMessage());
     }
   }
 
-  private SignatureHelpDto signatureHelp(TextDocumentPositionParams positionParams) {
+  private CompletableFuture<SignatureHelpDto> signatureHelp(
+      TextDocumentPositionParams positionParams) {
     String uri = prefixURI(positionParams.getTextDocument().getUri());
     positionParams.getTextDocument().setUri(uri);
     positionParams.setUri(prefixURI(positionParams.getUri()));
@@ -542,14 +567,14 @@ public class TextDocumentService {
               return false;
             }
           };
-      OperationUtil.doInSequence(servers, op, 10000);
-      return result[0];
+      return OperationUtil.doInSequenceAsync(servers, op, 10000, () -> result[0]);
     } catch (LanguageServerException e) {
       throw new JsonRpcException(-27000, e.getMessage());
     }
   }
 
   private List<TextEditDto> formatting(DocumentFormattingParams documentFormattingParams) {
+    changeQueue.flush(documentFormattingParams.getTextDocument().getUri());
     try {
       String uri = prefixURI(documentFormattingParams.getTextDocument().getUri());
       documentFormattingParams.getTextDocument().setUri(uri);
@@ -587,6 +612,7 @@ public class TextDocumentService {
 
   private List<TextEditDto> rangeFormatting(
       DocumentRangeFormattingParams documentRangeFormattingParams) {
+    changeQueue.flush(documentRangeFormattingParams.getTextDocument().getUri());
     try {
       String uri = prefixURI(documentRangeFormattingParams.getTextDocument().getUri());
       documentRangeFormattingParams.getTextDocument().setUri(uri);
@@ -620,6 +646,7 @@ public class TextDocumentService {
 
   private List<TextEditDto> onTypeFormatting(
       DocumentOnTypeFormattingParams documentOnTypeFormattingParams) {
+    changeQueue.flush(documentOnTypeFormattingParams.getTextDocument().getUri());
     try {
       String uri = prefixURI(documentOnTypeFormattingParams.getTextDocument().getUri());
       documentOnTypeFormattingParams.getTextDocument().setUri(uri);
@@ -652,22 +679,7 @@ public class TextDocumentService {
   }
 
   private void didChange(DidChangeTextDocumentParams didChangeTextDocumentParams) {
-    try {
-      String uri = prefixURI(didChangeTextDocumentParams.getTextDocument().getUri());
-      didChangeTextDocumentParams.getTextDocument().setUri(uri);
-      didChangeTextDocumentParams.setUri(prefixURI(didChangeTextDocumentParams.getUri()));
-      languageServerRegistry
-          .getApplicableLanguageServers(uri)
-          .stream()
-          .flatMap(Collection::stream)
-          .map(InitializedLanguageServer::getServer)
-          .forEach(
-              server -> {
-                server.getTextDocumentService().didChange(didChangeTextDocumentParams);
-              });
-    } catch (LanguageServerException e) {
-      LOG.error("Error trying to process textDocument/didChange", e);
-    }
+    changeQueue.add(didChangeTextDocumentParams);
   }
 
   private void didOpen(DidOpenTextDocumentParams openTextDocumentParams) {
@@ -689,6 +701,7 @@ public class TextDocumentService {
   }
 
   private void didClose(DidCloseTextDocumentParams didCloseTextDocumentParams) {
+    changeQueue.close(didCloseTextDocumentParams.getTextDocument().getUri());
     try {
       String uri = prefixURI(didCloseTextDocumentParams.getTextDocument().getUri());
       didCloseTextDocumentParams.getTextDocument().setUri(uri);
@@ -707,6 +720,7 @@ public class TextDocumentService {
   }
 
   private void didSave(DidSaveTextDocumentParams didSaveTextDocumentParams) {
+    changeQueue.flush(didSaveTextDocumentParams.getTextDocument().getUri());
     try {
       String uri = prefixURI(didSaveTextDocumentParams.getTextDocument().getUri());
       didSaveTextDocumentParams.getTextDocument().setUri(uri);
@@ -724,7 +738,7 @@ public class TextDocumentService {
     }
   }
 
-  private DocumentHighlightDto documentHighlight(
+  private CompletableFuture<DocumentHighlightDto> documentHighlight(
       TextDocumentPositionParams textDocumentPositionParams) {
     try {
       String uri = prefixURI(textDocumentPositionParams.getTextDocument().getUri());
@@ -742,43 +756,37 @@ public class TextDocumentService {
             @Override
             public CompletableFuture<List<DocumentHighlightDto>> start(
                 Collection<InitializedLanguageServer> element) {
-              return CompletableFuture.supplyAsync(
-                  () -> {
-                    List<DocumentHighlightDto> res = new ArrayList<>();
-                    LSOperation<InitializedLanguageServer, List<? extends DocumentHighlight>> op2 =
-                        new LSOperation<
-                            InitializedLanguageServer, List<? extends DocumentHighlight>>() {
-
-                          @Override
-                          public boolean canDo(InitializedLanguageServer element) {
-                            return truish(
-                                element
-                                    .getInitializeResult()
-                                    .getCapabilities()
-                                    .getDocumentHighlightProvider());
-                          }
-
-                          @Override
-                          public CompletableFuture<List<? extends DocumentHighlight>> start(
-                              InitializedLanguageServer element) {
-                            return element
-                                .getServer()
-                                .getTextDocumentService()
-                                .documentHighlight(textDocumentPositionParams);
-                          }
-
-                          @Override
-                          public boolean handleResult(
-                              InitializedLanguageServer element,
-                              List<? extends DocumentHighlight> result) {
-
-                            return false;
-                          }
-                        };
-                    OperationUtil.doInParallel(element, op2, 10000);
-
-                    return res;
-                  });
+              List<DocumentHighlightDto> res = new ArrayList<>();
+              LSOperation<InitializedLanguageServer, List<? extends DocumentHighlight>> op2 =
+                  new LSOperation<InitializedLanguageServer, List<? extends DocumentHighlight>>() {
+
+                    @Override
+                    public boolean canDo(InitializedLanguageServer element) {
+                      return truish(
+                          element
+                              .getInitializeResult()
+                              .getCapabilities()
+                              .getDocumentHighlightProvider());
+                    }
+
+                    @Override
+                    public CompletableFuture<List<? extends DocumentHighlight>> start(
+                        InitializedLanguageServer element) {
+                      return element
+                          .getServer()
+                          .getTextDocumentService()
+                          .documentHighlight(textDocumentPositionParams);
+                    }
+
+                    @Override
+                    public boolean handleResult(
+                        InitializedLanguageServer element,
+                        List<? extends DocumentHighlight> result) {
+
+                      return false;
+                    }
+                  };
+              return OperationUtil.doInParallelAsync(element, op2, 10000, () -> res);
             }
 
             @Override
@@ -788,19 +796,19 @@ public class TextDocumentService {
               return !list.isEmpty();
             }
           };
-      OperationUtil.doInSequence(
-          languageServerRegistry.getApplicableLanguageServers(uri), op, 10000);
-
-      if (!result[0].isEmpty()) {
-        return result[0].get(0);
-      }
-      return null;
+      return OperationUtil.doInSequenceAsync(
+          languageServerRegistry.getApplicableLanguageServers(uri),
+          op,
+          10000,
+          () -> result[0] == null || result[0].isEmpty() ? null : result[0].get(0));
     } catch (LanguageServerException e) {
       throw new JsonRpcException(-27000, e.getMessage());
     }
   }
 
-  private RenameResultDto rename(RenameParams renameParams) {
+  private CompletableFuture<RenameResultDto> rename(RenameParams renameParams) {
+    // rename may change any document
+    changeQueue.flushAll();
     String uri = prefixURI(renameParams.getTextDocument().getUri());
     renameParams.getTextDocument().setUri(uri);
     Map<String, ExtendedWorkspaceEdit> edits = new ConcurrentHashMap<>();
@@ -832,11 +840,14 @@ public class TextDocumentService {
               return true;
             }
           };
-      OperationUtil.doInParallel(servers, op, TimeUnit.SECONDS.toMillis(30));
+      return OperationUtil.doInParallelAsync(
+          servers,
+          op,
+          TimeUnit.SECONDS.toMillis(30),
+          () -> new RenameResultDto(new RenameResult(edits)));
     } catch (LanguageServerException e) {
       throw new JsonRpcException(-27000, e.getMessage());
     }
-    return new RenameResultDto(new RenameResult(edits));
   }
 
   private void addRenameResult(
@@ -928,14 +939,70 @@ public class TextDocumentService {
         .withFunction(function);
   }
 
-  private <P, R> void dtoToDto(
-      String name, Class<P> pClass, Class<R> rClass, Function<P, R> function) {
+  /**
+   * Registers a request handler which answers once the future returned by the function is
+   * completed.
+   *
+   * @param document returns the document of the request, its pending changes are forwarded before
+   *     the request and a newer request for the same document cancels the one in progress, {@code
+   *     null} if the request doesn't depend on a single document
+   */
+  private <P, R> void dtoToPromise(
+      String name,
+      Class<P> pClass,
+      Class<R> rClass,
+      Function<P, TextDocumentIdentifier> document,
+      Function<P, CompletableFuture<R>> function) {
     requestHandler
         .newConfiguration()
         .methodName("textDocument/" + name)
         .paramsAsDto(pClass)
-        .resultAsDto(rClass)
-        .withFunction(function);
+        .resultAsPromiseDto(rClass)
+        .withPromiseBiFunction(
+            (endpointId, params) -> startRequest(endpointId, name, params, document, function));
+  }
+
+  /** The same as {@link #dtoToPromise} for requests which result is a list. */
+  private <P, R> void dtoToPromiseList(
+      String name,
+      Class<P> pClass,
+      Class<R> rClass,
+      Function<P, TextDocumentIdentifier> document,
+      Function<P, CompletableFuture<List<R>>> function) {
+    requestHandler
+        .newConfiguration()
+        .methodName("textDocument/" + name)
+        .paramsAsDto(pClass)
+        .resultAsPromiseListOfDto(rClass)
+        .withPromiseBiFunction(
+            (endpointId, params) -> startRequest(endpointId, name, params, document, function));
+  }
+
+  /**
+   * Starts the request, a request of the same endpoint and method for the same document which is
+   * still in progress is cancelled and answered with {@link
+   * FutureJsonRpcPromise#REQUEST_CANCELLED} error.
+   */
+  <P, R> JsonRpcPromise<R> startRequest(
+      String endpointId,
+      String name,
+      P params,
+      Function<P, TextDocumentIdentifier> document,
+      Function<P, CompletableFuture<R>> function) {
+    if (document == null) {
+      return new FutureJsonRpcPromise<>(endpointId, function.apply(params));
+    }
+    // the uri is read before the handler prefixes it
+    String uri = document.apply(params).getUri();
+    changeQueue.flush(uri);
+    String key = endpointId + ':' + name + ':' + uri;
+    CompletableFuture<R> request = function.apply(params);
+    CompletableFuture<?> superseded = pendingRequests.put(key, request);
+    if (superseded != null) {
+      superseded.cancel(true);
+    }
+    request.whenComplete((result, error) -> pendingRequests.remove(key, request));
+    return new FutureJsonRpcPromise<>(endpointId, request);
   }
 
   private boolean truish(Boolean b) {
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.languageserver.util;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcError;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcException;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcPromise;
+
+/**
+ * JSON-RPC promise resolved by a {@link CompletableFuture}, so a request handler can answer with
+ * the result of language servers without waiting for it.
+ *
+ * <p>Consumers are notified even if the future is completed before they are set. Cancellation of
+ * the future is reported as {@link #REQUEST_CANCELLED} error, other failures as {@link
+ * #REQUEST_FAILED} error unless they are {@link JsonRpcException}s.
+ *
+ * @param <R> type of the result
+ */
+public class FutureJsonRpcPromise<R> extends JsonRpcPromise<R> {
+
+  /** Code of the error sent when the request is cancelled, the same as LSP uses. */
+  public static final int REQUEST_CANCELLED = -32800;
+
+  /** Code of the error sent when the request is failed. */
+  public static final int REQUEST_FAILED = -27000;
+
+  private final String endpointId;
+  private final CompletableFuture<R> future;
+
+  public FutureJsonRpcPromise(String endpointId, CompletableFuture<R> future) {
+    this.endpointId = endpointId;
+    this.future = future;
+  }
+
+  @Override
+  public JsonRpcPromise<R> onSuccess(BiConsumer<String, R> biConsumer) {
+    super.onSuccess(biConsumer);
+    future.thenAccept(result -> biConsumer.accept(endpointId, result));
+    return this;
+  }
+
+  @Override
+  public JsonRpcPromise<R> onSuccess(Consumer<R> consumer) {
+    return onSuccess((s, r) -> consumer.accept(r));
+  }
+
+  @Override
+  public JsonRpcPromise<R> onSuccess(Runnable runnable) {
+    return onSuccess((s, r) -> runnable.run());
+  }
+
+  @Override
+  public JsonRpcPromise<R> onFailure(BiConsumer<String, JsonRpcError> biConsumer) {
+    super.onFailure(biConsumer);
+    future.whenComplete(
+        (result, error) -> {
+          if (error != null) {
+            biConsumer.accept(endpointId, toJsonRpcError(error));
+          }
+        });
+    return this;
+  }
+
+  @Override
+  public JsonRpcPromise<R> onFailure(Consumer<JsonRpcError> consumer) {
+    return onFailure((s, e) -> consumer.accept(e));
+  }
+
+  @Override
+  public JsonRpcPromise<R> onFailure(Runnable runnable) {
+    return onFailure((s, e) -> runnable.run());
+  }
+
+  private static JsonRpcError toJsonRpcError(Throwable error) {
+    if (error instanceof CompletionException && error.getCause() != null) {
+      error = error.getCause();
+    }
+    if (error instanceof CancellationException) {
+      return new JsonRpcError(REQUEST_CANCELLED, "Request is cancelled");
+    }
+    if (error instanceof JsonRpcException) {
+      JsonRpcException e = (JsonRpcException) error;
+      return new JsonRpcError(e.getCode(), e.getMessage());
+    }
+    return new JsonRpcError(REQUEST_FAILED, error.getMessage());
+  }
+}
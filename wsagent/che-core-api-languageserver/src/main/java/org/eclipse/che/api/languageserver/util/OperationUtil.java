@@ -10,19 +10,35 @@
  */
 package org.eclipse.che.api.languageserver.util;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class OperationUtil {
   private static final Logger LOG = LoggerFactory.getLogger(OperationUtil.class);
 
+  /** Shared timer that enforces timeouts of asynchronous operations. */
+  private static final ScheduledExecutorService TIMER =
+      Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder()
+              .setNameFormat("LanguageServerOperationTimer")
+              .setDaemon(true)
+              .build());
+
   /**
    * Execute the given operation on each element of the collection in sequence. Stops as soon as
    * {@link LSOperation#canDo(Object)} returns true.
@@ -116,4 +132,155 @@ public class OperationUtil {
       lock.notifyAll();
     }
   }
+
+  /**
+   * Asynchronous variant of {@link #doInSequence(Collection, LSOperation, long)}, no thread waits
+   * for the results of the operation.
+   *
+   * <p>The returned future is completed with the value of the given supplier as soon as {@link
+   * LSOperation#handleResult(Object, Object)} returns true, all the elements are processed or the
+   * timeout is elapsed. Results that come later are ignored. Cancelling the returned future cancels
+   * the operation which is in progress.
+   *
+   * @param collection elements to execute the operation on
+   * @param op the operation
+   * @param timeoutMillis time to wait for the results
+   * @param result supplies the result, called once all the accepted results are handled
+   */
+  public static <C, R, T> CompletableFuture<T> doInSequenceAsync(
+      Collection<C> collection, LSOperation<C, R> op, long timeoutMillis, Supplier<T> result) {
+    Sequence<C, R, T> sequence = new Sequence<>(collection, op, result);
+    withTimeout(sequence.result, sequence, result, timeoutMillis);
+    sequence.startNext();
+    return sequence.result;
+  }
+
+  /**
+   * Asynchronous variant of {@link #doInParallel(Collection, LSOperation, long)}, no thread waits
+   * for the results of the operation.
+   *
+   * <p>The returned future is completed with the value of the given supplier as soon as the results
+   * of all the elements are handled or the timeout is elapsed. Results that come later are ignored
+   * and the operations which are still in progress are cancelled, the same happens when the
+   * returned future is cancelled.
+   *
+   * @param collection elements to execute the operation on
+   * @param op the operation
+   * @param timeoutMillis time to wait for the results
+   * @param result supplies the result, called once all the accepted results are handled
+   */
+  public static <C, R, T> CompletableFuture<T> doInParallelAsync(
+      Collection<C> collection, LSOperation<C, R> op, long timeoutMillis, Supplier<T> result) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    List<C> elements = new ArrayList<>();
+    List<CompletableFuture<R>> pendingResponses = new ArrayList<>();
+    for (C element : collection) {
+      if (op.canDo(element)) {
+        elements.add(element);
+        pendingResponses.add(op.start(element));
+      }
+    }
+
+    Object lock = new Object();
+    int[] pending = {pendingResponses.size()};
+    withTimeout(future, lock, result, timeoutMillis);
+    future.whenComplete((r, e) -> pendingResponses.forEach(response -> response.cancel(true)));
+    if (pendingResponses.isEmpty()) {
+      complete(future, lock, result);
+    }
+    for (int i = 0; i < pendingResponses.size(); i++) {
+      C element = elements.get(i);
+      pendingResponses
+          .get(i)
+          .whenComplete(
+              (response, error) -> {
+                synchronized (lock) {
+                  if (future.isDone()) {
+                    return;
+                  }
+                  if (error != null) {
+                    LOG.info("Exception occurred in request", error);
+                  } else {
+                    op.handleResult(element, response);
+                  }
+                  if (--pending[0] == 0) {
+                    complete(future, lock, result);
+                  }
+                }
+              });
+    }
+    return future;
+  }
+
+  /** Completes the future with the results handled so far once the timeout is elapsed. */
+  private static <T> void withTimeout(
+      CompletableFuture<T> future, Object lock, Supplier<T> result, long timeoutMillis) {
+    ScheduledFuture<?> timeout =
+        TIMER.schedule(() -> complete(future, lock, result), timeoutMillis, MILLISECONDS);
+    future.whenComplete((r, e) -> timeout.cancel(false));
+  }
+
+  /**
+   * Completes the future with the value of the supplier, results are handled with the same lock, so
+   * the supplier sees all of them.
+   */
+  private static <T> void complete(CompletableFuture<T> future, Object lock, Supplier<T> result) {
+    synchronized (lock) {
+      if (!future.isDone()) {
+        try {
+          future.complete(result.get());
+        } catch (RuntimeException e) {
+          future.completeExceptionally(e);
+        }
+      }
+    }
+  }
+
+  /** State of {@link #doInSequenceAsync}, which is also the lock of its results. */
+  private static class Sequence<C, R, T> {
+    final Iterator<C> elements;
+    final LSOperation<C, R> op;
+    final Supplier<T> supplier;
+    final CompletableFuture<T> result = new CompletableFuture<>();
+    CompletableFuture<R> current;
+
+    Sequence(Collection<C> collection, LSOperation<C, R> op, Supplier<T> supplier) {
+      this.elements = new ArrayList<>(collection).iterator();
+      this.op = op;
+      this.supplier = supplier;
+      result.whenComplete((r, e) -> cancelCurrent());
+    }
+
+    synchronized void startNext() {
+      while (!result.isDone() && elements.hasNext()) {
+        C element = elements.next();
+        if (op.canDo(element)) {
+          CompletableFuture<R> future = op.start(element);
+          current = future;
+          future.whenComplete((response, error) -> handle(future, element, response, error));
+          return;
+        }
+      }
+      complete(result, this, supplier);
+    }
+
+    synchronized void handle(CompletableFuture<R> future, C element, R response, Throwable error) {
+      if (result.isDone() || future != current) {
+        return;
+      }
+      if (error != null) {
+        LOG.info("Exception occurred in op", error);
+      } else if (op.handleResult(element, response)) {
+        complete(result, this, supplier);
+        return;
+      }
+      startNext();
+    }
+
+    synchronized void cancelCurrent() {
+      if (current != null) {
+        current.cancel(true);
+      }
+    }
+  }
 }
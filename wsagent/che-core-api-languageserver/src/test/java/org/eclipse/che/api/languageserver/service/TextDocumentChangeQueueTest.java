@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.languageserver.service;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.eclipse.che.api.languageserver.service.TextDocumentChangeQueue.MERGE_WINDOW_MS;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import org.eclipse.che.api.languageserver.registry.InitializedLanguageServer;
+import org.eclipse.che.api.languageserver.registry.LanguageServerRegistry;
+import org.eclipse.lsp4j.DidChangeTextDocumentParams;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.eclipse.lsp4j.VersionedTextDocumentIdentifier;
+import org.eclipse.lsp4j.services.LanguageServer;
+import org.eclipse.lsp4j.services.TextDocumentService;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+@Listeners(MockitoTestNGListener.class)
+public class TextDocumentChangeQueueTest {
+
+  private static final String URI = "/project/file.json";
+
+  @Mock private LanguageServerRegistry registry;
+  @Mock private ScheduledExecutorService executor;
+  @Mock private ScheduledFuture<?> scheduledFlush;
+  @Mock private InitializedLanguageServer jsonServer;
+  @Mock private InitializedLanguageServer yamlServer;
+  @Mock private LanguageServer jsonLanguageServer;
+  @Mock private LanguageServer yamlLanguageServer;
+  @Mock private TextDocumentService jsonService;
+  @Mock private TextDocumentService yamlService;
+
+  private TextDocumentChangeQueue queue;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    when(registry.getApplicableLanguageServers(LanguageServiceUtils.prefixURI(URI)))
+        .thenReturn(singletonList(asList(jsonServer, yamlServer)));
+    when(jsonServer.getServer()).thenReturn(jsonLanguageServer);
+    when(yamlServer.getServer()).thenReturn(yamlLanguageServer);
+    when(jsonLanguageServer.getTextDocumentService()).thenReturn(jsonService);
+    when(yamlLanguageServer.getTextDocumentService()).thenReturn(yamlService);
+    doReturn(scheduledFlush)
+        .when(executor)
+        .schedule(any(Runnable.class), anyLong(), eq(MILLISECONDS));
+    queue = new TextDocumentChangeQueue(registry, executor);
+  }
+
+  @Test
+  public void shouldMergeChangesUntilDocumentIsFlushed() {
+    queue.add(change(1, edit(0, "a")));
+    queue.add(change(2, edit(1, "b")));
+
+    verify(jsonService, never()).didChange(any());
+    queue.flush(URI);
+
+    DidChangeTextDocumentParams merged = verifyDidChange(jsonService);
+    assertEquals(merged, verifyDidChange(yamlService));
+    assertEquals(merged.getTextDocument().getUri(), LanguageServiceUtils.prefixURI(URI));
+    assertEquals(merged.getTextDocument().getVersion(), Integer.valueOf(2));
+    assertEquals(merged.getContentChanges().size(), 2);
+    assertEquals(merged.getContentChanges().get(1).getText(), "b");
+  }
+
+  @Test
+  public void shouldForwardChangesWhenMergeWindowIsElapsed() {
+    queue.add(change(1, edit(0, "a")));
+    queue.add(change(2, edit(1, "b")));
+
+    ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+    verify(executor, times(2)).schedule(flush.capture(), eq(MERGE_WINDOW_MS), eq(MILLISECONDS));
+    flush.getValue().run();
+
+    assertEquals(verifyDidChange(jsonService).getContentChanges().size(), 2);
+  }
+
+  @Test
+  public void shouldRestartMergeWindowOnEachChange() {
+    queue.add(change(1, edit(0, "a")));
+    verify(scheduledFlush, never()).cancel(anyBoolean());
+
+    queue.add(change(2, edit(1, "b")));
+
+    verify(scheduledFlush).cancel(false);
+    verify(executor, times(2)).schedule(any(Runnable.class), eq(MERGE_WINDOW_MS), eq(MILLISECONDS));
+    verify(jsonService, never()).didChange(any());
+  }
+
+  @Test
+  public void shouldCancelScheduledForwardingWhenDocumentIsFlushed() {
+    queue.add(change(1, edit(0, "a")));
+
+    queue.flush(URI);
+
+    verify(scheduledFlush).cancel(false);
+  }
+
+  @Test
+  public void shouldDropChangesReplacedByFullContent() {
+    queue.add(change(1, edit(0, "a")));
+    queue.add(change(2, new TextDocumentContentChangeEvent("full"), edit(4, "c")));
+
+    queue.flush(URI);
+
+    List<TextDocumentContentChangeEvent> changes = verifyDidChange(jsonService).getContentChanges();
+    assertEquals(changes.size(), 2);
+    assertEquals(changes.get(0).getText(), "full");
+  }
+
+  @Test
+  public void shouldNotForwardAnythingWhenThereAreNoChanges() {
+    queue.add(change(1, edit(0, "a")));
+    queue.flush(URI);
+
+    queue.flush(URI);
+    queue.close(URI);
+
+    verify(jsonService, times(1)).didChange(any());
+  }
+
+  @Test
+  public void shouldScheduleForwardingAgainAfterFlush() {
+    queue.add(change(1, edit(0, "a")));
+    queue.flush(URI);
+    queue.add(change(2, edit(1, "b")));
+
+    verify(executor, times(2)).schedule(any(Runnable.class), anyLong(), eq(MILLISECONDS));
+  }
+
+  private DidChangeTextDocumentParams verifyDidChange(TextDocumentService service) {
+    ArgumentCaptor<DidChangeTextDocumentParams> captor =
+        ArgumentCaptor.forClass(DidChangeTextDocumentParams.class);
+    verify(service).didChange(captor.capture());
+    return captor.getValue();
+  }
+
+  private static DidChangeTextDocumentParams change(
+      int version, TextDocumentContentChangeEvent... changes) {
+    VersionedTextDocumentIdentifier document = new VersionedTextDocumentIdentifier();
+    document.setUri(URI);
+    document.setVersion(version);
+    DidChangeTextDocumentParams params = new DidChangeTextDocumentParams();
+    params.setTextDocument(document);
+    params.setContentChanges(asList(changes));
+    return params;
+  }
+
+  private static TextDocumentContentChangeEvent edit(int offset, String text) {
+    Position position = new Position(0, offset);
+    TextDocumentContentChangeEvent change = new TextDocumentContentChangeEvent();
+    change.setRange(new Range(position, position));
+    change.setRangeLength(0);
+    change.setText(text);
+    return change;
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.languageserver.service;
+
+import static org.eclipse.che.api.languageserver.util.FutureJsonRpcPromise.REQUEST_CANCELLED;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcError;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
+import org.eclipse.che.api.languageserver.registry.LanguageServerRegistry;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.eclipse.lsp4j.TextDocumentPositionParams;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests of requests superseded by newer ones in {@link TextDocumentService}. */
+@Listeners(MockitoTestNGListener.class)
+public class TextDocumentServiceTest {
+
+  private static final String ENDPOINT_ID = "endpoint";
+  private static final String URI = "/project/file.json";
+
+  @Mock private LanguageServerRegistry registry;
+  @Mock private RequestHandlerConfigurator requestHandler;
+  @Mock private TextDocumentChangeQueue changeQueue;
+
+  private TextDocumentService service;
+
+  @BeforeMethod
+  public void setUp() {
+    service = new TextDocumentService(registry, requestHandler, changeQueue);
+  }
+
+  @Test
+  public void shouldFlushChangesOfDocumentBeforeRequest() {
+    start(ENDPOINT_ID, "hover", URI, new CompletableFuture<>());
+
+    verify(changeQueue).flush(URI);
+  }
+
+  @Test
+  public void shouldCancelRequestSupersededByNewerOne() {
+    CompletableFuture<String> first = new CompletableFuture<>();
+    CompletableFuture<String> second = new CompletableFuture<>();
+    AtomicReference<JsonRpcError> firstError = new AtomicReference<>();
+    AtomicReference<String> secondResult = new AtomicReference<>();
+
+    service
+        .startRequest(ENDPOINT_ID, "hover", params(URI), document(), p -> first)
+        .onFailure(firstError::set);
+    service
+        .startRequest(ENDPOINT_ID, "hover", params(URI), document(), p -> second)
+        .onSuccess(secondResult::set);
+    second.complete("result");
+
+    assertTrue(first.isCancelled());
+    assertEquals(firstError.get().getCode(), REQUEST_CANCELLED);
+    assertEquals(secondResult.get(), "result");
+  }
+
+  @Test
+  public void shouldNotCancelRequestsOfOtherDocumentsMethodsOrEndpoints() {
+    CompletableFuture<String> request = new CompletableFuture<>();
+
+    start(ENDPOINT_ID, "hover", URI, request);
+    start(ENDPOINT_ID, "hover", "/project/other.json", new CompletableFuture<>());
+    start(ENDPOINT_ID, "signatureHelp", URI, new CompletableFuture<>());
+    start("other-endpoint", "hover", URI, new CompletableFuture<>());
+
+    assertFalse(request.isDone());
+  }
+
+  @Test
+  public void shouldNotCancelCompletedRequest() {
+    CompletableFuture<String> first = new CompletableFuture<>();
+    AtomicReference<JsonRpcError> firstError = new AtomicReference<>();
+
+    service
+        .startRequest(ENDPOINT_ID, "hover", params(URI), document(), p -> first)
+        .onFailure(firstError::set);
+    first.complete("result");
+    start(ENDPOINT_ID, "hover", URI, new CompletableFuture<>());
+
+    assertFalse(first.isCancelled());
+    assertNull(firstError.get());
+  }
+
+  private void start(String endpointId, String method, String uri, CompletableFuture<String> f) {
+    service.startRequest(endpointId, method, params(uri), document(), p -> f);
+  }
+
+  private static Function<TextDocumentPositionParams, TextDocumentIdentifier> document() {
+    return TextDocumentPositionParams::getTextDocument;
+  }
+
+  private static TextDocumentPositionParams params(String uri) {
+    TextDocumentPositionParams params = new TextDocumentPositionParams();
+    params.setTextDocument(new TextDocumentIdentifier(uri));
+    params.setPosition(new Position(0, 0));
+    return params;
+  }
+}
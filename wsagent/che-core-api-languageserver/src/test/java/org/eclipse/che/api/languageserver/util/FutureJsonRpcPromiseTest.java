@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.languageserver.util;
+
+import static org.eclipse.che.api.languageserver.util.FutureJsonRpcPromise.REQUEST_CANCELLED;
+import static org.eclipse.che.api.languageserver.util.FutureJsonRpcPromise.REQUEST_FAILED;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcError;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcException;
+import org.testng.annotations.Test;
+
+/** Tests of {@link FutureJsonRpcPromise}. */
+public class FutureJsonRpcPromiseTest {
+
+  private static final String ENDPOINT_ID = "endpoint";
+
+  @Test
+  public void shouldPassResultOfFutureCompletedAfterConsumerIsSet() {
+    CompletableFuture<String> future = new CompletableFuture<>();
+    AtomicReference<String> endpoint = new AtomicReference<>();
+    AtomicReference<String> result = new AtomicReference<>();
+
+    new FutureJsonRpcPromise<>(ENDPOINT_ID, future)
+        .onSuccess(
+            (endpointId, r) -> {
+              endpoint.set(endpointId);
+              result.set(r);
+            });
+    assertNull(result.get());
+    future.complete("result");
+
+    assertEquals(endpoint.get(), ENDPOINT_ID);
+    assertEquals(result.get(), "result");
+  }
+
+  @Test
+  public void shouldPassResultOfFutureCompletedBeforeConsumerIsSet() {
+    AtomicReference<String> result = new AtomicReference<>();
+
+    new FutureJsonRpcPromise<>(ENDPOINT_ID, CompletableFuture.completedFuture("result"))
+        .onSuccess(result::set);
+
+    assertEquals(result.get(), "result");
+  }
+
+  @Test
+  public void shouldReportCancellationAsRequestCancelledError() {
+    CompletableFuture<String> future = new CompletableFuture<>();
+    AtomicReference<JsonRpcError> error = new AtomicReference<>();
+    AtomicReference<String> result = new AtomicReference<>();
+
+    new FutureJsonRpcPromise<>(ENDPOINT_ID, future).onSuccess(result::set).onFailure(error::set);
+    future.cancel(true);
+
+    assertEquals(error.get().getCode(), REQUEST_CANCELLED);
+    assertNull(result.get());
+  }
+
+  @Test
+  public void shouldKeepCodeOfJsonRpcException() {
+    CompletableFuture<String> future = new CompletableFuture<>();
+    AtomicReference<JsonRpcError> error = new AtomicReference<>();
+
+    new FutureJsonRpcPromise<>(ENDPOINT_ID, future).onFailure(error::set);
+    future.completeExceptionally(
+        new CompletionException(new JsonRpcException(-32602, "Invalid params")));
+
+    assertEquals(error.get().getCode(), -32602);
+    assertEquals(error.get().getMessage(), "Invalid params");
+  }
+
+  @Test
+  public void shouldReportOtherFailuresAsRequestFailedError() {
+    CompletableFuture<String> future = new CompletableFuture<>();
+    AtomicReference<JsonRpcError> error = new AtomicReference<>();
+
+    new FutureJsonRpcPromise<>(ENDPOINT_ID, future).onFailure(error::set);
+    future.completeExceptionally(new IllegalStateException("Server is stopped"));
+
+    assertEquals(error.get().getCode(), REQUEST_FAILED);
+    assertEquals(error.get().getMessage(), "Server is stopped");
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.languageserver.util;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import org.testng.annotations.Test;
+
+/** Tests of asynchronous operations of {@link OperationUtil}. */
+public class OperationUtilTest {
+
+  @Test
+  public void shouldCompleteParallelOperationWhenAllResultsAreHandled() throws Exception {
+    TestOperation op = new TestOperation(false);
+
+    CompletableFuture<List<String>> result =
+        OperationUtil.doInParallelAsync(asList("a", "b", "-c"), op, 10_000, op::handled);
+
+    assertFalse(result.isDone());
+    assertFalse(op.started.containsKey("-c"));
+    op.started.get("a").complete("A");
+    op.started.get("b").completeExceptionally(new RuntimeException("failed"));
+    assertEquals(result.get(1, SECONDS), singletonList("A"));
+  }
+
+  @Test
+  public void shouldCompleteParallelOperationWithHandledResultsOnTimeout() throws Exception {
+    TestOperation op = new TestOperation(false);
+
+    CompletableFuture<List<String>> result =
+        OperationUtil.doInParallelAsync(asList("a", "b"), op, 100, op::handled);
+    op.started.get("a").complete("A");
+
+    assertEquals(result.get(1, SECONDS), singletonList("A"));
+    assertTrue(op.started.get("b").isCancelled());
+  }
+
+  @Test
+  public void shouldStopSequenceOnFirstValidResult() throws Exception {
+    TestOperation op = new TestOperation(true);
+
+    CompletableFuture<List<String>> result =
+        OperationUtil.doInSequenceAsync(asList("a", "b", "c"), op, 10_000, op::handled);
+
+    assertEquals(op.started.size(), 1);
+    op.started.get("a").complete("");
+    op.started.get("b").complete("B");
+    assertEquals(result.get(1, SECONDS), asList("", "B"));
+    assertFalse(op.started.containsKey("c"));
+  }
+
+  @Test
+  public void shouldCancelNestedOperationsWhenResultIsCancelled() {
+    TestOperation servers = new TestOperation(false);
+    LSOperation<List<String>, List<String>> group =
+        new LSOperation<List<String>, List<String>>() {
+          @Override
+          public boolean canDo(List<String> element) {
+            return true;
+          }
+
+          @Override
+          public CompletableFuture<List<String>> start(List<String> element) {
+            return OperationUtil.doInParallelAsync(element, servers, 10_000, servers::handled);
+          }
+
+          @Override
+          public boolean handleResult(List<String> element, List<String> result) {
+            return true;
+          }
+        };
+
+    CompletableFuture<String> result =
+        OperationUtil.doInSequenceAsync(
+            singletonList(asList("a", "b")), group, 10_000, () -> "done");
+    result.cancel(true);
+
+    assertTrue(servers.started.get("a").isCancelled());
+    assertTrue(servers.started.get("b").isCancelled());
+  }
+
+  /** Operation which results are completed by the test, elements starting with '-' are skipped. */
+  private static class TestOperation implements LSOperation<String, String> {
+    final Map<String, CompletableFuture<String>> started = new ConcurrentHashMap<>();
+    final List<String> results = new ArrayList<>();
+    final boolean stopOnNonEmpty;
+
+    TestOperation(boolean stopOnNonEmpty) {
+      this.stopOnNonEmpty = stopOnNonEmpty;
+    }
+
+    List<String> handled() {
+      return new ArrayList<>(results);
+    }
+
+    @Override
+    public boolean canDo(String element) {
+      return !element.startsWith("-");
+    }
+
+    @Override
+    public CompletableFuture<String> start(String element) {
+      CompletableFuture<String> future = new CompletableFuture<>();
+      started.put(element, future);
+      return future;
+    }
+
+    @Override
+    public boolean handleResult(String element, String result) {
+      results.add(result);
+      return stopOnNonEmpty && !result.isEmpty();
+    }
+  }
+}
@@ -37,6 +37,13 @@ public class Constants {
 
   public static final String EVENT_IMPORT_OUTPUT_PROGRESS = "importProject/progress";
 
+  public static final String SEARCH_INDEXING_PROGRESS_GET = "search/indexing/progress";
+  public static final String SEARCH_INDEXING_PROGRESS_SUBSCRIBE =
+      "search/indexing/progress/subscribe";
+  public static final String SEARCH_INDEXING_PROGRESS_UNSUBSCRIBE =
+      "search/indexing/progress/unsubscribe";
+  public static final String EVENT_SEARCH_INDEXING_PROGRESS = "event/search/indexing/progress";
+
   public static final String WS_PATH_STRICT = "WS_PATH_STRICT";
 
   private Constants() {}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.project.shared.dto.event;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/** Progress of the initial full-text search indexing of the workspace. */
+@DTO
+public interface IndexingProgressDto {
+  /** Number of files that are already indexed. */
+  long getIndexedFiles();
+
+  IndexingProgressDto withIndexedFiles(long indexedFiles);
+
+  /** Number of files found in the workspace so far. */
+  long getDiscoveredFiles();
+
+  IndexingProgressDto withDiscoveredFiles(long discoveredFiles);
+
+  /** Indexing progress in percents, may be estimated while workspace tree is still traversed. */
+  int getPercent();
+
+  IndexingProgressDto withPercent(int percent);
+
+  /** Returns {@code true} when initial indexing is finished and search results are complete. */
+  boolean isComplete();
+
+  IndexingProgressDto withComplete(boolean complete);
+}
@@ -25,12 +25,21 @@ import org.eclipse.che.api.project.shared.dto.EditorChangesDto;
 /**
  * In-memory implementation of working copy for opened editor on client.
  *
+ * <p>Content is kept as a {@link Rope}, so editor changes are applied without copying the whole
+ * text and each version of the content is an immutable snapshot which can be shared with readers.
+ * String and byte representations are created on demand and kept until the next change.
+ *
  * @author Roman Nikitenko
  */
 public class EditorWorkingCopy {
   private String path;
   private String projectPath;
-  private byte[] content;
+
+  /** Representations of the content, each one is created from another on demand. */
+  private Rope text;
+
+  private String string;
+  private byte[] bytes;
 
   /**
    * Creates a working copy for opened editor on client.
@@ -42,7 +51,7 @@ public class EditorWorkingCopy {
   public EditorWorkingCopy(String path, String projectPath, byte[] content) {
     this.path = path;
     this.projectPath = projectPath;
-    this.content = Arrays.copyOf(content, content.length);
+    this.bytes = Arrays.copyOf(content, content.length);
   }
 
   /**
@@ -51,9 +60,7 @@ public class EditorWorkingCopy {
    * @return content ot the working copy
    */
   public byte[] getContentAsBytes() {
-    if (content == null) {
-      content = new byte[0];
-    }
+    byte[] content = bytes();
     return Arrays.copyOf(content, content.length);
   }
 
@@ -62,8 +69,25 @@ public class EditorWorkingCopy {
    *
    * @return content ot the working copy
    */
-  public String getContentAsString() {
-    return new String(getContentAsBytes());
+  public synchronized String getContentAsString() {
+    if (string == null) {
+      if (text != null) {
+        string = text.toString();
+      } else {
+        string = bytes != null ? new String(bytes) : "";
+      }
+    }
+    return string;
+  }
+
+  /**
+   * Gets immutable snapshot of the content of the working copy, it is not affected by subsequent
+   * changes and doesn't require copying of the content.
+   *
+   * @return content ot the working copy
+   */
+  public synchronized Rope getContentSnapshot() {
+    return text();
   }
 
   /**
@@ -72,7 +96,8 @@ public class EditorWorkingCopy {
    * @return content ot the working copy
    */
   public InputStream getContent() {
-    return new ByteArrayInputStream(getContentAsBytes());
+    // bytes are never modified, so they don't need to be copied
+    return new ByteArrayInputStream(bytes());
   }
 
   /**
@@ -81,8 +106,10 @@ public class EditorWorkingCopy {
    * @param content content
    * @return current working copy after updating content
    */
-  EditorWorkingCopy updateContent(byte[] content) {
-    this.content = content;
+  synchronized EditorWorkingCopy updateContent(byte[] content) {
+    this.bytes = content;
+    this.text = null;
+    this.string = null;
     return this;
   }
 
@@ -92,8 +119,10 @@ public class EditorWorkingCopy {
    * @param content content
    * @return current working copy after updating content
    */
-  EditorWorkingCopy updateContent(String content) {
-    updateContent(content.getBytes());
+  synchronized EditorWorkingCopy updateContent(String content) {
+    this.string = content;
+    this.text = null;
+    this.bytes = null;
     return this;
   }
 
@@ -126,24 +155,38 @@ public class EditorWorkingCopy {
       int offset = changes.getOffset();
       int removedCharCount = changes.getRemovedCharCount();
 
-      String newContent = null;
-      String oldContent = getContentAsString();
+      Rope newContent = null;
       EditorChangesDto.Type type = changes.getType();
       if (type == INSERT) {
-        newContent = new StringBuilder(oldContent).insert(offset, text).toString();
+        newContent = text().insert(offset, text);
       }
 
       if (type == REMOVE && removedCharCount > 0) {
-        newContent =
-            new StringBuilder(oldContent).delete(offset, offset + removedCharCount).toString();
+        newContent = text().delete(offset, offset + removedCharCount);
       }
 
       if (newContent != null) {
-        updateContent(newContent);
+        this.text = newContent;
+        this.string = null;
+        this.bytes = null;
       }
     }
   }
 
+  private synchronized Rope text() {
+    if (text == null) {
+      text = Rope.of(getContentAsString());
+    }
+    return text;
+  }
+
+  private synchronized byte[] bytes() {
+    if (bytes == null) {
+      bytes = getContentAsString().getBytes();
+    }
+    return bytes;
+  }
+
   /** Returns the path to the persistent working copy */
   public String getPath() {
     return path;
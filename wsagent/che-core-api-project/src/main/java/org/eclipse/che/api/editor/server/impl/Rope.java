@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.editor.server.impl;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Immutable text represented by a balanced (AVL) tree of string chunks.
+ *
+ * <p>Insertion and removal take O(log n) and share all the untouched chunks with the original
+ * rope, so each version of the text can be handed out as a snapshot without copying. Small edits
+ * inside a chunk, which is the usual case for typing, only replace the chunk and the path to it.
+ *
+ * <p>Snapshots are exposed to readers, which may only read them, so comparison with other texts is
+ * done chunk by chunk instead of looking up each character in the tree.
+ */
+public final class Rope implements CharSequence {
+
+  /** Max length of a chunk, smaller edits are applied by replacing the chunk. */
+  static final int MAX_LEAF_LENGTH = 512;
+
+  static final Rope EMPTY = new Rope("");
+
+  /** Text of a leaf, {@code null} for inner nodes. */
+  private final String leaf;
+
+  private final Rope left;
+  private final Rope right;
+  private final int length;
+  private final int height;
+
+  private Rope(String leaf) {
+    this.leaf = leaf;
+    this.left = null;
+    this.right = null;
+    this.length = leaf.length();
+    this.height = 0;
+  }
+
+  private Rope(Rope left, Rope right) {
+    this.leaf = null;
+    this.left = left;
+    this.right = right;
+    this.length = left.length + right.length;
+    this.height = Math.max(left.height, right.height) + 1;
+  }
+
+  /** Creates a balanced rope of the given text. */
+  static Rope of(CharSequence text) {
+    return text.length() == 0 ? EMPTY : build(text, 0, text.length());
+  }
+
+  private static Rope build(CharSequence text, int start, int end) {
+    if (end - start <= MAX_LEAF_LENGTH) {
+      return new Rope(text.subSequence(start, end).toString());
+    }
+    int middle = (start + end) >>> 1;
+    return new Rope(build(text, start, middle), build(text, middle, end));
+  }
+
+  /** Returns a rope with the text inserted at the given offset. */
+  Rope insert(int offset, CharSequence text) {
+    checkOffset(offset, length);
+    if (text.length() == 0) {
+      return this;
+    }
+    if (leaf != null) {
+      if (length + text.length() <= MAX_LEAF_LENGTH) {
+        return new Rope(leaf.substring(0, offset) + text + leaf.substring(offset));
+      }
+      return join(join(of(leaf.substring(0, offset)), of(text)), of(leaf.substring(offset)));
+    }
+    if (offset <= left.length) {
+      return join(left.insert(offset, text), right);
+    }
+    return join(left, right.insert(offset - left.length, text));
+  }
+
+  /** Returns a rope without the text between the given offsets. */
+  Rope delete(int start, int end) {
+    checkRange(start, end, length);
+    if (start == end) {
+      return this;
+    }
+    if (leaf != null) {
+      return of(leaf.substring(0, start) + leaf.substring(end));
+    }
+    if (end <= left.length) {
+      return join(left.delete(start, end), right);
+    }
+    if (start >= left.length) {
+      return join(left, right.delete(start - left.length, end - left.length));
+    }
+    return join(left.prefix(start), right.suffix(end - left.length));
+  }
+
+  @Override
+  public int length() {
+    return length;
+  }
+
+  @Override
+  public char charAt(int index) {
+    if (index < 0 || index >= length) {
+      throw new IndexOutOfBoundsException("Index " + index + ", length " + length);
+    }
+    Rope node = this;
+    while (node.leaf == null) {
+      if (index < node.left.length) {
+        node = node.left;
+      } else {
+        index -= node.left.length;
+        node = node.right;
+      }
+    }
+    return node.leaf.charAt(index);
+  }
+
+  /** Returns length of the longest common prefix of this text and the given one. */
+  public int commonPrefixLength(String text) {
+    int max = Math.min(length, text.length());
+    int matched = 0;
+    Deque<Rope> stack = new ArrayDeque<>();
+    stack.push(this);
+    while (matched < max) {
+      Rope node = stack.pop();
+      if (node.leaf == null) {
+        stack.push(node.right);
+        stack.push(node.left);
+        continue;
+      }
+      int count = Math.min(node.length, max - matched);
+      if (!text.regionMatches(matched, node.leaf, 0, count)) {
+        int i = 0;
+        while (node.leaf.charAt(i) == text.charAt(matched + i)) {
+          i++;
+        }
+        return matched + i;
+      }
+      matched += count;
+    }
+    return matched;
+  }
+
+  /**
+   * Returns length of the longest common suffix of this text and the given one, but not more than
+   * {@code limit}.
+   */
+  public int commonSuffixLength(String text, int limit) {
+    int max = Math.min(Math.min(length, text.length()), limit);
+    int matched = 0;
+    Deque<Rope> stack = new ArrayDeque<>();
+    stack.push(this);
+    while (matched < max) {
+      Rope node = stack.pop();
+      if (node.leaf == null) {
+        stack.push(node.left);
+        stack.push(node.right);
+        continue;
+      }
+      int count = Math.min(node.length, max - matched);
+      int leafEnd = node.length;
+      int textEnd = text.length() - matched;
+      if (!text.regionMatches(textEnd - count, node.leaf, leafEnd - count, count)) {
+        int i = 0;
+        while (node.leaf.charAt(leafEnd - 1 - i) == text.charAt(textEnd - 1 - i)) {
+          i++;
+        }
+        return matched + i;
+      }
+      matched += count;
+    }
+    return matched;
+  }
+
+  @Override
+  public Rope subSequence(int start, int end) {
+    checkRange(start, end, length);
+    return prefix(end).suffix(start);
+  }
+
+  @Override
+  public String toString() {
+    if (leaf != null) {
+      return leaf;
+    }
+    StringBuilder sb = new StringBuilder(length);
+    appendTo(sb);
+    return sb.toString();
+  }
+
+  private void appendTo(StringBuilder sb) {
+    if (leaf != null) {
+      sb.append(leaf);
+    } else {
+      left.appendTo(sb);
+      right.appendTo(sb);
+    }
+  }
+
+  /** Returns the first {@code end} characters. */
+  private Rope prefix(int end) {
+    if (end >= length) {
+      return this;
+    }
+    if (end <= 0) {
+      return EMPTY;
+    }
+    if (leaf != null) {
+      return new Rope(leaf.substring(0, end));
+    }
+    if (end <= left.length) {
+      return left.prefix(end);
+    }
+    return join(left, right.prefix(end - left.length));
+  }
+
+  /** Returns the characters starting from {@code start}. */
+  private Rope suffix(int start) {
+    if (start <= 0) {
+      return this;
+    }
+    if (start >= length) {
+      return EMPTY;
+    }
+    if (leaf != null) {
+      return new Rope(leaf.substring(start));
+    }
+    if (start >= left.length) {
+      return right.suffix(start - left.length);
+    }
+    return join(left.suffix(start), right);
+  }
+
+  /** Concatenates ropes keeping the result balanced. */
+  static Rope join(Rope left, Rope right) {
+    if (left.length == 0) {
+      return right;
+    }
+    if (right.length == 0) {
+      return left;
+    }
+    if (left.leaf != null
+        && right.leaf != null
+        && left.length + right.length <= MAX_LEAF_LENGTH) {
+      return new Rope(left.leaf + right.leaf);
+    }
+    if (left.height > right.height + 1) {
+      return balance(left.left, join(left.right, right));
+    }
+    if (right.height > left.height + 1) {
+      return balance(join(left, right.left), right.right);
+    }
+    return new Rope(left, right);
+  }
+
+  /** Creates a node of subtrees which heights differ at most by 2, rotating them if needed. */
+  private static Rope balance(Rope left, Rope right) {
+    if (right.height > left.height + 1) {
+      if (right.right.height >= right.left.height) {
+        return new Rope(new Rope(left, right.left), right.right);
+      }
+      return new Rope(
+          new Rope(left, right.left.left), new Rope(right.left.right, right.right));
+    }
+    if (left.height > right.height + 1) {
+      if (left.left.height >= left.right.height) {
+        return new Rope(left.left, new Rope(left.right, right));
+      }
+      return new Rope(
+          new Rope(left.left, left.right.left), new Rope(left.right.right, right));
+    }
+    return new Rope(left, right);
+  }
+
+  /** Returns height of the tree, for tests. */
+  int height() {
+    return height;
+  }
+
+  private static void checkOffset(int offset, int length) {
+    if (offset < 0 || offset > length) {
+      throw new IndexOutOfBoundsException("Offset " + offset + ", length " + length);
+    }
+  }
+
+  private static void checkRange(int start, int end, int length) {
+    if (start < 0 || end > length || start > end) {
+      throw new IndexOutOfBoundsException(
+          "Range [" + start + ", " + end + "), length " + length);
+    }
+  }
+}
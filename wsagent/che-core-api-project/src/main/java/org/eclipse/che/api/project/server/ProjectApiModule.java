@@ -11,10 +11,12 @@
 package org.eclipse.che.api.project.server;
 
 import static com.google.inject.multibindings.Multibinder.newSetBinder;
+import static org.eclipse.che.api.project.shared.Constants.EVENT_IMPORT_OUTPUT_PROGRESS;
 
 import com.google.inject.AbstractModule;
 import com.google.inject.assistedinject.FactoryModuleBuilder;
 import com.google.inject.multibindings.Multibinder;
+import com.google.inject.name.Names;
 import org.eclipse.che.api.core.model.workspace.config.ProjectConfig;
 import org.eclipse.che.api.project.server.handlers.ProjectHandler;
 import org.eclipse.che.api.project.server.impl.CreateBaseProjectTypeHandler;
@@ -78,6 +80,10 @@ public class ProjectApiModule extends AbstractModule {
     projectHandlers.addBinding().to(CreateBaseProjectTypeHandler.class);
     projectHandlers.addBinding().to(InitBaseProjectTypeHandler.class);
 
+    newSetBinder(binder(), String.class, Names.named("che.websocket.transmit.droppable_methods"))
+        .addBinding()
+        .toInstance(EVENT_IMPORT_OUTPUT_PROGRESS);
+
     install(
         new FactoryModuleBuilder()
             .implement(ProjectConfig.class, RegisteredProject.class)
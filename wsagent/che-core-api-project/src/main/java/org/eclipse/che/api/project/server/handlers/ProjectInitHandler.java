@@ -33,4 +33,12 @@ public interface ProjectInitHandler extends ProjectHandler {
    */
   void onProjectInitialized(String projectFolder)
       throws ServerException, ForbiddenException, ConflictException, NotFoundException;
+
+  /**
+   * Whether the handler may be fired for different projects concurrently, otherwise it handles one
+   * project at a time.
+   */
+  default boolean isThreadSafe() {
+    return false;
+  }
 }
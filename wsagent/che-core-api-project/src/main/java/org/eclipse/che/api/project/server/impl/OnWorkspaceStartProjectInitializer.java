@@ -10,13 +10,29 @@
  */
 package org.eclipse.che.api.project.server.impl;
 
+import static java.util.Comparator.comparingInt;
+import static java.util.concurrent.CompletableFuture.runAsync;
 import static org.eclipse.che.api.fs.server.WsPathUtils.ROOT;
+import static org.eclipse.che.api.fs.server.WsPathUtils.isRoot;
+import static org.eclipse.che.api.fs.server.WsPathUtils.parentOf;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.ConflictException;
@@ -27,15 +43,35 @@ import org.eclipse.che.api.core.model.workspace.config.ProjectConfig;
 import org.eclipse.che.api.fs.server.FsManager;
 import org.eclipse.che.api.project.server.handlers.ProjectInitHandler;
 import org.eclipse.che.api.search.server.excludes.HiddenItemPathMatcher;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+/**
+ * Registers projects of the workspace and runs their {@link ProjectInitHandler}s on start.
+ *
+ * <p>Projects are initialized in parallel, except that a project which is located inside of another
+ * one, e.g. a module, is initialized only after its parent is. Handlers which are not {@link
+ * ProjectInitHandler#isThreadSafe() thread-safe} handle one project at a time. Handlers run with
+ * the environment context of the thread which initializes projects.
+ */
 @Singleton
 public class OnWorkspaceStartProjectInitializer {
+  private static final Logger LOG =
+      LoggerFactory.getLogger(OnWorkspaceStartProjectInitializer.class);
+
+  /** Init handlers mostly wait for I/O, e.g. resolving of dependencies, so at least 2 threads. */
+  private static final int INITIALIZATION_THREADS =
+      Math.max(2, Runtime.getRuntime().availableProcessors());
 
   private final FsManager fsManager;
   private final ProjectSynchronizer projectSynchronizer;
   private final ProjectConfigRegistry projectConfigRegistry;
   private final ProjectHandlerRegistry projectHandlerRegistry;
   private final HiddenItemPathMatcher hiddenItemPathMatcher;
+  private final ExecutorService executor;
+  /** Locks of handlers which are not thread-safe by project type. */
+  private final Map<String, Object> handlerLocks = new ConcurrentHashMap<>();
 
   @Inject
   public OnWorkspaceStartProjectInitializer(
@@ -49,6 +85,20 @@ public class OnWorkspaceStartProjectInitializer {
     this.projectConfigRegistry = projectConfigRegistry;
     this.projectHandlerRegistry = projectHandlerRegistry;
     this.hiddenItemPathMatcher = hiddenItemPathMatcher;
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            INITIALIZATION_THREADS,
+            INITIALIZATION_THREADS,
+            60,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder()
+                .setNameFormat("ProjectInitializer-%d")
+                .setDaemon(true)
+                .build());
+    // projects are initialized on start, threads are not kept after that
+    executor.allowCoreThreadTimeOut(true);
+    this.executor = executor;
   }
 
   @PostConstruct
@@ -59,6 +109,11 @@ public class OnWorkspaceStartProjectInitializer {
     firePostInitializationHandlers();
   }
 
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
   private void initializeRegisteredProjects() throws ServerException {
     for (ProjectConfig projectConfig : projectSynchronizer.getAll()) {
       projectConfigRegistry.put(projectConfig, false, false);
@@ -75,21 +130,113 @@ public class OnWorkspaceStartProjectInitializer {
 
   private void firePostInitializationHandlers()
       throws ServerException, ConflictException, NotFoundException, ForbiddenException {
-
+    Map<String, RegisteredProject> projects = new HashMap<>();
     for (RegisteredProject project : projectConfigRegistry.getAll()) {
-      if (project.getBaseFolder() == null) {
-        continue;
+      if (project.getBaseFolder() != null) {
+        projects.put(project.getPath(), project);
       }
+    }
+    if (projects.isEmpty()) {
+      return;
+    }
 
-      List<String> types = new ArrayList<>(project.getMixins());
-      types.add(project.getType());
+    long start = System.nanoTime();
+    List<Exception> failures = Collections.synchronizedList(new ArrayList<>());
+    // parents are shorter than their modules, so they are scheduled first
+    List<String> paths = new ArrayList<>(projects.keySet());
+    paths.sort(comparingInt(String::length));
+    Map<String, CompletableFuture<Void>> initializations = new HashMap<>();
+    for (String path : paths) {
+      Runnable initialization =
+          ThreadLocalPropagateContext.wrap(() -> initialize(projects.get(path), failures));
+      CompletableFuture<Void> parent = findParent(path, initializations);
+      initializations.put(
+          path,
+          parent == null
+              ? runAsync(initialization, executor)
+              : parent.thenRunAsync(initialization, executor));
+    }
+    CompletableFuture.allOf(initializations.values().toArray(new CompletableFuture[0])).join();
+    LOG.info("{} projects are initialized in {} ms", projects.size(), millisSince(start));
+
+    if (!failures.isEmpty()) {
+      rethrow(failures.get(0));
+    }
+  }
 
-      for (String type : types) {
-        Optional<ProjectInitHandler> hOptional = projectHandlerRegistry.getProjectInitHandler(type);
-        if (hOptional.isPresent()) {
-          hOptional.get().onProjectInitialized(project.getBaseFolder());
+  /** Returns initialization of the closest project that contains the given one. */
+  private static CompletableFuture<Void> findParent(
+      String path, Map<String, CompletableFuture<Void>> initializations) {
+    for (String parent = path; !isRoot(parent); ) {
+      parent = parentOf(parent);
+      CompletableFuture<Void> initialization = initializations.get(parent);
+      if (initialization != null) {
+        return initialization;
+      }
+    }
+    return null;
+  }
+
+  /** Runs init handlers of the project, failures are collected to not stop other projects. */
+  private void initialize(RegisteredProject project, List<Exception> failures) {
+    List<String> types = new ArrayList<>(project.getMixins());
+    types.add(project.getType());
+
+    long start = System.nanoTime();
+    StringJoiner handlerTimes = new StringJoiner(", ");
+    for (String type : types) {
+      Optional<ProjectInitHandler> hOptional = projectHandlerRegistry.getProjectInitHandler(type);
+      if (hOptional.isPresent()) {
+        long handlerStart = System.nanoTime();
+        try {
+          runHandler(type, hOptional.get(), project);
+        } catch (ServerException
+            | ConflictException
+            | NotFoundException
+            | ForbiddenException
+            | RuntimeException e) {
+          LOG.error("Can't initialize project '{}': {}", project.getPath(), e.getMessage(), e);
+          failures.add(e);
+          return;
         }
+        handlerTimes.add(type + " " + millisSince(handlerStart) + " ms");
       }
     }
+    if (handlerTimes.length() > 0) {
+      LOG.info(
+          "Project '{}' is initialized in {} ms ({})",
+          project.getPath(),
+          millisSince(start),
+          handlerTimes);
+    }
+  }
+
+  private void runHandler(String type, ProjectInitHandler handler, RegisteredProject project)
+      throws ServerException, ConflictException, NotFoundException, ForbiddenException {
+    if (handler.isThreadSafe()) {
+      handler.onProjectInitialized(project.getBaseFolder());
+      return;
+    }
+    synchronized (handlerLocks.computeIfAbsent(type, t -> new Object())) {
+      handler.onProjectInitialized(project.getBaseFolder());
+    }
+  }
+
+  private static long millisSince(long nanoTime) {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - nanoTime);
+  }
+
+  private static void rethrow(Exception e)
+      throws ServerException, ConflictException, NotFoundException, ForbiddenException {
+    if (e instanceof ServerException) {
+      throw (ServerException) e;
+    } else if (e instanceof ConflictException) {
+      throw (ConflictException) e;
+    } else if (e instanceof NotFoundException) {
+      throw (NotFoundException) e;
+    } else if (e instanceof ForbiddenException) {
+      throw (ForbiddenException) e;
+    }
+    throw (RuntimeException) e;
   }
 }
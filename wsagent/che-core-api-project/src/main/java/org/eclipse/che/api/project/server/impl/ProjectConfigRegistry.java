@@ -21,6 +21,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.model.workspace.config.ProjectConfig;
+import org.eclipse.che.api.project.server.type.ProjectAttributeValueCache;
 
 @Singleton
 public class ProjectConfigRegistry {
@@ -28,10 +29,13 @@ public class ProjectConfigRegistry {
   private final Map<String, RegisteredProject> projects = new ConcurrentHashMap<>();
 
   private final RegisteredProjectFactory registeredProjectFactory;
+  private final ProjectAttributeValueCache valueCache;
 
   @Inject
-  public ProjectConfigRegistry(RegisteredProjectFactory registeredProjectFactory) {
+  public ProjectConfigRegistry(
+      RegisteredProjectFactory registeredProjectFactory, ProjectAttributeValueCache valueCache) {
     this.registeredProjectFactory = registeredProjectFactory;
+    this.valueCache = valueCache;
   }
 
   public Set<RegisteredProject> getAll() {
@@ -98,11 +102,16 @@ public class ProjectConfigRegistry {
   }
 
   public Optional<RegisteredProject> remove(String wsPath) {
-    return Optional.ofNullable(projects.remove(wsPath));
+    return Optional.ofNullable(removeOrNull(wsPath));
   }
 
   public RegisteredProject removeOrNull(String wsPath) {
-    return projects.remove(wsPath);
+    RegisteredProject project = projects.remove(wsPath);
+    if (project != null) {
+      // a project created later at the same path must not get values of the removed one
+      valueCache.invalidate(wsPath);
+    }
+    return project;
   }
 
   public boolean isRegistered(String path) {
@@ -31,10 +31,12 @@ import org.eclipse.che.api.core.model.workspace.config.SourceStorage;
 import org.eclipse.che.api.fs.server.FsManager;
 import org.eclipse.che.api.project.server.type.AttributeValue;
 import org.eclipse.che.api.project.server.type.BaseProjectType;
+import org.eclipse.che.api.project.server.type.ProjectAttributeValueCache;
 import org.eclipse.che.api.project.server.type.ProjectTypeDef;
 import org.eclipse.che.api.project.server.type.ProjectTypes;
 import org.eclipse.che.api.project.server.type.ProjectTypesFactory;
 import org.eclipse.che.api.project.server.type.ValueProvider;
+import org.eclipse.che.api.project.server.type.ValueProviderFactory;
 import org.eclipse.che.api.project.server.type.ValueStorageException;
 import org.eclipse.che.api.project.server.type.Variable;
 import org.eclipse.che.api.workspace.shared.ProjectProblemImpl;
@@ -53,6 +55,7 @@ public class RegisteredProject implements ProjectConfig {
   private final String folder;
   private final ProjectConfig config;
   private final ProjectTypes types;
+  private final ProjectAttributeValueCache valueCache;
   private boolean updated;
   private boolean detected;
 
@@ -64,6 +67,7 @@ public class RegisteredProject implements ProjectConfig {
    * @param updated if this object was updated, i.e. no more synchronized with workspace master
    * @param detected if this project was detected, initialized when "parent" project initialized
    * @param projectTypesFactory project types factory
+   * @param valueCache cache of provided attribute values
    * @throws ServerException when path for project is undefined
    */
   @AssistedInject
@@ -73,7 +77,8 @@ public class RegisteredProject implements ProjectConfig {
       @Assisted("updated") boolean updated,
       @Assisted("detected") boolean detected,
       ProjectTypesFactory projectTypesFactory,
-      FsManager fsManager)
+      FsManager fsManager,
+      ProjectAttributeValueCache valueCache)
       throws ServerException {
     problems = new ArrayList<>();
     attributes = new HashMap<>();
@@ -91,6 +96,7 @@ public class RegisteredProject implements ProjectConfig {
     this.config = config == null ? new NewProjectConfigImpl(wsPath) : config;
     this.updated = updated;
     this.detected = detected;
+    this.valueCache = valueCache;
 
     if (wsPath == null || !fsManager.existsAsDir(wsPath)) {
       problems.add(
@@ -141,13 +147,18 @@ public class RegisteredProject implements ProjectConfig {
         // value provided
         if (variable.isValueProvided()) {
 
-          final ValueProvider valueProvider =
-              variable.getValueProviderFactory().newInstance(this.getPath());
+          final ValueProviderFactory valueProviderFactory = variable.getValueProviderFactory();
+          final ValueProvider valueProvider = valueProviderFactory.newInstance(this.getPath());
 
           if (folder != null) {
 
             try {
-              if (!valueProvider.isSettable() || value.isEmpty()) {
+              if (!valueProvider.isSettable()) {
+                // get provided value, it is the same until files it depends on are changed
+                value =
+                    new AttributeValue(
+                        valueCache.getValues(getPath(), name, valueProviderFactory, valueProvider));
+              } else if (value.isEmpty()) {
                 // get provided value
                 value = new AttributeValue(valueProvider.getValues(name));
               } else {
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.project.server.type;
+
+import static java.nio.file.Files.isDirectory;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.api.watcher.server.FileWatcherManager;
+import org.eclipse.che.api.watcher.server.IndexedPathMatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps values of project attributes provided by read only {@link ValueProvider}s, so projects
+ * that are registered again and again don't open the same repositories or parse the same files
+ * each time.
+ *
+ * <p>Only values of factories that declare {@link ValueProviderFactory#getWatchedFiles() watched
+ * files} are cached. Values of a factory are dropped once one of its watched files is created,
+ * modified or deleted in the project folder or in one of its parent folders. Components that
+ * rebuild projects in response to the same file events must {@link #invalidate(String)} values
+ * themselves, as the order of file watcher consumers is not defined.
+ */
+@Singleton
+public class ProjectAttributeValueCache {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ProjectAttributeValueCache.class);
+
+  private final FileWatcherManager fileWatcherManager;
+
+  /** Project path -> factory -> attribute name -> values */
+  private final Map<String, Map<ValueProviderFactory, Map<String, List<String>>>> values =
+      new ConcurrentHashMap<>();
+  /** Watched file -> file watcher registration id */
+  private final Map<String, Integer> watchers = new ConcurrentHashMap<>();
+
+  @Inject
+  public ProjectAttributeValueCache(FileWatcherManager fileWatcherManager) {
+    this.fileWatcherManager = fileWatcherManager;
+  }
+
+  /**
+   * Returns cached values of the attribute or gets them from the provider.
+   *
+   * @param wsPath absolute workspace path of the project
+   * @param attributeName name of the attribute
+   * @param factory factory the provider is created by
+   * @param provider read only provider created by the factory for the project
+   * @return values of the attribute
+   * @throws ValueStorageException if values can't be provided, failures are not cached
+   */
+  public List<String> getValues(
+      String wsPath, String attributeName, ValueProviderFactory factory, ValueProvider provider)
+      throws ValueStorageException {
+    if (factory.getWatchedFiles().isEmpty()) {
+      return provider.getValues(attributeName);
+    }
+
+    // the map is obtained before values are computed, so values computed concurrently with
+    // invalidation are stored to a map which is already detached from the cache
+    Map<String, List<String>> factoryValues =
+        values
+            .computeIfAbsent(wsPath, it -> new ConcurrentHashMap<>())
+            .computeIfAbsent(factory, it -> new ConcurrentHashMap<>());
+    List<String> cached = factoryValues.get(attributeName);
+    if (cached != null) {
+      return cached;
+    }
+
+    factory.getWatchedFiles().forEach(file -> watchers.computeIfAbsent(file, this::watch));
+    List<String> provided = provider.getValues(attributeName);
+    if (provided != null) {
+      factoryValues.put(attributeName, provided);
+    }
+    return provided;
+  }
+
+  /**
+   * Drops cached values of the project and of all its child projects.
+   *
+   * @param wsPath absolute workspace path of the project
+   */
+  public void invalidate(String wsPath) {
+    values.keySet().removeIf(it -> isSameOrChild(it, wsPath));
+  }
+
+  @PreDestroy
+  public void stop() {
+    watchers.values().forEach(fileWatcherManager::unRegisterByMatcher);
+    watchers.clear();
+  }
+
+  private int watch(String file) {
+    Path relative = Paths.get(file);
+    String fileName = relative.getFileName().toString();
+    IndexedPathMatcher matcher =
+        relative.getNameCount() > 1
+            ? IndexedPathMatcher.fileName(
+                fileName, relative.getName(relative.getNameCount() - 2).toString())
+            : IndexedPathMatcher.fileName(fileName);
+    LOG.debug("Watching '{}' files to invalidate project attribute values", file);
+    return fileWatcherManager.registerByMatcher(
+        matcher.and(it -> it.endsWith(relative) && !isDirectory(it)),
+        it -> onChanged(file, it),
+        it -> onChanged(file, it),
+        it -> onChanged(file, it));
+  }
+
+  private void onChanged(String file, String wsPath) {
+    String suffix = '/' + file;
+    if (!wsPath.endsWith(suffix)) {
+      return;
+    }
+
+    String folder = wsPath.substring(0, wsPath.length() - suffix.length());
+    values.forEach(
+        (project, factories) -> {
+          if (isSameOrChild(project, folder)) {
+            factories.keySet().removeIf(it -> it.getWatchedFiles().contains(file));
+          }
+        });
+  }
+
+  private static boolean isSameOrChild(String wsPath, String parent) {
+    return wsPath.equals(parent) || wsPath.startsWith(parent.endsWith("/") ? parent : parent + '/');
+  }
+}
@@ -10,6 +10,10 @@
  */
 package org.eclipse.che.api.project.server.type;
 
+import static java.util.Collections.emptySet;
+
+import java.util.Set;
+
 /**
  * Factory for {@link ValueProvider}.
  *
@@ -24,4 +28,14 @@ public interface ValueProviderFactory {
    * @param wsPath
    */
   ValueProvider newInstance(String wsPath);
+
+  /**
+   * Returns paths of files, relative to a project folder, which values of read only providers
+   * depend on, e.g. {@code pom.xml}. Such values are kept in {@link ProjectAttributeValueCache}
+   * until one of the files is changed in the project folder or in one of its parents. Values are
+   * not cached if no files are declared.
+   */
+  default Set<String> getWatchedFiles() {
+    return emptySet();
+  }
 }
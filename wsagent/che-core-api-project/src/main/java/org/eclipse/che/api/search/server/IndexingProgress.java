@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.search.server;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread safe tracker of the initial indexing of the workspace. Number of files to index is not
+ * known in advance, it grows while workspace tree is traversed, so until traversal is finished
+ * percentage is an estimation.
+ */
+public class IndexingProgress {
+
+  private final AtomicLong discoveredFiles = new AtomicLong();
+  private final AtomicLong indexedFiles = new AtomicLong();
+  private volatile boolean discoveryComplete;
+  private volatile boolean complete;
+
+  public void fileDiscovered() {
+    discoveredFiles.incrementAndGet();
+  }
+
+  public void filesIndexed(int count) {
+    indexedFiles.addAndGet(count);
+  }
+
+  public void discoveryCompleted() {
+    discoveryComplete = true;
+  }
+
+  public void completed() {
+    discoveryComplete = true;
+    complete = true;
+  }
+
+  public long getDiscoveredFiles() {
+    return discoveredFiles.get();
+  }
+
+  public long getIndexedFiles() {
+    return indexedFiles.get();
+  }
+
+  public boolean isDiscoveryComplete() {
+    return discoveryComplete;
+  }
+
+  public boolean isComplete() {
+    return complete;
+  }
+
+  /** Returns progress in percents, 100 is returned only when indexing is complete. */
+  public int getPercent() {
+    if (complete) {
+      return 100;
+    }
+    final long discovered = discoveredFiles.get();
+    if (discovered == 0) {
+      return 0;
+    }
+    return (int) Math.min(99, indexedFiles.get() * 100 / discovered);
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.search.server;
+
+import static com.google.common.collect.Sets.newConcurrentHashSet;
+import static org.eclipse.che.api.project.shared.Constants.EVENT_SEARCH_INDEXING_PROGRESS;
+import static org.eclipse.che.api.project.shared.Constants.SEARCH_INDEXING_PROGRESS_GET;
+import static org.eclipse.che.api.project.shared.Constants.SEARCH_INDEXING_PROGRESS_SUBSCRIBE;
+import static org.eclipse.che.api.project.shared.Constants.SEARCH_INDEXING_PROGRESS_UNSUBSCRIBE;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+
+import java.util.Set;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
+import org.eclipse.che.api.project.shared.dto.event.IndexingProgressDto;
+import org.eclipse.che.commons.schedule.ScheduleRate;
+
+/**
+ * Reports progress of the initial indexing to the subscribed clients, so they can show it instead
+ * of incomplete search results. Progress is sent about once a second while indexing is running and
+ * once when it is complete. Current progress can also be requested at any time.
+ */
+@Singleton
+public class IndexingProgressJsonRpcMessenger {
+
+  private final Set<String> endpointIds = newConcurrentHashSet();
+
+  private final Searcher searcher;
+  private final RequestTransmitter transmitter;
+
+  private volatile boolean completionSent;
+
+  @Inject
+  public IndexingProgressJsonRpcMessenger(Searcher searcher, RequestTransmitter transmitter) {
+    this.searcher = searcher;
+    this.transmitter = transmitter;
+  }
+
+  @Inject
+  private void configureHandlers(RequestHandlerConfigurator configurator) {
+    configurator
+        .newConfiguration()
+        .methodName(SEARCH_INDEXING_PROGRESS_GET)
+        .noParams()
+        .resultAsDto(IndexingProgressDto.class)
+        .withFunction(endpointId -> asDto(searcher.getIndexingProgress()));
+
+    configurator
+        .newConfiguration()
+        .methodName(SEARCH_INDEXING_PROGRESS_SUBSCRIBE)
+        .noParams()
+        .noResult()
+        .withConsumer(this::subscribe);
+
+    configurator
+        .newConfiguration()
+        .methodName(SEARCH_INDEXING_PROGRESS_UNSUBSCRIBE)
+        .noParams()
+        .noResult()
+        .withConsumer(endpointIds::remove);
+  }
+
+  private synchronized void subscribe(String endpointId) {
+    endpointIds.add(endpointId);
+    if (completionSent) {
+      // periodic notifications are over, so completion is sent to the late client right away
+      send(endpointId, asDto(searcher.getIndexingProgress()));
+    }
+  }
+
+  @ScheduleRate(period = 1, initialDelay = 1)
+  private synchronized void sendProgress() {
+    if (completionSent) {
+      return;
+    }
+    IndexingProgress progress = searcher.getIndexingProgress();
+    // read completion before building dto to not miss the last notification
+    boolean complete = progress.isComplete();
+    IndexingProgressDto dto = asDto(progress);
+    boolean sent = false;
+    for (String endpointId : endpointIds) {
+      send(endpointId, dto);
+      sent = true;
+    }
+    // clients which subscribe later still have to be notified about completion
+    completionSent = complete && sent;
+  }
+
+  private void send(String endpointId, IndexingProgressDto dto) {
+    transmitter
+        .newRequest()
+        .endpointId(endpointId)
+        .methodName(EVENT_SEARCH_INDEXING_PROGRESS)
+        .paramsAsDto(dto)
+        .sendAndSkipResult();
+  }
+
+  private static IndexingProgressDto asDto(IndexingProgress progress) {
+    return newDto(IndexingProgressDto.class)
+        .withComplete(progress.isComplete())
+        .withDiscoveredFiles(progress.getDiscoveredFiles())
+        .withIndexedFiles(progress.getIndexedFiles())
+        .withPercent(progress.getPercent());
+  }
+}
@@ -33,6 +33,7 @@ public class SearchApiModule extends AbstractModule {
   @Override
   protected void configure() {
     bind(Searcher.class).to(LuceneSearcher.class);
+    bind(IndexingProgressJsonRpcMessenger.class).asEagerSingleton();
 
     Multibinder<PathMatcher> excludeMatcher =
         newSetBinder(binder(), PathMatcher.class, Names.named("vfs.index_filter_matcher"));
@@ -46,4 +46,7 @@ public interface Searcher {
    * @throws ServerException if an error occurs
    */
   void update(Path fsPath);
+
+  /** Returns progress of the initial indexing of the workspace. */
+  IndexingProgress getIndexingProgress();
 }
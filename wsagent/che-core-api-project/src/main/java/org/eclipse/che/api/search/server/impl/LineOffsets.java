@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.search.server.impl;
+
+import java.io.IOException;
+import java.util.Arrays;
+import org.apache.lucene.store.ByteArrayDataInput;
+import org.apache.lucene.store.ByteArrayDataOutput;
+import org.apache.lucene.util.BytesRef;
+
+/**
+ * Table of line start offsets of an indexed text. Allows to resolve line number and line content
+ * of the token by its offset with binary search instead of scanning text from the beginning.
+ *
+ * <p>Table is stored in the index together with the document as sequence of variable length
+ * encoded deltas between line starts, so it costs about one or two bytes per line.
+ */
+final class LineOffsets {
+
+  private final int[] starts;
+  private final int size;
+
+  private LineOffsets(int[] starts, int size) {
+    this.starts = starts;
+    this.size = size;
+  }
+
+  /** Builds line table of the given text. Line separators are '\n', '\r' and "\r\n". */
+  static LineOffsets of(String text) {
+    int[] starts = new int[16];
+    int size = 1;
+    final int length = text.length();
+    for (int i = 0; i < length; i++) {
+      char c = text.charAt(i);
+      if (c == '\r' && i + 1 < length && text.charAt(i + 1) == '\n') {
+        i++;
+      } else if (c != '\n' && c != '\r') {
+        continue;
+      }
+      if (size == starts.length) {
+        starts = Arrays.copyOf(starts, size << 1);
+      }
+      starts[size++] = i + 1;
+    }
+    return new LineOffsets(starts, size);
+  }
+
+  /** Restores line table from its stored representation. */
+  static LineOffsets decode(BytesRef bytes) {
+    ByteArrayDataInput in = new ByteArrayDataInput(bytes.bytes, bytes.offset, bytes.length);
+    final int size = in.readVInt();
+    int[] starts = new int[size];
+    for (int i = 1; i < size; i++) {
+      starts[i] = starts[i - 1] + in.readVInt();
+    }
+    return new LineOffsets(starts, size);
+  }
+
+  /** Returns representation of this table suitable to be stored in the index. */
+  BytesRef encode() {
+    // vInt takes at most 5 bytes
+    byte[] buffer = new byte[5 * (size + 1)];
+    ByteArrayDataOutput out = new ByteArrayDataOutput(buffer);
+    try {
+      out.writeVInt(size);
+      for (int i = 1; i < size; i++) {
+        out.writeVInt(starts[i] - starts[i - 1]);
+      }
+    } catch (IOException e) {
+      // never happens, buffer is big enough
+      throw new IllegalStateException(e.getMessage(), e);
+    }
+    return new BytesRef(buffer, 0, out.getPosition());
+  }
+
+  /** Returns number of lines in the text. */
+  int size() {
+    return size;
+  }
+
+  /** Returns 1-based number of the line that contains given offset. */
+  int lineNumber(int offset) {
+    int index = Arrays.binarySearch(starts, 0, size, offset);
+    return index >= 0 ? index + 1 : -index - 1;
+  }
+
+  /**
+   * Returns content of the line with given 1-based number, without line separator.
+   *
+   * @param text text this table was built for
+   * @param lineNumber 1-based line number
+   */
+  String line(String text, int lineNumber) {
+    final int start = Math.min(starts[lineNumber - 1], text.length());
+    int end = lineNumber < size ? starts[lineNumber] : text.length();
+    while (end > start && (text.charAt(end - 1) == '\n' || text.charAt(end - 1) == '\r')) {
+      end--;
+    }
+    return text.substring(start, end);
+  }
+}
@@ -14,7 +14,9 @@ import static com.google.common.collect.Lists.newArrayList;
 import static org.eclipse.che.api.fs.server.WsPathUtils.nameOf;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.io.CharStreams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
@@ -26,15 +28,23 @@ import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Scanner;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -48,11 +58,14 @@ import org.apache.lucene.analysis.tokenattributes.OffsetAttribute;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
 import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.StoredField;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
 import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.MultiFields;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.queryparser.classic.ParseException;
 import org.apache.lucene.queryparser.classic.QueryParser;
@@ -73,8 +86,10 @@ import org.apache.lucene.search.highlight.QueryScorer;
 import org.apache.lucene.search.highlight.TokenSources;
 import org.apache.lucene.store.FSDirectory;
 import org.apache.lucene.store.SingleInstanceLockFactory;
+import org.apache.lucene.util.Bits;
 import org.apache.lucene.util.BytesRef;
 import org.eclipse.che.api.fs.server.PathTransformer;
+import org.eclipse.che.api.search.server.IndexingProgress;
 import org.eclipse.che.api.search.server.InvalidQueryException;
 import org.eclipse.che.api.search.server.OffsetData;
 import org.eclipse.che.api.search.server.QueryExecutionException;
@@ -100,6 +115,15 @@ public class LuceneSearcher implements Searcher {
   private static final String PATH_FIELD = "path";
   private static final String NAME_FIELD = "name";
   private static final String TEXT_FIELD = "text";
+  private static final String LINES_FIELD = "lines";
+  private static final String MODIFIED_FIELD = "modified";
+  private static final String SIZE_FIELD = "size";
+
+  private static final int INDEXING_THREADS = Runtime.getRuntime().availableProcessors();
+  private static final int INDEXING_QUEUE_CAPACITY = 1024;
+  private static final int INDEXING_BATCH_SIZE = 128;
+  /** Marks the end of the initial indexing queue, compared by reference. */
+  private static final Path END_OF_QUEUE = Paths.get("");
 
   private final Set<PathMatcher> excludePatterns;
   private final File indexDirectory;
@@ -110,6 +134,7 @@ public class LuceneSearcher implements Searcher {
   private final SearcherManager searcherManager;
   private final Analyzer analyzer;
   private final CountDownLatch initialIndexingLatch = new CountDownLatch(1);
+  private final IndexingProgress indexingProgress = new IndexingProgress();
   private final Sort sort;
 
   @Inject
@@ -154,10 +179,16 @@ public class LuceneSearcher implements Searcher {
             () -> {
               try {
                 long start = System.currentTimeMillis();
-                add(root.toPath());
+                indexTree(root.toPath());
+                luceneIndexWriter.commit();
                 LOG.info(
-                    "Initial indexing complete after {} msec ", System.currentTimeMillis() - start);
+                    "Initial indexing of {} files complete after {} msec ",
+                    indexingProgress.getIndexedFiles(),
+                    System.currentTimeMillis() - start);
+              } catch (IOException e) {
+                LOG.warn("Can't commit initial indexing results because {}", e.getMessage());
               } finally {
+                indexingProgress.completed();
                 initialIndexingLatch.countDown();
               }
             });
@@ -171,11 +202,199 @@ public class LuceneSearcher implements Searcher {
     return initialIndexingLatch;
   }
 
+  @Override
+  public IndexingProgress getIndexingProgress() {
+    return indexingProgress;
+  }
+
+  /**
+   * Indexes whole tree with the pipeline of a single walker, that puts found files to the bounded
+   * queue, and {@link #INDEXING_THREADS} workers, that read and analyze files and add them to the
+   * index in batches.
+   *
+   * <p>Index left from the previous run is reconciled with the tree: files which modification time
+   * and size are the same as stored in the index are not read again, documents of files that no
+   * longer exist or are excluded are deleted.
+   */
+  private void indexTree(Path treeRoot) {
+    Map<String, IndexedFile> indexedFiles = readIndexedFiles();
+    BlockingQueue<Path> queue = new ArrayBlockingQueue<>(INDEXING_QUEUE_CAPACITY);
+    ExecutorService workers =
+        Executors.newFixedThreadPool(
+            INDEXING_THREADS,
+            new ThreadFactoryBuilder()
+                .setNameFormat("LuceneSearcherIndexer-%d")
+                .setDaemon(true)
+                .build());
+    for (int i = 0; i < INDEXING_THREADS; i++) {
+      workers.execute(() -> indexQueuedFiles(queue));
+    }
+
+    try {
+      Files.walkFileTree(
+          treeRoot,
+          new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+              if (!isNotExcluded(file)) {
+                return FileVisitResult.CONTINUE;
+              }
+              indexingProgress.fileDiscovered();
+              IndexedFile indexed = indexedFiles.remove(pathTransformer.transform(file));
+              if (indexed != null && indexed.isUpToDate(attrs)) {
+                indexingProgress.filesIndexed(1);
+                return FileVisitResult.CONTINUE;
+              }
+              try {
+                queue.put(file);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return FileVisitResult.TERMINATE;
+              }
+              return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+              LOG.warn("Not able to index {} because {} ", file, exc.getMessage());
+              return FileVisitResult.CONTINUE;
+            }
+          });
+      if (!Thread.currentThread().isInterrupted()) {
+        deleteDocuments(indexedFiles.keySet());
+      }
+    } catch (IOException e) {
+      LOG.warn("Not able to index {} because {} ", treeRoot, e.getMessage());
+    } finally {
+      indexingProgress.discoveryCompleted();
+      try {
+        for (int i = 0; i < INDEXING_THREADS; i++) {
+          queue.put(END_OF_QUEUE);
+        }
+        workers.shutdown();
+        workers.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        workers.shutdownNow();
+      }
+    }
+  }
+
+  /** Reads paths, modification times and sizes of all files stored in the index. */
+  private Map<String, IndexedFile> readIndexedFiles() {
+    Map<String, IndexedFile> indexedFiles = new HashMap<>();
+    IndexSearcher luceneSearcher = null;
+    try {
+      searcherManager.maybeRefresh();
+      luceneSearcher = searcherManager.acquire();
+      IndexReader reader = luceneSearcher.getIndexReader();
+      Bits liveDocs = MultiFields.getLiveDocs(reader);
+      Set<String> fieldsToLoad = ImmutableSet.of(PATH_FIELD, MODIFIED_FIELD, SIZE_FIELD);
+      for (int docId = 0; docId < reader.maxDoc(); docId++) {
+        if (liveDocs != null && !liveDocs.get(docId)) {
+          continue;
+        }
+        Document doc = reader.document(docId, fieldsToLoad);
+        IndexableField modified = doc.getField(MODIFIED_FIELD);
+        IndexableField size = doc.getField(SIZE_FIELD);
+        // documents indexed by previous versions don't have modification stamp
+        // and will be indexed again
+        indexedFiles.put(
+            doc.get(PATH_FIELD),
+            modified != null && size != null
+                ? new IndexedFile(
+                    modified.numericValue().longValue(), size.numericValue().longValue())
+                : IndexedFile.OUTDATED);
+      }
+    } catch (IOException e) {
+      LOG.warn("Can't read existed index, it will be rebuilt. Cause: {}", e.getMessage());
+    } finally {
+      if (luceneSearcher != null) {
+        try {
+          searcherManager.release(luceneSearcher);
+        } catch (IOException e) {
+          LOG.error(e.getMessage());
+        }
+      }
+    }
+    LOG.info("Found {} files in existed index", indexedFiles.size());
+    return indexedFiles;
+  }
+
+  private void deleteDocuments(Set<String> wsPaths) throws IOException {
+    if (wsPaths.isEmpty()) {
+      return;
+    }
+    LOG.debug("Deleting {} files that were removed since index was updated", wsPaths.size());
+    Term[] terms = new Term[wsPaths.size()];
+    int i = 0;
+    for (String wsPath : wsPaths) {
+      terms[i++] = new Term(PATH_FIELD, wsPath);
+    }
+    luceneIndexWriter.deleteDocuments(terms);
+  }
+
+  private void indexQueuedFiles(BlockingQueue<Path> queue) {
+    List<Document> batch = new ArrayList<>(INDEXING_BATCH_SIZE);
+    try {
+      for (Path file = queue.take(); file != END_OF_QUEUE; file = queue.take()) {
+        try {
+          Document doc = createDocument(file);
+          if (doc != null) {
+            batch.add(doc);
+          } else {
+            indexingProgress.filesIndexed(1);
+          }
+        } catch (RuntimeException e) {
+          LOG.warn("Can't index file: {} because {}", file, e.getMessage());
+          indexingProgress.filesIndexed(1);
+        }
+        if (batch.size() >= INDEXING_BATCH_SIZE) {
+          addDocuments(batch);
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      addDocuments(batch);
+    }
+  }
+
+  /**
+   * Adds batch of documents to the index and clears it. Documents of the same files that are
+   * already in the index, e.g. left from the previous run, are replaced.
+   */
+  private void addDocuments(List<Document> batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    Term[] paths = new Term[batch.size()];
+    for (int i = 0; i < paths.length; i++) {
+      paths[i] = new Term(PATH_FIELD, batch.get(i).get(PATH_FIELD));
+    }
+    try {
+      luceneIndexWriter.deleteDocuments(paths);
+      luceneIndexWriter.addDocuments(batch);
+    } catch (IOException e) {
+      LOG.warn("Can't add batch of {} files to index because {}", paths.length, e.getMessage());
+    }
+    indexingProgress.filesIndexed(paths.length);
+    batch.clear();
+  }
+
   @ScheduleRate(period = 30, initialDelay = 30)
   private void commitIndex() throws IOException {
     luceneIndexWriter.commit();
   }
 
+  /** Commits pending changes, so index can be reused on the next start without full rebuild. */
+  @PreDestroy
+  @VisibleForTesting
+  void close() throws IOException {
+    searcherManager.close();
+    luceneIndexWriter.close();
+  }
+
   @Override
   public SearchResult search(QueryExpression query)
       throws InvalidQueryException, QueryExecutionException {
@@ -209,6 +428,10 @@ public class LuceneSearcher implements Searcher {
           String txt = doc.get(TEXT_FIELD);
           if (txt != null) {
             IndexReader reader = luceneSearcher.getIndexReader();
+            BytesRef storedLines = doc.getBinaryValue(LINES_FIELD);
+            // documents indexed by previous versions don't have line table
+            LineOffsets lines =
+                storedLines != null ? LineOffsets.decode(storedLines) : LineOffsets.of(txt);
 
             TokenStream tokenStream =
                 TokenSources.getTokenStream(
@@ -251,19 +474,8 @@ public class LuceneSearcher implements Searcher {
               float res = queryScorer.getTokenScore();
               if (res > 0.0F && startOffset <= endOffset) {
                 String tokenText = txt.substring(startOffset, endOffset);
-                Scanner sc = new Scanner(txt);
-                int lineNum = 1;
-                long len = 0;
-                String foundLine = "";
-                while (sc.hasNextLine()) {
-                  foundLine = sc.nextLine();
-
-                  len += foundLine.length();
-                  if (len > startOffset) {
-                    break;
-                  }
-                  lineNum++;
-                }
+                int lineNum = lines.lineNumber(startOffset);
+                String foundLine = lines.line(txt, lineNum);
                 offsetData.add(
                     new OffsetData(tokenText, startOffset, endOffset, res, lineNum, foundLine));
               }
@@ -387,16 +599,37 @@ public class LuceneSearcher implements Searcher {
   }
 
   private void addFile(Path fsPath) {
-    if (!fsPath.toFile().exists()) {
+    Document doc = createDocument(fsPath);
+    if (doc == null) {
       return;
     }
+    String wsPath = doc.get(PATH_FIELD);
+    try {
+      luceneIndexWriter.updateDocument(new Term(PATH_FIELD, wsPath), doc);
+    } catch (IOException e) {
+      LOG.warn("Can't index file: {}", wsPath);
+    }
+  }
+
+  /** Reads and analyzes file, returns {@code null} if file should not or can't be indexed. */
+  private Document createDocument(Path fsPath) {
+    if (!fsPath.toFile().exists()) {
+      return null;
+    }
 
     if (!isNotExcluded(fsPath)) {
-      return;
+      return null;
     }
     String wsPath = pathTransformer.transform(fsPath);
     LOG.debug("Adding file {} ", wsPath);
 
+    BasicFileAttributes attrs;
+    try {
+      attrs = Files.readAttributes(fsPath, BasicFileAttributes.class);
+    } catch (IOException e) {
+      LOG.warn("Can't index file: {}", wsPath);
+      return null;
+    }
     try (Reader reader =
         new BufferedReader(new InputStreamReader(new FileInputStream(fsPath.toFile()), "utf-8"))) {
       String name = nameOf(wsPath);
@@ -404,15 +637,19 @@ public class LuceneSearcher implements Searcher {
       doc.add(new StringField(PATH_FIELD, wsPath, Field.Store.YES));
       doc.add(new SortedDocValuesField(PATH_FIELD, new BytesRef(wsPath)));
       doc.add(new TextField(NAME_FIELD, name, Field.Store.YES));
+      doc.add(new StoredField(MODIFIED_FIELD, attrs.lastModifiedTime().toMillis()));
+      doc.add(new StoredField(SIZE_FIELD, attrs.size()));
       try {
-        doc.add(new TextField(TEXT_FIELD, CharStreams.toString(reader), Field.Store.YES));
+        String text = CharStreams.toString(reader);
+        doc.add(new TextField(TEXT_FIELD, text, Field.Store.YES));
+        doc.add(new StoredField(LINES_FIELD, LineOffsets.of(text).encode()));
       } catch (MalformedInputException e) {
         LOG.warn("Can't index file: {}", wsPath);
       }
-      luceneIndexWriter.updateDocument(new Term(PATH_FIELD, wsPath), doc);
-
+      return doc;
     } catch (IOException oome) {
       LOG.warn("Can't index file: {}", wsPath);
+      return null;
     }
   }
 
@@ -472,4 +709,21 @@ public class LuceneSearcher implements Searcher {
     }
     return true;
   }
+
+  /** Modification stamp of the file stored in the index. */
+  private static final class IndexedFile {
+    static final IndexedFile OUTDATED = new IndexedFile(-1, -1);
+
+    final long modified;
+    final long size;
+
+    IndexedFile(long modified, long size) {
+      this.modified = modified;
+      this.size = size;
+    }
+
+    boolean isUpToDate(BasicFileAttributes attrs) {
+      return modified == attrs.lastModifiedTime().toMillis() && size == attrs.size();
+    }
+  }
 }
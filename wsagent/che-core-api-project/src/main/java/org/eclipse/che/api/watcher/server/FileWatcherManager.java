@@ -62,6 +62,9 @@ public interface FileWatcherManager {
    * <p>On successful start you receive a registration identifier to distinguish specific consumer
    * sets as there can be registered arbitrary number of consumers to a single path matcher.
    *
+   * <p>Prefer {@link IndexedPathMatcher} to arbitrary matchers, those are checked against each
+   * created item, while indexed ones only against items with suitable file name.
+   *
    * @param matcher absolute workspace path
    * @param create consumer for create event
    * @param modify consumer for modify event
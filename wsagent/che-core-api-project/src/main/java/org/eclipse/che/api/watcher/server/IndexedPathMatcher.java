@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.watcher.server;
+
+import static java.util.Objects.requireNonNull;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+
+/**
+ * Path matcher that declares which file names it can match, so file watcher keeps such matchers
+ * in an index and checks only those that are suitable for the name of a created item, instead of
+ * checking each registered matcher.
+ *
+ * <p>Matcher is described by an exact file name, optionally together with the name of the parent
+ * directory, or by a file name suffix (e.g. extension), additional conditions can be added with
+ * {@link #and(PathMatcher)}.
+ */
+public final class IndexedPathMatcher implements PathMatcher {
+
+  private static final String GLOB_SYNTAX = "glob:";
+  private static final String GLOB_SPECIAL_CHARS = "*?[]{},\\";
+
+  private final String fileName;
+  private final String parentName;
+  private final String fileNameSuffix;
+  private final PathMatcher condition;
+
+  private IndexedPathMatcher(
+      String fileName, String parentName, String fileNameSuffix, PathMatcher condition) {
+    this.fileName = fileName;
+    this.parentName = parentName;
+    this.fileNameSuffix = fileNameSuffix;
+    this.condition = condition;
+  }
+
+  /** Matches items with the given file name. */
+  public static IndexedPathMatcher fileName(String fileName) {
+    return new IndexedPathMatcher(requireNonNull(fileName), null, null, it -> true);
+  }
+
+  /** Matches items with the given file name which parent directory has the given name. */
+  public static IndexedPathMatcher fileName(String fileName, String parentName) {
+    return new IndexedPathMatcher(
+        requireNonNull(fileName), requireNonNull(parentName), null, it -> true);
+  }
+
+  /**
+   * Creates matcher of the default file system for the given syntax and pattern, as it is done by
+   * {@link java.nio.file.FileSystem#getPathMatcher(String)}. If pattern is a glob which ends with a
+   * literal file name or with a literal file name suffix, e.g. {@code glob:**}{@code /pom.xml} or
+   * {@code glob:*.java}, matcher is indexed by it, otherwise it is checked against each item.
+   */
+  public static IndexedPathMatcher of(String syntaxAndPattern) {
+    PathMatcher matcher = FileSystems.getDefault().getPathMatcher(syntaxAndPattern);
+    if (!syntaxAndPattern.startsWith(GLOB_SYNTAX)) {
+      return new IndexedPathMatcher(null, null, null, matcher);
+    }
+
+    String pattern = syntaxAndPattern.substring(GLOB_SYNTAX.length());
+    int lastSpecial = -1;
+    for (int i = 0; i < pattern.length(); i++) {
+      if (GLOB_SPECIAL_CHARS.indexOf(pattern.charAt(i)) >= 0) {
+        lastSpecial = i;
+      }
+    }
+    String literal = pattern.substring(lastSpecial + 1);
+    int slash = literal.lastIndexOf('/');
+    if (slash >= 0) {
+      literal = literal.substring(slash + 1);
+    }
+
+    if (literal.isEmpty()) {
+      return new IndexedPathMatcher(null, null, null, matcher);
+    }
+    if (slash >= 0 || lastSpecial < 0) {
+      return new IndexedPathMatcher(literal, null, null, matcher);
+    }
+    return new IndexedPathMatcher(null, null, literal, matcher);
+  }
+
+  /** Returns matcher that additionally requires the given condition to be satisfied. */
+  public IndexedPathMatcher and(PathMatcher condition) {
+    PathMatcher current = this.condition;
+    return new IndexedPathMatcher(
+        fileName, parentName, fileNameSuffix, it -> current.matches(it) && condition.matches(it));
+  }
+
+  /** Returns file name of matched items or {@code null} if it is not defined. */
+  public String getFileName() {
+    return fileName;
+  }
+
+  /** Returns name of parent directory of matched items or {@code null} if it is not defined. */
+  public String getParentName() {
+    return parentName;
+  }
+
+  /** Returns suffix of file names of matched items or {@code null} if it is not defined. */
+  public String getFileNameSuffix() {
+    return fileNameSuffix;
+  }
+
+  @Override
+  public boolean matches(Path path) {
+    if (fileName != null || fileNameSuffix != null) {
+      Path name = path.getFileName();
+      if (name == null) {
+        return false;
+      }
+      if (fileName != null && !fileName.equals(name.toString())) {
+        return false;
+      }
+      if (fileNameSuffix != null && !name.toString().endsWith(fileNameSuffix)) {
+        return false;
+      }
+    }
+    if (parentName != null) {
+      Path parent = path.getParent();
+      if (parent == null
+          || parent.getFileName() == null
+          || !parentName.equals(parent.getFileName().toString())) {
+        return false;
+      }
+    }
+    return condition.matches(path);
+  }
+
+  @Override
+  public String toString() {
+    return "IndexedPathMatcher{"
+        + "fileName='"
+        + fileName
+        + '\''
+        + ", parentName='"
+        + parentName
+        + '\''
+        + ", fileNameSuffix='"
+        + fileNameSuffix
+        + '\''
+        + '}';
+  }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.watcher.server.impl;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact model of a file system tree that keeps last modification time of each item. Items are
+ * stored as a tree of nodes, each node keeps only its own name, that is interned, and a primitive
+ * modification time, so memory footprint does not depend on the depth of the tree as it is for
+ * map of absolute paths to boxed timestamps.
+ *
+ * <p>Each update of an item marks it with the current generation, this allows to find items that
+ * were not visited during a walk and so no longer exist, without checking each of them.
+ *
+ * <p>The class is not thread safe.
+ */
+final class FileTree {
+
+  /** Result of an item update. */
+  enum Change {
+    CREATED,
+    UPDATED,
+    UNCHANGED,
+    /** Item can't be added because its parent is not a part of the tree. */
+    IGNORED
+  }
+
+  private final Interner<String> names = Interners.newWeakInterner();
+  private final Path root;
+  private final Node rootNode;
+
+  private int generation;
+
+  FileTree(Path root) {
+    this.root = root;
+    this.rootNode = new Node(null, "", true);
+  }
+
+  /** Starts new generation, items updated after this call are marked with it. */
+  int nextGeneration() {
+    return ++generation;
+  }
+
+  /** Returns {@code true} if the tree contains an item with the given path. */
+  boolean contains(Path path) {
+    Node node = find(path);
+    return node != null && node.present;
+  }
+
+  /**
+   * Adds item to the tree or updates its modification time. Item can be added only if its parent
+   * directory is already a part of the tree, the tree root can be always added.
+   */
+  Change put(Path path, boolean directory, long modified) {
+    final Node node;
+    if (path.equals(root)) {
+      node = rootNode;
+    } else {
+      Node parent = find(path.getParent());
+      if (parent == null || !parent.present || !parent.directory) {
+        return Change.IGNORED;
+      }
+      String name = path.getFileName().toString();
+      Node child = parent.children == null ? null : parent.children.get(name);
+      if (child == null || child.directory != directory) {
+        if (child != null) {
+          // type of the item is changed, treat it as a new one
+          detach(child);
+        }
+        child = new Node(parent, names.intern(name), directory);
+        parent.addChild(child);
+      }
+      node = child;
+    }
+
+    node.generation = generation;
+    if (!node.present) {
+      node.present = true;
+      node.modified = modified;
+      return Change.CREATED;
+    }
+    if (node.modified != modified) {
+      node.modified = modified;
+      return Change.UPDATED;
+    }
+    return Change.UNCHANGED;
+  }
+
+  /**
+   * Removes an item with all its descendants.
+   *
+   * @return removed items, descendants go before their parents
+   */
+  List<Removed> remove(Path path) {
+    Node node = find(path);
+    if (node == null || !node.present) {
+      return new ArrayList<>();
+    }
+    List<Removed> removed = new ArrayList<>();
+    collect(node, Integer.MIN_VALUE, removed);
+    return removed;
+  }
+
+  /**
+   * Removes items from the subtree with the given root that were not updated in the current
+   * generation, including the subtree root itself.
+   *
+   * @return removed items, descendants go before their parents
+   */
+  List<Removed> removeUnvisited(Path subtreeRoot) {
+    Node node = find(subtreeRoot);
+    if (node == null || !node.present) {
+      return new ArrayList<>();
+    }
+    List<Removed> removed = new ArrayList<>();
+    collect(node, generation, removed);
+    return removed;
+  }
+
+  private void collect(Node node, int keepGeneration, List<Removed> removed) {
+    if (node.generation == keepGeneration) {
+      if (node.children != null) {
+        for (Node child : new ArrayList<>(node.children.values())) {
+          collect(child, keepGeneration, removed);
+        }
+      }
+      return;
+    }
+    collectAll(node, pathOf(node), removed);
+    detach(node);
+  }
+
+  private void collectAll(Node node, Path path, List<Removed> removed) {
+    if (node.children != null) {
+      for (Node child : node.children.values()) {
+        collectAll(child, path.resolve(child.name), removed);
+      }
+    }
+    removed.add(new Removed(path, node.directory));
+  }
+
+  private void detach(Node node) {
+    node.present = false;
+    node.children = null;
+    if (node.parent != null) {
+      node.parent.children.remove(node.name);
+    }
+  }
+
+  private Node find(Path path) {
+    if (!path.startsWith(root)) {
+      return null;
+    }
+    Node node = rootNode;
+    for (Path segment : root.relativize(path)) {
+      String name = segment.toString();
+      if (name.isEmpty()) {
+        // relative path of the root itself
+        continue;
+      }
+      if (node.children == null) {
+        return null;
+      }
+      node = node.children.get(name);
+      if (node == null) {
+        return null;
+      }
+    }
+    return node;
+  }
+
+  private Path pathOf(Node node) {
+    Deque<String> segments = new ArrayDeque<>();
+    for (Node it = node; it.parent != null; it = it.parent) {
+      segments.push(it.name);
+    }
+    Path path = root;
+    for (String segment : segments) {
+      path = path.resolve(segment);
+    }
+    return path;
+  }
+
+  /** Item removed from the tree. */
+  static final class Removed {
+    final Path path;
+    final boolean directory;
+
+    private Removed(Path path, boolean directory) {
+      this.path = path;
+      this.directory = directory;
+    }
+  }
+
+  private static final class Node {
+    final Node parent;
+    final String name;
+    final boolean directory;
+
+    boolean present;
+    long modified;
+    int generation;
+    Map<String, Node> children;
+
+    Node(Node parent, String name, boolean directory) {
+      this.parent = parent;
+      this.name = name;
+      this.directory = directory;
+    }
+
+    void addChild(Node child) {
+      if (children == null) {
+        children = new HashMap<>(4);
+      }
+      children.put(child.name, child);
+    }
+  }
+}
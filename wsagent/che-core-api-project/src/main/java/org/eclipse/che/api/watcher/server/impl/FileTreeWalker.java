@@ -12,9 +12,11 @@ package org.eclipse.che.api.watcher.server.impl;
 
 import static java.nio.file.FileVisitResult.CONTINUE;
 import static java.nio.file.FileVisitResult.SKIP_SUBTREE;
-import static java.nio.file.Files.exists;
+import static java.nio.file.Files.isDirectory;
+import static java.nio.file.Files.readAttributes;
 import static java.nio.file.Files.walkFileTree;
-import static java.util.stream.Collectors.toSet;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
 
 import com.google.inject.Inject;
 import java.io.File;
@@ -24,14 +26,20 @@ import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
 import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent.Kind;
 import java.nio.file.attribute.BasicFileAttributes;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.function.Consumer;
 import javax.annotation.PostConstruct;
 import javax.inject.Named;
 import javax.inject.Singleton;
+import org.eclipse.che.api.watcher.server.impl.FileTree.Change;
+import org.eclipse.che.api.watcher.server.impl.FileTree.Removed;
 import org.eclipse.che.commons.schedule.ScheduleRate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,11 +47,20 @@ import org.slf4j.LoggerFactory;
 /**
  * Walks a file system tree, register addition, update and removal of file system items. On events
  * runs corresponding consumers that can be registered in DI configuration modules.
+ *
+ * <p>Works in one of two modes. In polling mode whole tree is walked each 10 seconds. In event
+ * driven mode (enabled by {@code che.fs.tree_walker.event_driven}) all directories of the tree are
+ * registered in {@link FileWatcherService} and the tree model is updated by its events, only
+ * directories for which watcher reports events overflow are walked again. If watch service is not
+ * able to register more directories walker falls back to polling mode.
  */
 @Singleton
 public class FileTreeWalker {
   private static final Logger LOG = LoggerFactory.getLogger(FileTreeWalker.class);
 
+  /** Max number of overflowed directories walked again at once in event driven mode. */
+  private static final int MAX_RESCANS_PER_WALK = 16;
+
   private final File root;
 
   private final Set<Consumer<Path>> directoryUpdateConsumers;
@@ -56,10 +73,17 @@ public class FileTreeWalker {
   private final Set<Consumer<Path>> fileDeleteConsumers;
   private final Set<PathMatcher> fileExcludes;
 
-  private final Map<Path, Long> files = new HashMap<>();
-  private final Map<Path, Long> directories = new HashMap<>();
+  private final FileWatcherService watcherService;
+
+  /** Guarded by itself, as well as {@link #pendingRescans}. */
+  private final FileTree tree;
 
-  private boolean initialized;
+  private final Set<Path> pendingRescans = new LinkedHashSet<>();
+  /** Directories registered in {@link #watcherService} by the walker, guarded by the tree. */
+  private final Set<Path> watchedDirectories = new HashSet<>();
+
+  private volatile boolean eventDriven;
+  private volatile boolean initialized;
 
   @Inject
   public FileTreeWalker(
@@ -71,7 +95,9 @@ public class FileTreeWalker {
       @Named("che.fs.file.update") Set<Consumer<Path>> fileUpdateConsumers,
       @Named("che.fs.file.create") Set<Consumer<Path>> fileCreateConsumers,
       @Named("che.fs.file.delete") Set<Consumer<Path>> fileDeleteConsumers,
-      @Named("che.fs.file.excludes") Set<PathMatcher> fileExcludes) {
+      @Named("che.fs.file.excludes") Set<PathMatcher> fileExcludes,
+      @Named("che.fs.tree_walker.event_driven") boolean eventDriven,
+      FileWatcherService watcherService) {
     this.root = root;
 
     this.directoryUpdateConsumers = directoryUpdateConsumers;
@@ -84,42 +110,21 @@ public class FileTreeWalker {
 
     this.directoryExcludes = directoryExcludes;
     this.fileExcludes = fileExcludes;
+
+    this.eventDriven = eventDriven;
+    this.watcherService = watcherService;
+    this.tree = new FileTree(root.toPath());
   }
 
   @PostConstruct
   void initialize() {
-    try {
-      walkFileTree(
-          root.toPath(),
-          new SimpleFileVisitor<Path>() {
-            @Override
-            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
-              for (PathMatcher matcher : directoryExcludes) {
-                if (matcher.matches(dir)) {
-                  return SKIP_SUBTREE;
-                }
-              }
-
-              directories.put(dir, attrs.lastModifiedTime().toMillis());
-
-              return CONTINUE;
-            }
-
-            @Override
-            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
-              for (PathMatcher matcher : fileExcludes) {
-                if (matcher.matches(file)) {
-                  return CONTINUE;
-                }
-              }
-
-              files.put(file, attrs.lastModifiedTime().toMillis());
+    if (eventDriven) {
+      watcherService.addTreeListener(this::onEvent);
+      watcherService.addOverflowListener(this::onOverflow);
+    }
 
-              return CONTINUE;
-            }
-          });
-    } catch (IOException e) {
-      LOG.error("Error while walking file tree", e);
+    synchronized (tree) {
+      scan(root.toPath(), null);
     }
 
     initialized = true;
@@ -132,76 +137,227 @@ public class FileTreeWalker {
     }
 
     try {
+      if (eventDriven) {
+        rescanOverflowed();
+        return;
+      }
+
       LOG.debug("Tree walk started");
+      Notifications notifications = new Notifications();
+      synchronized (tree) {
+        scan(root.toPath(), notifications);
+      }
+      notifications.send();
+      LOG.debug("Tree walk finished");
+    } catch (Exception e) {
+      LOG.error("Error while walking file tree", e);
+    }
+  }
+
+  /** Walks again directories for which file watcher lost events. */
+  private void rescanOverflowed() {
+    List<Path> dirs = new ArrayList<>();
+    synchronized (tree) {
+      Iterator<Path> iterator = pendingRescans.iterator();
+      while (iterator.hasNext() && dirs.size() < MAX_RESCANS_PER_WALK) {
+        Path dir = iterator.next();
+        iterator.remove();
+        if (dirs.stream().noneMatch(dir::startsWith)) {
+          dirs.add(dir);
+        }
+      }
+    }
+    if (dirs.isEmpty()) {
+      return;
+    }
 
-      Set<Path> deletedFiles = files.keySet().stream().filter(it -> !exists(it)).collect(toSet());
-      fileDeleteConsumers.forEach(deletedFiles::forEach);
-      files.keySet().removeAll(deletedFiles);
+    LOG.debug("Walking overflowed directories {}", dirs);
+    Notifications notifications = new Notifications();
+    synchronized (tree) {
+      for (Path dir : dirs) {
+        scan(dir, notifications);
+      }
+    }
+    notifications.send();
+  }
 
-      Set<Path> deletedDirectories =
-          directories.keySet().stream().filter(it -> !exists(it)).collect(toSet());
-      directoryDeleteConsumers.forEach(deletedDirectories::forEach);
-      directories.keySet().removeAll(deletedDirectories);
+  private void onOverflow(Path dir) {
+    if (!eventDriven) {
+      return;
+    }
+    synchronized (tree) {
+      pendingRescans.add(dir);
+    }
+  }
 
+  private void onEvent(Path path, Kind<?> kind) {
+    if (!eventDriven) {
+      return;
+    }
+
+    Notifications notifications = new Notifications();
+    synchronized (tree) {
+      if (!tree.contains(path.getParent())) {
+        // event from the directory that is watched by someone else, e.g. excluded one
+        return;
+      }
+
+      if (kind == ENTRY_DELETE) {
+        remove(path, notifications);
+      } else {
+        try {
+          BasicFileAttributes attrs = readAttributes(path, BasicFileAttributes.class);
+          if (attrs.isDirectory()) {
+            if (kind == ENTRY_CREATE || !tree.contains(path)) {
+              scan(path, notifications);
+            } else if (!isExcluded(directoryExcludes, path)) {
+              update(path, attrs, notifications);
+            }
+          } else if (!isExcluded(fileExcludes, path)) {
+            update(path, attrs, notifications);
+          }
+        } catch (NoSuchFileException e) {
+          remove(path, notifications);
+        } catch (IOException e) {
+          LOG.debug("Can't read attributes of '{}': {}", path, e.getMessage());
+        }
+      }
+    }
+    notifications.send();
+  }
+
+  /**
+   * Walks subtree and updates the tree model, items of the subtree that are not found are removed
+   * from the model. Must be called while holding the lock of the {@link #tree}.
+   *
+   * @param start root of the subtree
+   * @param notifications collects notifications for consumers, if {@code null} nobody is notified
+   */
+  private void scan(Path start, Notifications notifications) {
+    tree.nextGeneration();
+    try {
       walkFileTree(
-          root.toPath(),
+          start,
           new SimpleFileVisitor<Path>() {
             @Override
-            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs)
-                throws IOException {
-              for (PathMatcher matcher : directoryExcludes) {
-                if (matcher.matches(dir)) {
-                  return SKIP_SUBTREE;
-                }
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+              if (isExcluded(directoryExcludes, dir)) {
+                return SKIP_SUBTREE;
               }
 
-              updateFsTreeAndAcceptConsumables(
-                  directories, directoryUpdateConsumers, directoryCreateConsumers, dir, attrs);
-
-              return CONTINUE;
+              return update(dir, attrs, notifications) == Change.IGNORED ? SKIP_SUBTREE : CONTINUE;
             }
 
             @Override
             public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
-              for (PathMatcher matcher : fileExcludes) {
-                if (matcher.matches(file)) {
-                  return CONTINUE;
-                }
+              if (!isExcluded(fileExcludes, file)) {
+                update(file, attrs, notifications);
               }
 
-              updateFsTreeAndAcceptConsumables(
-                  files, fileUpdateConsumers, fileCreateConsumers, file, attrs);
+              return CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+              LOG.debug(
+                  "Trying to process a file, however seems like it is already not present: {}",
+                  e.getMessage());
 
               return CONTINUE;
             }
           });
-      LOG.debug("Tree walk finished");
     } catch (NoSuchFileException e) {
       LOG.debug(
           "Trying to process a file, however seems like it is already not present: {}",
           e.getMessage());
-    } catch (Exception e) {
+    } catch (IOException e) {
       LOG.error("Error while walking file tree", e);
+      return;
+    }
+
+    for (Removed removed : tree.removeUnvisited(start)) {
+      removed(removed, notifications);
     }
   }
 
-  private void updateFsTreeAndAcceptConsumables(
-      Map<Path, Long> items,
-      Set<Consumer<Path>> updateConsumer,
-      Set<Consumer<Path>> createConsumer,
-      Path path,
-      BasicFileAttributes attrs) {
-    Long lastModifiedActual = attrs.lastModifiedTime().toMillis();
-
-    if (items.containsKey(path)) {
-      Long lastModifiedStored = items.get(path);
-      if (!lastModifiedActual.equals(lastModifiedStored)) {
-        items.put(path, lastModifiedActual);
-        updateConsumer.forEach(it -> it.accept(path));
+  private Change update(Path path, BasicFileAttributes attrs, Notifications notifications) {
+    final boolean directory = attrs.isDirectory();
+    Change change = tree.put(path, directory, attrs.lastModifiedTime().toMillis());
+
+    if (change == Change.CREATED && directory && eventDriven) {
+      if (watcherService.register(path)) {
+        watchedDirectories.add(path);
+      } else if (isDirectory(path)) {
+        LOG.warn(
+            "Can't watch directory '{}', falling back to periodical walking of the whole tree",
+            path);
+        eventDriven = false;
+        unregisterAll();
+      }
+      // otherwise directory is already removed and its removal comes with parent's events
+    }
+
+    if (notifications != null) {
+      if (change == Change.CREATED) {
+        notifications.add(directory ? directoryCreateConsumers : fileCreateConsumers, path);
+      } else if (change == Change.UPDATED) {
+        notifications.add(directory ? directoryUpdateConsumers : fileUpdateConsumers, path);
+      }
+    }
+    return change;
+  }
+
+  private void remove(Path path, Notifications notifications) {
+    for (Removed removed : tree.remove(path)) {
+      removed(removed, notifications);
+    }
+  }
+
+  private void removed(Removed removed, Notifications notifications) {
+    if (removed.directory && watchedDirectories.remove(removed.path)) {
+      watcherService.unRegister(removed.path);
+    }
+    if (notifications != null) {
+      notifications.add(
+          removed.directory ? directoryDeleteConsumers : fileDeleteConsumers, removed.path);
+    }
+  }
+
+  /** Cancels all the registrations of the walker, as they are useless in polling mode. */
+  private void unregisterAll() {
+    for (Path dir : watchedDirectories) {
+      watcherService.unRegister(dir);
+    }
+    watchedDirectories.clear();
+  }
+
+  private static boolean isExcluded(Set<PathMatcher> excludes, Path path) {
+    for (PathMatcher matcher : excludes) {
+      if (matcher.matches(path)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Notifications collected while the tree model is locked, they are sent after the lock is
+   * released, so slow consumers do not block events processing.
+   */
+  private static class Notifications {
+    private final List<Set<Consumer<Path>>> consumers = new ArrayList<>();
+    private final List<Path> paths = new ArrayList<>();
+
+    void add(Set<Consumer<Path>> consumers, Path path) {
+      this.consumers.add(consumers);
+      this.paths.add(path);
+    }
+
+    void send() {
+      for (int i = 0; i < paths.size(); i++) {
+        Path path = paths.get(i);
+        consumers.get(i).forEach(it -> it.accept(path));
       }
-    } else {
-      items.put(path, lastModifiedActual);
-      createConsumer.forEach(it -> it.accept(path));
     }
   }
 }
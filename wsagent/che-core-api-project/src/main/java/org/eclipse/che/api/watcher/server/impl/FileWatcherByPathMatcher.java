@@ -17,7 +17,6 @@ import com.google.inject.Inject;
 import java.io.File;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
-import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -27,9 +26,15 @@ import java.util.function.Consumer;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import org.eclipse.che.api.fs.server.PathTransformer;
+import org.eclipse.che.api.watcher.server.IndexedPathMatcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Watches items that match registered path matchers. Matchers are kept in {@link
+ * PathMatcherIndex}, so for {@link IndexedPathMatcher} handling of a created item costs as much as
+ * the number of matchers suitable for its file name, rather than the number of all matchers.
+ */
 @Singleton
 public class FileWatcherByPathMatcher implements Consumer<Path> {
 
@@ -39,14 +44,12 @@ public class FileWatcherByPathMatcher implements Consumer<Path> {
 
   private final FileWatcherByPathValue watcher;
 
-  /** Operation ID -> Operation (create, modify, delete) */
+  /** Operation ID -> Operation (matcher, create, modify, delete and registered paths) */
   private final Map<Integer, Operation> operations = new ConcurrentHashMap<>();
-  /** Operation ID -> Registered paths */
-  private final Map<Integer, Set<Path>> paths = new ConcurrentHashMap<>();
-  /** Matcher -> Operation IDs */
-  private final Map<PathMatcher, Set<Integer>> matchers = new ConcurrentHashMap<>();
-  /** Registered path -> Path watch operation IDs */
-  private final Map<Path, Set<Integer>> pathWatchRegistrations = new ConcurrentHashMap<>();
+  /** Matchers -> Operation IDs */
+  private final PathMatcherIndex<Integer> matchers = new PathMatcherIndex<>();
+  /** Registered path -> Operation IDs */
+  private final Map<Path, Set<Integer>> pathOperations = new ConcurrentHashMap<>();
 
   private final File root;
 
@@ -65,32 +68,36 @@ public class FileWatcherByPathMatcher implements Consumer<Path> {
   @Override
   public void accept(Path path) {
     if (!exists(path)) {
-      if (pathWatchRegistrations.containsKey(path)) {
-        pathWatchRegistrations.remove(path).forEach(watcher::unwatch);
+      Set<Integer> operationIds = pathOperations.remove(path);
+      if (operationIds != null) {
+        for (int operationId : operationIds) {
+          Operation operation = operations.get(operationId);
+          Integer pathWatcherOperationId = operation == null ? null : operation.paths.remove(path);
+          if (pathWatcherOperationId != null) {
+            watcher.unwatch(pathWatcherOperationId);
+          }
+        }
       }
-      paths.values().forEach(it -> it.remove(path));
-      paths.entrySet().removeIf(it -> it.getValue().isEmpty());
       return;
     }
 
-    for (PathMatcher matcher : matchers.keySet()) {
-      if (matcher.matches(path)) {
-        for (int operationId : matchers.get(matcher)) {
-          paths.putIfAbsent(operationId, newConcurrentHashSet());
-          if (paths.get(operationId).contains(path)) {
-            return;
-          }
-
-          paths.get(operationId).add(path);
+    for (int operationId : matchers.candidates(path)) {
+      Operation operation = operations.get(operationId);
+      if (operation == null
+          || operation.paths.containsKey(path)
+          || !operation.matcher.matches(path)) {
+        continue;
+      }
 
-          Operation operation = operations.get(operationId);
-          int pathWatcherOperationId =
-              watcher.watch(path, operation.create, operation.modify, operation.delete);
-          pathWatchRegistrations.putIfAbsent(path, newConcurrentHashSet());
-          pathWatchRegistrations.get(path).add(pathWatcherOperationId);
-          operation.create.accept(pathTransformer.transform(path));
-        }
+      int pathWatcherOperationId =
+          watcher.watch(path, operation.create, operation.modify, operation.delete);
+      if (operation.paths.putIfAbsent(path, pathWatcherOperationId) != null) {
+        // registered concurrently
+        watcher.unwatch(pathWatcherOperationId);
+        continue;
       }
+      pathOperations.computeIfAbsent(path, it -> newConcurrentHashSet()).add(operationId);
+      operation.create.accept(pathTransformer.transform(path));
     }
   }
 
@@ -102,10 +109,8 @@ public class FileWatcherByPathMatcher implements Consumer<Path> {
     LOG.debug("Watching matcher '{}'", matcher);
     int operationId = operationIdCounter.getAndIncrement();
 
-    matchers.putIfAbsent(matcher, newConcurrentHashSet());
-    matchers.get(matcher).add(operationId);
-
-    operations.put(operationId, new Operation(create, modify, delete));
+    operations.put(operationId, new Operation(matcher, create, modify, delete));
+    matchers.add(matcher, operationId);
 
     LOG.debug("Registered matcher operation set with id '{}'", operationId);
     return operationId;
@@ -113,41 +118,38 @@ public class FileWatcherByPathMatcher implements Consumer<Path> {
 
   void unwatch(int operationId) {
     LOG.debug("Unwatching matcher operation set with id '{}'", operationId);
-    for (Entry<PathMatcher, Set<Integer>> entry : matchers.entrySet()) {
-      PathMatcher matcher = entry.getKey();
-      Set<Integer> operationsIdList = entry.getValue();
-      Iterator<Integer> iterator = operationsIdList.iterator();
-      while (iterator.hasNext()) {
-        if (iterator.next() == operationId) {
-          pathWatchRegistrations
-              .keySet()
-              .stream()
-              .filter(matcher::matches)
-              .flatMap(it -> pathWatchRegistrations.remove(it).stream())
-              .forEach(watcher::unwatch);
-
-          paths.values().forEach(it -> it.removeIf(matcher::matches));
-          paths.entrySet().removeIf(it -> it.getValue().isEmpty());
-          iterator.remove();
-          operations.remove(operationId);
-
-          break;
-        }
-      }
+    Operation operation = operations.remove(operationId);
+    if (operation == null) {
+      return;
+    }
 
-      if (matchers.get(matcher) == null || matchers.get(matcher).isEmpty()) {
-        matchers.remove(matcher);
-      }
+    matchers.remove(operation.matcher, operationId);
+    for (Entry<Path, Integer> entry : operation.paths.entrySet()) {
+      watcher.unwatch(entry.getValue());
+      pathOperations.computeIfPresent(
+          entry.getKey(),
+          (path, operationIds) -> {
+            operationIds.remove(operationId);
+            return operationIds.isEmpty() ? null : operationIds;
+          });
     }
   }
 
   private static class Operation {
 
+    final PathMatcher matcher;
     final Consumer<String> create;
     final Consumer<String> modify;
     final Consumer<String> delete;
-
-    private Operation(Consumer<String> create, Consumer<String> modify, Consumer<String> delete) {
+    /** Registered path -> Path watch operation ID */
+    final Map<Path, Integer> paths = new ConcurrentHashMap<>();
+
+    private Operation(
+        PathMatcher matcher,
+        Consumer<String> create,
+        Consumer<String> modify,
+        Consumer<String> delete) {
+      this.matcher = matcher;
       this.create = create;
       this.modify = modify;
       this.delete = delete;
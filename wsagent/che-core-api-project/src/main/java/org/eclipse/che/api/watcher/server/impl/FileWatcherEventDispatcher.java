@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.watcher.server.impl;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent.Kind;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decouples delivery of file watcher events from reading of them from the watch service.
+ *
+ * <p>Events of the same path that happen within a short window are coalesced, e.g. a number of
+ * modifications is delivered as single modification, and creation followed by removal is not
+ * delivered at all. Coalesced events are delivered one by one on a single thread in the order
+ * their paths were first changed, as consumers are not required to be thread-safe and expect a
+ * directory to be created before its entries. When the delivery thread can't keep up with events,
+ * flushing is blocked while events are still collected and coalesced. If the number of changed
+ * paths collected within a window exceeds the limit, events of the new paths are replaced with
+ * overflow of their directories, the same way the watch service does when it loses events.
+ *
+ * <p>Directories reported as overflowed are passed to the overflow consumer on the delivery
+ * thread.
+ */
+class FileWatcherEventDispatcher {
+  private static final Logger LOG = LoggerFactory.getLogger(FileWatcherEventDispatcher.class);
+
+  private final BiConsumer<Path, Kind<?>> eventConsumer;
+  private final Consumer<Path> overflowConsumer;
+  private final int maxPendingEvents;
+  private final long windowMillis;
+  private final ThreadPoolExecutor deliverer;
+  private final ScheduledExecutorService flusher;
+
+  /** Guarded by this. */
+  private Map<Path, PendingEvent> pendingEvents = new LinkedHashMap<>();
+  /** Guarded by this. */
+  private Set<Path> pendingOverflows = new LinkedHashSet<>();
+
+  FileWatcherEventDispatcher(
+      BiConsumer<Path, Kind<?>> eventConsumer,
+      Consumer<Path> overflowConsumer,
+      int queueCapacity,
+      int maxPendingEvents,
+      long windowMillis) {
+    this.eventConsumer = eventConsumer;
+    this.overflowConsumer = overflowConsumer;
+    this.maxPendingEvents = maxPendingEvents;
+    this.windowMillis = windowMillis;
+
+    ThreadFactoryBuilder builder =
+        new ThreadFactoryBuilder()
+            .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+            .setDaemon(true);
+    this.flusher =
+        new ScheduledThreadPoolExecutor(
+            1, builder.setNameFormat("FileWatcherEventFlusher").build());
+    this.deliverer =
+        new ThreadPoolExecutor(
+            1,
+            1,
+            0L,
+            MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            builder.setNameFormat("FileWatcherEventDispatcher").build(),
+            new WaitForSpacePolicy());
+  }
+
+  void start() {
+    flusher.scheduleWithFixedDelay(this::flush, windowMillis, windowMillis, MILLISECONDS);
+  }
+
+  void stop() {
+    flusher.shutdownNow();
+    deliverer.shutdownNow();
+  }
+
+  /** Schedules delivery of the event, it is delivered after the end of the current window. */
+  synchronized void dispatch(Path path, Kind<?> kind) {
+    PendingEvent pending = pendingEvents.get(path);
+    if (pending == null) {
+      if (pendingEvents.size() >= maxPendingEvents && path.getParent() != null) {
+        pendingOverflows.add(path.getParent());
+        return;
+      }
+      pending = new PendingEvent();
+      pendingEvents.put(path, pending);
+    }
+    pending.add(kind);
+  }
+
+  /** Schedules delivery of the directory for which some events were lost. */
+  synchronized void overflow(Path dir) {
+    pendingOverflows.add(dir);
+  }
+
+  private void flush() {
+    final Map<Path, PendingEvent> events;
+    final Set<Path> overflows;
+    synchronized (this) {
+      if (pendingEvents.isEmpty() && pendingOverflows.isEmpty()) {
+        return;
+      }
+      events = pendingEvents;
+      overflows = pendingOverflows;
+      pendingEvents = new LinkedHashMap<>();
+      pendingOverflows = new LinkedHashSet<>();
+    }
+
+    for (Entry<Path, PendingEvent> entry : events.entrySet()) {
+      Path path = entry.getKey();
+      for (Kind<?> kind : entry.getValue().resolve()) {
+        deliverer.execute(() -> deliver(path, kind));
+      }
+    }
+    for (Path dir : overflows) {
+      deliverer.execute(() -> deliverOverflow(dir));
+    }
+  }
+
+  private void deliver(Path path, Kind<?> kind) {
+    try {
+      eventConsumer.accept(path, kind);
+    } catch (RuntimeException e) {
+      LOG.error("Error while handling event {} of '{}'", kind, path, e);
+    }
+  }
+
+  private void deliverOverflow(Path dir) {
+    try {
+      overflowConsumer.accept(dir);
+    } catch (RuntimeException e) {
+      LOG.error("Error while handling events overflow of '{}'", dir, e);
+    }
+  }
+
+  /** Net effect of the events of the same path. */
+  private static class PendingEvent {
+    Kind<?> first;
+    Kind<?> last;
+    boolean replaced;
+    /** Whether the path is modified after it was created, or after the first event. */
+    boolean modified;
+
+    void add(Kind<?> kind) {
+      if (first == null) {
+        first = kind;
+      } else if (kind == ENTRY_CREATE && last == ENTRY_DELETE) {
+        replaced = true;
+        modified = false;
+      } else if (kind == ENTRY_MODIFY) {
+        modified = true;
+      }
+      last = kind;
+    }
+
+    List<Kind<?>> resolve() {
+      boolean existedBefore = first != ENTRY_CREATE;
+      boolean existsNow = last != ENTRY_DELETE;
+      List<Kind<?>> kinds = new ArrayList<>(3);
+      if (!existsNow) {
+        if (existedBefore) {
+          kinds.add(ENTRY_DELETE);
+        }
+        return kinds;
+      }
+      if (replaced) {
+        if (existedBefore) {
+          kinds.add(ENTRY_DELETE);
+        }
+        kinds.add(ENTRY_CREATE);
+      } else {
+        // modification is reported at most once, e.g. directories may report modification
+        // without creation on some systems
+        kinds.add(first);
+        if (first == ENTRY_MODIFY) {
+          return kinds;
+        }
+      }
+      if (modified) {
+        kinds.add(ENTRY_MODIFY);
+      }
+      return kinds;
+    }
+  }
+
+  /** Blocks caller until there is free space in the queue, so events are not lost. */
+  private static class WaitForSpacePolicy implements RejectedExecutionHandler {
+    @Override
+    public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+      if (executor.isShutdown()) {
+        return;
+      }
+      try {
+        executor.getQueue().put(task);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
@@ -17,6 +17,7 @@ import static org.eclipse.che.api.watcher.server.impl.FileWatcherUtils.toInterna
 import java.io.File;
 import java.nio.file.Path;
 import java.nio.file.WatchEvent;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
@@ -100,6 +101,23 @@ public class FileWatcherEventHandler {
     return dir;
   }
 
+  /**
+   * Returns entries of the directory that have registered operations, the directory itself is not
+   * included.
+   *
+   * @param dir directory
+   * @return mutable set of paths
+   */
+  Set<Path> getRegisteredEntries(Path dir) {
+    Set<Path> entries = new HashSet<>();
+    for (Path path : operations.keySet()) {
+      if (dir.equals(path.getParent())) {
+        entries.add(path);
+      }
+    }
+    return entries;
+  }
+
   /**
    * Handles event passed form file watcher system. Path parameter is expected to be passed in a
    * normal operation system file system form and is transformed into internal virtual file system
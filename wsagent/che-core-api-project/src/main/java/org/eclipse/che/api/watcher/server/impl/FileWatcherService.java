@@ -23,6 +23,7 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.WatchEvent;
@@ -33,10 +34,14 @@ import java.nio.file.WatchService;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -53,22 +58,39 @@ import org.slf4j.LoggerFactory;
  * ordinary java file system paths in counter to che virtual file system which may have custom root
  * element and structure. Transforming one we of path representation into another and backwards is
  * the responsibility of upper services.
+ *
+ * <p>Watch service is drained by a single thread, while events are coalesced and delivered to
+ * handlers by {@link FileWatcherEventDispatcher}, so slow handlers do not cause events overflow.
+ * When events of a directory are lost anyway, overflow listeners are notified to walk the
+ * directory again, while for the registered operations entries of the directory are checked and
+ * corresponding events are synthesized, tree listeners don't receive the synthesized events.
  */
 @Singleton
 public class FileWatcherService {
   private static final Logger LOG = LoggerFactory.getLogger(FileWatcherService.class);
 
+  /** Events of the same path that happen within this window are coalesced. */
+  private static final long COALESCING_WINDOW_MS = 100;
+
+  private static final int DISPATCH_QUEUE_CAPACITY = 10_000;
+  /** Max number of changed paths coalesced within a window. */
+  private static final int MAX_PENDING_EVENTS = 10_000;
+
   private final AtomicBoolean suspended = new AtomicBoolean(true);
   private final AtomicBoolean running = new AtomicBoolean();
 
   private final Map<WatchKey, Path> keys = new ConcurrentHashMap<>();
   private final Map<Path, Integer> registrations = new ConcurrentHashMap<>();
 
+  private final List<BiConsumer<Path, Kind<?>>> treeListeners = new CopyOnWriteArrayList<>();
+  private final List<Consumer<Path>> overflowListeners = new CopyOnWriteArrayList<>();
+
   private final FileWatcherExcludePatternsRegistry excludePatternsRegistry;
   private final FileWatcherEventHandler handler;
   private final WatchService service;
   private final Modifier[] eventModifiers;
   private final Kind<?>[] eventKinds;
+  private final FileWatcherEventDispatcher dispatcher;
 
   private ExecutorService executor;
 
@@ -83,6 +105,13 @@ public class FileWatcherService {
 
     this.eventModifiers = getWatchEventModifiers();
     this.eventKinds = getWatchEventKinds();
+    this.dispatcher =
+        new FileWatcherEventDispatcher(
+            this::deliver,
+            this::rescan,
+            DISPATCH_QUEUE_CAPACITY,
+            MAX_PENDING_EVENTS,
+            COALESCING_WINDOW_MS);
   }
 
   @SuppressWarnings("unchecked")
@@ -131,6 +160,7 @@ public class FileWatcherService {
             .setDaemon(true)
             .build();
     executor = newSingleThreadExecutor(factory);
+    dispatcher.start();
     executor.execute(this::run);
   }
 
@@ -159,6 +189,7 @@ public class FileWatcherService {
         LOG.debug("Executor task is not shutdown yet");
       }
       executor.shutdownNow();
+      dispatcher.stop();
       LOG.debug("Executor tasks have been shutdown");
     }
   }
@@ -167,6 +198,22 @@ public class FileWatcherService {
     return executor.isShutdown();
   }
 
+  /**
+   * Adds listener that receives each not excluded event of any watched directory, regardless of
+   * operations registered in {@link FileWatcherEventHandler}.
+   */
+  void addTreeListener(BiConsumer<Path, Kind<?>> listener) {
+    treeListeners.add(listener);
+  }
+
+  /**
+   * Adds listener that is notified with a watched directory when some of its events are lost
+   * because of events overflow.
+   */
+  void addOverflowListener(Consumer<Path> listener) {
+    overflowListeners.add(listener);
+  }
+
   /**
    * Registers a directory for tracking of corresponding entry creation, modification or deletion
    * events. Each call of this method increase by one registration counter that corresponds to each
@@ -175,14 +222,16 @@ public class FileWatcherService {
    * registration watch key is canceled and no further directory watching is being performed.
    *
    * @param dir directory
+   * @return {@code false} if directory can't be watched, e.g. if it does not exist or watch service
+   *     limits are reached
    */
-  public void register(Path dir) {
+  public boolean register(Path dir) {
     if (!Files.exists(dir)) {
       LOG.debug("Trying to register directory '{}' but it does not exist", dir);
-      return;
+      return false;
     }
     LOG.debug("Registering directory '{}'", dir);
-    if (keys.values().contains(dir)) {
+    if (registrations.containsKey(dir)) {
       int previous = registrations.get(dir);
       LOG.debug(
           "Directory is already being watched, increasing watch counter, previous value: {}",
@@ -198,8 +247,10 @@ public class FileWatcherService {
         }
       } catch (IOException e) {
         LOG.error("Can't register dir {} in file watch service", dir, e);
+        return false;
       }
     }
+    return true;
   }
 
   /**
@@ -281,7 +332,8 @@ public class FileWatcherService {
           Kind<?> kind = event.kind();
 
           if (kind == OVERFLOW) {
-            LOG.warn("Detected file system events overflowing");
+            LOG.warn("Detected file system events overflowing in '{}'", dir);
+            dispatcher.overflow(dir);
             continue;
           }
 
@@ -294,7 +346,7 @@ public class FileWatcherService {
             continue;
           }
 
-          handler.handle(path, kind);
+          dispatcher.dispatch(path, kind);
         }
 
         resetAndRemove(watchKey, dir);
@@ -309,6 +361,46 @@ public class FileWatcherService {
     }
   }
 
+  private void deliver(Path path, Kind<?> kind) {
+    handler.handle(path, kind);
+    for (BiConsumer<Path, Kind<?>> listener : treeListeners) {
+      listener.accept(path, kind);
+    }
+  }
+
+  /**
+   * Notifies overflow listeners about the directory which events were lost, and checks its entries
+   * for the handler: existing entries are reported as modified and registered but no longer
+   * existing ones as deleted.
+   */
+  private void rescan(Path dir) {
+    for (Consumer<Path> listener : overflowListeners) {
+      listener.accept(dir);
+    }
+
+    LOG.debug("Checking entries of overflowed directory '{}'", dir);
+    Set<Path> registered = handler.getRegisteredEntries(dir);
+    if (exists(dir)) {
+      try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+        for (Path entry : entries) {
+          Path path = entry.toAbsolutePath();
+          registered.remove(path);
+          if (!excludePatternsRegistry.isExcluded(path)) {
+            handler.handle(path, ENTRY_MODIFY);
+          }
+        }
+      } catch (IOException e) {
+        LOG.error("Can't check entries of overflowed directory '{}'", dir, e);
+        return;
+      }
+    }
+    for (Path path : registered) {
+      if (!exists(path)) {
+        handler.handle(path, ENTRY_DELETE);
+      }
+    }
+  }
+
   private void resetAndRemove(WatchKey watchKey, Path dir) {
     if (!watchKey.reset()) {
       if (dir != null) {
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.watcher.server.impl;
+
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.eclipse.che.api.watcher.server.IndexedPathMatcher;
+
+/**
+ * Index of values registered with path matchers, allows to find values which matchers may match a
+ * path without checking each of registered matchers.
+ *
+ * <p>Values of {@link IndexedPathMatcher} with file name are kept in a map by file name and then
+ * by parent directory name, values of matchers with file name suffix are kept in a trie of
+ * reversed suffixes, so they are found by walking file name from its end. Values of other matchers
+ * are returned for any path.
+ *
+ * <p>Index only narrows down the set of candidates, matchers still must be checked against a path.
+ *
+ * @param <V> type of values
+ */
+final class PathMatcherIndex<V> {
+
+  private final Map<String, NameNode<V>> byName = new HashMap<>();
+  private final SuffixNode<V> suffixes = new SuffixNode<>();
+  private final Set<V> unindexed = new LinkedHashSet<>();
+
+  synchronized void add(PathMatcher matcher, V value) {
+    bucket(matcher, true).add(value);
+  }
+
+  synchronized void remove(PathMatcher matcher, V value) {
+    Set<V> bucket = bucket(matcher, false);
+    if (bucket != null) {
+      bucket.remove(value);
+    }
+  }
+
+  /** Returns values which matchers may match the path, in no particular order. */
+  synchronized List<V> candidates(Path path) {
+    List<V> candidates = new ArrayList<>(unindexed);
+    Path fileName = path.getFileName();
+    if (fileName == null) {
+      return candidates;
+    }
+    String name = fileName.toString();
+
+    NameNode<V> nameNode = byName.get(name);
+    if (nameNode != null) {
+      candidates.addAll(nameNode.anyParent);
+      Path parent = path.getParent();
+      if (parent != null && parent.getFileName() != null && nameNode.byParent != null) {
+        Set<V> values = nameNode.byParent.get(parent.getFileName().toString());
+        if (values != null) {
+          candidates.addAll(values);
+        }
+      }
+    }
+
+    SuffixNode<V> node = suffixes;
+    for (int i = name.length() - 1; i >= 0 && node.children != null; i--) {
+      node = node.children.get(name.charAt(i));
+      if (node == null) {
+        break;
+      }
+      if (node.values != null) {
+        candidates.addAll(node.values);
+      }
+    }
+    return candidates;
+  }
+
+  private Set<V> bucket(PathMatcher matcher, boolean create) {
+    if (!(matcher instanceof IndexedPathMatcher)) {
+      return unindexed;
+    }
+    IndexedPathMatcher indexed = (IndexedPathMatcher) matcher;
+
+    if (indexed.getFileName() != null) {
+      NameNode<V> nameNode = byName.get(indexed.getFileName());
+      if (nameNode == null) {
+        if (!create) {
+          return null;
+        }
+        nameNode = new NameNode<>();
+        byName.put(indexed.getFileName(), nameNode);
+      }
+      if (indexed.getParentName() == null) {
+        return nameNode.anyParent;
+      }
+      if (nameNode.byParent == null) {
+        if (!create) {
+          return null;
+        }
+        nameNode.byParent = new HashMap<>(4);
+      }
+      return create
+          ? nameNode.byParent.computeIfAbsent(indexed.getParentName(), k -> new LinkedHashSet<>())
+          : nameNode.byParent.get(indexed.getParentName());
+    }
+
+    if (indexed.getFileNameSuffix() != null) {
+      // empty nodes are not pruned, the number of distinct suffixes is small
+      String suffix = indexed.getFileNameSuffix();
+      SuffixNode<V> node = suffixes;
+      for (int i = suffix.length() - 1; i >= 0; i--) {
+        SuffixNode<V> child = node.children == null ? null : node.children.get(suffix.charAt(i));
+        if (child == null) {
+          if (!create) {
+            return null;
+          }
+          child = new SuffixNode<>();
+          if (node.children == null) {
+            node.children = new HashMap<>(4);
+          }
+          node.children.put(suffix.charAt(i), child);
+        }
+        node = child;
+      }
+      if (node.values == null) {
+        if (!create) {
+          return null;
+        }
+        node.values = new LinkedHashSet<>();
+      }
+      return node.values;
+    }
+
+    return unindexed;
+  }
+
+  private static final class NameNode<V> {
+    final Set<V> anyParent = new LinkedHashSet<>();
+    Map<String, Set<V>> byParent;
+  }
+
+  private static final class SuffixNode<V> {
+    Map<Character, SuffixNode<V>> children;
+    Set<V> values;
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.editor.server.impl;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Random;
+import org.testng.annotations.Test;
+
+/** Tests of {@link Rope}. */
+public class RopeTest {
+
+  @Test
+  public void shouldInsertAndDeleteText() {
+    Rope rope = Rope.of("hello world");
+
+    rope = rope.insert(5, ",").insert(12, "!").delete(0, 1).insert(0, "H");
+
+    assertEquals(rope.toString(), "Hello, world!");
+    assertEquals(rope.length(), 13);
+    assertEquals(rope.charAt(7), 'w');
+    assertEquals(rope.subSequence(7, 12).toString(), "world");
+  }
+
+  @Test
+  public void shouldNotChangeSnapshots() {
+    Rope snapshot = Rope.of("abc");
+
+    Rope changed = snapshot.insert(1, "x").delete(2, 4);
+
+    assertEquals(snapshot.toString(), "abc");
+    assertEquals(changed.toString(), "ax");
+  }
+
+  @Test
+  public void shouldMatchStringBuilderAfterRandomEdits() {
+    Random random = new Random(42);
+    StringBuilder expected = new StringBuilder();
+    Rope rope = Rope.EMPTY;
+
+    for (int i = 0; i < 20_000; i++) {
+      if (expected.length() == 0 || random.nextInt(10) < 6) {
+        int offset = random.nextInt(expected.length() + 1);
+        String text = randomText(random, random.nextInt(100) == 0 ? 3_000 : 3);
+        expected.insert(offset, text);
+        rope = rope.insert(offset, text);
+      } else {
+        int start = random.nextInt(expected.length());
+        int length = random.nextInt(random.nextInt(50) == 0 ? 5_000 : 4);
+        int end = Math.min(expected.length(), start + length);
+        expected.delete(start, end);
+        rope = rope.delete(start, end);
+      }
+    }
+
+    assertEquals(rope.toString(), expected.toString());
+    assertEquals(rope.length(), expected.length());
+  }
+
+  @Test
+  public void shouldStayBalancedWhileTyping() {
+    Rope rope = Rope.of(randomText(new Random(1), 2_000_000));
+
+    for (int i = 0; i < 100_000; i++) {
+      rope = rope.insert(1_000_000 + i, "x");
+    }
+
+    assertEquals(rope.length(), 2_100_000);
+    assertEquals(rope.charAt(1_050_000), 'x');
+    // a balanced tree of ~4000 chunks
+    assertTrue(rope.height() < 20, "Height is " + rope.height());
+  }
+
+  @Test
+  public void shouldFindCommonPrefixAndSuffixAcrossChunks() {
+    String text = randomText(new Random(7), 10_000);
+    Rope rope = Rope.of(text);
+    String changed = text.substring(0, 3_000) + "changed" + text.substring(3_100);
+
+    assertEquals(rope.commonPrefixLength(changed), commonPrefix(text, changed));
+    assertEquals(rope.commonSuffixLength(changed, Integer.MAX_VALUE), 6_900);
+    assertEquals(rope.commonSuffixLength(changed, 100), 100);
+    assertEquals(rope.commonPrefixLength(text), 10_000);
+    assertEquals(rope.commonPrefixLength(text.substring(0, 700)), 700);
+    assertEquals(rope.commonSuffixLength(text.substring(9_300), Integer.MAX_VALUE), 700);
+  }
+
+  @Test
+  public void shouldFindCommonPrefixAndSuffixAfterRandomEdits() {
+    Random random = new Random(42);
+    String original = randomText(random, 5_000);
+    Rope rope = Rope.of(original);
+
+    for (int i = 0; i < 1_000; i++) {
+      int offset = random.nextInt(rope.length() + 1);
+      int end = Math.min(rope.length(), offset + 1);
+      rope = random.nextBoolean() ? rope.insert(offset, "x") : rope.delete(offset, end);
+      String text = rope.toString();
+
+      assertEquals(rope.commonPrefixLength(original), commonPrefix(text, original));
+      assertEquals(
+          rope.commonSuffixLength(original, Integer.MAX_VALUE),
+          commonPrefix(reverse(text), reverse(original)));
+    }
+  }
+
+  @Test(expectedExceptions = IndexOutOfBoundsException.class)
+  public void shouldNotInsertOutsideOfText() {
+    Rope.of("abc").insert(4, "d");
+  }
+
+  private static int commonPrefix(String first, String second) {
+    int i = 0;
+    while (i < first.length() && i < second.length() && first.charAt(i) == second.charAt(i)) {
+      i++;
+    }
+    return i;
+  }
+
+  private static String reverse(String text) {
+    return new StringBuilder(text).reverse().toString();
+  }
+
+  private static String randomText(Random random, int length) {
+    char[] chars = new char[length];
+    for (int i = 0; i < length; i++) {
+      chars[i] = (char) ('a' + random.nextInt(26));
+    }
+    return new String(chars);
+  }
+}
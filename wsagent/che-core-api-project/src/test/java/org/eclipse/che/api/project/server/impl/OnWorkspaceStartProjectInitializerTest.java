@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.project.server.impl;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.fs.server.FsManager;
+import org.eclipse.che.api.project.server.handlers.ProjectInitHandler;
+import org.eclipse.che.api.search.server.excludes.HiddenItemPathMatcher;
+import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.commons.subject.Subject;
+import org.eclipse.che.commons.subject.SubjectImpl;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests of {@link OnWorkspaceStartProjectInitializer} */
+@Listeners(MockitoTestNGListener.class)
+public class OnWorkspaceStartProjectInitializerTest {
+
+  private static final String PROJECT_TYPE = "maven";
+
+  @Mock private FsManager fsManager;
+  @Mock private ProjectSynchronizer projectSynchronizer;
+  @Mock private ProjectConfigRegistry projectConfigRegistry;
+  @Mock private ProjectHandlerRegistry projectHandlerRegistry;
+  @Mock private HiddenItemPathMatcher hiddenItemPathMatcher;
+  @Mock private ProjectInitHandler initHandler;
+  @InjectMocks private OnWorkspaceStartProjectInitializer initializer;
+
+  private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    when(projectSynchronizer.getAll()).thenReturn(emptySet());
+    when(fsManager.getDirWsPaths(anyString())).thenReturn(emptySet());
+    when(projectHandlerRegistry.getProjectInitHandler(PROJECT_TYPE))
+        .thenReturn(Optional.of(initHandler));
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    initializer.shutdown();
+    EnvironmentContext.reset();
+  }
+
+  @Test
+  public void shouldInitializeModulesAfterParent() throws Exception {
+    registerProjects("/parent", "/parent/module-a", "/parent/module-b", "/parent/module-a/sub");
+    doAnswer(
+            invocation -> {
+              String folder = invocation.getArgument(0);
+              events.add("start " + folder);
+              Thread.sleep(20);
+              events.add("end " + folder);
+              return null;
+            })
+        .when(initHandler)
+        .onProjectInitialized(anyString());
+
+    initializer.initialize();
+
+    assertBefore("end /parent", "start /parent/module-a");
+    assertBefore("end /parent", "start /parent/module-b");
+    assertBefore("end /parent/module-a", "start /parent/module-a/sub");
+  }
+
+  @Test
+  public void shouldInitializeIndependentProjectsInParallel() throws Exception {
+    registerProjects("/first", "/second");
+    when(initHandler.isThreadSafe()).thenReturn(true);
+    CountDownLatch bothStarted = new CountDownLatch(2);
+    doAnswer(
+            invocation -> {
+              bothStarted.countDown();
+              assertTrue(bothStarted.await(10, TimeUnit.SECONDS), "Projects are not parallel");
+              return null;
+            })
+        .when(initHandler)
+        .onProjectInitialized(anyString());
+
+    initializer.initialize();
+  }
+
+  @Test
+  public void shouldFireHandlerWhichIsNotThreadSafeForOneProjectAtATime() throws Exception {
+    registerProjects("/first", "/second", "/third");
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    doAnswer(
+            invocation -> {
+              maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+              Thread.sleep(20);
+              running.decrementAndGet();
+              return null;
+            })
+        .when(initHandler)
+        .onProjectInitialized(anyString());
+
+    initializer.initialize();
+
+    assertEquals(maxRunning.get(), 1);
+  }
+
+  @Test
+  public void shouldFireHandlersWithEnvironmentContextOfInitializingThread() throws Exception {
+    registerProjects("/project");
+    Subject subject = new SubjectImpl("user", "user123", "token", false);
+    EnvironmentContext.getCurrent().setSubject(subject);
+    List<Subject> subjects = Collections.synchronizedList(new ArrayList<>());
+    doAnswer(
+            invocation -> {
+              subjects.add(EnvironmentContext.getCurrent().getSubject());
+              return null;
+            })
+        .when(initHandler)
+        .onProjectInitialized(anyString());
+
+    initializer.initialize();
+
+    assertEquals(subjects, Collections.singletonList(subject));
+  }
+
+  @Test(expectedExceptions = ServerException.class)
+  public void shouldInitializeOtherProjectsAndRethrowFailure() throws Exception {
+    registerProjects("/broken", "/fine");
+    doAnswer(
+            invocation -> {
+              if ("/broken".equals(invocation.getArgument(0))) {
+                throw new ServerException("broken");
+              }
+              return null;
+            })
+        .when(initHandler)
+        .onProjectInitialized(anyString());
+
+    try {
+      initializer.initialize();
+    } finally {
+      verify(initHandler).onProjectInitialized("/fine");
+    }
+  }
+
+  private void registerProjects(String... paths) {
+    Set<RegisteredProject> projects = new HashSet<>();
+    for (String path : paths) {
+      RegisteredProject project = mock(RegisteredProject.class);
+      when(project.getPath()).thenReturn(path);
+      when(project.getBaseFolder()).thenReturn(path);
+      when(project.getType()).thenReturn(PROJECT_TYPE);
+      when(project.getMixins()).thenReturn(emptyList());
+      projects.add(project);
+    }
+    when(projectConfigRegistry.getAll()).thenReturn(projects);
+  }
+
+  private void assertBefore(String first, String second) {
+    int firstIndex = events.indexOf(first);
+    assertTrue(
+        firstIndex >= 0 && firstIndex < events.indexOf(second), first + " must precede " + second);
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.project.server.type;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+import java.util.List;
+import java.util.function.Consumer;
+import org.eclipse.che.api.watcher.server.FileWatcherManager;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests of {@link ProjectAttributeValueCache} */
+@Listeners(MockitoTestNGListener.class)
+public class ProjectAttributeValueCacheTest {
+
+  private static final String ATTRIBUTE = "branch";
+
+  @Mock private FileWatcherManager fileWatcherManager;
+  @Mock private ValueProviderFactory factory;
+  @Mock private ValueProvider provider;
+
+  private ProjectAttributeValueCache cache;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    cache = new ProjectAttributeValueCache(fileWatcherManager);
+  }
+
+  @Test
+  public void shouldProvideValuesOnceUntilWatchedFileIsChanged() throws Exception {
+    when(factory.getWatchedFiles()).thenReturn(singleton(".git/HEAD"));
+    when(provider.getValues(ATTRIBUTE)).thenReturn(singletonList("master"));
+
+    assertEquals(getValues("/project"), singletonList("master"));
+    assertEquals(getValues("/project"), singletonList("master"));
+    verify(provider).getValues(ATTRIBUTE);
+
+    modifyConsumer().accept("/project/.git/HEAD");
+
+    getValues("/project");
+    verify(provider, times(2)).getValues(ATTRIBUTE);
+  }
+
+  @Test
+  public void shouldInvalidateChildProjectsWhenWatchedFileOfParentIsChanged() throws Exception {
+    when(factory.getWatchedFiles()).thenReturn(singleton("pom.xml"));
+    when(provider.getValues(ATTRIBUTE)).thenReturn(singletonList("1.0"));
+    getValues("/parent/module");
+    getValues("/parent-other");
+
+    modifyConsumer().accept("/parent/pom.xml");
+
+    getValues("/parent/module");
+    getValues("/parent-other");
+    verify(provider, times(3)).getValues(ATTRIBUTE);
+  }
+
+  @Test
+  public void shouldProvideValuesAgainWhenProjectIsInvalidated() throws Exception {
+    when(factory.getWatchedFiles()).thenReturn(singleton("pom.xml"));
+    when(provider.getValues(ATTRIBUTE)).thenReturn(singletonList("1.0"));
+    getValues("/project");
+
+    cache.invalidate("/project");
+
+    getValues("/project");
+    verify(provider, times(2)).getValues(ATTRIBUTE);
+  }
+
+  @Test
+  public void shouldNotCacheValuesOfFactoriesWithoutWatchedFiles() throws Exception {
+    when(factory.getWatchedFiles()).thenReturn(emptySet());
+    when(provider.getValues(ATTRIBUTE)).thenReturn(singletonList("value"));
+
+    getValues("/project");
+    getValues("/project");
+
+    verify(provider, times(2)).getValues(ATTRIBUTE);
+  }
+
+  @Test
+  public void shouldNotCacheFailures() throws Exception {
+    when(factory.getWatchedFiles()).thenReturn(singleton("pom.xml"));
+    when(provider.getValues(ATTRIBUTE))
+        .thenThrow(new ValueStorageException("failed"))
+        .thenReturn(singletonList("1.0"));
+
+    try {
+      getValues("/project");
+      fail("Failure is expected");
+    } catch (ValueStorageException ignored) {
+    }
+
+    assertEquals(getValues("/project"), singletonList("1.0"));
+  }
+
+  private List<String> getValues(String wsPath) throws ValueStorageException {
+    return cache.getValues(wsPath, ATTRIBUTE, factory, provider);
+  }
+
+  @SuppressWarnings("unchecked")
+  private Consumer<String> modifyConsumer() {
+    ArgumentCaptor<Consumer<String>> modify = ArgumentCaptor.forClass(Consumer.class);
+    verify(fileWatcherManager).registerByMatcher(any(), any(), modify.capture(), any());
+    return modify.getValue();
+  }
+}
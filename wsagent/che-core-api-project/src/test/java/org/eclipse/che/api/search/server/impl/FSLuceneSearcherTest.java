@@ -21,8 +21,11 @@ package org.eclipse.che.api.search.server.impl;
  */
 
 import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newHashSet;
 import static org.eclipse.che.api.search.SearcherTest.TEST_CONTENT;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 
 import com.google.common.io.Files;
 import java.io.File;
@@ -32,6 +35,7 @@ import java.util.List;
 import java.util.Set;
 import org.eclipse.che.api.fs.server.impl.RootAwarePathTransformer;
 import org.eclipse.che.api.search.SearcherTest.ContentBuilder;
+import org.eclipse.che.api.search.server.IndexingProgress;
 import org.eclipse.che.api.search.server.QueryExpression;
 import org.eclipse.che.commons.lang.IoUtil;
 import org.testng.annotations.AfterMethod;
@@ -99,4 +103,63 @@ public class FSLuceneSearcherTest {
     // then
     assertEquals(newArrayList("/folder/xxx.txt", "/folder/zzz.txt"), paths);
   }
+
+  @Test
+  public void shouldReportInitialIndexingProgress() throws Exception {
+    // given
+    contentBuilder
+        .createFolder("folder")
+        .createFile("xxx.txt", TEST_CONTENT[2])
+        .createFile("yyy.txt", TEST_CONTENT[3])
+        .createFile("zzz.txt", TEST_CONTENT[1]);
+    assertFalse(searcher.getIndexingProgress().isComplete());
+
+    // when
+    searcher.initialize();
+    searcher.getInitialIndexingLatch().await();
+
+    // then
+    IndexingProgress progress = searcher.getIndexingProgress();
+    assertTrue(progress.isComplete());
+    assertEquals(progress.getDiscoveredFiles(), 3);
+    assertEquals(progress.getIndexedFiles(), 3);
+    assertEquals(progress.getPercent(), 100);
+    List<String> paths = searcher.search(new QueryExpression().setText("be")).getFilePaths();
+    assertEquals(newArrayList("/folder/xxx.txt"), paths);
+  }
+
+  @Test
+  public void shouldReconcileExistedIndexOnRestart() throws Exception {
+    // given
+    contentBuilder
+        .createFolder("folder")
+        .createFile("xxx.txt", TEST_CONTENT[2])
+        .createFile("yyy.txt", TEST_CONTENT[3])
+        .createFile("zzz.txt", TEST_CONTENT[1]);
+    searcher.initialize();
+    searcher.getInitialIndexingLatch().await();
+    searcher.close();
+
+    contentBuilder
+        .deleteFileInCurrentFolder("xxx.txt")
+        .createFile("yyy.txt", TEST_CONTENT[4])
+        .createFile("new.txt", TEST_CONTENT[2]);
+
+    // when
+    searcher =
+        new LuceneSearcher(excludePatterns, indexDirectory, workspaceStorage, pathTransformer);
+    searcher.initialize();
+    searcher.getInitialIndexingLatch().await();
+
+    // then
+    assertEquals(
+        searcher.search(new QueryExpression().setText("be")).getFilePaths(),
+        newArrayList("/folder/new.txt"));
+    assertEquals(
+        newHashSet(searcher.search(new QueryExpression().setText("think")).getFilePaths()),
+        newHashSet("/folder/yyy.txt", "/folder/zzz.txt"));
+    assertEquals(
+        searcher.search(new QueryExpression().setText("NASA")).getFilePaths(), newArrayList());
+    assertEquals(searcher.getIndexingProgress().getIndexedFiles(), 3);
+  }
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.search.server.impl;
+
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class LineOffsetsTest {
+
+  private static final String TEXT = "first line\nsecond line\r\nthird line\rfourth\n\nsixth";
+
+  @DataProvider
+  public Object[][] offsets() {
+    return new Object[][] {
+      {0, 1, "first line"},
+      {10, 1, "first line"},
+      {11, 2, "second line"},
+      {23, 2, "second line"},
+      {24, 3, "third line"},
+      {35, 4, "fourth"},
+      {42, 5, ""},
+      {43, 6, "sixth"},
+      {TEXT.length() - 1, 6, "sixth"}
+    };
+  }
+
+  @Test(dataProvider = "offsets")
+  public void shouldResolveLineByOffset(int offset, int expectedLine, String expectedContent) {
+    LineOffsets lines = LineOffsets.of(TEXT);
+
+    int lineNum = lines.lineNumber(offset);
+
+    assertEquals(lineNum, expectedLine);
+    assertEquals(lines.line(TEXT, lineNum), expectedContent);
+  }
+
+  @Test(dataProvider = "offsets")
+  public void shouldResolveLineByOffsetAfterDecoding(
+      int offset, int expectedLine, String expectedContent) {
+    LineOffsets lines = LineOffsets.decode(LineOffsets.of(TEXT).encode());
+
+    int lineNum = lines.lineNumber(offset);
+
+    assertEquals(lineNum, expectedLine);
+    assertEquals(lines.line(TEXT, lineNum), expectedContent);
+  }
+
+  @Test
+  public void shouldCountLines() {
+    assertEquals(LineOffsets.of("").size(), 1);
+    assertEquals(LineOffsets.of("single").size(), 1);
+    assertEquals(LineOffsets.of("trailing\n").size(), 2);
+    assertEquals(LineOffsets.of(TEXT).size(), 6);
+  }
+}
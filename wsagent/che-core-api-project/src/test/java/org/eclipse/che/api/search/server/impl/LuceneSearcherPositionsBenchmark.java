@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.search.server.impl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.io.Files;
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.api.fs.server.impl.RootAwarePathTransformer;
+import org.eclipse.che.api.search.server.QueryExpression;
+import org.eclipse.che.api.search.server.SearchResult;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures resolving of hit positions in big files by {@link LuceneSearcher}.
+ *
+ * <p>Not executed as part of the build, run it from IDE or with {@link #main(String[])} from the
+ * test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LuceneSearcherPositionsBenchmark {
+
+  private static final String HIT = "needle";
+
+  @Param({"10000"})
+  private int lines;
+
+  @Param({"100", "500"})
+  private int hits;
+
+  private File indexDirectory;
+  private File workspaceStorage;
+  private LuceneSearcher searcher;
+  private String content;
+  private int[] hitOffsets;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    indexDirectory = Files.createTempDir();
+    workspaceStorage = Files.createTempDir();
+
+    StringBuilder sb = new StringBuilder();
+    hitOffsets = new int[hits];
+    final int step = lines / hits;
+    for (int i = 0; i < lines; i++) {
+      if (i % step == 0 && i / step < hits) {
+        hitOffsets[i / step] = sb.length();
+        sb.append(HIT).append(' ');
+      }
+      sb.append("line ").append(i).append(" of the generated source file\n");
+    }
+    content = sb.toString();
+
+    File file = new File(workspaceStorage, "big.txt");
+    Files.write(content, file, UTF_8);
+
+    searcher =
+        new LuceneSearcher(
+            Collections.emptySet(),
+            indexDirectory,
+            workspaceStorage,
+            new RootAwarePathTransformer(workspaceStorage));
+    searcher.add(file.toPath());
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    IoUtil.deleteRecursive(indexDirectory);
+    IoUtil.deleteRecursive(workspaceStorage);
+  }
+
+  @Benchmark
+  public SearchResult searchWithPositions() throws Exception {
+    return searcher.search(new QueryExpression().setText(HIT).setIncludePositions(true));
+  }
+
+  @Benchmark
+  public void resolveLinesWithOffsetTable(Blackhole blackhole) {
+    LineOffsets offsets = LineOffsets.decode(LineOffsets.of(content).encode());
+    for (int offset : hitOffsets) {
+      int lineNum = offsets.lineNumber(offset);
+      blackhole.consume(lineNum);
+      blackhole.consume(offsets.line(content, lineNum));
+    }
+  }
+
+  /** Line resolution as it was done before line offsets table was stored in the index. */
+  @Benchmark
+  public void resolveLinesWithScanner(Blackhole blackhole) {
+    for (int offset : hitOffsets) {
+      Scanner sc = new Scanner(content);
+      int lineNum = 1;
+      long len = 0;
+      String foundLine = "";
+      while (sc.hasNextLine()) {
+        foundLine = sc.nextLine();
+        len += foundLine.length() + 1;
+        if (len > offset) {
+          break;
+        }
+        lineNum++;
+      }
+      blackhole.consume(lineNum);
+      blackhole.consume(foundLine);
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(LuceneSearcherPositionsBenchmark.class.getSimpleName())
+                .build())
+        .run();
+  }
+}
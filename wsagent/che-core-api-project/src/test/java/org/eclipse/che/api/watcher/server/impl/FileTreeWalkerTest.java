@@ -12,15 +12,21 @@ package org.eclipse.che.api.watcher.server.impl;
 
 import static java.io.File.createTempFile;
 import static java.lang.Thread.sleep;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
 import static org.apache.commons.io.FileUtils.write;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.io.File;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
+import java.nio.file.WatchEvent.Kind;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import org.junit.After;
 import org.junit.Before;
@@ -28,6 +34,8 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
@@ -62,6 +70,10 @@ public class FileTreeWalkerTest {
 
   @Mock Consumer<Path> directoryDeleteConsumerMock;
 
+  @Mock FileWatcherService fileWatcherService;
+  @Captor ArgumentCaptor<BiConsumer<Path, Kind<?>>> treeListenerCaptor;
+  @Captor ArgumentCaptor<Consumer<Path>> overflowListenerCaptor;
+
   @Before
   public void setUp() throws Exception {
     fileTreeWalker =
@@ -74,7 +86,9 @@ public class FileTreeWalkerTest {
             fileUpdateConsumers,
             fileCreateConsumers,
             fileDeleteConsumers,
-            fileExcludes);
+            fileExcludes,
+            false,
+            fileWatcherService);
   }
 
   @After
@@ -220,4 +234,107 @@ public class FileTreeWalkerTest {
     fileTreeWalker.walk();
     verify(fileCreatedConsumerMock, never()).accept(file.toPath());
   }
+
+  @Test
+  public void shouldRegisterDirectoriesInEventDrivenMode() throws Exception {
+    File folder = rootFolder.newFolder(TEST_FOLDER_NAME);
+    when(fileWatcherService.register(any(Path.class))).thenReturn(true);
+
+    createEventDrivenWalker().initialize();
+
+    verify(fileWatcherService).register(rootFolder.getRoot().toPath());
+    verify(fileWatcherService).register(folder.toPath());
+  }
+
+  @Test
+  public void shouldRunConsumersOnWatcherEventsInEventDrivenMode() throws Exception {
+    fileCreateConsumers.add(fileCreatedConsumerMock);
+    fileDeleteConsumers.add(fileDeleteConsumerMock);
+    directoryCreateConsumers.add(directoryCreatedConsumerMock);
+    when(fileWatcherService.register(any(Path.class))).thenReturn(true);
+    createEventDrivenWalker().initialize();
+    verify(fileWatcherService).addTreeListener(treeListenerCaptor.capture());
+    BiConsumer<Path, Kind<?>> listener = treeListenerCaptor.getValue();
+
+    File folder = rootFolder.newFolder(TEST_FOLDER_NAME);
+    File file = rootFolder.newFile(TEST_FOLDER_NAME + "/" + TEST_FILE_NAME);
+    listener.accept(folder.toPath(), ENTRY_CREATE);
+    verify(directoryCreatedConsumerMock).accept(folder.toPath());
+    verify(fileCreatedConsumerMock).accept(file.toPath());
+    verify(fileWatcherService).register(folder.toPath());
+
+    file.delete();
+    listener.accept(file.toPath(), ENTRY_DELETE);
+    verify(fileDeleteConsumerMock).accept(file.toPath());
+  }
+
+  @Test
+  public void shouldWalkOverflowedDirectoryInEventDrivenMode() throws Exception {
+    fileCreateConsumers.add(fileCreatedConsumerMock);
+    File folder = rootFolder.newFolder(TEST_FOLDER_NAME);
+    when(fileWatcherService.register(any(Path.class))).thenReturn(true);
+    FileTreeWalker walker = createEventDrivenWalker();
+    walker.initialize();
+    verify(fileWatcherService).addOverflowListener(overflowListenerCaptor.capture());
+
+    File file = rootFolder.newFile(TEST_FOLDER_NAME + "/" + TEST_FILE_NAME);
+    walker.walk();
+    verify(fileCreatedConsumerMock, never()).accept(file.toPath());
+
+    overflowListenerCaptor.getValue().accept(folder.toPath());
+    walker.walk();
+    verify(fileCreatedConsumerMock).accept(file.toPath());
+  }
+
+  @Test
+  public void shouldFallBackToPollingWhenDirectoryCanNotBeWatched() throws Exception {
+    fileCreateConsumers.add(fileCreatedConsumerMock);
+    when(fileWatcherService.register(any(Path.class))).thenReturn(false);
+    FileTreeWalker walker = createEventDrivenWalker();
+    walker.initialize();
+
+    File file = rootFolder.newFile(TEST_FILE_NAME);
+    walker.walk();
+
+    verify(fileCreatedConsumerMock).accept(file.toPath());
+  }
+
+  @Test
+  public void shouldUnregisterWatchedDirectoriesWhenFallingBackToPolling() throws Exception {
+    File folder = rootFolder.newFolder(TEST_FOLDER_NAME);
+    when(fileWatcherService.register(rootFolder.getRoot().toPath())).thenReturn(true);
+    when(fileWatcherService.register(folder.toPath())).thenReturn(false);
+
+    createEventDrivenWalker().initialize();
+
+    verify(fileWatcherService).unRegister(rootFolder.getRoot().toPath());
+  }
+
+  @Test
+  public void shouldUnregisterRemovedDirectoryInEventDrivenMode() throws Exception {
+    File folder = rootFolder.newFolder(TEST_FOLDER_NAME);
+    when(fileWatcherService.register(any(Path.class))).thenReturn(true);
+    createEventDrivenWalker().initialize();
+    verify(fileWatcherService).addTreeListener(treeListenerCaptor.capture());
+
+    folder.delete();
+    treeListenerCaptor.getValue().accept(folder.toPath(), ENTRY_DELETE);
+
+    verify(fileWatcherService).unRegister(folder.toPath());
+  }
+
+  private FileTreeWalker createEventDrivenWalker() {
+    return new FileTreeWalker(
+        rootFolder.getRoot(),
+        directoryUpdateConsumers,
+        directoryCreateConsumers,
+        directoryDeleteConsumers,
+        directoryExcludes,
+        fileUpdateConsumers,
+        fileCreateConsumers,
+        fileDeleteConsumers,
+        fileExcludes,
+        true,
+        fileWatcherService);
+  }
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.watcher.server.impl;
+
+import static org.mockito.Mockito.mock;
+
+import com.google.common.io.Files;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.api.fs.server.impl.RootAwarePathTransformer;
+import org.eclipse.che.api.watcher.server.IndexedPathMatcher;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures handling of created items by {@link FileWatcherByPathMatcher} with many registered
+ * matchers, comparing {@link IndexedPathMatcher} with arbitrary matchers that check the same
+ * conditions.
+ *
+ * <p>Not executed as part of the build, run it from IDE or with {@link #main(String[])} from the
+ * test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileWatcherByPathMatcherBenchmark {
+
+  @Param({"1000"})
+  private int registrations;
+
+  @Param({"true", "false"})
+  private boolean indexed;
+
+  private File root;
+  private FileWatcherByPathMatcher watcher;
+  private Path matchedFile;
+  private Path notMatchedFile;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    root = Files.createTempDir();
+    watcher =
+        new FileWatcherByPathMatcher(
+            root, mock(FileWatcherByPathValue.class), new RootAwarePathTransformer(root));
+
+    for (int i = 0; i < registrations; i++) {
+      String name = "file-" + i + ".txt";
+      PathMatcher matcher =
+          indexed
+              ? IndexedPathMatcher.fileName(name, "project")
+              : path ->
+                  name.equals(path.getFileName().toString())
+                      && "project".equals(path.getParent().getFileName().toString());
+      watcher.watch(matcher, it -> {}, it -> {}, it -> {});
+    }
+
+    File project = new File(root, "project");
+    project.mkdirs();
+    matchedFile = new File(project, "file-" + registrations / 2 + ".txt").toPath();
+    notMatchedFile = new File(project, "other.txt").toPath();
+    Files.touch(matchedFile.toFile());
+    Files.touch(notMatchedFile.toFile());
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    IoUtil.deleteRecursive(root);
+  }
+
+  @Benchmark
+  public void acceptMatchedFile() {
+    watcher.accept(matchedFile);
+  }
+
+  @Benchmark
+  public void acceptNotMatchedFile() {
+    watcher.accept(notMatchedFile);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(FileWatcherByPathMatcherBenchmark.class.getSimpleName())
+                .build())
+        .run();
+  }
+}
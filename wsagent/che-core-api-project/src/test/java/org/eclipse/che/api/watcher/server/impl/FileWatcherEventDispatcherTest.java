@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.watcher.server.impl;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.WatchEvent.Kind;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/** Tests for {@link FileWatcherEventDispatcher} */
+@RunWith(MockitoJUnitRunner.class)
+public class FileWatcherEventDispatcherTest {
+  private static final int TIMEOUT_VALUE = 3_000;
+  private static final long WINDOW_MS = 200;
+  private static final int MAX_PENDING_EVENTS = 16;
+
+  private static final Path DIR = Paths.get("/projects/project");
+  private static final Path FILE = DIR.resolve("file");
+
+  @Mock BiConsumer<Path, Kind<?>> eventConsumer;
+  @Mock Consumer<Path> overflowConsumer;
+
+  FileWatcherEventDispatcher dispatcher;
+
+  @Before
+  public void setUp() {
+    dispatcher =
+        new FileWatcherEventDispatcher(
+            eventConsumer, overflowConsumer, 16, MAX_PENDING_EVENTS, WINDOW_MS);
+    dispatcher.start();
+  }
+
+  @After
+  public void tearDown() {
+    dispatcher.stop();
+  }
+
+  @Test
+  public void shouldDeliverSingleEvent() throws Exception {
+    dispatcher.dispatch(FILE, ENTRY_MODIFY);
+
+    verify(eventConsumer, timeout(TIMEOUT_VALUE)).accept(FILE, ENTRY_MODIFY);
+  }
+
+  @Test
+  public void shouldCoalesceCreationAndModificationsIntoCreationAndModification()
+      throws Exception {
+    dispatcher.dispatch(FILE, ENTRY_CREATE);
+    dispatcher.dispatch(FILE, ENTRY_MODIFY);
+    dispatcher.dispatch(FILE, ENTRY_MODIFY);
+
+    InOrder inOrder = inOrder(eventConsumer);
+    inOrder.verify(eventConsumer, timeout(TIMEOUT_VALUE)).accept(FILE, ENTRY_CREATE);
+    inOrder.verify(eventConsumer, timeout(TIMEOUT_VALUE)).accept(FILE, ENTRY_MODIFY);
+    verify(eventConsumer, after(WINDOW_MS * 2).times(1)).accept(FILE, ENTRY_MODIFY);
+  }
+
+  @Test
+  public void shouldCoalesceModificationsIntoSingleModification() throws Exception {
+    dispatcher.dispatch(FILE, ENTRY_MODIFY);
+    dispatcher.dispatch(FILE, ENTRY_MODIFY);
+    dispatcher.dispatch(FILE, ENTRY_MODIFY);
+
+    verify(eventConsumer, after(WINDOW_MS * 3).times(1)).accept(FILE, ENTRY_MODIFY);
+  }
+
+  @Test
+  public void shouldCoalesceModificationAndRemovalIntoRemoval() throws Exception {
+    dispatcher.dispatch(FILE, ENTRY_MODIFY);
+    dispatcher.dispatch(FILE, ENTRY_DELETE);
+
+    verify(eventConsumer, timeout(TIMEOUT_VALUE)).accept(FILE, ENTRY_DELETE);
+    verify(eventConsumer, after(WINDOW_MS * 2).never()).accept(FILE, ENTRY_MODIFY);
+  }
+
+  @Test
+  public void shouldNotDeliverEventsOfShortLivedItem() throws Exception {
+    dispatcher.dispatch(FILE, ENTRY_CREATE);
+    dispatcher.dispatch(FILE, ENTRY_MODIFY);
+    dispatcher.dispatch(FILE, ENTRY_DELETE);
+
+    verify(eventConsumer, after(WINDOW_MS * 3).never()).accept(any(), any());
+  }
+
+  @Test
+  public void shouldDeliverRemovalAndCreationOfReplacedItem() throws Exception {
+    dispatcher.dispatch(FILE, ENTRY_DELETE);
+    dispatcher.dispatch(FILE, ENTRY_CREATE);
+    dispatcher.dispatch(FILE, ENTRY_MODIFY);
+
+    InOrder inOrder = inOrder(eventConsumer);
+    inOrder.verify(eventConsumer, timeout(TIMEOUT_VALUE)).accept(FILE, ENTRY_DELETE);
+    inOrder.verify(eventConsumer, timeout(TIMEOUT_VALUE)).accept(FILE, ENTRY_CREATE);
+  }
+
+  @Test
+  public void shouldDeliverEventsOfTheSameDirectoryInOrder() throws Exception {
+    Path first = DIR.resolve("first");
+    Path second = DIR.resolve("second");
+    Path third = DIR.resolve("third");
+
+    dispatcher.dispatch(first, ENTRY_CREATE);
+    dispatcher.dispatch(second, ENTRY_MODIFY);
+    dispatcher.dispatch(third, ENTRY_DELETE);
+
+    InOrder inOrder = inOrder(eventConsumer);
+    inOrder.verify(eventConsumer, timeout(TIMEOUT_VALUE)).accept(first, ENTRY_CREATE);
+    inOrder.verify(eventConsumer, timeout(TIMEOUT_VALUE)).accept(second, ENTRY_MODIFY);
+    inOrder.verify(eventConsumer, timeout(TIMEOUT_VALUE)).accept(third, ENTRY_DELETE);
+  }
+
+  @Test
+  public void shouldDeliverCreationOfDirectoryBeforeEventsOfItsEntries() throws Exception {
+    Path dir = DIR.resolve("dir");
+    Path nested = dir.resolve("nested");
+    Path file = nested.resolve("file");
+
+    dispatcher.dispatch(dir, ENTRY_CREATE);
+    dispatcher.dispatch(nested, ENTRY_CREATE);
+    dispatcher.dispatch(file, ENTRY_CREATE);
+
+    InOrder inOrder = inOrder(eventConsumer);
+    inOrder.verify(eventConsumer, timeout(TIMEOUT_VALUE)).accept(dir, ENTRY_CREATE);
+    inOrder.verify(eventConsumer, timeout(TIMEOUT_VALUE)).accept(nested, ENTRY_CREATE);
+    inOrder.verify(eventConsumer, timeout(TIMEOUT_VALUE)).accept(file, ENTRY_CREATE);
+  }
+
+  @Test
+  public void shouldReplaceEventsWithOverflowWhenTooManyPathsAreChanged() throws Exception {
+    for (int i = 0; i < MAX_PENDING_EVENTS; i++) {
+      dispatcher.dispatch(DIR.resolve("file" + i), ENTRY_MODIFY);
+    }
+    Path extra = DIR.resolve("extra");
+    dispatcher.dispatch(extra, ENTRY_MODIFY);
+
+    verify(overflowConsumer, timeout(TIMEOUT_VALUE)).accept(DIR);
+    verify(eventConsumer, never()).accept(extra, ENTRY_MODIFY);
+  }
+
+  @Test
+  public void shouldDeliverOverflowedDirectory() throws Exception {
+    dispatcher.overflow(DIR);
+
+    verify(overflowConsumer, timeout(TIMEOUT_VALUE)).accept(DIR);
+  }
+
+  @Test
+  public void shouldContinueDeliveringAfterConsumerFailure() throws Exception {
+    Path other = DIR.resolve("other");
+    doThrow(new IllegalStateException("test")).when(eventConsumer).accept(FILE, ENTRY_MODIFY);
+
+    dispatcher.dispatch(FILE, ENTRY_MODIFY);
+    dispatcher.dispatch(other, ENTRY_MODIFY);
+
+    verify(eventConsumer, timeout(TIMEOUT_VALUE)).accept(other, ENTRY_MODIFY);
+  }
+}
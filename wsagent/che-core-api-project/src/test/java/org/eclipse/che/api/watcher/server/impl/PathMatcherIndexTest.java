@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.watcher.server.impl;
+
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableSet;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import org.eclipse.che.api.watcher.server.IndexedPathMatcher;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Tests for {@link PathMatcherIndex} */
+public class PathMatcherIndexTest {
+
+  private static final Path POM = Paths.get("/projects/project/pom.xml");
+  private static final Path GIT_HEAD = Paths.get("/projects/project/.git/HEAD");
+  private static final Path HEAD = Paths.get("/projects/project/HEAD");
+  private static final Path JAVA = Paths.get("/projects/project/src/Main.java");
+
+  PathMatcherIndex<String> index;
+
+  @Before
+  public void setUp() {
+    index = new PathMatcherIndex<>();
+  }
+
+  @Test
+  public void shouldFindMatcherByFileName() {
+    index.add(IndexedPathMatcher.fileName("pom.xml"), "pom");
+
+    assertEquals(index.candidates(POM), singletonList("pom"));
+    assertTrue(index.candidates(JAVA).isEmpty());
+  }
+
+  @Test
+  public void shouldFindMatcherByFileNameAndParentName() {
+    index.add(IndexedPathMatcher.fileName("HEAD", ".git"), "head");
+
+    assertEquals(index.candidates(GIT_HEAD), singletonList("head"));
+    assertTrue(index.candidates(HEAD).isEmpty());
+  }
+
+  @Test
+  public void shouldFindMatcherByFileNameSuffix() {
+    index.add(IndexedPathMatcher.of("glob:**/*.java"), "java");
+    index.add(IndexedPathMatcher.of("glob:**/*.xml"), "xml");
+
+    assertEquals(index.candidates(JAVA), singletonList("java"));
+    assertEquals(index.candidates(POM), singletonList("xml"));
+  }
+
+  @Test
+  public void shouldReturnNotIndexedMatchersForAnyPath() {
+    index.add(path -> false, "any");
+    index.add(IndexedPathMatcher.of("glob:**/src/**"), "glob");
+
+    assertEquals(new HashSet<>(index.candidates(POM)), ImmutableSet.of("any", "glob"));
+    assertEquals(new HashSet<>(index.candidates(JAVA)), ImmutableSet.of("any", "glob"));
+  }
+
+  @Test
+  public void shouldNotFindRemovedMatcher() {
+    IndexedPathMatcher matcher = IndexedPathMatcher.fileName("pom.xml");
+    index.add(matcher, "first");
+    index.add(matcher, "second");
+
+    index.remove(matcher, "first");
+
+    assertEquals(index.candidates(POM), singletonList("second"));
+  }
+
+  @Test
+  public void shouldIndexGlobByLiteralFileName() {
+    IndexedPathMatcher matcher = IndexedPathMatcher.of("glob:**/pom.xml");
+
+    assertEquals(matcher.getFileName(), "pom.xml");
+    assertNull(matcher.getFileNameSuffix());
+    assertTrue(matcher.matches(POM));
+    assertFalse(matcher.matches(JAVA));
+  }
+
+  @Test
+  public void shouldCheckAdditionalCondition() {
+    IndexedPathMatcher matcher =
+        IndexedPathMatcher.fileName("pom.xml").and(path -> path.startsWith("/projects"));
+
+    assertTrue(matcher.matches(POM));
+    assertFalse(matcher.matches(Paths.get("/tmp/pom.xml")));
+  }
+}
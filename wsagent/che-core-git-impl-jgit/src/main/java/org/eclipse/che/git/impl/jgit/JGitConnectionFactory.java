@@ -27,8 +27,6 @@ import org.eclipse.che.api.git.GitConnectionFactory;
 import org.eclipse.che.api.git.GitUserResolver;
 import org.eclipse.che.api.git.exception.GitException;
 import org.eclipse.che.plugin.ssh.key.script.SshKeyProvider;
-import org.eclipse.jgit.internal.storage.file.FileRepository;
-import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.transport.UserAgent;
 
@@ -45,18 +43,21 @@ public class JGitConnectionFactory extends GitConnectionFactory {
   private final SshKeyProvider sshKeyProvider;
   private final EventService eventService;
   private final GitUserResolver userResolver;
+  private final JGitRepositoryCache repositoryCache;
 
   @Inject
   public JGitConnectionFactory(
       CredentialsLoader credentialsLoader,
       SshKeyProvider sshKeyProvider,
       EventService eventService,
-      GitUserResolver userResolver)
+      GitUserResolver userResolver,
+      JGitRepositoryCache repositoryCache)
       throws GitException {
     this.credentialsLoader = credentialsLoader;
     this.sshKeyProvider = sshKeyProvider;
     this.eventService = eventService;
     this.userResolver = userResolver;
+    this.repositoryCache = repositoryCache;
 
     UserAgent.set(USER_AGENT);
     // Install the all-trusting trust manager
@@ -87,16 +88,16 @@ public class JGitConnectionFactory extends GitConnectionFactory {
   @Override
   public JGitConnection getConnection(File workDir, LineConsumerFactory outputPublisherFactory)
       throws GitException {
-    Repository gitRepo = createRepository(workDir);
+    Repository gitRepo = openRepository(workDir);
     JGitConnection conn =
         new JGitConnection(gitRepo, credentialsLoader, sshKeyProvider, eventService, userResolver);
     conn.setOutputLineConsumerFactory(outputPublisherFactory);
     return conn;
   }
 
-  private static Repository createRepository(File workDir) throws GitException {
+  private Repository openRepository(File workDir) throws GitException {
     try {
-      return new FileRepository(new File(workDir, Constants.DOT_GIT));
+      return repositoryCache.open(workDir);
     } catch (IOException e) {
       throw new GitException(e.getMessage(), e);
     }
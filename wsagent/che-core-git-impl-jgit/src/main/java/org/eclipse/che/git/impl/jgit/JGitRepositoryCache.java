@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.git.impl.jgit;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.commons.schedule.ScheduleRate;
+import org.eclipse.jgit.internal.storage.file.FileRepository;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.Repository;
+
+/**
+ * Keeps opened {@link Repository repositories} so git operations on the same working directory
+ * share a single instance along with its cached configuration, refs and pack indexes instead of
+ * reading them all over again for each connection.
+ *
+ * <p>Repositories returned by {@link #open(File)} are reference counted, each of them must be
+ * closed by the caller. The cache holds a reference of its own which is released when the
+ * repository is not opened for a while or when its {@code .git} directory is removed or replaced,
+ * the repository is actually closed once all the callers close it as well.
+ *
+ * <p>Working directories without {@code .git} directory, e.g. the ones which are about to be
+ * cloned or initialized, are never cached.
+ */
+@Singleton
+public class JGitRepositoryCache {
+
+  static final long IDLE_TIMEOUT_MS = MINUTES.toMillis(5);
+
+  private final Map<File, CachedRepository> repositories = new ConcurrentHashMap<>();
+  private final LongSupplier clock;
+
+  @Inject
+  public JGitRepositoryCache() {
+    this(System::currentTimeMillis);
+  }
+
+  JGitRepositoryCache(LongSupplier clock) {
+    this.clock = clock;
+  }
+
+  /**
+   * Returns repository of the given working directory.
+   *
+   * @param workDir working directory of the repository
+   * @return repository which must be closed when it is not needed anymore
+   * @throws IOException when repository can't be opened
+   */
+  public Repository open(File workDir) throws IOException {
+    final File key = workDir.getAbsoluteFile().toPath().normalize().toFile();
+    final File gitDir = new File(key, Constants.DOT_GIT);
+    final Object gitDirId = identify(gitDir);
+    final long now = clock.getAsLong();
+
+    CachedRepository cached = repositories.get(key);
+    if (cached != null) {
+      if (Objects.equals(cached.gitDirId, gitDirId) && cached.acquire(now)) {
+        return cached.repository;
+      }
+      evict(key, cached);
+    }
+
+    final Repository repository = new FileRepository(gitDir);
+    if (gitDirId != null) {
+      // the initial reference belongs to the cache, the caller gets one more
+      repository.incrementOpen();
+      cached = new CachedRepository(repository, gitDirId, now);
+      CachedRepository previous = repositories.put(key, cached);
+      if (previous != null) {
+        // opened concurrently, the repository will be closed by its callers
+        previous.release();
+      }
+    }
+    return repository;
+  }
+
+  /** Releases repositories which are not used for a while or which directories are gone. */
+  @ScheduleRate(initialDelay = 1, period = 1, unit = MINUTES)
+  void evictIdle() {
+    final long now = clock.getAsLong();
+    for (Map.Entry<File, CachedRepository> entry : repositories.entrySet()) {
+      final CachedRepository cached = entry.getValue();
+      if (now - cached.lastUsed > IDLE_TIMEOUT_MS
+          || !Objects.equals(
+              cached.gitDirId, identify(new File(entry.getKey(), Constants.DOT_GIT)))) {
+        evict(entry.getKey(), cached);
+      }
+    }
+  }
+
+  /** Returns the number of cached repositories. */
+  int size() {
+    return repositories.size();
+  }
+
+  private void evict(File key, CachedRepository cached) {
+    if (repositories.remove(key, cached)) {
+      cached.release();
+    }
+  }
+
+  /**
+   * Returns an object which identifies the {@code .git} directory, so a removed and then recreated
+   * directory is not mistaken for the cached one, returns null if the directory doesn't exist.
+   */
+  private static Object identify(File gitDir) {
+    final Object gitDirKey;
+    try {
+      gitDirKey = fileKey(gitDir);
+    } catch (IOException e) {
+      // doesn't exist or can't be read, either way it shouldn't be cached
+      return null;
+    }
+    // creation time can't be used as it is the modification time on some platforms, objects
+    // directory is created along with the repository and is never replaced, so its key is stable.
+    // A directory recreated in place may get the same inodes, the repository still sees the new
+    // files then, as it checks the snapshots of refs, packs and configuration before using them
+    Object objectsKey;
+    try {
+      objectsKey = fileKey(new File(gitDir, Constants.OBJECTS));
+    } catch (IOException e) {
+      // e.g. .git is a file which points to the repository
+      objectsKey = null;
+    }
+    return asList(gitDirKey, objectsKey);
+  }
+
+  private static Object fileKey(File file) throws IOException {
+    return Files.readAttributes(file.toPath(), BasicFileAttributes.class).fileKey();
+  }
+
+  /** Cached repository, its state is guarded by the instance itself. */
+  private static class CachedRepository {
+    final Repository repository;
+    final Object gitDirId;
+    volatile long lastUsed;
+    boolean released;
+
+    CachedRepository(Repository repository, Object gitDirId, long now) {
+      this.repository = repository;
+      this.gitDirId = gitDirId;
+      this.lastUsed = now;
+    }
+
+    /** Opens the repository for a caller, returns false if it is already released by the cache. */
+    synchronized boolean acquire(long now) {
+      if (released) {
+        return false;
+      }
+      repository.incrementOpen();
+      lastUsed = now;
+      return true;
+    }
+
+    /** Releases the reference of the cache. */
+    synchronized void release() {
+      if (!released) {
+        released = true;
+        repository.close();
+      }
+    }
+  }
+}
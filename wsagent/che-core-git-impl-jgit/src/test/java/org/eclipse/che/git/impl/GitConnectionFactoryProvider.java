@@ -20,6 +20,7 @@ import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.git.CredentialsLoader;
 import org.eclipse.che.api.git.GitUserResolver;
 import org.eclipse.che.git.impl.jgit.JGitConnectionFactory;
+import org.eclipse.che.git.impl.jgit.JGitRepositoryCache;
 import org.eclipse.che.plugin.ssh.key.script.SshKeyProvider;
 import org.testng.annotations.DataProvider;
 
@@ -36,7 +37,8 @@ public class GitConnectionFactoryProvider {
             mock(CredentialsLoader.class),
             mock(SshKeyProvider.class),
             mock(EventService.class),
-            resolver)
+            resolver,
+            new JGitRepositoryCache())
       }
     };
   }
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.git.impl.jgit;
+
+import static org.eclipse.che.git.impl.jgit.JGitRepositoryCache.IDLE_TIMEOUT_MS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.Repository;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests of {@link JGitRepositoryCache}. */
+public class JGitRepositoryCacheTest {
+
+  private File workDir;
+  private AtomicLong clock;
+  private JGitRepositoryCache cache;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    workDir = Files.createTempDirectory("repository").toFile();
+    Git.init().setDirectory(workDir).call().close();
+    clock = new AtomicLong();
+    cache = new JGitRepositoryCache(clock::get);
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    IoUtil.deleteRecursive(workDir);
+  }
+
+  @Test
+  public void shouldReuseRepositoryOfTheSameWorkingDirectory() throws Exception {
+    Repository first = cache.open(workDir);
+    first.close();
+    Repository second = cache.open(new File(workDir, "sub/.."));
+
+    assertSame(second, first);
+    assertEquals(cache.size(), 1);
+    assertEquals(second.getDirectory(), new File(workDir, Constants.DOT_GIT));
+  }
+
+  @Test
+  public void shouldReuseRepositoryWhenGitDirectoryIsModified() throws Exception {
+    File gitDir = new File(workDir, Constants.DOT_GIT);
+    Repository first = cache.open(workDir);
+    first.close();
+
+    Files.createFile(new File(gitDir, "FETCH_HEAD").toPath());
+    gitDir.setLastModified(gitDir.lastModified() + 10_000);
+
+    assertSame(cache.open(workDir), first);
+  }
+
+  @Test
+  public void shouldNotCacheWorkingDirectoryWithoutRepository() throws Exception {
+    IoUtil.deleteRecursive(new File(workDir, Constants.DOT_GIT));
+
+    Repository first = cache.open(workDir);
+    Repository second = cache.open(workDir);
+
+    assertNotSame(second, first);
+    assertEquals(cache.size(), 0);
+  }
+
+  @Test
+  public void shouldDropRepositoryWhenGitDirectoryIsRemoved() throws Exception {
+    Repository first = cache.open(workDir);
+
+    IoUtil.deleteRecursive(new File(workDir, Constants.DOT_GIT));
+    cache.evictIdle();
+
+    assertEquals(cache.size(), 0);
+    Git.init().setDirectory(workDir).call().close();
+    assertNotSame(cache.open(workDir), first);
+  }
+
+  @Test
+  public void shouldNotReuseRepositoryWhenGitDirectoryIsReplaced() throws Exception {
+    File otherDir = Files.createTempDirectory("other").toFile();
+    Git.init().setDirectory(otherDir).call().close();
+    File gitDir = new File(workDir, Constants.DOT_GIT);
+    Repository first = cache.open(workDir);
+
+    Files.move(gitDir.toPath(), new File(workDir, "old.git").toPath());
+    Files.move(new File(otherDir, Constants.DOT_GIT).toPath(), gitDir.toPath());
+    IoUtil.deleteRecursive(otherDir);
+
+    assertNotSame(cache.open(workDir), first);
+    assertEquals(cache.size(), 1);
+  }
+
+  @Test
+  public void shouldEvictIdleRepositories() throws Exception {
+    Repository first = cache.open(workDir);
+    first.close();
+
+    clock.addAndGet(IDLE_TIMEOUT_MS / 2);
+    cache.evictIdle();
+    assertEquals(cache.size(), 1);
+
+    clock.addAndGet(IDLE_TIMEOUT_MS);
+    cache.evictIdle();
+    assertEquals(cache.size(), 0);
+    assertNotSame(cache.open(workDir), first);
+  }
+}
@@ -14,8 +14,8 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import javax.validation.constraints.NotNull;
-import org.eclipse.che.api.core.rest.DefaultHttpJsonRequestFactory;
 import org.eclipse.che.api.core.rest.HttpJsonRequest;
+import org.eclipse.che.api.core.rest.PooledHttpJsonRequestFactory;
 import org.eclipse.che.api.core.rest.shared.dto.Link;
 
 /**
@@ -23,12 +23,16 @@ import org.eclipse.che.api.core.rest.shared.dto.Link;
  * ```machine.token``` as authorization header. Used to make request from ws-agent to ws-master.
  */
 @Singleton
-public class AgentHttpJsonRequestFactory extends DefaultHttpJsonRequestFactory {
+public class AgentHttpJsonRequestFactory extends PooledHttpJsonRequestFactory {
 
   private final String machineToken;
 
   @Inject
-  public AgentHttpJsonRequestFactory(@Named("machine.token") String machineToken) {
+  public AgentHttpJsonRequestFactory(
+      @Named("machine.token") String machineToken,
+      @Named("che.core.http.max_connections_per_host") int maxConnectionsPerHost,
+      @Named("che.core.http.etag_cache_size") int eTagCacheSize) {
+    super(maxConnectionsPerHost, eTagCacheSize);
     this.machineToken = machineToken;
   }
 
@@ -15,17 +15,23 @@ import com.google.inject.name.Names;
 import java.security.PublicKey;
 import org.eclipse.che.MachinePublicKeyProvider;
 import org.eclipse.che.api.core.rest.HttpJsonRequestFactory;
+import org.eclipse.che.api.core.rest.PooledHttpJsonRequestFactory;
 import org.eclipse.che.commons.auth.token.ChainedTokenExtractor;
 import org.eclipse.che.commons.auth.token.RequestTokenExtractor;
 import org.eclipse.che.inject.DynaModule;
 
-/** Provide multi user specific implementation of ws-agent components. */
+/**
+ * Provide multi user specific implementation of ws-agent components, requests to ws-master are made
+ * over pooled connections in both modes.
+ */
 @DynaModule
 public class WsAgentAuthModule extends AbstractModule {
   @Override
   protected void configure() {
     if (Boolean.valueOf(System.getenv("CHE_AUTH_ENABLED"))) {
       configureMultiUserMode();
+    } else {
+      bind(HttpJsonRequestFactory.class).to(PooledHttpJsonRequestFactory.class);
     }
   }
 
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.activity;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timer wheel of workspaces expiration times.
+ *
+ * <p>Time is split into ticks, each level of the wheel has {@value #SLOTS} slots and a slot of a
+ * level spans all the slots of the level below it. An expiration is put to the lowest level whose
+ * slot distinguishes its tick from the current one and goes down a level each time the wheel
+ * reaches its slot, so scheduling and expiring cost constant time regardless of the number of
+ * tracked workspaces. Expirations which are farther than all the levels span wait in overflow
+ * until the top level completes its round.
+ *
+ * <p>Each workspace has at most one entry in the wheel. Postponing expiration of a workspace only
+ * updates its entry, which is moved to a later slot when the wheel reaches the earlier one, as
+ * activity mostly postpones expirations.
+ *
+ * <p>The wheel is not thread-safe.
+ */
+final class ExpirationWheel {
+
+  private static final int SLOT_BITS = 6;
+  private static final int SLOTS = 1 << SLOT_BITS;
+  private static final int SLOT_MASK = SLOTS - 1;
+  private static final int LEVELS = 4;
+
+  private final long tickMs;
+  private final Map<String, Entry> entries = new HashMap<>();
+  private final List<List<List<Entry>>> levels = new ArrayList<>(LEVELS);
+  private final List<Entry> overflow = new ArrayList<>();
+  private final List<Entry> due = new ArrayList<>();
+
+  /** The last tick which is processed. */
+  private long currentTick;
+
+  ExpirationWheel(long tickMs, long now) {
+    this.tickMs = tickMs;
+    this.currentTick = now / tickMs;
+    for (int i = 0; i < LEVELS; i++) {
+      final List<List<Entry>> slots = new ArrayList<>(SLOTS);
+      for (int j = 0; j < SLOTS; j++) {
+        slots.add(new ArrayList<>());
+      }
+      levels.add(slots);
+    }
+  }
+
+  /** Sets expiration time of the workspace, replacing the previous one if any. */
+  void schedule(String workspaceId, long expiration) {
+    Entry entry = entries.get(workspaceId);
+    if (entry != null) {
+      if (expiration >= entry.expiration) {
+        entry.expiration = expiration;
+        return;
+      }
+      entry.cancelled = true;
+    }
+    entry = new Entry(workspaceId, expiration);
+    entries.put(workspaceId, entry);
+    place(entry);
+  }
+
+  /** Stops tracking expiration of the workspace. */
+  void cancel(String workspaceId) {
+    final Entry entry = entries.remove(workspaceId);
+    if (entry != null) {
+      entry.cancelled = true;
+    }
+  }
+
+  /** Returns true if expiration of the workspace is tracked. */
+  boolean contains(String workspaceId) {
+    return entries.containsKey(workspaceId);
+  }
+
+  /** Returns the number of tracked workspaces. */
+  int size() {
+    return entries.size();
+  }
+
+  /**
+   * Moves the wheel to the given time and returns workspaces whose expiration time is passed by
+   * it. Returned workspaces are not tracked anymore.
+   */
+  List<String> advance(long now) {
+    final List<String> expired = new ArrayList<>();
+    final long targetTick = now / tickMs;
+    while (currentTick < targetTick) {
+      currentTick++;
+      // higher levels first, so an entry is able to go down through a few levels at once
+      if ((currentTick & ((1L << (SLOT_BITS * LEVELS)) - 1)) == 0) {
+        replace(overflow);
+      }
+      for (int level = LEVELS - 1; level > 0; level--) {
+        if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+          replace(slot(level, currentTick));
+        }
+      }
+      expire(slot(0, currentTick), expired);
+    }
+    expire(due, expired);
+    return expired;
+  }
+
+  private void place(Entry entry) {
+    final long tick = fireTick(entry);
+    if (tick <= currentTick) {
+      due.add(entry);
+      return;
+    }
+    for (int level = 0; level < LEVELS; level++) {
+      final int higherBits = SLOT_BITS * (level + 1);
+      if ((tick >>> higherBits) == (currentTick >>> higherBits)) {
+        slot(level, tick).add(entry);
+        return;
+      }
+    }
+    overflow.add(entry);
+  }
+
+  private void replace(List<Entry> bucket) {
+    final List<Entry> drained = new ArrayList<>(bucket);
+    bucket.clear();
+    for (Entry entry : drained) {
+      if (!entry.cancelled) {
+        place(entry);
+      }
+    }
+  }
+
+  private void expire(List<Entry> bucket, List<String> expired) {
+    final List<Entry> drained = new ArrayList<>(bucket);
+    bucket.clear();
+    for (Entry entry : drained) {
+      if (entry.cancelled) {
+        continue;
+      }
+      if (fireTick(entry) > currentTick) {
+        // expiration is postponed since the entry was placed
+        place(entry);
+      } else {
+        entries.remove(entry.workspaceId);
+        expired.add(entry.workspaceId);
+      }
+    }
+  }
+
+  private List<Entry> slot(int level, long tick) {
+    return levels.get(level).get((int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK));
+  }
+
+  /** Returns the first tick which starts after the expiration time. */
+  private long fireTick(Entry entry) {
+    return entry.expiration / tickMs + 1;
+  }
+
+  private static final class Entry {
+    private final String workspaceId;
+    private long expiration;
+    private boolean cancelled;
+
+    private Entry(String workspaceId, long expiration) {
+      this.workspaceId = workspaceId;
+      this.expiration = expiration;
+    }
+  }
+}
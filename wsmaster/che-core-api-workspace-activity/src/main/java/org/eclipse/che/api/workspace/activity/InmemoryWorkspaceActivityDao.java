@@ -10,6 +10,7 @@
  */
 package org.eclipse.che.api.workspace.activity;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -32,6 +33,11 @@ public class InmemoryWorkspaceActivityDao implements WorkspaceActivityDao {
     activeWorkspaces.put(expiration.getWorkspaceId(), expiration.getExpiration());
   }
 
+  @Override
+  public void setExpirations(Collection<WorkspaceExpiration> expirations) {
+    expirations.forEach(this::setExpiration);
+  }
+
   @Override
   public void removeExpiration(String workspaceId) {
     activeWorkspaces.remove(workspaceId);
@@ -46,4 +52,13 @@ public class InmemoryWorkspaceActivityDao implements WorkspaceActivityDao {
         .map(Entry::getKey)
         .collect(Collectors.toList());
   }
+
+  @Override
+  public List<WorkspaceExpiration> getAll() {
+    return activeWorkspaces
+        .entrySet()
+        .stream()
+        .map(e -> new WorkspaceExpiration(e.getKey(), e.getValue()))
+        .collect(Collectors.toList());
+  }
 }
@@ -11,9 +11,13 @@
 package org.eclipse.che.api.workspace.activity;
 
 import static java.util.Objects.requireNonNull;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
 
 import com.google.inject.persist.Transactional;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
@@ -45,6 +49,16 @@ public class JpaWorkspaceActivityDao implements WorkspaceActivityDao {
     }
   }
 
+  @Override
+  public void setExpirations(Collection<WorkspaceExpiration> expirations) throws ServerException {
+    requireNonNull(expirations, "Required non-null expirations");
+    try {
+      doCreateOrUpdate(expirations);
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
   @Override
   public void removeExpiration(String workspaceId) throws ServerException {
     requireNonNull(workspaceId, "Required non-null id");
@@ -64,6 +78,15 @@ public class JpaWorkspaceActivityDao implements WorkspaceActivityDao {
     }
   }
 
+  @Override
+  public List<WorkspaceExpiration> getAll() throws ServerException {
+    try {
+      return doGetAll();
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
   @Transactional
   protected List<String> doFindExpired(long timestamp) {
     return managerProvider
@@ -76,6 +99,14 @@ public class JpaWorkspaceActivityDao implements WorkspaceActivityDao {
         .collect(Collectors.toList());
   }
 
+  @Transactional
+  protected List<WorkspaceExpiration> doGetAll() {
+    return managerProvider
+        .get()
+        .createNamedQuery("WorkspaceExpiration.getAll", WorkspaceExpiration.class)
+        .getResultList();
+  }
+
   @Transactional
   protected void doCreateOrUpdate(WorkspaceExpiration expiration) {
     final EntityManager manager = managerProvider.get();
@@ -87,6 +118,37 @@ public class JpaWorkspaceActivityDao implements WorkspaceActivityDao {
     manager.flush();
   }
 
+  @Transactional
+  protected void doCreateOrUpdate(Collection<WorkspaceExpiration> expirations) {
+    if (expirations.isEmpty()) {
+      return;
+    }
+    final EntityManager manager = managerProvider.get();
+    // existing expirations are fetched with a single query and updated on flush
+    final Map<String, WorkspaceExpiration> existing =
+        manager
+            .createNamedQuery("WorkspaceExpiration.getByWorkspaceIds", WorkspaceExpiration.class)
+            .setParameter(
+                "ids",
+                expirations
+                    .stream()
+                    .map(WorkspaceExpiration::getWorkspaceId)
+                    .collect(Collectors.toSet()))
+            .getResultList()
+            .stream()
+            .collect(toMap(WorkspaceExpiration::getWorkspaceId, identity()));
+    for (WorkspaceExpiration expiration : expirations) {
+      final WorkspaceExpiration managed = existing.get(expiration.getWorkspaceId());
+      if (managed == null) {
+        manager.persist(expiration);
+        existing.put(expiration.getWorkspaceId(), expiration);
+      } else {
+        managed.setExpiration(expiration.getExpiration());
+      }
+    }
+    manager.flush();
+  }
+
   @Transactional
   protected void doRemove(String workspaceId) {
     final EntityManager manager = managerProvider.get();
@@ -14,7 +14,15 @@ import static java.util.Collections.emptyMap;
 import static org.eclipse.che.api.workspace.shared.Constants.WORKSPACE_STOPPED_BY;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -39,6 +47,13 @@ import org.slf4j.LoggerFactory;
  * one minute rate. If workspace idle timeout is negative, then workspace would not be stopped
  * automatically.
  *
+ * <p>Expiration times are tracked in memory by {@link ExpirationWheel}, so the check of inactive
+ * workspaces doesn't query the storage. Updates of expiration times are coalesced per workspace
+ * and written to the storage in batches periodically, the storage is used to restore expiration
+ * times when the manager is started. So expiration times restored after a failure may be earlier
+ * than the actual ones by the period of writes. Expiration times which can't be written are retried
+ * a limited number of times, the ones of removed workspaces are dropped.
+ *
  * @author Anton Korneta
  */
 @Singleton
@@ -47,11 +62,22 @@ public class WorkspaceActivityManager {
   private static final Logger LOG = LoggerFactory.getLogger(WorkspaceActivityManager.class);
 
   private static final String ACTIVITY_CHECKER = "activity-checker";
+  private static final int FLUSH_BATCH_SIZE = 500;
+  private static final int MAX_WRITE_ATTEMPTS = 3;
+  private static final long EXPIRATIONS_TICK_MS = TimeUnit.SECONDS.toMillis(1);
 
   private final long defaultTimeout;
   private final WorkspaceActivityDao activityDao;
   private final EventService eventService;
   private final EventSubscriber<?> workspaceEventsSubscriber;
+  /** Guarded by itself. */
+  private final ExpirationWheel expirations;
+  /** Expiration times which are not written to the storage yet, workspace id -> expiration. */
+  private final Map<String, Long> pendingExpirations = new ConcurrentHashMap<>();
+  /** Prevents expirations of stopped workspaces from being written after they are removed. */
+  private final Object storageLock = new Object();
+  /** Workspace id -> number of failed writes of its expiration, guarded by storage lock. */
+  private final Map<String, Integer> failedWrites = new HashMap<>();
 
   protected final WorkspaceManager workspaceManager;
 
@@ -65,6 +91,7 @@ public class WorkspaceActivityManager {
     this.eventService = eventService;
     this.activityDao = activityDao;
     this.defaultTimeout = timeout;
+    this.expirations = new ExpirationWheel(EXPIRATIONS_TICK_MS, System.currentTimeMillis());
     this.workspaceEventsSubscriber =
         new EventSubscriber<WorkspaceStatusEvent>() {
           @Override
@@ -84,11 +111,7 @@ public class WorkspaceActivityManager {
                 update(event.getWorkspaceId(), System.currentTimeMillis());
                 break;
               case STOPPED:
-                try {
-                  activityDao.removeExpiration(event.getWorkspaceId());
-                } catch (ServerException e) {
-                  LOG.error(e.getLocalizedMessage(), e);
-                }
+                removeExpiration(event.getWorkspaceId());
                 break;
               default:
                 // do nothing
@@ -104,13 +127,13 @@ public class WorkspaceActivityManager {
    * @param activityTime moment in which the activity occurred
    */
   public void update(String wsId, long activityTime) {
-    try {
-      long timeout = getIdleTimeout(wsId);
-      if (timeout > 0) {
-        activityDao.setExpiration(new WorkspaceExpiration(wsId, activityTime + timeout));
+    long timeout = getIdleTimeout(wsId);
+    if (timeout > 0) {
+      final long expiration = activityTime + timeout;
+      synchronized (expirations) {
+        expirations.schedule(wsId, expiration);
       }
-    } catch (ServerException e) {
-      LOG.error(e.getLocalizedMessage(), e);
+      pendingExpirations.put(wsId, expiration);
     }
   }
 
@@ -122,14 +145,122 @@ public class WorkspaceActivityManager {
     initialDelayParameterName = "che.workspace.activity_check_scheduler_delay_s",
     delayParameterName = "che.workspace.activity_check_scheduler_period_s"
   )
-  private void invalidate() {
+  @VisibleForTesting
+  void invalidate() {
+    final List<String> expired;
+    synchronized (expirations) {
+      expired = expirations.advance(System.currentTimeMillis());
+    }
+    expired.forEach(this::stopExpired);
+  }
+
+  /**
+   * Writes expiration times which are updated since the previous write to the storage, the ones
+   * which can't be written are written with the next flush unless they are updated again.
+   */
+  @ScheduleDelay(
+    initialDelayParameterName = "che.workspace.activity_flush_period_s",
+    delayParameterName = "che.workspace.activity_flush_period_s"
+  )
+  @PreDestroy
+  public void flush() {
+    synchronized (storageLock) {
+      final List<WorkspaceExpiration> updates = new ArrayList<>(pendingExpirations.size());
+      for (Map.Entry<String, Long> entry : pendingExpirations.entrySet()) {
+        updates.add(new WorkspaceExpiration(entry.getKey(), entry.getValue()));
+        // expiration updated concurrently stays pending until the next write
+        pendingExpirations.remove(entry.getKey(), entry.getValue());
+      }
+      for (List<WorkspaceExpiration> batch : Lists.partition(updates, FLUSH_BATCH_SIZE)) {
+        try {
+          activityDao.setExpirations(batch);
+          if (!failedWrites.isEmpty()) {
+            batch.forEach(expiration -> failedWrites.remove(expiration.getWorkspaceId()));
+          }
+        } catch (ServerException x) {
+          LOG.warn(
+              "Failed to write a batch of workspaces expiration times, writing them one by one. "
+                  + "Cause: {}",
+              x.getLocalizedMessage());
+          writeOneByOne(batch);
+        }
+      }
+    }
+  }
+
+  /** Restores expiration times of running workspaces from the storage. */
+  @PostConstruct
+  @VisibleForTesting
+  void restore() {
     try {
-      activityDao.findExpired(System.currentTimeMillis()).forEach(this::stopExpired);
+      final List<WorkspaceExpiration> stored = activityDao.getAll();
+      synchronized (expirations) {
+        for (WorkspaceExpiration expiration : stored) {
+          // activity which came after start is more recent than the stored one
+          if (!expirations.contains(expiration.getWorkspaceId())) {
+            expirations.schedule(expiration.getWorkspaceId(), expiration.getExpiration());
+          }
+        }
+      }
     } catch (ServerException e) {
       LOG.error(e.getLocalizedMessage(), e);
     }
   }
 
+  private void writeOneByOne(List<WorkspaceExpiration> batch) {
+    for (WorkspaceExpiration expiration : batch) {
+      final String workspaceId = expiration.getWorkspaceId();
+      try {
+        activityDao.setExpiration(expiration);
+        failedWrites.remove(workspaceId);
+      } catch (ServerException e) {
+        LOG.error(e.getLocalizedMessage(), e);
+        if (!exists(workspaceId)) {
+          failedWrites.remove(workspaceId);
+          continue;
+        }
+        final int failures = failedWrites.merge(workspaceId, 1, Integer::sum);
+        if (failures < MAX_WRITE_ATTEMPTS) {
+          // the more recent expiration, if any, is written instead
+          pendingExpirations.putIfAbsent(workspaceId, expiration.getExpiration());
+        } else {
+          failedWrites.remove(workspaceId);
+          LOG.warn(
+              "Expiration time of workspace '{}' is not written after {} attempts, it is dropped",
+              workspaceId,
+              failures);
+        }
+      }
+    }
+  }
+
+  private boolean exists(String workspaceId) {
+    try {
+      workspaceManager.getWorkspace(workspaceId);
+      return true;
+    } catch (NotFoundException x) {
+      return false;
+    } catch (ServerException x) {
+      // not known, so it is retried
+      return true;
+    }
+  }
+
+  private void removeExpiration(String workspaceId) {
+    synchronized (expirations) {
+      expirations.cancel(workspaceId);
+    }
+    synchronized (storageLock) {
+      pendingExpirations.remove(workspaceId);
+      failedWrites.remove(workspaceId);
+      try {
+        activityDao.removeExpiration(workspaceId);
+      } catch (ServerException e) {
+        LOG.error(e.getLocalizedMessage(), e);
+      }
+    }
+  }
+
   private void stopExpired(String workspaceId) {
     try {
       Workspace workspace = workspaceManager.getWorkspace(workspaceId);
@@ -144,11 +275,7 @@ public class WorkspaceActivityManager {
       LOG.error(ex.getLocalizedMessage());
       LOG.debug(ex.getLocalizedMessage(), ex);
     } finally {
-      try {
-        activityDao.removeExpiration(workspaceId);
-      } catch (ServerException e) {
-        LOG.error(e.getLocalizedMessage(), e);
-      }
+      removeExpiration(workspaceId);
     }
   }
 
@@ -30,7 +30,12 @@ import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
   @NamedQuery(
     name = "WorkspaceExpiration.getExpired",
     query = "SELECT e FROM WorkspaceExpiration e WHERE e.expiration < :expiration"
-  )
+  ),
+  @NamedQuery(
+    name = "WorkspaceExpiration.getByWorkspaceIds",
+    query = "SELECT e FROM WorkspaceExpiration e WHERE e.workspaceId IN :ids"
+  ),
+  @NamedQuery(name = "WorkspaceExpiration.getAll", query = "SELECT e FROM WorkspaceExpiration e")
 })
 @Table(name = "che_workspace_expiration")
 public class WorkspaceExpiration {
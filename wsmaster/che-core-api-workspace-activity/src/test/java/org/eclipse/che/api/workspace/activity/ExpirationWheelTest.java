@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.activity;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests for {@link ExpirationWheel}. */
+public class ExpirationWheelTest {
+
+  private static final long TICK_MS = 1000;
+  private static final long START = 1_000_000;
+
+  private ExpirationWheel wheel;
+
+  @BeforeMethod
+  public void setUp() {
+    wheel = new ExpirationWheel(TICK_MS, START);
+  }
+
+  @Test
+  public void shouldExpireWorkspaceWhenItsExpirationTimeIsPassed() {
+    wheel.schedule("ws1", START + 5_500);
+
+    assertEquals(wheel.advance(START + 5_000), emptyList());
+    assertEquals(wheel.advance(START + 6_000), singletonList("ws1"));
+    assertFalse(wheel.contains("ws1"));
+    assertEquals(wheel.advance(START + 60_000), emptyList());
+  }
+
+  @Test
+  public void shouldExpireWorkspaceAtPostponedExpirationTime() {
+    wheel.schedule("ws1", START + 5_500);
+    wheel.schedule("ws1", START + 10_500);
+
+    assertEquals(wheel.advance(START + 10_000), emptyList());
+    assertEquals(wheel.advance(START + 11_000), singletonList("ws1"));
+    assertEquals(wheel.size(), 0);
+  }
+
+  @Test
+  public void shouldExpireWorkspaceAtAdvancedExpirationTime() {
+    wheel.schedule("ws1", START + 10_500);
+    wheel.schedule("ws1", START + 5_500);
+
+    assertEquals(wheel.advance(START + 6_000), singletonList("ws1"));
+    assertEquals(wheel.advance(START + 11_000), emptyList());
+  }
+
+  @Test
+  public void shouldNotExpireCancelledWorkspace() {
+    wheel.schedule("ws1", START + 5_500);
+    wheel.cancel("ws1");
+
+    assertEquals(wheel.advance(START + 6_000), emptyList());
+    assertFalse(wheel.contains("ws1"));
+  }
+
+  @Test
+  public void shouldExpireWorkspaceWhoseExpirationTimeIsAlreadyPassed() {
+    wheel.schedule("ws1", START - 60_000);
+
+    assertTrue(wheel.contains("ws1"));
+    assertEquals(wheel.advance(START), singletonList("ws1"));
+  }
+
+  @Test
+  public void shouldExpireWorkspacesFromDifferentLevelsOfWheel() {
+    // 1 minute, 1 hour, 1 day and 1 year, which is beyond all the levels of wheel
+    wheel.schedule("ws1", START + 60_000);
+    wheel.schedule("ws2", START + 3_600_000);
+    wheel.schedule("ws3", START + 86_400_000);
+    wheel.schedule("ws4", START + 31_536_000_000L);
+
+    assertEquals(wheel.advance(START + 60_000), emptyList());
+    assertEquals(wheel.advance(START + 61_000), singletonList("ws1"));
+    assertEquals(wheel.advance(START + 3_600_000), emptyList());
+    assertEquals(wheel.advance(START + 3_601_000), singletonList("ws2"));
+    assertEquals(wheel.advance(START + 86_400_000), emptyList());
+    assertEquals(wheel.advance(START + 86_401_000), singletonList("ws3"));
+    assertEquals(wheel.advance(START + 31_536_000_000L), emptyList());
+    assertEquals(wheel.advance(START + 31_536_001_000L), singletonList("ws4"));
+  }
+
+  @Test
+  public void shouldExpireAllWorkspacesPassedWhenWheelIsAdvancedAtOnce() {
+    wheel.schedule("ws1", START + 1_500);
+    wheel.schedule("ws2", START + 90_000);
+    wheel.schedule("ws3", START + 7_200_000);
+    wheel.schedule("ws4", START + 7_300_000);
+
+    List<String> expired = wheel.advance(START + 7_250_000);
+
+    assertEquals(new HashSet<>(expired), new HashSet<>(asList("ws1", "ws2", "ws3")));
+    assertEquals(wheel.size(), 1);
+  }
+}
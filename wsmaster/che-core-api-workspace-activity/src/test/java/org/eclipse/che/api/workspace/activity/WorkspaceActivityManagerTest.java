@@ -10,14 +10,23 @@
  */
 package org.eclipse.che.api.workspace.activity;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.AssertJUnit.assertEquals;
 
+import java.util.HashSet;
+import java.util.List;
 import org.eclipse.che.account.shared.model.Account;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
@@ -69,9 +78,126 @@ public class WorkspaceActivityManagerTest {
     final long activityTime = 1000L;
 
     activityManager.update(wsId, activityTime);
+    activityManager.flush();
 
     WorkspaceExpiration expected = new WorkspaceExpiration(wsId, activityTime + DEFAULT_TIMEOUT);
-    verify(workspaceActivityDao, times(1)).setExpiration(eq(expected));
+    verify(workspaceActivityDao, times(1)).setExpirations(eq(singletonList(expected)));
+  }
+
+  @Test
+  public void shouldWriteOnlyTheLatestExpirationOfWorkspaceInOneBatch() throws Exception {
+    activityManager.update("ws1", 1000L);
+    activityManager.update("ws2", 1000L);
+    activityManager.update("ws1", 2000L);
+
+    activityManager.flush();
+    activityManager.flush();
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<WorkspaceExpiration>> batchCaptor = ArgumentCaptor.forClass(List.class);
+    verify(workspaceActivityDao, times(1)).setExpirations(batchCaptor.capture());
+    assertEquals(
+        new HashSet<>(batchCaptor.getValue()),
+        new HashSet<>(
+            asList(
+                new WorkspaceExpiration("ws1", 2000L + DEFAULT_TIMEOUT),
+                new WorkspaceExpiration("ws2", 1000L + DEFAULT_TIMEOUT))));
+  }
+
+  @Test
+  public void shouldWriteExpirationsOneByOneWhenBatchCanNotBeWritten() throws Exception {
+    final String wsId = "testWsId";
+    doThrow(new ServerException("error")).when(workspaceActivityDao).setExpirations(any());
+
+    activityManager.update(wsId, 1000L);
+    activityManager.flush();
+
+    verify(workspaceActivityDao)
+        .setExpiration(eq(new WorkspaceExpiration(wsId, 1000L + DEFAULT_TIMEOUT)));
+  }
+
+  @Test
+  public void shouldWriteExpirationWhichCanNotBeWrittenWithNextFlush() throws Exception {
+    final String wsId = "testWsId";
+    final WorkspaceExpiration expiration = new WorkspaceExpiration(wsId, 1000L + DEFAULT_TIMEOUT);
+    doThrow(new ServerException("error")).when(workspaceActivityDao).setExpirations(any());
+    doThrow(new ServerException("error"))
+        .doNothing()
+        .when(workspaceActivityDao)
+        .setExpiration(any());
+
+    activityManager.update(wsId, 1000L);
+    activityManager.flush();
+    activityManager.flush();
+    activityManager.flush();
+
+    verify(workspaceActivityDao, times(2)).setExpirations(singletonList(expiration));
+    verify(workspaceActivityDao, times(2)).setExpiration(expiration);
+  }
+
+  @Test
+  public void shouldNotRetryWritingExpirationOfRemovedWorkspace() throws Exception {
+    final String wsId = "testWsId";
+    final WorkspaceExpiration expiration = new WorkspaceExpiration(wsId, 1000L + DEFAULT_TIMEOUT);
+    doThrow(new ServerException("error")).when(workspaceActivityDao).setExpirations(any());
+    doThrow(new ServerException("error")).when(workspaceActivityDao).setExpiration(any());
+    doThrow(new NotFoundException("not found")).when(workspaceManager).getWorkspace(wsId);
+
+    activityManager.update(wsId, 1000L);
+    activityManager.flush();
+    activityManager.flush();
+
+    verify(workspaceActivityDao).setExpirations(singletonList(expiration));
+    verify(workspaceActivityDao).setExpiration(expiration);
+  }
+
+  @Test
+  public void shouldStopRetryingWritingExpirationAfterMaxAttempts() throws Exception {
+    final String wsId = "testWsId";
+    final WorkspaceExpiration expiration = new WorkspaceExpiration(wsId, 1000L + DEFAULT_TIMEOUT);
+    doThrow(new ServerException("error")).when(workspaceActivityDao).setExpirations(any());
+    doThrow(new ServerException("error")).when(workspaceActivityDao).setExpiration(any());
+
+    activityManager.update(wsId, 1000L);
+    for (int i = 0; i < 5; i++) {
+      activityManager.flush();
+    }
+
+    verify(workspaceActivityDao, times(3)).setExpiration(expiration);
+  }
+
+  @Test
+  public void shouldStopWorkspaceWhenItsExpirationTimeIsPassed() throws Exception {
+    final String wsId = "testWsId";
+    activityManager.update(wsId, System.currentTimeMillis() - 2 * DEFAULT_TIMEOUT);
+
+    activityManager.invalidate();
+
+    verify(workspaceManager).stopWorkspace(eq(wsId), any());
+    verify(workspaceActivityDao).removeExpiration(eq(wsId));
+    activityManager.flush();
+    verify(workspaceActivityDao, never()).setExpirations(any());
+  }
+
+  @Test
+  public void shouldNotStopWorkspaceWhenItsExpirationTimeIsNotPassed() throws Exception {
+    activityManager.update("testWsId", System.currentTimeMillis());
+
+    activityManager.invalidate();
+
+    verify(workspaceManager, never()).stopWorkspace(anyString(), any());
+  }
+
+  @Test
+  public void shouldStopWorkspaceWhoseRestoredExpirationTimeIsPassed() throws Exception {
+    final String wsId = "testWsId";
+    when(workspaceActivityDao.getAll())
+        .thenReturn(singletonList(new WorkspaceExpiration(wsId, System.currentTimeMillis() - 1)));
+
+    activityManager.restore();
+    activityManager.invalidate();
+
+    verify(workspaceManager).stopWorkspace(eq(wsId), any());
   }
 
   @Test
@@ -84,9 +210,11 @@ public class WorkspaceActivityManagerTest {
         DtoFactory.newDto(WorkspaceStatusEvent.class)
             .withStatus(WorkspaceStatus.RUNNING)
             .withWorkspaceId(wsId));
-    ArgumentCaptor<WorkspaceExpiration> captor = ArgumentCaptor.forClass(WorkspaceExpiration.class);
-    verify(workspaceActivityDao, times(1)).setExpiration(captor.capture());
-    assertEquals(captor.getValue().getWorkspaceId(), wsId);
+    activityManager.flush();
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<WorkspaceExpiration>> captor = ArgumentCaptor.forClass(List.class);
+    verify(workspaceActivityDao, times(1)).setExpirations(captor.capture());
+    assertEquals(captor.getValue().get(0).getWorkspaceId(), wsId);
   }
 
   @Test
@@ -104,5 +232,7 @@ public class WorkspaceActivityManagerTest {
             .withWorkspaceId(wsId));
 
     verify(workspaceActivityDao, times(1)).removeExpiration(eq(wsId));
+    activityManager.flush();
+    verify(workspaceActivityDao, never()).setExpirations(any());
   }
 }
@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import javax.inject.Inject;
@@ -137,6 +138,27 @@ public class WorkspaceActivityDaoTest {
     assertEquals(found, expected);
   }
 
+  @Test(dependsOnMethods = "shouldFindExpirationsByTimestamp")
+  public void shouldUpdateAndAddExpirationsInBatch() throws Exception {
+    List<String> expected =
+        Arrays.asList(expirations[2].getWorkspaceId(), expirations[1].getWorkspaceId());
+    workspaceActivityDao.removeExpiration(expirations[2].getWorkspaceId());
+
+    workspaceActivityDao.setExpirations(
+        asList(
+            new WorkspaceExpiration(expirations[0].getWorkspaceId(), 3_500_000),
+            new WorkspaceExpiration(expirations[2].getWorkspaceId(), 500_000)));
+
+    List<String> found = workspaceActivityDao.findExpired(2_500_000);
+    assertEquals(found, expected);
+  }
+
+  @Test
+  public void shouldGetAllExpirations() throws Exception {
+    assertEquals(
+        new HashSet<>(workspaceActivityDao.getAll()), new HashSet<>(asList(expirations)));
+  }
+
   private static WorkspaceConfigImpl createWorkspaceConfig(String name) {
     // Project Sources configuration
     final SourceStorageImpl source1 = new SourceStorageImpl();
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.shared.dto.event;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Single entry of a {@link RuntimeLogsEvent batch of runtime logs}. An entry is either a line of
+ * machine output, a line of installer output, or a notice that lines of the machine were dropped.
+ */
+@DTO
+public interface RuntimeLogEntry {
+
+  /** Returns the name of the machine that produces the logs. */
+  String getMachineName();
+
+  void setMachineName(String machineName);
+
+  RuntimeLogEntry withMachineName(String machineName);
+
+  /** Returns the installer which produces the line or null if it is a line of machine output. */
+  String getInstaller();
+
+  void setInstaller(String installer);
+
+  RuntimeLogEntry withInstaller(String installer);
+
+  /** Returns standard stream of the line, if present otherwise, null will be returned. */
+  String getStream();
+
+  void setStream(String stream);
+
+  RuntimeLogEntry withStream(String stream);
+
+  /** Returns the contents of the line. */
+  String getText();
+
+  void setText(String text);
+
+  RuntimeLogEntry withText(String text);
+
+  /** Returns time in format '2017-06-27T17:11:09.306+03:00' */
+  String getTime();
+
+  void setTime(String time);
+
+  RuntimeLogEntry withTime(String time);
+
+  /**
+   * Returns the number of lines of the machine that were dropped because the runtime exceeded its
+   * log rate limit, entries that report dropped lines have no text.
+   */
+  int getDropped();
+
+  void setDropped(int dropped);
+
+  RuntimeLogEntry withDropped(int dropped);
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.shared.dto.event;
+
+import java.util.List;
+import org.eclipse.che.api.workspace.shared.dto.RuntimeIdentityDto;
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Defines event format for a batch of machine and installer logs of a single runtime. Logs in the
+ * batch don't carry runtime identity, it is the same for all of them and is defined by the batch.
+ */
+@DTO
+public interface RuntimeLogsEvent {
+
+  /** Returns runtime identity. */
+  RuntimeIdentityDto getRuntimeId();
+
+  void setRuntimeId(RuntimeIdentityDto runtimeId);
+
+  RuntimeLogsEvent withRuntimeId(RuntimeIdentityDto runtimeId);
+
+  /**
+   * Returns machine and installer log lines in the order they were produced, followed by notices
+   * about lines dropped since the previous batch.
+   */
+  List<RuntimeLogEntry> getLogs();
+
+  void setLogs(List<RuntimeLogEntry> logs);
+
+  RuntimeLogsEvent withLogs(List<RuntimeLogEntry> logs);
+}
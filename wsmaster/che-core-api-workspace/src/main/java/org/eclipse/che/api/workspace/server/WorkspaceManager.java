@@ -14,6 +14,7 @@ import static com.google.common.base.MoreObjects.firstNonNull;
 import static java.lang.String.format;
 import static java.lang.System.currentTimeMillis;
 import static java.util.Objects.requireNonNull;
+import static org.eclipse.che.api.core.Pages.DEFAULT_PAGE_SIZE;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STARTING;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STOPPED;
@@ -24,7 +25,9 @@ import static org.eclipse.che.api.workspace.shared.Constants.STOPPED_ATTRIBUTE_N
 import static org.eclipse.che.api.workspace.shared.Constants.UPDATED_ATTRIBUTE_NAME;
 
 import com.google.inject.Inject;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import javax.inject.Singleton;
@@ -33,6 +36,7 @@ import org.eclipse.che.account.shared.model.Account;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.Page;
+import org.eclipse.che.api.core.Pages;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.ValidationException;
 import org.eclipse.che.api.core.model.workspace.Workspace;
@@ -42,6 +46,7 @@ import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
+import org.eclipse.che.api.workspace.server.spi.WorkspaceSummary;
 import org.eclipse.che.api.workspace.shared.event.WorkspaceCreatedEvent;
 import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.commons.env.EnvironmentContext;
@@ -213,6 +218,100 @@ public class WorkspaceManager {
     return workspaces;
   }
 
+  /**
+   * Gets summaries of workspaces which user can read, ordered by workspace id.
+   *
+   * <p>Summaries have either {@link WorkspaceStatus#STOPPED} status or status of their runtimes,
+   * configurations and runtimes of workspaces are not fetched.
+   *
+   * @param user the id of the user
+   * @param afterId the id of the last workspace of the previous page, or {@code null} to fetch the
+   *     first page
+   * @param maxItems the maximum number of summaries to return
+   * @return the list of summaries or empty list if user can't read any workspace
+   * @throws NullPointerException when {@code user} is null
+   * @throws ServerException when any server error occurs while getting summaries with {@link
+   *     WorkspaceDao#getSummaries(String, String, int)}
+   */
+  public List<WorkspaceSummary> getSummaries(String user, @Nullable String afterId, int maxItems)
+      throws ServerException {
+    requireNonNull(user, "Required non-null user id");
+    return withStatuses(workspaceDao.getSummaries(user, afterId, maxItems));
+  }
+
+  /**
+   * Gets summaries of workspaces which have given namespace, ordered by workspace id.
+   *
+   * <p>Summaries have either {@link WorkspaceStatus#STOPPED} status or status of their runtimes,
+   * configurations and runtimes of workspaces are not fetched.
+   *
+   * @param namespace the namespace to find workspaces
+   * @param afterId the id of the last workspace of the previous page, or {@code null} to fetch the
+   *     first page
+   * @param maxItems the maximum number of summaries to return
+   * @return the list of summaries or empty list if no matches
+   * @throws NullPointerException when {@code namespace} is null
+   * @throws ServerException when any server error occurs while getting summaries with {@link
+   *     WorkspaceDao#getSummariesByNamespace(String, String, int)}
+   */
+  public List<WorkspaceSummary> getSummariesByNamespace(
+      String namespace, @Nullable String afterId, int maxItems) throws ServerException {
+    requireNonNull(namespace, "Required non-null namespace");
+    return withStatuses(workspaceDao.getSummariesByNamespace(namespace, afterId, maxItems));
+  }
+
+  /**
+   * Gets summaries of all the workspaces which have given namespace, ordered by workspace id.
+   *
+   * <p>Summaries are fetched with pages of {@link Pages#DEFAULT_PAGE_SIZE} items, each page starts
+   * after the last workspace of the previous one.
+   *
+   * @param namespace the namespace to find workspaces
+   * @return the list of summaries or empty list if no matches
+   * @throws NullPointerException when {@code namespace} is null
+   * @throws ServerException when any server error occurs while getting summaries
+   * @see #getSummariesByNamespace(String, String, int)
+   */
+  public List<WorkspaceSummary> getAllSummariesByNamespace(String namespace)
+      throws ServerException {
+    requireNonNull(namespace, "Required non-null namespace");
+    final List<WorkspaceSummary> summaries = new ArrayList<>();
+    List<WorkspaceSummary> page;
+    do {
+      final String afterId =
+          summaries.isEmpty() ? null : summaries.get(summaries.size() - 1).getId();
+      page = getSummariesByNamespace(namespace, afterId, DEFAULT_PAGE_SIZE);
+      summaries.addAll(page);
+    } while (page.size() == DEFAULT_PAGE_SIZE);
+    return summaries;
+  }
+
+  /**
+   * Gets workspaces of the given summaries in the same order, workspaces which are removed after
+   * the summaries were fetched are skipped.
+   *
+   * <p>Returned workspaces have either {@link WorkspaceStatus#STOPPED} status or status defined by
+   * their runtime instances(if those exist).
+   *
+   * @param summaries the summaries of workspaces to get
+   * @param includeRuntimes if <code>true</code>, will fetch runtime info for workspaces. If <code>
+   *     false</code>, will not fetch runtime info.
+   * @return the list of workspaces
+   * @throws ServerException when any server error occurs while getting workspaces
+   */
+  public List<WorkspaceImpl> getWorkspaces(
+      List<WorkspaceSummary> summaries, boolean includeRuntimes) throws ServerException {
+    final List<WorkspaceImpl> workspaces = new ArrayList<>(summaries.size());
+    for (WorkspaceSummary summary : summaries) {
+      try {
+        workspaces.add(normalizeState(workspaceDao.get(summary.getId()), includeRuntimes));
+      } catch (NotFoundException x) {
+        LOG.debug("Workspace '{}' is removed while being listed", summary.getId());
+      }
+    }
+    return workspaces;
+  }
+
   /**
    * Updates an existing workspace with a new configuration.
    *
@@ -399,6 +498,13 @@ public class WorkspaceManager {
     return "undefined";
   }
 
+  private List<WorkspaceSummary> withStatuses(List<WorkspaceSummary> summaries) {
+    for (WorkspaceSummary summary : summaries) {
+      summary.setStatus(runtimes.getStatus(summary.getId()));
+    }
+    return summaries;
+  }
+
   private WorkspaceImpl normalizeState(WorkspaceImpl workspace, boolean includeRuntimes)
       throws ServerException {
     if (includeRuntimes) {
@@ -48,10 +48,10 @@ import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.NotFoundException;
-import org.eclipse.che.api.core.Pages;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.ValidationException;
 import org.eclipse.che.api.core.model.workspace.Workspace;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.core.model.workspace.config.ServerConfig;
 import org.eclipse.che.api.core.rest.Service;
 import org.eclipse.che.api.workspace.server.model.impl.CommandImpl;
@@ -228,20 +228,37 @@ public class WorkspaceService extends Service {
           @DefaultValue("30")
           @QueryParam("maxItems")
           Integer maxItems,
-      @ApiParam("Workspace status") @QueryParam("status") String status)
+      @ApiParam("Workspace status") @QueryParam("status") String status,
+      @ApiParam(
+              "The id of the last workspace of the previous page, "
+                  + "workspaces are ordered by id unless the items are skipped")
+          @QueryParam("afterId")
+          String afterId)
       throws ServerException, BadRequestException {
+    final String userId = EnvironmentContext.getCurrent().getSubject().getUserId();
+    if (skipCount > 0) {
+      if (afterId != null) {
+        throw new BadRequestException("Parameters 'skipCount' and 'afterId' can't be combined");
+      }
+      return withLinks(
+          workspaceManager
+              .getWorkspaces(userId, false, maxItems, skipCount)
+              .getItems()
+              .stream()
+              .filter(ws -> hasStatus(ws.getStatus(), status))
+              .map(DtoConverter::asDto)
+              .collect(toList()));
+    }
+    // statuses are known from summaries, so only the workspaces to return are fetched
     return withLinks(
-        workspaceManager
-            .getWorkspaces(
-                EnvironmentContext.getCurrent().getSubject().getUserId(),
-                false,
-                maxItems,
-                skipCount)
-            .getItems()
-            .stream()
-            .filter(ws -> status == null || status.equalsIgnoreCase(ws.getStatus().toString()))
-            .map(DtoConverter::asDto)
-            .collect(toList()));
+        asDtos(
+            workspaceManager.getWorkspaces(
+                workspaceManager
+                    .getSummaries(userId, afterId, maxItems)
+                    .stream()
+                    .filter(summary -> hasStatus(summary.getStatus(), status))
+                    .collect(toList()),
+                false)));
   }
 
   @GET
@@ -262,12 +279,14 @@ public class WorkspaceService extends Service {
       @ApiParam("The namespace") @PathParam("namespace") String namespace)
       throws ServerException, BadRequestException {
     return withLinks(
-        Pages.stream(
-                (maxItems, skipCount) ->
-                    workspaceManager.getByNamespace(namespace, false, maxItems, skipCount))
-            .filter(ws -> status == null || status.equalsIgnoreCase(ws.getStatus().toString()))
-            .map(DtoConverter::asDto)
-            .collect(toList()));
+        asDtos(
+            workspaceManager.getWorkspaces(
+                workspaceManager
+                    .getAllSummariesByNamespace(namespace)
+                    .stream()
+                    .filter(summary -> hasStatus(summary.getStatus(), status))
+                    .collect(toList()),
+                false)));
   }
 
   @PUT
@@ -802,6 +821,14 @@ public class WorkspaceService extends Service {
     }
   }
 
+  private static boolean hasStatus(WorkspaceStatus actual, String expected) {
+    return expected == null || expected.equalsIgnoreCase(actual.toString());
+  }
+
+  private static List<WorkspaceDto> asDtos(List<WorkspaceImpl> workspaces) {
+    return workspaces.stream().map(DtoConverter::asDto).collect(toList());
+  }
+
   private List<WorkspaceDto> withLinks(List<WorkspaceDto> workspaces) throws ServerException {
     for (WorkspaceDto workspace : workspaces) {
       workspace.setLinks(linksGenerator.genLinks(workspace, getServiceContext()));
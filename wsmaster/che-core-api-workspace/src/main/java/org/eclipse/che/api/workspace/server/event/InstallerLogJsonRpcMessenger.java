@@ -12,16 +12,15 @@ package org.eclipse.che.api.workspace.server.event;
 
 import static org.eclipse.che.api.workspace.shared.Constants.INSTALLER_LOG_METHOD;
 
-import java.util.Map;
-import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.notification.RemoteSubscriptionManager;
 import org.eclipse.che.api.workspace.shared.dto.event.InstallerLogEvent;
 
 /**
- * Register subscriber on {@link InstallerLogEvent installer log event} for resending this type of
- * event via JSON-RPC to clients.
+ * Resends {@link InstallerLogEvent installer log events} via JSON-RPC to clients. Events are not
+ * resent as they are published, {@link RuntimeLogsAggregator} passes only the lines which fit the
+ * log rate limit of the workspace.
  *
  * @author Anton Korneta
  */
@@ -35,12 +34,9 @@ public class InstallerLogJsonRpcMessenger {
     this.subscriptionManager = subscriptionManager;
   }
 
-  @PostConstruct
-  private void postConstruct() {
-    subscriptionManager.register(INSTALLER_LOG_METHOD, InstallerLogEvent.class, this::predicate);
-  }
-
-  private boolean predicate(InstallerLogEvent event, Map<String, String> scope) {
-    return event.getRuntimeId().getWorkspaceId().equals(scope.get("workspaceId"));
+  /** Sends the event to clients subscribed to the logs of its workspace. */
+  public void send(InstallerLogEvent event) {
+    subscriptionManager.transmit(
+        INSTALLER_LOG_METHOD, event, "workspaceId", event.getRuntimeId().getWorkspaceId());
   }
 }
@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.event;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.workspace.shared.dto.RuntimeIdentityDto;
+import org.eclipse.che.api.workspace.shared.dto.event.InstallerLogEvent;
+import org.eclipse.che.api.workspace.shared.dto.event.MachineLogEvent;
+import org.eclipse.che.api.workspace.shared.dto.event.RuntimeLogEntry;
+import org.eclipse.che.api.workspace.shared.dto.event.RuntimeLogsEvent;
+import org.eclipse.che.commons.schedule.ScheduleRate;
+
+/**
+ * Aggregates {@link MachineLogEvent machine} and {@link InstallerLogEvent installer} log lines of
+ * each runtime into {@link RuntimeLogsEvent batches} which are published via {@link EventService}.
+ * A batch is published as soon as it reaches the configured number of lines, otherwise pending
+ * lines are published periodically, so logs are delayed at most by the flush period. Lines of a
+ * batch keep the order they were produced in regardless of whether they come from a machine or an
+ * installer.
+ *
+ * <p>Lines of each workspace are limited by a rate budget, lines that exceed the budget are not
+ * added to batches and are only counted per machine, so a single noisy build can't flood clients
+ * and the master with logs to the detriment of other workspaces. The budget is applied before the
+ * lines are resent to per-line subscribers as well, the lines which fit it are passed to {@link
+ * MachineLogJsonRpcMessenger} and {@link InstallerLogJsonRpcMessenger}. A budget allows bursts of
+ * up to one second worth of lines.
+ */
+@Singleton
+public class RuntimeLogsAggregator {
+
+  /** Logs of idle workspaces are forgotten after this period, their budgets are full anyway. */
+  private static final long IDLE_TIMEOUT_MS = 1_000;
+
+  private final EventService eventService;
+  private final Consumer<MachineLogEvent> machineLogConsumer;
+  private final Consumer<InstallerLogEvent> installerLogConsumer;
+  private final int maxBatchLines;
+  private final int maxLinesPerSecond;
+  private final LongSupplier clock;
+
+  private final Map<String, RuntimeLogs> logs = new ConcurrentHashMap<>();
+
+  @Inject
+  public RuntimeLogsAggregator(
+      EventService eventService,
+      MachineLogJsonRpcMessenger machineLogMessenger,
+      InstallerLogJsonRpcMessenger installerLogMessenger,
+      @Named("che.workspace.logs.batch_max_lines") int maxBatchLines,
+      @Named("che.workspace.logs.max_lines_per_second") int maxLinesPerSecond) {
+    this(
+        eventService,
+        machineLogMessenger::send,
+        installerLogMessenger::send,
+        maxBatchLines,
+        maxLinesPerSecond,
+        System::currentTimeMillis);
+  }
+
+  RuntimeLogsAggregator(
+      EventService eventService,
+      Consumer<MachineLogEvent> machineLogConsumer,
+      Consumer<InstallerLogEvent> installerLogConsumer,
+      int maxBatchLines,
+      int maxLinesPerSecond,
+      LongSupplier clock) {
+    this.eventService = eventService;
+    this.machineLogConsumer = machineLogConsumer;
+    this.installerLogConsumer = installerLogConsumer;
+    this.maxBatchLines = maxBatchLines;
+    this.maxLinesPerSecond = maxLinesPerSecond;
+    this.clock = clock;
+  }
+
+  @PostConstruct
+  private void subscribe() {
+    eventService.subscribe(this::onMachineLog, MachineLogEvent.class);
+    eventService.subscribe(this::onInstallerLog, InstallerLogEvent.class);
+  }
+
+  void onMachineLog(MachineLogEvent event) {
+    // runtime identity is defined by the batch, no need to send it with each line
+    RuntimeLogEntry entry =
+        newDto(RuntimeLogEntry.class)
+            .withMachineName(event.getMachineName())
+            .withStream(event.getStream())
+            .withText(event.getText())
+            .withTime(event.getTime());
+    if (add(event.getRuntimeId(), entry)) {
+      machineLogConsumer.accept(event);
+    }
+  }
+
+  void onInstallerLog(InstallerLogEvent event) {
+    RuntimeLogEntry entry =
+        newDto(RuntimeLogEntry.class)
+            .withMachineName(event.getMachineName())
+            .withInstaller(event.getInstaller())
+            .withStream(event.getStream() == null ? null : event.getStream().name())
+            .withText(event.getText())
+            .withTime(event.getTime());
+    if (add(event.getRuntimeId(), entry)) {
+      installerLogConsumer.accept(event);
+    }
+  }
+
+  /** Publishes pending lines of all the runtimes and forgets workspaces that are idle. */
+  @ScheduleRate(
+    periodParameterName = "che.workspace.logs.batch_flush_period_ms",
+    unit = MILLISECONDS
+  )
+  void flush() {
+    long now = clock.getAsLong();
+    for (RuntimeLogs runtimeLogs : logs.values()) {
+      RuntimeLogsEvent batch;
+      synchronized (runtimeLogs) {
+        batch = runtimeLogs.drain();
+        if (batch == null && now - runtimeLogs.lastLineTime > IDLE_TIMEOUT_MS) {
+          runtimeLogs.removed = true;
+          logs.remove(runtimeLogs.workspaceId, runtimeLogs);
+        }
+      }
+      if (batch != null) {
+        eventService.publish(batch);
+      }
+    }
+  }
+
+  /** Adds the line to the batch of its runtime, returns {@code false} if it exceeds the budget. */
+  private boolean add(RuntimeIdentityDto runtimeId, RuntimeLogEntry entry) {
+    if (runtimeId == null || runtimeId.getWorkspaceId() == null) {
+      return false;
+    }
+    long now = clock.getAsLong();
+    RuntimeLogsEvent batch;
+    for (; ; ) {
+      RuntimeLogs runtimeLogs =
+          logs.computeIfAbsent(runtimeId.getWorkspaceId(), id -> new RuntimeLogs(id, now));
+      synchronized (runtimeLogs) {
+        if (runtimeLogs.removed) {
+          // removed concurrently by the flush, retry with the new one
+          continue;
+        }
+        runtimeLogs.runtimeId = runtimeId;
+        if (!runtimeLogs.acquire(now)) {
+          runtimeLogs.dropped.merge(entry.getMachineName(), 1, Integer::sum);
+          return false;
+        }
+        runtimeLogs.entries.add(entry);
+        batch = runtimeLogs.entries.size() >= maxBatchLines ? runtimeLogs.drain() : null;
+      }
+      break;
+    }
+    if (batch != null) {
+      eventService.publish(batch);
+    }
+    return true;
+  }
+
+  /** Pending lines and rate budget of a single workspace, guarded by the instance itself. */
+  private class RuntimeLogs {
+    final String workspaceId;
+    RuntimeIdentityDto runtimeId;
+    List<RuntimeLogEntry> entries = new ArrayList<>();
+    /** Numbers of dropped lines by machine names, in the order machines started dropping lines. */
+    final Map<String, Integer> dropped = new LinkedHashMap<>();
+    double budget;
+    long lastLineTime;
+    boolean removed;
+
+    RuntimeLogs(String workspaceId, long now) {
+      this.workspaceId = workspaceId;
+      this.budget = maxLinesPerSecond;
+      this.lastLineTime = now;
+    }
+
+    /** Takes a line from the budget, returns {@code false} if the budget is exhausted. */
+    boolean acquire(long now) {
+      if (maxLinesPerSecond <= 0) {
+        lastLineTime = now;
+        return true;
+      }
+      long elapsed = Math.max(0, now - lastLineTime);
+      budget = Math.min(maxLinesPerSecond, budget + elapsed * maxLinesPerSecond / 1000.0);
+      lastLineTime = now;
+      if (budget < 1) {
+        return false;
+      }
+      budget--;
+      return true;
+    }
+
+    /** Returns pending lines as a batch or null if there is nothing to publish. */
+    RuntimeLogsEvent drain() {
+      if (entries.isEmpty() && dropped.isEmpty()) {
+        return null;
+      }
+      for (Map.Entry<String, Integer> machine : dropped.entrySet()) {
+        entries.add(
+            newDto(RuntimeLogEntry.class)
+                .withMachineName(machine.getKey())
+                .withDropped(machine.getValue()));
+      }
+      RuntimeLogsEvent batch =
+          newDto(RuntimeLogsEvent.class).withRuntimeId(runtimeId).withLogs(entries);
+      entries = new ArrayList<>();
+      dropped.clear();
+      return batch;
+    }
+  }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.event;
+
+import static org.eclipse.che.api.workspace.shared.Constants.RUNTIME_LOGS_METHOD;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.notification.RemoteSubscriptionManager;
+import org.eclipse.che.api.workspace.shared.dto.event.RuntimeLogsEvent;
+
+/**
+ * Register subscriber on {@link RuntimeLogsEvent batches of runtime logs} for resending this type
+ * of event via JSON-RPC to clients.
+ *
+ * @see RuntimeLogsAggregator
+ */
+@Singleton
+public class RuntimeLogsJsonRpcMessenger {
+
+  private final RemoteSubscriptionManager subscriptionManager;
+
+  @Inject
+  public RuntimeLogsJsonRpcMessenger(RemoteSubscriptionManager subscriptionManager) {
+    this.subscriptionManager = subscriptionManager;
+  }
+
+  @PostConstruct
+  private void postConstruct() {
+    subscriptionManager.register(
+        RUNTIME_LOGS_METHOD,
+        RuntimeLogsEvent.class,
+        "workspaceId",
+        event -> event.getRuntimeId().getWorkspaceId());
+  }
+}
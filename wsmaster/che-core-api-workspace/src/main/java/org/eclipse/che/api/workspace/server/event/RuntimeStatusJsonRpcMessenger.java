@@ -10,7 +10,6 @@
  */
 package org.eclipse.che.api.workspace.server.event;
 
-import java.util.Map;
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -30,10 +29,9 @@ public class RuntimeStatusJsonRpcMessenger {
   @PostConstruct
   private void postConstruct() {
     remoteSubscriptionManager.register(
-        "runtime/statusChanged", RuntimeStatusEvent.class, this::predicate);
-  }
-
-  private boolean predicate(RuntimeStatusEvent event, Map<String, String> scope) {
-    return event.getIdentity().getWorkspaceId().equals(scope.get("workspaceId"));
+        "runtime/statusChanged",
+        RuntimeStatusEvent.class,
+        "workspaceId",
+        event -> event.getIdentity().getWorkspaceId());
   }
 }
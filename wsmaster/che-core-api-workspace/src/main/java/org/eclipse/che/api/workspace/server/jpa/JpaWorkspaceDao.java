@@ -14,11 +14,15 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
-import static org.eclipse.che.api.core.Pages.iterate;
+import static org.eclipse.che.api.workspace.shared.Constants.CREATED_ATTRIBUTE_NAME;
+import static org.eclipse.che.api.workspace.shared.Constants.UPDATED_ATTRIBUTE_NAME;
 
 import com.google.inject.persist.Transactional;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -38,7 +42,9 @@ import org.eclipse.che.api.workspace.server.event.BeforeWorkspaceRemovedEvent;
 import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
+import org.eclipse.che.api.workspace.server.spi.WorkspaceSummary;
 import org.eclipse.che.api.workspace.shared.event.WorkspaceRemovedEvent;
+import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.core.db.cascade.CascadeEventSubscriber;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
 
@@ -220,6 +226,88 @@ public class JpaWorkspaceDao implements WorkspaceDao {
     }
   }
 
+  @Override
+  @Transactional
+  public List<WorkspaceSummary> getSummariesByNamespace(
+      String namespace, @Nullable String afterId, int maxItems) throws ServerException {
+    requireNonNull(namespace, "Required non-null namespace");
+    checkArgument(maxItems >= 0, "The number of items to return can't be negative.");
+    try {
+      final List<WorkspaceSummary> summaries =
+          managerProvider
+              .get()
+              .createNamedQuery("Workspace.getSummariesByNamespace", WorkspaceSummary.class)
+              .setParameter("namespace", namespace)
+              .setParameter("afterId", afterId == null ? "" : afterId)
+              .setMaxResults(maxItems)
+              .getResultList();
+      return fetchTimestamps(managerProvider.get(), summaries);
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
+  @Override
+  @Transactional
+  public List<WorkspaceSummary> getSummaries(String userId, @Nullable String afterId, int maxItems)
+      throws ServerException {
+    requireNonNull(userId, "Required non-null user id");
+    checkArgument(maxItems >= 0, "The number of items to return can't be negative.");
+    try {
+      final List<WorkspaceSummary> summaries =
+          managerProvider
+              .get()
+              .createNamedQuery("Workspace.getSummaries", WorkspaceSummary.class)
+              .setParameter("afterId", afterId == null ? "" : afterId)
+              .setMaxResults(maxItems)
+              .getResultList();
+      return fetchTimestamps(managerProvider.get(), summaries);
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
+  /**
+   * Sets creation and update time to the summaries, reading them with a single query. Used by JPA
+   * based implementations of {@link WorkspaceDao} to complete the fetched summaries.
+   *
+   * @param manager entity manager to read attributes of workspaces with
+   * @param summaries summaries to complete
+   * @return the given summaries
+   */
+  public static List<WorkspaceSummary> fetchTimestamps(
+      EntityManager manager, List<WorkspaceSummary> summaries) {
+    if (summaries.isEmpty()) {
+      return summaries;
+    }
+    final Map<String, WorkspaceSummary> byId =
+        summaries.stream().collect(Collectors.toMap(WorkspaceSummary::getId, Function.identity()));
+    final List<Object[]> attributes =
+        manager
+            .createNamedQuery("Workspace.getAttributesOfWorkspaces", Object[].class)
+            .setParameter("ids", byId.keySet())
+            .setParameter("names", Arrays.asList(CREATED_ATTRIBUTE_NAME, UPDATED_ATTRIBUTE_NAME))
+            .getResultList();
+    for (Object[] attribute : attributes) {
+      final WorkspaceSummary summary = byId.get((String) attribute[0]);
+      final Long time = parseTime((String) attribute[2]);
+      if (CREATED_ATTRIBUTE_NAME.equals(attribute[1])) {
+        summary.setCreated(time);
+      } else {
+        summary.setUpdated(time);
+      }
+    }
+    return summaries;
+  }
+
+  private static Long parseTime(String value) {
+    try {
+      return value == null ? null : Long.valueOf(value);
+    } catch (NumberFormatException x) {
+      return null;
+    }
+  }
+
   @Transactional
   protected void doCreate(WorkspaceImpl workspace) {
     if (workspace.getConfig() != null) {
@@ -278,12 +366,9 @@ public class JpaWorkspaceDao implements WorkspaceDao {
 
     @Override
     public void onCascadeEvent(BeforeAccountRemovedEvent event) throws Exception {
-      for (WorkspaceImpl workspace :
-          iterate(
-              (maxItems, skipCount) ->
-                  workspaceManager.getByNamespace(
-                      event.getAccount().getName(), false, maxItems, skipCount))) {
-        workspaceManager.removeWorkspace(workspace.getId());
+      for (WorkspaceSummary summary :
+          workspaceManager.getAllSummariesByNamespace(event.getAccount().getName())) {
+        workspaceManager.removeWorkspace(summary.getId());
       }
     }
   }
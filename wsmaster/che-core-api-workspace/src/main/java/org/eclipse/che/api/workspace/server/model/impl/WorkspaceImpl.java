@@ -70,6 +70,33 @@ import org.eclipse.persistence.descriptors.DescriptorEventAdapter;
   @NamedQuery(
     name = "Workspace.getByTemporaryCount",
     query = "SELECT COUNT(w) " + "FROM Workspace w " + "WHERE w.isTemporary = :temporary "
+  ),
+  @NamedQuery(
+    name = "Workspace.getSummariesByNamespace",
+    query =
+        "SELECT NEW org.eclipse.che.api.workspace.server.spi.WorkspaceSummary("
+            + "  w.id, w.name, w.account.name, w.isTemporary) "
+            + "FROM Workspace w "
+            + "WHERE w.account.name = :namespace "
+            + "  AND w.id > :afterId "
+            + "ORDER BY w.id"
+  ),
+  @NamedQuery(
+    name = "Workspace.getSummaries",
+    query =
+        "SELECT NEW org.eclipse.che.api.workspace.server.spi.WorkspaceSummary("
+            + "  w.id, w.name, w.account.name, w.isTemporary) "
+            + "FROM Workspace w "
+            + "WHERE w.id > :afterId "
+            + "ORDER BY w.id"
+  ),
+  @NamedQuery(
+    name = "Workspace.getAttributesOfWorkspaces",
+    query =
+        "SELECT w.id, KEY(a), VALUE(a) "
+            + "FROM Workspace w JOIN w.attributes a "
+            + "WHERE w.id IN :ids "
+            + "  AND KEY(a) IN :names"
   )
 })
 @EntityListeners(WorkspaceImpl.SyncNameOnUpdateAndPersistEventListener.class)
@@ -10,11 +10,13 @@
  */
 package org.eclipse.che.api.workspace.server.spi;
 
+import java.util.List;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.commons.annotation.Nullable;
 
 /**
  * Defines data access object contract for {@link WorkspaceImpl}.
@@ -131,4 +133,42 @@ public interface WorkspaceDao {
    */
   Page<WorkspaceImpl> getWorkspaces(boolean isTemporary, int maxItems, long skipCount)
       throws ServerException;
+
+  /**
+   * Gets summaries of workspaces which belong to the given namespace, ordered by workspace id.
+   *
+   * <p>Unlike {@link #getByNamespace(String, int, long)} workspaces configurations are not loaded
+   * and the page is found by the workspace id it starts after, so the cost of fetching a page
+   * doesn't depend on its position. To fetch the next page pass the id of the last summary of the
+   * current one as {@code afterId}, fewer than {@code maxItems} summaries mean there is no next
+   * page.
+   *
+   * @param namespace workspace namespace
+   * @param afterId the id of the last workspace of the previous page, or {@code null} to fetch the
+   *     first page
+   * @param maxItems the maximum number of summaries to return
+   * @return list of summaries or empty list if no workspaces were found
+   * @throws NullPointerException when {@code namespace} is null
+   * @throws ServerException when any other error occurs during summaries fetching
+   * @throws IllegalArgumentException when {@code maxItems} is negative
+   */
+  List<WorkspaceSummary> getSummariesByNamespace(
+      String namespace, @Nullable String afterId, int maxItems) throws ServerException;
+
+  /**
+   * Gets summaries of workspaces which user can read, ordered by workspace id.
+   *
+   * <p>Pages are fetched the same way as by {@link #getSummariesByNamespace(String, String, int)}.
+   *
+   * @param userId the id of the user
+   * @param afterId the id of the last workspace of the previous page, or {@code null} to fetch the
+   *     first page
+   * @param maxItems the maximum number of summaries to return
+   * @return list of summaries or empty list if no workspaces were found
+   * @throws NullPointerException when {@code userId} is null
+   * @throws ServerException when any other error occurs during summaries fetching
+   * @throws IllegalArgumentException when {@code maxItems} is negative
+   */
+  List<WorkspaceSummary> getSummaries(String userId, @Nullable String afterId, int maxItems)
+      throws ServerException;
 }
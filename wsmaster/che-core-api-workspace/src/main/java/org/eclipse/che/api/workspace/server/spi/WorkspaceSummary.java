@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.spi;
+
+import java.util.Objects;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.commons.annotation.Nullable;
+
+/**
+ * Lightweight projection of a workspace for listings, it doesn't hold workspace configuration,
+ * attributes and runtime.
+ *
+ * <p>Status is defined by runtimes, so summaries returned by {@link WorkspaceDao} have no status.
+ */
+public class WorkspaceSummary {
+
+  private final String id;
+  private final String name;
+  private final String namespace;
+  private final boolean isTemporary;
+  private Long created;
+  private Long updated;
+  private WorkspaceStatus status;
+
+  public WorkspaceSummary(String id, String name, String namespace, boolean isTemporary) {
+    this.id = id;
+    this.name = name;
+    this.namespace = namespace;
+    this.isTemporary = isTemporary;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public String getNamespace() {
+    return namespace;
+  }
+
+  public boolean isTemporary() {
+    return isTemporary;
+  }
+
+  /** Returns the time of workspace creation in milliseconds, or null when it is unknown. */
+  @Nullable
+  public Long getCreated() {
+    return created;
+  }
+
+  public void setCreated(Long created) {
+    this.created = created;
+  }
+
+  /** Returns the time of the last workspace update in milliseconds, or null if it isn't updated. */
+  @Nullable
+  public Long getUpdated() {
+    return updated;
+  }
+
+  public void setUpdated(Long updated) {
+    this.updated = updated;
+  }
+
+  @Nullable
+  public WorkspaceStatus getStatus() {
+    return status;
+  }
+
+  public void setStatus(WorkspaceStatus status) {
+    this.status = status;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof WorkspaceSummary)) {
+      return false;
+    }
+    final WorkspaceSummary that = (WorkspaceSummary) obj;
+    return isTemporary == that.isTemporary
+        && Objects.equals(id, that.id)
+        && Objects.equals(name, that.name)
+        && Objects.equals(namespace, that.namespace)
+        && Objects.equals(created, that.created)
+        && Objects.equals(updated, that.updated)
+        && Objects.equals(status, that.status);
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = 7;
+    hash = 31 * hash + Objects.hashCode(id);
+    hash = 31 * hash + Objects.hashCode(name);
+    hash = 31 * hash + Objects.hashCode(namespace);
+    hash = 31 * hash + Boolean.hashCode(isTemporary);
+    hash = 31 * hash + Objects.hashCode(created);
+    hash = 31 * hash + Objects.hashCode(updated);
+    hash = 31 * hash + Objects.hashCode(status);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    return "WorkspaceSummary{"
+        + "id='"
+        + id
+        + '\''
+        + ", name='"
+        + name
+        + '\''
+        + ", namespace='"
+        + namespace
+        + '\''
+        + ", isTemporary="
+        + isTemporary
+        + ", created="
+        + created
+        + ", updated="
+        + updated
+        + ", status="
+        + status
+        + '}';
+  }
+}
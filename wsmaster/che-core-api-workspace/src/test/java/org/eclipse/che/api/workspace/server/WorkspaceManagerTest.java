@@ -15,6 +15,7 @@ import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
+import static org.eclipse.che.api.core.Pages.DEFAULT_PAGE_SIZE;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STARTING;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STOPPED;
@@ -44,6 +45,7 @@ import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 import static org.testng.util.Strings.isNullOrEmpty;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -71,6 +73,7 @@ import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.spi.RuntimeInfrastructure;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
+import org.eclipse.che.api.workspace.server.spi.WorkspaceSummary;
 import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.subject.Subject;
 import org.eclipse.che.commons.subject.SubjectImpl;
@@ -314,6 +317,69 @@ public class WorkspaceManagerTest {
     assertFalse(res1.isTemporary(), "Workspace must be permanent");
   }
 
+  @Test
+  public void getsWorkspaceSummariesByNamespaceWithStatusesOfRuntimes() throws Exception {
+    // given
+    final WorkspaceSummary summary1 = new WorkspaceSummary("ws1", "name1", NAMESPACE_1, false);
+    final WorkspaceSummary summary2 = new WorkspaceSummary("ws2", "name2", NAMESPACE_1, false);
+    when(workspaceDao.getSummariesByNamespace(NAMESPACE_1, "ws0", 30))
+        .thenReturn(asList(summary1, summary2));
+    when(runtimes.getStatus("ws1")).thenReturn(STOPPED);
+    when(runtimes.getStatus("ws2")).thenReturn(RUNNING);
+
+    // when
+    final List<WorkspaceSummary> result =
+        workspaceManager.getSummariesByNamespace(NAMESPACE_1, "ws0", 30);
+
+    // then
+    assertEquals(result, asList(summary1, summary2));
+    assertEquals(result.get(0).getStatus(), STOPPED);
+    assertEquals(result.get(1).getStatus(), RUNNING);
+  }
+
+  @Test
+  public void getsAllWorkspaceSummariesByNamespacePageByPage() throws Exception {
+    // given
+    final List<WorkspaceSummary> firstPage = new ArrayList<>();
+    for (int i = 0; i < DEFAULT_PAGE_SIZE; i++) {
+      firstPage.add(new WorkspaceSummary("ws" + i, "name" + i, NAMESPACE_1, false));
+    }
+    final String lastIdOfFirstPage = firstPage.get(DEFAULT_PAGE_SIZE - 1).getId();
+    final WorkspaceSummary summary = new WorkspaceSummary("wsN", "nameN", NAMESPACE_1, false);
+    when(workspaceDao.getSummariesByNamespace(NAMESPACE_1, null, DEFAULT_PAGE_SIZE))
+        .thenReturn(firstPage);
+    when(workspaceDao.getSummariesByNamespace(NAMESPACE_1, lastIdOfFirstPage, DEFAULT_PAGE_SIZE))
+        .thenReturn(singletonList(summary));
+
+    // when
+    final List<WorkspaceSummary> result = workspaceManager.getAllSummariesByNamespace(NAMESPACE_1);
+
+    // then
+    assertEquals(result.size(), DEFAULT_PAGE_SIZE + 1);
+    assertEquals(result.subList(0, DEFAULT_PAGE_SIZE), firstPage);
+    assertEquals(result.get(DEFAULT_PAGE_SIZE), summary);
+  }
+
+  @Test
+  public void getsWorkspacesOfSummariesSkippingRemovedWorkspaces() throws Exception {
+    // given
+    final WorkspaceImpl workspace = createAndMockWorkspace();
+    mockRuntimeStatus(workspace, RUNNING);
+    when(workspaceDao.get("removed")).thenThrow(new NotFoundException("Workspace is removed"));
+    final List<WorkspaceSummary> summaries =
+        asList(
+            new WorkspaceSummary("removed", "name", NAMESPACE_1, false),
+            new WorkspaceSummary(
+                workspace.getId(), workspace.getConfig().getName(), NAMESPACE_1, false));
+
+    // when
+    final List<WorkspaceImpl> result = workspaceManager.getWorkspaces(summaries, false);
+
+    // then
+    assertEquals(result, singletonList(workspace));
+    assertEquals(result.get(0).getStatus(), RUNNING);
+  }
+
   @Test
   public void getsWorkspaceByNameReturnWorkspaceWithStatusEqualToItsRuntimeStatus()
       throws Exception {
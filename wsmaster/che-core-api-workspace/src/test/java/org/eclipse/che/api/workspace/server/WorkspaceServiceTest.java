@@ -66,6 +66,7 @@ import org.eclipse.che.api.workspace.server.model.impl.RuntimeImpl;
 import org.eclipse.che.api.workspace.server.model.impl.ServerImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.spi.WorkspaceSummary;
 import org.eclipse.che.api.workspace.server.token.MachineTokenProvider;
 import org.eclipse.che.api.workspace.shared.Constants;
 import org.eclipse.che.api.workspace.shared.dto.CommandDto;
@@ -607,8 +608,9 @@ public class WorkspaceServiceTest {
   public void shouldGetWorkspaces() throws Exception {
     final WorkspaceImpl workspace1 = createWorkspace(createConfigDto());
     final WorkspaceImpl workspace2 = createWorkspace(createConfigDto(), STARTING);
-    when(wsManager.getWorkspaces(eq(USER_ID), eq(false), anyInt(), anyLong()))
-        .thenReturn(new Page<>(asList(workspace1, workspace2), 0, 2, 2));
+    final List<WorkspaceSummary> summaries = asList(summaryOf(workspace1), summaryOf(workspace2));
+    when(wsManager.getSummaries(USER_ID, null, 30)).thenReturn(summaries);
+    when(wsManager.getWorkspaces(summaries, false)).thenReturn(asList(workspace1, workspace2));
 
     final Response response =
         given()
@@ -626,12 +628,74 @@ public class WorkspaceServiceTest {
         asList(workspace1, workspace2));
   }
 
+  @Test
+  public void shouldGetWorkspacesAfterGivenWorkspace() throws Exception {
+    final WorkspaceImpl workspace = createWorkspace(createConfigDto());
+    final List<WorkspaceSummary> summaries = singletonList(summaryOf(workspace));
+    when(wsManager.getSummaries(USER_ID, "workspace123", 10)).thenReturn(summaries);
+    when(wsManager.getWorkspaces(summaries, false)).thenReturn(singletonList(workspace));
+
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .when()
+            .get(SECURE_PATH + "/workspace?afterId=workspace123&maxItems=10");
+
+    assertEquals(response.getStatusCode(), 200);
+    assertEquals(
+        unwrapDtoList(response, WorkspaceDto.class)
+            .stream()
+            .map(ws -> new WorkspaceImpl(ws, TEST_ACCOUNT))
+            .collect(toList()),
+        singletonList(workspace));
+  }
+
+  @Test
+  public void shouldGetWorkspacesSkippingGivenNumberOfItems() throws Exception {
+    final WorkspaceImpl workspace1 = createWorkspace(createConfigDto());
+    final WorkspaceImpl workspace2 = createWorkspace(createConfigDto(), STARTING);
+    when(wsManager.getWorkspaces(USER_ID, false, 30, 2))
+        .thenReturn(new Page<>(asList(workspace1, workspace2), 2, 2, 4));
+
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .when()
+            .get(SECURE_PATH + "/workspace?skipCount=2&status=starting");
+
+    assertEquals(response.getStatusCode(), 200);
+    assertEquals(
+        unwrapDtoList(response, WorkspaceDto.class)
+            .stream()
+            .map(ws -> new WorkspaceImpl(ws, TEST_ACCOUNT))
+            .collect(toList()),
+        singletonList(workspace2));
+    verify(wsManager, never()).getSummaries(anyString(), any(), anyInt());
+  }
+
+  @Test
+  public void shouldNotGetWorkspacesWhenBothSkipCountAndAfterIdAreSet() throws Exception {
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .when()
+            .get(SECURE_PATH + "/workspace?skipCount=2&afterId=workspace123");
+
+    assertEquals(response.getStatusCode(), 400);
+    verify(wsManager, never()).getWorkspaces(anyString(), anyBoolean(), anyInt(), anyLong());
+    verify(wsManager, never()).getSummaries(anyString(), any(), anyInt());
+  }
+
   @Test
   public void shouldGetWorkspacesByNamespace() throws Exception {
     final WorkspaceImpl workspace1 = createWorkspace(createConfigDto());
     final WorkspaceImpl workspace2 = createWorkspace(createConfigDto(), STARTING);
-    when(wsManager.getByNamespace(eq(NAMESPACE), eq(false), anyInt(), anyLong()))
-        .thenReturn(new Page<>(asList(workspace1, workspace2), 0, 2, 2));
+    final List<WorkspaceSummary> summaries = asList(summaryOf(workspace1), summaryOf(workspace2));
+    when(wsManager.getAllSummariesByNamespace(NAMESPACE)).thenReturn(summaries);
+    when(wsManager.getWorkspaces(summaries, false)).thenReturn(asList(workspace1, workspace2));
 
     final Response response =
         given()
@@ -653,8 +717,12 @@ public class WorkspaceServiceTest {
   public void shouldGetWorkspacesByStatus() throws Exception {
     final WorkspaceImpl workspace1 = createWorkspace(createConfigDto());
     final WorkspaceImpl workspace2 = createWorkspace(createConfigDto(), STARTING);
-    when(wsManager.getWorkspaces(eq(USER_ID), eq(false), anyInt(), anyLong()))
-        .thenReturn(new Page<>(asList(workspace1, workspace2), 0, 2, 2));
+    final WorkspaceSummary summary2 = summaryOf(workspace2);
+    when(wsManager.getSummaries(USER_ID, null, 30))
+        .thenReturn(asList(summaryOf(workspace1), summary2));
+    // only workspaces of the matching summaries are fetched
+    when(wsManager.getWorkspaces(singletonList(summary2), false))
+        .thenReturn(singletonList(workspace2));
 
     final Response response =
         given()
@@ -1160,6 +1228,17 @@ public class WorkspaceServiceTest {
     return createWorkspace(configDto, WorkspaceStatus.STOPPED);
   }
 
+  private static WorkspaceSummary summaryOf(WorkspaceImpl workspace) {
+    final WorkspaceSummary summary =
+        new WorkspaceSummary(
+            workspace.getId(),
+            workspace.getConfig().getName(),
+            workspace.getNamespace(),
+            workspace.isTemporary());
+    summary.setStatus(workspace.getStatus());
+    return summary;
+  }
+
   private static CommandDto createCommandDto() {
     return DtoConverter.asDto(new CommandImpl("MCI", "mvn clean install", "maven"));
   }
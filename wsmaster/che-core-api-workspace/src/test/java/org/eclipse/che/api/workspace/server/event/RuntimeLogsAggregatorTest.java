@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.event;
+
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.workspace.shared.dto.RuntimeIdentityDto;
+import org.eclipse.che.api.workspace.shared.dto.event.InstallerLogEvent;
+import org.eclipse.che.api.workspace.shared.dto.event.MachineLogEvent;
+import org.eclipse.che.api.workspace.shared.dto.event.RuntimeLogEntry;
+import org.eclipse.che.api.workspace.shared.dto.event.RuntimeLogsEvent;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests for {@link RuntimeLogsAggregator} */
+public class RuntimeLogsAggregatorTest {
+
+  private EventService eventService;
+  private List<RuntimeLogsEvent> batches;
+  private List<MachineLogEvent> machineLines;
+  private List<InstallerLogEvent> installerLines;
+  private long now;
+
+  @BeforeMethod
+  public void setUp() {
+    eventService = new EventService();
+    batches = new ArrayList<>();
+    eventService.subscribe(batches::add, RuntimeLogsEvent.class);
+    machineLines = new ArrayList<>();
+    installerLines = new ArrayList<>();
+    now = 0;
+  }
+
+  @Test
+  public void shouldPublishBatchWhenItReachesMaxNumberOfLines() {
+    RuntimeLogsAggregator aggregator = newAggregator(3, 0, () -> now);
+
+    aggregator.onMachineLog(machineLog("ws1", "line1"));
+    aggregator.onMachineLog(machineLog("ws1", "line2"));
+    assertTrue(batches.isEmpty());
+    aggregator.onInstallerLog(installerLog("ws1", "line3"));
+
+    assertEquals(batches.size(), 1);
+    RuntimeLogsEvent batch = batches.get(0);
+    assertEquals(batch.getRuntimeId().getWorkspaceId(), "ws1");
+    assertEquals(texts(batch), asList("line1", "line2", "line3"));
+    assertNull(batch.getLogs().get(0).getInstaller());
+    assertEquals(batch.getLogs().get(2).getInstaller(), "installer");
+    assertEquals(batch.getLogs().get(2).getStream(), "STDOUT");
+  }
+
+  @Test
+  public void shouldKeepOrderOfMachineAndInstallerLines() {
+    RuntimeLogsAggregator aggregator = newAggregator(100, 0, () -> now);
+
+    aggregator.onInstallerLog(installerLog("ws1", "line1"));
+    aggregator.onMachineLog(machineLog("ws1", "line2"));
+    aggregator.onInstallerLog(installerLog("ws1", "line3"));
+    aggregator.flush();
+
+    assertEquals(texts(batches.get(0)), asList("line1", "line2", "line3"));
+  }
+
+  @Test
+  public void shouldPublishPendingLinesOnFlush() {
+    RuntimeLogsAggregator aggregator = newAggregator(100, 0, () -> now);
+
+    aggregator.onMachineLog(machineLog("ws1", "line1"));
+    aggregator.onMachineLog(machineLog("ws2", "line2"));
+    aggregator.flush();
+
+    assertEquals(batches.size(), 2);
+    aggregator.flush();
+    assertEquals(batches.size(), 2);
+  }
+
+  @Test
+  public void shouldDropLinesThatExceedWorkspaceBudget() {
+    RuntimeLogsAggregator aggregator = newAggregator(100, 2, () -> now);
+
+    for (int i = 0; i < 5; i++) {
+      aggregator.onMachineLog(machineLog("ws1", "line" + i));
+    }
+    aggregator.onMachineLog(machineLog("ws2", "line"));
+    aggregator.flush();
+
+    RuntimeLogsEvent ws1 = findBatch("ws1");
+    assertEquals(texts(ws1), asList("line0", "line1", null));
+    assertEquals(ws1.getLogs().get(2).getDropped(), 3);
+    assertEquals(ws1.getLogs().get(2).getMachineName(), "machine");
+    assertEquals(texts(findBatch("ws2")), asList("line"));
+  }
+
+  @Test
+  public void shouldReportDroppedLinesOfEachMachine() {
+    RuntimeLogsAggregator aggregator = newAggregator(100, 1, () -> now);
+
+    aggregator.onMachineLog(machineLog("ws1", "line1"));
+    aggregator.onMachineLog(machineLog("ws1", "line2"));
+    aggregator.onMachineLog(machineLog("ws1", "line3").withMachineName("db"));
+    aggregator.onInstallerLog(installerLog("ws1", "line4"));
+    aggregator.flush();
+
+    List<RuntimeLogEntry> logs = batches.get(0).getLogs();
+    assertEquals(logs.size(), 3);
+    assertEquals(logs.get(1).getMachineName(), "machine");
+    assertEquals(logs.get(1).getDropped(), 2);
+    assertEquals(logs.get(2).getMachineName(), "db");
+    assertEquals(logs.get(2).getDropped(), 1);
+  }
+
+  @Test
+  public void shouldPassOnlyLinesWithinBudgetToPerLineSubscribers() {
+    RuntimeLogsAggregator aggregator = newAggregator(100, 2, () -> now);
+
+    for (int i = 0; i < 3; i++) {
+      aggregator.onMachineLog(machineLog("ws1", "line" + i));
+    }
+    aggregator.onInstallerLog(installerLog("ws1", "line3"));
+    now += 500;
+    aggregator.onInstallerLog(installerLog("ws1", "line4"));
+
+    assertEquals(machineLines.size(), 2);
+    assertEquals(machineLines.get(1).getText(), "line1");
+    assertEquals(installerLines.size(), 1);
+    assertEquals(installerLines.get(0).getText(), "line4");
+  }
+
+  @Test
+  public void shouldRefillBudgetOverTime() {
+    RuntimeLogsAggregator aggregator = newAggregator(100, 2, () -> now);
+
+    for (int i = 0; i < 3; i++) {
+      aggregator.onMachineLog(machineLog("ws1", "line" + i));
+    }
+    now += 500;
+    aggregator.onMachineLog(machineLog("ws1", "line3"));
+    aggregator.flush();
+
+    assertEquals(texts(batches.get(0)), asList("line0", "line1", "line3", null));
+    assertEquals(batches.get(0).getLogs().get(3).getDropped(), 1);
+  }
+
+  @Test
+  public void shouldKeepPublishingLogsOfWorkspaceAfterItWasIdle() {
+    RuntimeLogsAggregator aggregator = newAggregator(100, 2, () -> now);
+
+    aggregator.onMachineLog(machineLog("ws1", "line1"));
+    aggregator.flush();
+    now += 5_000;
+    aggregator.flush();
+    aggregator.onMachineLog(machineLog("ws1", "line2"));
+    aggregator.flush();
+
+    assertEquals(batches.size(), 2);
+    assertEquals(texts(batches.get(1)), asList("line2"));
+  }
+
+  private RuntimeLogsAggregator newAggregator(
+      int maxBatchLines, int maxLinesPerSecond, LongSupplier clock) {
+    return new RuntimeLogsAggregator(
+        eventService,
+        machineLines::add,
+        installerLines::add,
+        maxBatchLines,
+        maxLinesPerSecond,
+        clock);
+  }
+
+  private static List<String> texts(RuntimeLogsEvent batch) {
+    return batch.getLogs().stream().map(RuntimeLogEntry::getText).collect(toList());
+  }
+
+  private RuntimeLogsEvent findBatch(String workspaceId) {
+    return batches
+        .stream()
+        .filter(batch -> batch.getRuntimeId().getWorkspaceId().equals(workspaceId))
+        .findAny()
+        .orElseThrow(AssertionError::new);
+  }
+
+  private static MachineLogEvent machineLog(String workspaceId, String text) {
+    return newDto(MachineLogEvent.class)
+        .withRuntimeId(runtimeId(workspaceId))
+        .withMachineName("machine")
+        .withText(text);
+  }
+
+  private static InstallerLogEvent installerLog(String workspaceId, String text) {
+    return newDto(InstallerLogEvent.class)
+        .withRuntimeId(runtimeId(workspaceId))
+        .withMachineName("machine")
+        .withInstaller("installer")
+        .withStream(InstallerLogEvent.Stream.STDOUT)
+        .withText(text);
+  }
+
+  private static RuntimeIdentityDto runtimeId(String workspaceId) {
+    return newDto(RuntimeIdentityDto.class).withWorkspaceId(workspaceId).withEnvName("default");
+  }
+}
@@ -14,11 +14,14 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static java.util.stream.Collectors.toList;
+import static org.eclipse.che.api.workspace.shared.Constants.CREATED_ATTRIBUTE_NAME;
+import static org.eclipse.che.api.workspace.shared.Constants.UPDATED_ATTRIBUTE_NAME;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
@@ -51,6 +54,7 @@ import org.eclipse.che.api.workspace.server.model.impl.VolumeImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
+import org.eclipse.che.api.workspace.server.spi.WorkspaceSummary;
 import org.eclipse.che.api.workspace.shared.event.WorkspaceRemovedEvent;
 import org.eclipse.che.commons.test.tck.TckListener;
 import org.eclipse.che.commons.test.tck.repository.TckRepository;
@@ -150,6 +154,60 @@ public class WorkspaceDaoTest {
     workspaceDao.getByNamespace(null, 30, 0);
   }
 
+  @Test
+  public void shouldGetSummariesByNamespacePageByPage() throws Exception {
+    final WorkspaceImpl workspace1 = workspaces[0];
+    final WorkspaceImpl workspace2 = workspaces[1];
+    final String namespace = workspace1.getNamespace();
+
+    final List<WorkspaceSummary> firstPage =
+        workspaceDao.getSummariesByNamespace(namespace, null, 1);
+    final List<WorkspaceSummary> secondPage =
+        workspaceDao.getSummariesByNamespace(namespace, firstPage.get(0).getId(), 1);
+    final List<WorkspaceSummary> thirdPage =
+        workspaceDao.getSummariesByNamespace(namespace, secondPage.get(0).getId(), 1);
+
+    assertEquals(firstPage, singletonList(asSummary(workspace1)));
+    assertEquals(secondPage, singletonList(asSummary(workspace2)));
+    assertTrue(thirdPage.isEmpty());
+  }
+
+  @Test
+  public void shouldGetSummariesWithCreationAndUpdateTime() throws Exception {
+    final WorkspaceImpl workspace = workspaces[0];
+    workspace.getAttributes().put(CREATED_ATTRIBUTE_NAME, "1000");
+    workspace.getAttributes().put(UPDATED_ATTRIBUTE_NAME, "2000");
+    workspaceDao.update(workspace);
+
+    final List<WorkspaceSummary> summaries =
+        workspaceDao.getSummariesByNamespace(workspace.getNamespace(), null, 30);
+
+    assertEquals(summaries.size(), 2);
+    final WorkspaceSummary summary = summaries.get(0);
+    assertEquals(summary.getId(), workspace.getId());
+    assertEquals(summary.getCreated(), Long.valueOf(1000));
+    assertEquals(summary.getUpdated(), Long.valueOf(2000));
+    assertNull(summaries.get(1).getCreated());
+    assertNull(summaries.get(1).getUpdated());
+  }
+
+  @Test
+  public void emptySummariesListShouldBeReturnedWhenThereAreNoWorkspacesInGivenNamespace()
+      throws Exception {
+    assertTrue(workspaceDao.getSummariesByNamespace("non-existing-namespace", null, 30).isEmpty());
+  }
+
+  @Test(expectedExceptions = NullPointerException.class)
+  public void shouldThrowNpeWhenGettingSummariesByNullNamespace() throws Exception {
+    workspaceDao.getSummariesByNamespace(null, null, 30);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void shouldThrowIllegalArgumentExceptionWhenGettingSummariesWithNegativeLimit()
+      throws Exception {
+    workspaceDao.getSummariesByNamespace(workspaces[0].getNamespace(), null, -1);
+  }
+
   @Test
   public void shouldGetWorkspaceByNameAndNamespace() throws Exception {
     final WorkspaceImpl workspace = workspaces[0];
@@ -666,6 +724,14 @@ public class WorkspaceDaoTest {
     return workspace;
   }
 
+  private static WorkspaceSummary asSummary(WorkspaceImpl workspace) {
+    return new WorkspaceSummary(
+        workspace.getId(),
+        workspace.getConfig().getName(),
+        workspace.getNamespace(),
+        workspace.isTemporary());
+  }
+
   private <T extends CascadeEvent> CascadeEventSubscriber<T> mockCascadeEventSubscriber() {
     @SuppressWarnings("unchecked")
     CascadeEventSubscriber<T> subscriber = mock(CascadeEventSubscriber.class);